@@ -127,7 +127,7 @@ export function ActivityPanel({ enabled }: { enabled: boolean }) {
     if (!enabled) return;
     const unsubStatus = subscribeActivityStatus(setSocketStatus);
     const unsubMsg = subscribeActivitySocket((msg) => {
-      if (msg.type === "new_activity" && view === "feed" && feedPage === 0 && live) {
+      if ((msg.type === "new_activity" || msg.type === "new_activities") && view === "feed" && feedPage === 0 && live) {
         void queryClient.invalidateQueries({ queryKey: ["admin", "activities", "feed"] });
       }
       if ((msg.type === "statistics" || msg.type === "stats_update") && msg.stats) {
@@ -244,7 +244,16 @@ export function useMessengerRealtime(): void {
       .map((id) =>
         stompClient.subscribe(`/topic/svmessenger-typing/${id}`, (frame) => {
           const status = parseJson<TypingStatus>(frame);
-          if (!status || status.userId === user?.id) return;
+          if (!status) return;
+          if (status.typingUserIds) {
+            // Batched expiry frame — someone else may still be typing
+            setTyping(
+              status.conversationId,
+              status.typingUserIds.some((id) => id !== user?.id),
+            );
+            return;
+          }
+          if (status.userId === user?.id) return;
           setTyping(status.conversationId, !!status.isTyping);
         }),
       )
@@ -119,6 +119,10 @@ export interface TypingStatus {
   username: string | null;
   isTyping: boolean;
   timestamp: string | null;
+  /** Only on expiry frames: everyone who stopped typing in this sweep. */
+  stoppedUserIds?: number[] | null;
+  /** Only on expiry frames: who is still typing in the conversation. */
+  typingUserIds?: number[] | null;
 }
 
 export interface ReadReceipt {
@@ -157,6 +157,9 @@ public class ApplicationSecurityConfiguration {
                                                                 "/heartbeat", "/favicon.ico",
                                                                 "/actuator/**")
                                                 .permitAll()
+                                                // Sitemap index и шардовете - публични за crawler-и
+                                                .requestMatchers(HttpMethod.GET, "/sitemap.xml", "/sitemaps/**")
+                                                .permitAll()
                                                 .requestMatchers("/admin/**", "/sockjs-node/**", "/stomp/**")
                                                 .hasRole("ADMIN")
                                                 // Signal moderation — admin only (before generic /api/v1/signals/** auth)
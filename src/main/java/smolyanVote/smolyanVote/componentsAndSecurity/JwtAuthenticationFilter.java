@@ -1,11 +1,11 @@
 package smolyanVote.smolyanVote.componentsAndSecurity;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,10 +15,13 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache.CachedPrincipal;
 import smolyanVote.smolyanVote.services.jwt.JwtTokenService;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,10 +34,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtTokenService;
     private final UserRepository userRepository;
+    private final JwtPrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService,
+                                   UserRepository userRepository,
+                                   JwtPrincipalCache principalCache) {
         this.jwtTokenService = jwtTokenService;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -44,38 +51,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Извличане на JWT token от Authorization header
         String token = extractTokenFromRequest(request);
 
-        if (token != null && jwtTokenService.validateToken(token) && jwtTokenService.isAccessToken(token)) {
+        if (token != null) {
             try {
-                // Извличане на user info от token
-                String email = jwtTokenService.extractEmail(token);
-                Long userId = jwtTokenService.extractUserId(token);
-
-                if (email != null && userId != null) {
-                    // Зареждане на user от database
-                    Optional<UserEntity> userOptional = userRepository.findByEmail(email);
-
-                    if (userOptional.isPresent()) {
-                        UserEntity user = userOptional.get();
-
-                        // Проверка дали user ID съвпада
-                        if (user.getId().equals(userId)) {
-                            // Създаване на authentication object
-                            String role = user.getRole() != null ? user.getRole().name() : "USER";
-                            UsernamePasswordAuthenticationToken authentication =
-                                    new UsernamePasswordAuthenticationToken(
-                                            user,
-                                            null,
-                                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                                    );
-
-                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                            // Set в SecurityContext
-                            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                            log.debug("JWT authentication successful for user: {}", email);
-                        }
-                    }
+                // Топъл token: само hash lookup, без проверка на подписа и без DB заявка
+                CachedPrincipal principal = principalCache.get(token);
+                if (principal == null) {
+                    principal = resolvePrincipal(token);
+                }
+
+                if (principal != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(principal.principal(), null, principal.authorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    // Set в SecurityContext
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             } catch (Exception e) {
                 log.error("Error setting JWT authentication: {}", e.getMessage());
@@ -86,6 +76,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Студен token: един parse за подпис/срок/тип/claims, после user от database.
+     * Кешира се само идентичността (id, email, роля) до изтичане на TTL или на самия token;
+     * който има нужда от UserEntity, го зарежда за заявката по {@link JwtPrincipal#userId()}.
+     */
+    private CachedPrincipal resolvePrincipal(String token) {
+        Claims claims = jwtTokenService.parseClaims(token);
+        if (claims == null || !JwtTokenService.isAccessClaims(claims)) {
+            return null;
+        }
+
+        String email = claims.getSubject();
+        Long userId = JwtTokenService.userIdOf(claims);
+        if (email == null || userId == null) {
+            return null;
+        }
+
+        // Зареждане на user от database
+        Optional<UserEntity> userOptional = userRepository.findByEmail(email);
+
+        // Проверка дали user ID съвпада
+        if (userOptional.isEmpty() || !userOptional.get().getId().equals(userId)) {
+            return null;
+        }
+
+        UserEntity user = userOptional.get();
+        String role = user.getRole() != null ? user.getRole().name() : "USER";
+        CachedPrincipal principal = new CachedPrincipal(
+                new JwtPrincipal(user.getId(), user.getEmail().toLowerCase(), role),
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)),
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+        principalCache.put(token, principal);
+
+        log.debug("JWT authentication successful for user: {}", email);
+        return principal;
+    }
+
     /**
      * Извлича JWT token от Authorization header
      * Формат: "Bearer <token>"
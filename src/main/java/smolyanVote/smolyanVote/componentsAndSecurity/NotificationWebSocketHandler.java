@@ -11,10 +11,10 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.support.PresenceRegistry;
 import smolyanVote.smolyanVote.viewsAndDTO.NotificationDTO;
 
 import java.security.Principal;
-import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -30,11 +30,17 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
     private final ObjectMapper mapper = new ObjectMapper();
     private final UserService userService;
     private final UserRepository userRepository;
+    private final PresenceRegistry presenceRegistry;
+
+    private static final String PRESENCE_USER_ID = "presenceUserId";
 
     @Autowired
-    public NotificationWebSocketHandler(UserService userService, UserRepository userRepository) {
+    public NotificationWebSocketHandler(UserService userService,
+                                        UserRepository userRepository,
+                                        PresenceRegistry presenceRegistry) {
         this.userService = userService;
         this.userRepository = userRepository;
+        this.presenceRegistry = presenceRegistry;
         mapper.findAndRegisterModules();
     }
 
@@ -45,8 +51,7 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             sessions.put(username, session);
             log.info("Notification WS connected: {}", username);
 
-            // ✅ ОБНОВИ ОНЛАЙН СТАТУС В DB
-            updateUserOnlineStatus(username, true);
+            markConnected(session, username);
         }
     }
 
@@ -57,8 +62,10 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             sessions.remove(username);
             log.info("Notification WS disconnected: {}", username);
 
-            // ✅ ОБНОВИ OFFLINE СТАТУС В DB
-            updateUserOnlineStatus(username, false);
+            Object userId = session.getAttributes().get(PRESENCE_USER_ID);
+            if (userId instanceof Long id) {
+                presenceRegistry.disconnected(id);
+            }
         }
     }
 
@@ -77,6 +84,28 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * Групово изпращане: само на свързаните потребители, без сериализация за офлайн получателите.
+     *
+     * @return колко нотификации са изпратени
+     */
+    public int sendToUsers(Map<String, NotificationDTO> notificationsByUsername) {
+        int sent = 0;
+        for (Map.Entry<String, NotificationDTO> entry : notificationsByUsername.entrySet()) {
+            WebSocketSession session = sessions.get(entry.getKey());
+            if (session == null || !session.isOpen()) {
+                continue;
+            }
+            try {
+                session.sendMessage(new TextMessage(mapper.writeValueAsString(entry.getValue())));
+                sent++;
+            } catch (Exception e) {
+                log.warn("Failed to send notification to {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return sent;
+    }
+
     /** Ephemeral toast for all connected users (any page). */
     public void broadcastGlobalActivity(smolyanVote.smolyanVote.viewsAndDTO.GlobalActivityToastDTO toast) {
         try {
@@ -101,22 +130,20 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
     }
 
     /**
-     * Обновява онлайн статуса на user в базата данни
+     * Регистрира сесията в PresenceRegistry; user id се пази в session атрибутите,
+     * за да не търсим потребителя отново при disconnect.
      */
-    private void updateUserOnlineStatus(String username, boolean isOnline) {
+    private void markConnected(WebSocketSession session, String username) {
         try {
             UserEntity user = userRepository.findByUsername(username)
                     .orElseGet(() -> userRepository.findByEmail(username).orElse(null));
 
             if (user != null) {
-                user.setOnlineStatus(isOnline ? 1 : 0);
-                user.setLastOnline(Instant.now());
-                userRepository.save(user);
-
-                log.debug("User {} set to {} in DB", username, isOnline ? "ONLINE" : "OFFLINE");
+                presenceRegistry.connected(user);
+                session.getAttributes().put(PRESENCE_USER_ID, user.getId());
             }
         } catch (Exception e) {
-            log.error("Failed to update online status for {}: {}", username, e.getMessage());
+            log.error("Failed to register presence for {}: {}", username, e.getMessage());
         }
     }
 
@@ -12,7 +12,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import smolyanVote.smolyanVote.exceptions.UserBannedException;
 import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserBanService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -25,9 +27,11 @@ import java.nio.charset.StandardCharsets;
 public class UserBanEnforcementFilter extends OncePerRequestFilter {
 
     private final UserBanService userBanService;
+    private final UserRepository userRepository;
 
-    public UserBanEnforcementFilter(UserBanService userBanService) {
+    public UserBanEnforcementFilter(UserBanService userBanService, UserRepository userRepository) {
         this.userBanService = userBanService;
+        this.userRepository = userRepository;
     }
 
     @Override
@@ -36,7 +40,11 @@ public class UserBanEnforcementFilter extends OncePerRequestFilter {
 
         if (isMutatingMethod(request.getMethod()) && !isAllowedWhileBanned(request.getRequestURI())) {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.getPrincipal() instanceof UserEntity user) {
+            // JWT principal is identity only — ban state is read from a fresh row, mutating requests only.
+            UserEntity user = auth != null && auth.getPrincipal() instanceof JwtPrincipal jwtPrincipal
+                    ? userRepository.findById(jwtPrincipal.userId()).orElse(null)
+                    : null;
+            if (user != null) {
                 user = userBanService.resolveBanState(user);
                 if (userBanService.isReadOnlyBanned(user)) {
                     writeBannedResponse(response, user);
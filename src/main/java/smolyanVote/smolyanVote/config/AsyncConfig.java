@@ -15,40 +15,6 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
 
-    /**
-     * Thread pool специално за activity logging
-     * Отделен pool за да не блокира други операции
-     */
-    @Bean(name = "activityLogExecutor")
-    public Executor activityLogExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-
-        // Core pool размер - основни threads които винаги са живи
-        executor.setCorePoolSize(2);
-
-        // Максимален pool размер при високо натоварване
-        executor.setMaxPoolSize(10);
-
-        // Queue capacity - чакащи задачи преди да се създадат нови threads
-        executor.setQueueCapacity(100);
-
-        // Prefix за thread имената (за debugging)
-        executor.setThreadNamePrefix("ActivityLog-");
-
-        // Keep alive time за idle threads
-        executor.setKeepAliveSeconds(60);
-
-        // Never run activity logging on the request thread — it can poison the caller transaction.
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.DiscardPolicy());
-
-        // Graceful shutdown - чака текущите задачи да завършат
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
-
-        executor.initialize();
-        return executor;
-    }
-
     /**
      * Thread pool за WebSocket broadcasting
      * Отделен pool за real-time съобщения
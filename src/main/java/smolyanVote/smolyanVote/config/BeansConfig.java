@@ -1,9 +1,6 @@
 package smolyanVote.smolyanVote.config;
 
 import org.modelmapper.ModelMapper;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -17,7 +14,6 @@ import java.nio.charset.StandardCharsets;
 
 @Configuration
 @EnableWebSecurity
-@EnableCaching
 public class BeansConfig {
     @Bean
     public HttpMessageConverter<String> responseBodyConverter() {
@@ -35,12 +31,4 @@ public class BeansConfig {
         return new BCryptPasswordEncoder();
     }
 
-    @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager();
-    }
-
-
-
-
 }
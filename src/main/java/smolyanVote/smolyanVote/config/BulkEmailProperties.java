@@ -0,0 +1,86 @@
+package smolyanVote.smolyanVote.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "mailjet.bulk")
+public class BulkEmailProperties {
+
+    /** Mailjet API root; tests point it at a local fake endpoint. */
+    private String baseUrl = "https://api.mailjet.com";
+
+    /** Messages in one v3.1 send call (Mailjet accepts up to 50). */
+    private int messagesPerCall = 50;
+
+    /** Sustained send rate the token bucket allows. */
+    private int messagesPerSecond = 50;
+
+    /** Tokens the bucket can save up, i.e. the largest burst after an idle period. */
+    private int burst = 100;
+
+    /** Send calls in flight at once. */
+    private int concurrency = 4;
+
+    /** Attempts per chunk, the first one included; 429, 5xx and I/O errors are retried. */
+    private int maxAttempts = 4;
+
+    /** Backoff before the second attempt; doubled for every further one. */
+    private long retryBaseDelayMs = 1000;
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public int getMessagesPerCall() {
+        return messagesPerCall;
+    }
+
+    public void setMessagesPerCall(int messagesPerCall) {
+        this.messagesPerCall = messagesPerCall;
+    }
+
+    public int getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public void setMessagesPerSecond(int messagesPerSecond) {
+        this.messagesPerSecond = messagesPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getRetryBaseDelayMs() {
+        return retryBaseDelayMs;
+    }
+
+    public void setRetryBaseDelayMs(long retryBaseDelayMs) {
+        this.retryBaseDelayMs = retryBaseDelayMs;
+    }
+}
@@ -0,0 +1,77 @@
+package smolyanVote.smolyanVote.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code comment_closure} for comments created before the table existed, two statements per tree
+ * level (roots first, then every reply whose parent already has its paths), and prunes rows
+ * orphaned by bulk comment deletes from before those cleared their own closure rows. Comments
+ * that already have their self row are skipped, so later startups only run the two cheap checks.
+ */
+@Component
+public class CommentClosureBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentClosureBackfill.class);
+
+    /** Safety stop; real threads are nowhere near this deep */
+    private static final int MAX_LEVELS = 1000;
+
+    private static final String MISSING = "NOT EXISTS (SELECT 1 FROM comment_closure x WHERE x.descendant_id = c.id)";
+
+    private static final String INSERT_ROOTS =
+            "INSERT INTO comment_closure (ancestor_id, descendant_id, depth) "
+                    + "SELECT c.id, c.id, 0 FROM comments_entity c WHERE c.parent_id IS NULL AND " + MISSING;
+
+    /** Paths to every ancestor for replies whose parent is already in the table */
+    private static final String INSERT_ANCESTORS =
+            "INSERT INTO comment_closure (ancestor_id, descendant_id, depth) "
+                    + "SELECT p.ancestor_id, c.id, p.depth + 1 FROM comments_entity c "
+                    + "JOIN comment_closure p ON p.descendant_id = c.parent_id WHERE " + MISSING;
+
+    private static final String INSERT_SELF =
+            "INSERT INTO comment_closure (ancestor_id, descendant_id, depth) "
+                    + "SELECT c.id, c.id, 0 FROM comments_entity c WHERE c.parent_id IS NOT NULL "
+                    + "AND NOT EXISTS (SELECT 1 FROM comment_closure x WHERE x.descendant_id = c.id AND x.depth = 0) "
+                    + "AND EXISTS (SELECT 1 FROM comment_closure p WHERE p.descendant_id = c.parent_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentClosureBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int pruned = jdbcTemplate.update(
+                    "DELETE FROM comment_closure WHERE descendant_id NOT IN (SELECT id FROM comments_entity)");
+
+            Long missing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM comments_entity c WHERE " + MISSING, Long.class);
+            if (missing == null || missing == 0) {
+                if (pruned > 0) {
+                    log.info("Pruned {} comment_closure rows of deleted comments", pruned);
+                }
+                return;
+            }
+
+            int rows = jdbcTemplate.update(INSERT_ROOTS);
+            int levels = 0;
+            int inserted;
+            do {
+                inserted = jdbcTemplate.update(INSERT_ANCESTORS);
+                rows += inserted + jdbcTemplate.update(INSERT_SELF);
+                levels++;
+            } while (inserted > 0 && levels < MAX_LEVELS);
+            log.info("Backfilled comment_closure for {} comments: {} rows, {} reply levels, {} stale rows pruned",
+                    missing, rows, levels, pruned);
+        } catch (Exception ex) {
+            log.warn("Comment closure backfill skipped: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package smolyanVote.smolyanVote.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "monitor.ocr")
+public class MonitorOcrProperties {
+
+    private String tesseractCommand = "tesseract";
+
+    /** poppler-utils; without them the whole PDF goes to tesseract in one process. */
+    private String pdftoppmCommand = "pdftoppm";
+    private String pdfinfoCommand = "pdfinfo";
+
+    /** Parallel PDF downloads — I/O bound, kept apart from the OCR workers. */
+    private int downloadConcurrency = 2;
+
+    /** Pages rendered + recognized at once; each is one CPU-bound process. 0 = cores - 1. */
+    private int ocrThreads = 0;
+
+    /** Where PDFs and page images are written; blank = the system temp directory. */
+    private String tempDir = "";
+
+    /** Everything the batch may hold in temp files at once: PDFs plus page images. */
+    private long tempDiskQuotaMb = 512;
+
+    /** Largest page image accepted; this much of the quota is set aside per OCR thread. */
+    private long maxPageImageMb = 32;
+
+    /** Largest PDF downloaded; reserved in full up front when the server sends no Content-Length. */
+    private long maxPdfMb = 64;
+
+    private int renderDpi = 300;
+
+    private int maxPagesPerDocument = 60;
+
+    /**
+     * Download of one document, and separately its render and recognition — counted from the moment
+     * its first page gets an OCR thread, so documents waiting behind a backlog do not expire.
+     */
+    private int documentTimeoutSeconds = 600;
+
+    public String getTesseractCommand() {
+        return tesseractCommand;
+    }
+
+    public void setTesseractCommand(String tesseractCommand) {
+        this.tesseractCommand = tesseractCommand;
+    }
+
+    public String getPdftoppmCommand() {
+        return pdftoppmCommand;
+    }
+
+    public void setPdftoppmCommand(String pdftoppmCommand) {
+        this.pdftoppmCommand = pdftoppmCommand;
+    }
+
+    public String getPdfinfoCommand() {
+        return pdfinfoCommand;
+    }
+
+    public void setPdfinfoCommand(String pdfinfoCommand) {
+        this.pdfinfoCommand = pdfinfoCommand;
+    }
+
+    public int getDownloadConcurrency() {
+        return downloadConcurrency;
+    }
+
+    public void setDownloadConcurrency(int downloadConcurrency) {
+        this.downloadConcurrency = downloadConcurrency;
+    }
+
+    public int getOcrThreads() {
+        return ocrThreads;
+    }
+
+    public void setOcrThreads(int ocrThreads) {
+        this.ocrThreads = ocrThreads;
+    }
+
+    public String getTempDir() {
+        return tempDir;
+    }
+
+    public void setTempDir(String tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    public long getTempDiskQuotaMb() {
+        return tempDiskQuotaMb;
+    }
+
+    public void setTempDiskQuotaMb(long tempDiskQuotaMb) {
+        this.tempDiskQuotaMb = tempDiskQuotaMb;
+    }
+
+    public long getMaxPageImageMb() {
+        return maxPageImageMb;
+    }
+
+    public void setMaxPageImageMb(long maxPageImageMb) {
+        this.maxPageImageMb = maxPageImageMb;
+    }
+
+    public long getMaxPdfMb() {
+        return maxPdfMb;
+    }
+
+    public void setMaxPdfMb(long maxPdfMb) {
+        this.maxPdfMb = maxPdfMb;
+    }
+
+    public int getRenderDpi() {
+        return renderDpi;
+    }
+
+    public void setRenderDpi(int renderDpi) {
+        this.renderDpi = renderDpi;
+    }
+
+    public int getMaxPagesPerDocument() {
+        return maxPagesPerDocument;
+    }
+
+    public void setMaxPagesPerDocument(int maxPagesPerDocument) {
+        this.maxPagesPerDocument = maxPagesPerDocument;
+    }
+
+    public int getDocumentTimeoutSeconds() {
+        return documentTimeoutSeconds;
+    }
+
+    public void setDocumentTimeoutSeconds(int documentTimeoutSeconds) {
+        this.documentTimeoutSeconds = documentTimeoutSeconds;
+    }
+}
@@ -0,0 +1,183 @@
+package smolyanVote.smolyanVote.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * One-shot move of the legacy JSON username arrays ({@code publications.liked_by_users},
+ * {@code disliked_by_users}, {@code bookmarked_by_users}) into {@code publication_reactions}.
+ * Migrated columns are set to NULL, so later startups find nothing to do; counters of migrated
+ * publications are recomputed from the new table. Usernames that no longer exist are dropped.
+ */
+@Component
+public class PublicationReactionMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicationReactionMigration.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final Map<String, PublicationReactionType> LEGACY_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        LEGACY_COLUMNS.put("liked_by_users", PublicationReactionType.LIKE);
+        LEGACY_COLUMNS.put("disliked_by_users", PublicationReactionType.DISLIKE);
+        LEGACY_COLUMNS.put("bookmarked_by_users", PublicationReactionType.BOOKMARK);
+    }
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO publication_reactions (publication_id, user_id, kind, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public PublicationReactionMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateJsonReactions() {
+        try {
+            List<String> columns = existingLegacyColumns();
+            if (columns.isEmpty()) {
+                return;
+            }
+
+            String select = "SELECT id, " + String.join(", ", columns) + " FROM publications WHERE id > ? AND ("
+                    + columns.stream().map(c -> c + " IS NOT NULL").collect(Collectors.joining(" OR "))
+                    + ") ORDER BY id LIMIT " + PAGE_SIZE;
+
+            long lastId = 0;
+            int publications = 0;
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, lastId);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                transactionTemplate.executeWithoutResult(status -> migratePage(rows, columns));
+                publications += rows.size();
+                lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+            }
+
+            if (publications > 0) {
+                log.info("Migrated JSON reactions of {} publications into publication_reactions", publications);
+            }
+        } catch (Exception ex) {
+            log.warn("Publication reaction migration skipped: {}", ex.getMessage());
+        }
+    }
+
+    private List<String> existingLegacyColumns() {
+        List<String> present = jdbcTemplate.queryForList(
+                """
+                SELECT LOWER(COLUMN_NAME)
+                FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE()
+                  AND LOWER(TABLE_NAME) = 'publications'
+                """,
+                String.class);
+        return LEGACY_COLUMNS.keySet().stream().filter(present::contains).toList();
+    }
+
+    private void migratePage(List<Map<String, Object>> rows, List<String> columns) {
+        // publicationId -> kind -> usernames; cleared = columns that parsed and can be nulled
+        Map<Long, Map<PublicationReactionType, List<String>>> parsed = new LinkedHashMap<>();
+        Map<String, List<Object[]>> cleared = new HashMap<>();
+        Set<String> usernames = new HashSet<>();
+
+        for (Map<String, Object> row : rows) {
+            Long publicationId = ((Number) row.get("id")).longValue();
+            for (String column : columns) {
+                Object json = row.get(column);
+                if (json == null) {
+                    continue;
+                }
+                List<String> names = parseUsernames(json.toString(), publicationId, column);
+                if (names == null) {
+                    continue;
+                }
+                parsed.computeIfAbsent(publicationId, id -> new EnumMap<>(PublicationReactionType.class))
+                        .put(LEGACY_COLUMNS.get(column), names);
+                cleared.computeIfAbsent(column, c -> new ArrayList<>()).add(new Object[]{publicationId});
+                usernames.addAll(names);
+            }
+        }
+
+        Map<String, Long> userIds = resolveUserIds(usernames);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> inserts = new ArrayList<>();
+        parsed.forEach((publicationId, byKind) -> byKind.forEach((kind, names) -> {
+            for (String name : names) {
+                Long userId = userIds.get(name);
+                if (userId != null) {
+                    inserts.add(new Object[]{publicationId, userId, kind.name(), now});
+                }
+            }
+        }));
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!parsed.isEmpty()) {
+            recomputeCounters(parsed.keySet());
+        }
+        cleared.forEach((column, ids) ->
+                jdbcTemplate.batchUpdate("UPDATE publications SET " + column + " = NULL WHERE id = ?", ids));
+    }
+
+    private List<String> parseUsernames(String json, Long publicationId, String column) {
+        String trimmed = json.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        try {
+            List<String> names = objectMapper.readValue(trimmed, new TypeReference<List<String>>() {});
+            return names.stream().filter(Objects::nonNull).map(String::trim).filter(n -> !n.isEmpty()).distinct().toList();
+        } catch (Exception e) {
+            log.warn("Publication {}: unreadable {} left in place: {}", publicationId, column, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Long> resolveUserIds(Set<String> usernames) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> all = new ArrayList<>(usernames);
+        for (int from = 0; from < all.size(); from += PAGE_SIZE) {
+            List<String> chunk = all.subList(from, Math.min(from + PAGE_SIZE, all.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, username FROM users WHERE username IN (" + placeholders + ")",
+                    rs -> {
+                        ids.put(rs.getString("username"), rs.getLong("id"));
+                    },
+                    chunk.toArray());
+        }
+        return ids;
+    }
+
+    private void recomputeCounters(Set<Long> publicationIds) {
+        String placeholders = String.join(", ", Collections.nCopies(publicationIds.size(), "?"));
+        jdbcTemplate.update(
+                "UPDATE publications p SET "
+                        + "likes_count = (SELECT COUNT(*) FROM publication_reactions r "
+                        + "WHERE r.publication_id = p.id AND r.kind = 'LIKE'), "
+                        + "dislikes_count = (SELECT COUNT(*) FROM publication_reactions r "
+                        + "WHERE r.publication_id = p.id AND r.kind = 'DISLIKE') "
+                        + "WHERE p.id IN (" + placeholders + ")",
+                publicationIds.toArray());
+    }
+}
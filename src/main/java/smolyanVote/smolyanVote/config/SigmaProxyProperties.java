@@ -10,7 +10,14 @@ public class SigmaProxyProperties {
     /** CSV/JSON cache TTL in hours (align with SIGMA ETL ~6h). */
     private int cacheTtlHours = 6;
 
-    private long authorityPauseMs = 1500;
+    /** Authorities fetched and imported at the same time during a regional refresh. */
+    private int fetchConcurrency = 4;
+
+    /** Ceiling on CSV requests to sigma.midt.bg, shared by all fetch workers. */
+    private int maxRequestsPerMinute = 40;
+
+    /** Pause between per-contract JSON requests in the subcontractor enrichment batch. */
+    private long jsonPauseMs = 500;
     private int maxFetchAttempts = 4;
     private long retryBaseDelayMs = 3000;
 
@@ -22,12 +29,28 @@ public class SigmaProxyProperties {
         this.cacheTtlHours = cacheTtlHours;
     }
 
-    public long getAuthorityPauseMs() {
-        return authorityPauseMs;
+    public int getFetchConcurrency() {
+        return fetchConcurrency;
+    }
+
+    public void setFetchConcurrency(int fetchConcurrency) {
+        this.fetchConcurrency = fetchConcurrency;
+    }
+
+    public int getMaxRequestsPerMinute() {
+        return maxRequestsPerMinute;
+    }
+
+    public void setMaxRequestsPerMinute(int maxRequestsPerMinute) {
+        this.maxRequestsPerMinute = maxRequestsPerMinute;
+    }
+
+    public long getJsonPauseMs() {
+        return jsonPauseMs;
     }
 
-    public void setAuthorityPauseMs(long authorityPauseMs) {
-        this.authorityPauseMs = authorityPauseMs;
+    public void setJsonPauseMs(long jsonPauseMs) {
+        this.jsonPauseMs = jsonPauseMs;
     }
 
     public int getMaxFetchAttempts() {
@@ -0,0 +1,68 @@
+package smolyanVote.smolyanVote.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Caffeine-backed cache manager with per-cache size / TTL / refresh-after-write policies
+ * ({@link CacheProperties}). Every cache records stats; Spring Boot's cache metrics binder
+ * exposes them as {@code cache.gets{result=hit|miss}}, {@code cache.evictions}, {@code cache.size}.
+ * <p>
+ * Wrapped in {@link TransactionAwareCacheManagerProxy} so {@code @CacheEvict} on a write
+ * method lands after commit — otherwise a concurrent reader could re-cache the
+ * pre-commit state right after the eviction.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        PolicyCaffeineCacheManager manager = new PolicyCaffeineCacheManager(properties);
+        Set<String> names = new LinkedHashSet<>(List.of(CacheNames.ALL));
+        names.addAll(properties.getSpecs().keySet());
+        manager.setCacheNames(names);
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    /** Builds each named cache from its own spec instead of one shared Caffeine builder. */
+    static class PolicyCaffeineCacheManager extends CaffeineCacheManager {
+
+        private final CacheProperties properties;
+
+        PolicyCaffeineCacheManager(CacheProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+            CacheProperties.Spec spec = properties.specFor(name);
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .recordStats();
+            if (spec.getTtl() != null) {
+                builder.expireAfterWrite(spec.getTtl());
+            }
+            return builder.build();
+        }
+
+        @Override
+        protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+            CacheProperties.Spec spec = properties.specFor(name);
+            if (spec.refreshAhead()) {
+                return new RefreshAheadCaffeineCache(name, cache, isAllowNullValues(), spec.getRefreshAfterWrite());
+            }
+            return super.adaptCaffeineCache(name, cache);
+        }
+    }
+}
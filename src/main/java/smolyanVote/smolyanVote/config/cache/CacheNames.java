@@ -0,0 +1,23 @@
+package smolyanVote.smolyanVote.config.cache;
+
+/**
+ * Names of the caches managed by {@link CacheConfig}. Every name listed here is created
+ * eagerly at startup so Micrometer can bind its stats; policies come from
+ * {@code smolyanvote.cache.specs.<name>.*} (see {@link CacheProperties}).
+ */
+public final class CacheNames {
+
+    /** Home page counters — users / events / publications / signals. */
+    public static final String HOME_STATS = "homeStats";
+
+    /** Publications sidebar counters, trending hashtags and top authors. */
+    public static final String PUBLICATION_STATS = "publicationStats";
+
+    /** Anonymous part of the events catalog (all event previews, newest first). */
+    public static final String EVENTS_CATALOG = "eventsCatalog";
+
+    static final String[] ALL = {HOME_STATS, PUBLICATION_STATS, EVENTS_CATALOG};
+
+    private CacheNames() {
+    }
+}
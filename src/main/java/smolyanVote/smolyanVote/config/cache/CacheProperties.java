@@ -0,0 +1,91 @@
+package smolyanVote.smolyanVote.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache policies for the Caffeine cache manager, e.g.
+ * <pre>
+ * smolyanvote.cache.specs.homeStats.maximum-size=1
+ * smolyanvote.cache.specs.homeStats.ttl=5m
+ * smolyanvote.cache.specs.homeStats.refresh-after-write=30s
+ * </pre>
+ * Caches without an entry in {@code specs} use {@code defaults}.
+ */
+@Component
+@ConfigurationProperties(prefix = "smolyanvote.cache")
+public class CacheProperties {
+
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        return spec != null ? spec : defaults;
+    }
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    public static class Spec {
+
+        /** Upper bound of entries; Caffeine evicts by frequency (W-TinyLFU) above it. */
+        private long maximumSize = 1_000;
+
+        /** Hard expiry after write — entries older than this are never served. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Soft expiry: past this age the first caller recomputes while everyone else keeps
+         * getting the previous value. {@code null} disables refresh-ahead for the cache.
+         */
+        private Duration refreshAfterWrite;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+
+        boolean refreshAhead() {
+            return refreshAfterWrite != null && !refreshAfterWrite.isZero() && !refreshAfterWrite.isNegative()
+                    && (ttl == null || refreshAfterWrite.compareTo(ttl) < 0);
+        }
+    }
+}
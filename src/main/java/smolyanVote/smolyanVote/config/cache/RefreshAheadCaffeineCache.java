@@ -0,0 +1,102 @@
+package smolyanVote.smolyanVote.config.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link CaffeineCache} with refresh-after-write semantics for {@code @Cacheable} methods.
+ * <p>
+ * Caffeine's own {@code refreshAfterWrite} needs a {@code CacheLoader}, which annotated
+ * service methods don't have. Instead each entry carries its write time: once it is older
+ * than {@code refreshAfterWrite}, exactly one caller sees a miss and recomputes through the
+ * annotated method, while concurrent callers keep getting the previous value. The hard
+ * {@code ttl} on the native cache still bounds how stale an entry can ever get.
+ * <p>
+ * Stays a {@link CaffeineCache} so Spring Boot's cache metrics binder picks it up.
+ */
+class RefreshAheadCaffeineCache extends CaffeineCache {
+
+    private final long refreshNanos;
+
+    RefreshAheadCaffeineCache(String name,
+                              com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                              boolean allowNullValues,
+                              Duration refreshAfterWrite) {
+        super(name, cache, allowNullValues);
+        this.refreshNanos = refreshAfterWrite.toNanos();
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        Stamped entry = (Stamped) getNativeCache().getIfPresent(key);
+        if (entry == null || entry.claimRefresh(refreshNanos)) {
+            return null;
+        }
+        return entry.storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Stamped entry = (Stamped) getNativeCache().getIfPresent(key);
+        if (entry != null && !entry.claimRefresh(refreshNanos)) {
+            return (T) fromStoreValue(entry.storeValue);
+        }
+        if (entry != null) {
+            T value = load(key, valueLoader);
+            put(key, value);
+            return value;
+        }
+        Stamped loaded = (Stamped) getNativeCache().get(key,
+                k -> new Stamped(toStoreValue(load(k, valueLoader))));
+        return loaded != null ? (T) fromStoreValue(loaded.storeValue) : null;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        getNativeCache().put(key, new Stamped(toStoreValue(value)));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        Stamped previous = (Stamped) getNativeCache().asMap().putIfAbsent(key, new Stamped(toStoreValue(value)));
+        return previous != null ? toValueWrapper(previous.storeValue) : null;
+    }
+
+    private static <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    /** Cached value plus the bookkeeping needed to hand out a single refresh per period. */
+    private static final class Stamped {
+
+        private final Object storeValue;
+        private final AtomicLong refreshAt;
+
+        private Stamped(Object storeValue) {
+            this.storeValue = storeValue;
+            this.refreshAt = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * True for the one caller that should recompute this entry. The claim pushes the next
+         * refresh one period ahead, so a recompute that throws is retried after that period.
+         */
+        private boolean claimRefresh(long refreshNanos) {
+            long now = System.nanoTime();
+            long last = refreshAt.get();
+            return now - last >= refreshNanos && refreshAt.compareAndSet(last, now);
+        }
+    }
+}
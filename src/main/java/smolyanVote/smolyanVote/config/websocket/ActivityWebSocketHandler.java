@@ -207,6 +207,31 @@ public class ActivityWebSocketHandler extends BaseWebSocketHandler {
         }
     }
 
+    /**
+     * Един message за цял батч от ActivityLogPipeline вместо по един на активност
+     */
+    public void broadcastNewActivities(List<ActivityLogEntity> activities) {
+        if (activities == null || activities.isEmpty() || getActiveSessionsCount() == 0) {
+            return;
+        }
+
+        try {
+            List<ActivityMessageDto> dtos = activities.stream()
+                    .map(this::convertActivityToDto)
+                    .toList();
+
+            WebSocketMessageDto message = new WebSocketMessageDto();
+            message.setType("new_activities");
+            message.setData(dtos);
+            message.setTimestamp(LocalDateTime.now());
+
+            broadcastMessage(message);
+
+        } catch (Exception e) {
+            // Error already handled in broadcastMessage
+        }
+    }
+
     /**
      * Изпраща обновени статистики към всички свързани админи
      */
@@ -90,6 +90,12 @@ public class AdminController {
         return actuatorDataService.getDetailedMemoryStats();
     }
 
+    @GetMapping("/api/resources/caches")
+    @ResponseBody
+    public Map<String, Object> getCacheStats() {
+        return actuatorDataService.getCacheStats();
+    }
+
     @GetMapping("/api/errors/recent")
     @ResponseBody
     public Map<String, Object> getRecentErrors() {
@@ -11,6 +11,7 @@ import smolyanVote.smolyanVote.models.enums.MonitorIngestionStatus;
 import smolyanVote.smolyanVote.models.monitor.MonitorDocumentEntity;
 import smolyanVote.smolyanVote.models.monitor.MonitorIngestionRunEntity;
 import smolyanVote.smolyanVote.repositories.monitor.MonitorDocumentRepository;
+import smolyanVote.smolyanVote.services.monitor.DocumentArchiveService;
 import smolyanVote.smolyanVote.services.monitor.EopImportService;
 import smolyanVote.smolyanVote.services.monitor.MonitorAdminService;
 import smolyanVote.smolyanVote.services.monitor.MonitorAiAnalysisService;
@@ -75,6 +76,7 @@ public class AdminMonitorController {
     private final EopImportService eopImportService;
     private final SigmaSubcontractorEnrichmentService sigmaSubcontractorEnrichmentService;
     private final MonitorOcrService ocrService;
+    private final DocumentArchiveService archiveService;
     private final MonitorCouncilorSyncService councilorSyncService;
     private final MonitorIngestionProperties ingestionProperties;
     private final MonitorContractAdminService contractAdminService;
@@ -116,7 +118,8 @@ public class AdminMonitorController {
             MonitorIngestionRunService ingestionRunService,
             MonitorZpokonpiVerificationService zpokonpiVerificationService,
             MonitorDataQualityService dataQualityService,
-            MonitorSigmaSpotCheckService sigmaSpotCheckService) {
+            MonitorSigmaSpotCheckService sigmaSpotCheckService,
+            DocumentArchiveService archiveService) {
         this.monitorAdminService = monitorAdminService;
         this.monitorService = monitorService;
         this.sigmaRefreshService = sigmaRefreshService;
@@ -143,6 +146,7 @@ public class AdminMonitorController {
         this.zpokonpiVerificationService = zpokonpiVerificationService;
         this.dataQualityService = dataQualityService;
         this.sigmaSpotCheckService = sigmaSpotCheckService;
+        this.archiveService = archiveService;
     }
 
     private static ResponseEntity<Map<String, Object>> launched(MonitorJobLauncher.JobState state) {
@@ -464,6 +468,24 @@ public class AdminMonitorController {
         return ResponseEntity.ok(body);
     }
 
+    @GetMapping(value = "/documents/{id}/archive", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<DocumentArchiveService.ArchivedVersion>> documentArchive(@PathVariable Long id) {
+        return ResponseEntity.ok(archiveService.listVersions(id));
+    }
+
+    @GetMapping(value = "/documents/{id}/archive/{archiveId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> archivedVersion(@PathVariable Long id, @PathVariable Long archiveId) {
+        boolean belongs = archiveService.listVersions(id).stream().anyMatch(v -> v.id().equals(archiveId));
+        if (!belongs) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("id", archiveId);
+        body.put("documentId", id);
+        body.put("rawContent", archiveService.reconstruct(archiveId).orElse(null));
+        return ResponseEntity.ok(body);
+    }
+
     @DeleteMapping("/documents/{id}")
     public ResponseEntity<Map<String, Object>> deleteDocument(@PathVariable Long id) {
         if (!documentRepository.existsById(id)) {
@@ -6,20 +6,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 import smolyanVote.smolyanVote.models.UserEntity;
-import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
-
-import java.time.Instant;
+import smolyanVote.smolyanVote.services.support.PresenceRegistry;
 
 @Slf4j
 @RestController
 public class HeartbeatController {
 
-    private final UserRepository userRepository;
+    private final PresenceRegistry presenceRegistry;
     private final UserService userService;
 
-    public HeartbeatController(UserRepository userRepository, UserService userService) {
-        this.userRepository = userRepository;
+    public HeartbeatController(PresenceRegistry presenceRegistry, UserService userService) {
+        this.presenceRegistry = presenceRegistry;
         this.userService = userService;
     }
 
@@ -31,10 +29,9 @@ public class HeartbeatController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Unauthorized");
         }
 
-        currentUser.setOnlineStatus(1);
-        currentUser.setLastOnline(Instant.now());
-        userRepository.save(currentUser);
+        // In-memory only — PresenceRegistry persists last_online in batches.
+        presenceRegistry.touch(currentUser);
 
         return ResponseEntity.ok("OK");
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 import smolyanVote.smolyanVote.models.PodcastEpisodeEntity;
 import smolyanVote.smolyanVote.repositories.PodcastEpisodeRepository;
+import smolyanVote.smolyanVote.services.support.EngagementCounterBuffer;
 import smolyanVote.smolyanVote.viewsAndDTO.PodcastEpisodeDTO;
 
 import java.util.List;
@@ -19,10 +20,13 @@ import java.util.stream.Collectors;
 public class PodcastController {
 
     private final PodcastEpisodeRepository podcastEpisodeRepository;
+    private final EngagementCounterBuffer counterBuffer;
 
     @Autowired
-    public PodcastController(PodcastEpisodeRepository podcastEpisodeRepository) {
+    public PodcastController(PodcastEpisodeRepository podcastEpisodeRepository,
+                             EngagementCounterBuffer counterBuffer) {
         this.podcastEpisodeRepository = podcastEpisodeRepository;
+        this.counterBuffer = counterBuffer;
     }
 
     @GetMapping("/api/podcast/episodes")
@@ -30,7 +34,7 @@ public class PodcastController {
         List<PodcastEpisodeEntity> episodes =
                 podcastEpisodeRepository.findAllByIsPublishedTrueOrderByPublishDateDesc();
         return episodes.stream()
-                .map(PodcastEpisodeDTO::new)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -39,9 +43,14 @@ public class PodcastController {
         PodcastEpisodeEntity episode = podcastEpisodeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Епизодът не е намерен"));
 
-        episode.setListenCount((episode.getListenCount() != null ? episode.getListenCount() : 0L) + 1);
-        podcastEpisodeRepository.save(episode);
+        counterBuffer.increment(EngagementCounterBuffer.Counter.PODCAST_LISTENS, episode.getId());
+        return toDto(episode);
+    }
 
-        return new PodcastEpisodeDTO(episode);
+    private PodcastEpisodeDTO toDto(PodcastEpisodeEntity episode) {
+        PodcastEpisodeDTO dto = new PodcastEpisodeDTO(episode);
+        dto.setListenCount(counterBuffer.merged(EngagementCounterBuffer.Counter.PODCAST_LISTENS,
+                episode.getId(), episode.getListenCount()));
+        return dto;
     }
 }
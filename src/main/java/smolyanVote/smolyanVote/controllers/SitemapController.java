@@ -0,0 +1,60 @@
+package smolyanVote.smolyanVote.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import smolyanVote.smolyanVote.services.interfaces.SitemapService;
+import smolyanVote.smolyanVote.services.interfaces.SitemapService.SitemapDocument;
+
+/**
+ * Sitemap index и gzip-нати шардове, сервирани от готови байтове
+ * (ETag / Last-Modified → 304 при непроменен документ)
+ */
+@RestController
+public class SitemapController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final SitemapService sitemapService;
+
+    public SitemapController(SitemapService sitemapService) {
+        this.sitemapService = sitemapService;
+    }
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> index(WebRequest request) {
+        return documentResponse(sitemapService.getIndex(), MediaType.APPLICATION_XML, request);
+    }
+
+    @GetMapping("/sitemaps/{file:.+}")
+    public ResponseEntity<byte[]> shard(@PathVariable String file, WebRequest request) {
+        return sitemapService.getShard(file)
+                .map(shard -> documentResponse(shard, GZIP, request))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<byte[]> documentResponse(SitemapDocument document, MediaType type,
+                                                           WebRequest request) {
+        long lastModified = document.lastModified().toEpochMilli();
+        // Проверява и If-None-Match, и If-Modified-Since
+        if (request.checkNotModified(document.etag(), lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.etag())
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(document.etag())
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .contentType(type)
+                .contentLength(document.body().length)
+                .body(document.body());
+    }
+}
@@ -1,7 +1,13 @@
 package smolyanVote.smolyanVote.controllers.apiv1;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import smolyanVote.smolyanVote.services.monitor.MonitorLandingSnapshotService;
+import smolyanVote.smolyanVote.services.monitor.MonitorLandingSnapshotService.Snapshot;
 import smolyanVote.smolyanVote.services.monitor.MonitorNotFoundException;
 import smolyanVote.smolyanVote.services.monitor.MonitorScope;
 import smolyanVote.smolyanVote.services.monitor.MonitorService;
@@ -21,9 +27,11 @@ import java.util.Map;
 public class MonitorController {
 
     private final MonitorService monitorService;
+    private final MonitorLandingSnapshotService landingSnapshots;
 
-    public MonitorController(MonitorService monitorService) {
+    public MonitorController(MonitorService monitorService, MonitorLandingSnapshotService landingSnapshots) {
         this.monitorService = monitorService;
+        this.landingSnapshots = landingSnapshots;
     }
 
     @GetMapping("/municipalities")
@@ -48,15 +56,35 @@ public class MonitorController {
         return ResponseEntity.ok(monitorService.getFeed(category, type, page, size, sort, MonitorScope.of(authority)));
     }
 
+    /** Precomputed {@link MonitorBriefingDTO}, served with an ETag. */
     @GetMapping("/briefing")
-    public ResponseEntity<MonitorBriefingDTO> briefing(@RequestParam(required = false) String authority) {
-        return ResponseEntity.ok(monitorService.getBriefing(MonitorScope.of(authority)));
+    public ResponseEntity<byte[]> briefing(
+            @RequestParam(required = false) String authority,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshotResponse(landingSnapshots.briefing(MonitorScope.of(authority)), ifNoneMatch);
     }
 
+    /** Precomputed list of {@link MonitorFeedItemDTO}, served with an ETag. */
     @GetMapping("/feed/weekly")
-    public ResponseEntity<List<MonitorFeedItemDTO>> weeklyHighlights(
-            @RequestParam(required = false) String authority) {
-        return ResponseEntity.ok(monitorService.getWeeklyHighlights(MonitorScope.of(authority)));
+    public ResponseEntity<byte[]> weeklyHighlights(
+            @RequestParam(required = false) String authority,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return snapshotResponse(landingSnapshots.weeklyHighlights(MonitorScope.of(authority)), ifNoneMatch);
+    }
+
+    private static ResponseEntity<byte[]> snapshotResponse(Snapshot snapshot, String ifNoneMatch) {
+        // no-cache: the browser keeps the body but revalidates, so a new snapshot shows at once
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
     @GetMapping("/search")
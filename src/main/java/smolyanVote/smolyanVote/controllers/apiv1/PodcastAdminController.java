@@ -23,6 +23,7 @@ import smolyanVote.smolyanVote.services.interfaces.NotificationService;
 import smolyanVote.smolyanVote.services.interfaces.PodcastService;
 import smolyanVote.smolyanVote.services.interfaces.SubscriptionService;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.support.EngagementCounterBuffer;
 import smolyanVote.smolyanVote.services.support.ImageUploadValidator;
 import smolyanVote.smolyanVote.viewsAndDTO.PodcastEpisodeDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.apiv1.ApiMessageResponse;
@@ -50,17 +51,20 @@ public class PodcastAdminController {
     private final SubscriptionService subscriptionService;
     private final NotificationService notificationService;
     private final ImageUploadValidator imageUploadValidator;
+    private final EngagementCounterBuffer counterBuffer;
 
     public PodcastAdminController(PodcastService podcastService,
                                   UserService userService,
                                   SubscriptionService subscriptionService,
                                   NotificationService notificationService,
-                                  ImageUploadValidator imageUploadValidator) {
+                                  ImageUploadValidator imageUploadValidator,
+                                  EngagementCounterBuffer counterBuffer) {
         this.podcastService = podcastService;
         this.userService = userService;
         this.subscriptionService = subscriptionService;
         this.notificationService = notificationService;
         this.imageUploadValidator = imageUploadValidator;
+        this.counterBuffer = counterBuffer;
     }
 
     @PostMapping(value = "/episodes", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -187,7 +191,12 @@ public class PodcastAdminController {
                     .body(ApiMessageResponse.error("Само администратор."));
         }
         return ResponseEntity.ok(
-                podcastService.listAllEpisodesAdmin().stream().map(PodcastEpisodeDTO::new).toList());
+                podcastService.listAllEpisodesAdmin().stream().map(episode -> {
+                    PodcastEpisodeDTO dto = new PodcastEpisodeDTO(episode);
+                    dto.setListenCount(counterBuffer.merged(EngagementCounterBuffer.Counter.PODCAST_LISTENS,
+                            episode.getId(), episode.getListenCount()));
+                    return dto;
+                }).toList());
     }
 
     @PatchMapping(value = "/episodes/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -26,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import smolyanVote.smolyanVote.models.PublicationEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
 import smolyanVote.smolyanVote.repositories.PublicationRepository;
 import smolyanVote.smolyanVote.repositories.PublicationRepository;
 import smolyanVote.smolyanVote.services.interfaces.PublicationDetailService;
@@ -52,6 +53,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -286,9 +288,9 @@ public class PublicationsController {
     }
 
     private PublicationReactionResponse reactionState(Long id, UserEntity user) {
-        PublicationEntity publication = publicationService.findById(id);
-        boolean isLiked = publication != null && publication.isLikedBy(user.getUsername());
-        boolean isDisliked = publication != null && publication.isDislikedBy(user.getUsername());
+        Set<PublicationReactionType> reactions = publicationService.getUserReactions(id, user.getId());
+        boolean isLiked = reactions.contains(PublicationReactionType.LIKE);
+        boolean isDisliked = reactions.contains(PublicationReactionType.DISLIKE);
         return new PublicationReactionResponse(isLiked, isDisliked,
                 publicationService.getLikesCount(id), publicationService.getDislikesCount(id));
     }
@@ -70,11 +70,11 @@ public class PublicationsSidebarController {
         // Include self — otherwise a lone online user sees an empty "Активни сега" list.
         List<OnlineUserResponse> users = userService.getOnlineUsers(limit).stream()
                 .map(u -> {
-                    boolean isSelf = currentUser != null && u.getId().equals(currentUser.getId());
+                    boolean isSelf = currentUser != null && u.id().equals(currentUser.getId());
                     boolean isFollowing = !isSelf && currentUser != null
-                            && followService.isFollowing(currentUser.getId(), u.getId());
+                            && followService.isFollowing(currentUser.getId(), u.id());
                     return new OnlineUserResponse(
-                            u.getId(), u.getUsername(), u.getImageUrl(), isFollowing, isSelf);
+                            u.id(), u.username(), u.imageUrl(), isFollowing, isSelf);
                 })
                 .toList();
         return ResponseEntity.ok(users);
@@ -121,9 +121,7 @@ public class SignalsController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiMessageResponse.error("Сигналът не е намерен."));
         }
         signalsService.incrementViews(id);
-        signal = signalsService.findById(id);
-        int views = signal != null && signal.getViewsCount() != null ? signal.getViewsCount() : 0;
-        return ResponseEntity.ok(java.util.Map.of("viewsCount", views));
+        return ResponseEntity.ok(java.util.Map.of("viewsCount", signalsService.getViewsCount(id)));
     }
 
     /** Boosted signal ids for the current user. */
@@ -16,6 +16,7 @@ import smolyanVote.smolyanVote.services.interfaces.MainEventsService;
 import smolyanVote.smolyanVote.services.interfaces.SignalsService;
 import smolyanVote.smolyanVote.services.interfaces.UserBanService;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.support.EngagementCounterBuffer;
 import smolyanVote.smolyanVote.viewsAndDTO.EventSimpleViewDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.apiv1.*;
 
@@ -41,19 +42,22 @@ public class UsersController {
     private final MainEventsService mainEventsService;
     private final SignalsService signalsService;
     private final UserBanService userBanService;
+    private final EngagementCounterBuffer counterBuffer;
 
     public UsersController(UserService userService,
                                  FollowService followService,
                                  UserFollowRepository userFollowRepository,
                                  MainEventsService mainEventsService,
                                  SignalsService signalsService,
-                                 UserBanService userBanService) {
+                                 UserBanService userBanService,
+                                 EngagementCounterBuffer counterBuffer) {
         this.userService = userService;
         this.followService = followService;
         this.userFollowRepository = userFollowRepository;
         this.mainEventsService = mainEventsService;
         this.signalsService = signalsService;
         this.userBanService = userBanService;
+        this.counterBuffer = counterBuffer;
     }
 
     @GetMapping("/me")
@@ -117,8 +121,10 @@ public class UsersController {
         Page<SignalsEntity> signals = signalsService.getSignalsByAuthor(profileUser.getId(), pageable);
 
         List<SignalResponseDTO> result = signals.getContent().stream()
-                .map(signal -> SignalResponseDTO.from(signal, isLiked(signal, currentUser),
-                        currentUser != null ? currentUser.getId() : null))
+                .map(signal -> SignalResponseDTO.from(signal, new SignalEnrichment(
+                        isLiked(signal, currentUser), false, false, 0,
+                        currentUser != null ? currentUser.getId() : null, false,
+                        counterBuffer.pending(EngagementCounterBuffer.Counter.SIGNAL_VIEWS, signal.getId()))))
                 .toList();
 
         return ResponseEntity.ok(result);
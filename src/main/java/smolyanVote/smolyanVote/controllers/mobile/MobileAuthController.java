@@ -17,6 +17,7 @@ import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache;
 import smolyanVote.smolyanVote.services.jwt.JwtTokenService;
 import smolyanVote.smolyanVote.viewsAndDTO.mobile.MobileLoginRequest;
 import smolyanVote.smolyanVote.viewsAndDTO.mobile.MobileLoginResponse;
@@ -45,18 +46,21 @@ public class MobileAuthController {
     private final UserRepository userRepository;
     private final JwtTokenService jwtTokenService;
     private final MobileOAuthService mobileOAuthService;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
     public MobileAuthController(
             AuthenticationManager authenticationManager,
             UserService userService,
             UserRepository userRepository,
             JwtTokenService jwtTokenService,
-            MobileOAuthService mobileOAuthService) {
+            MobileOAuthService mobileOAuthService,
+            JwtPrincipalCache jwtPrincipalCache) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.userRepository = userRepository;
         this.jwtTokenService = jwtTokenService;
         this.mobileOAuthService = mobileOAuthService;
+        this.jwtPrincipalCache = jwtPrincipalCache;
     }
 
     /**
@@ -255,10 +259,14 @@ public class MobileAuthController {
      * Response: { "success": true, "message": "Успешно излизане" }
      */
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, Object>> logout() {
+    public ResponseEntity<Map<String, Object>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
         try {
             // В production може да се добави token blacklist
-            // За сега просто връщаме success - client трябва да изтрие tokens
+            // За сега client трябва да изтрие tokens; тук само изчистваме кеширания principal
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                jwtPrincipalCache.invalidateToken(authorization.substring(7));
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -10,6 +10,7 @@ import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.mobile.MobileDeviceTokenEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.repositories.mobile.MobileDeviceTokenRepository;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
 import smolyanVote.smolyanVote.viewsAndDTO.mobile.MobileDeviceTokenRequest;
 
 import java.time.Instant;
@@ -155,8 +156,8 @@ public class MobileDeviceController {
         }
 
         Object principal = auth.getPrincipal();
-        if (principal instanceof UserEntity) {
-            return (UserEntity) principal;
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.userId()).orElse(null);
         }
 
         // Ако principal е String (email от JWT), зареждаме user
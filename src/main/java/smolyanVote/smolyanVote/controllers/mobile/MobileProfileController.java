@@ -9,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO;
 
 import java.io.IOException;
@@ -161,9 +162,9 @@ public class MobileProfileController {
             return null;
         }
         
-        // Проверка дали Principal е вече UserEntity (от JWT filter)
-        if (auth.getPrincipal() instanceof UserEntity) {
-            return (UserEntity) auth.getPrincipal();
+        // JWT filter поставя само идентичността — user-ът се зарежда свеж за заявката
+        if (auth.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.userId()).orElse(null);
         }
         
         String identifier = null;
@@ -15,6 +15,7 @@ import smolyanVote.smolyanVote.models.svmessenger.SVMessageFlagEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.ImageCloudinaryService;
 import smolyanVote.smolyanVote.services.interfaces.SVMessengerService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.*;
 
 import java.util.HashMap;
@@ -281,6 +282,36 @@ public class SVMessengerController {
         }
     }
     
+    /**
+     * GET /api/svmessenger/messages/conversation/{conversationId}/cursor?before=...&size=50
+     * История с cursor pagination — бърза и при много стари съобщения, без count заявка.
+     * Без курсор връща последните съобщения; nextCursor се подава обратно като before
+     * (по-стари, най-новите първи) или after (по-нови, най-старите първи). newestCursor е
+     * най-новото съобщение в порцията — after=newestCursor взема пристигналите след него.
+     *
+     * Response: SVMessageSliceDTO
+     */
+    @GetMapping("/messages/conversation/{conversationId}/cursor")
+    public ResponseEntity<SVMessageSliceDTO> getMessagesByCursor(
+            @PathVariable Long conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication auth) {
+
+        try {
+            UserEntity currentUser = getCurrentUser(auth);
+            return ResponseEntity.ok(messengerService.getMessagesByCursor(
+                    conversationId, before, after, size, currentUser));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("Error getting messages by cursor", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * POST /api/svmessenger/messages/send
      * Изпрати ново съобщение (HTTP fallback за WebSocket)
@@ -1016,9 +1047,10 @@ public class SVMessengerController {
             throw new IllegalStateException("User not authenticated");
         }
         
-        // Проверка дали Principal е вече UserEntity (от JWT filter)
-        if (auth.getPrincipal() instanceof UserEntity) {
-            return (UserEntity) auth.getPrincipal();
+        // JWT filter поставя само идентичността — user-ът се зарежда свеж за заявката
+        if (auth.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.userId())
+                    .orElseThrow(() -> new IllegalStateException("User not found: " + jwtPrincipal.getName()));
         }
         
         String identifier = null;
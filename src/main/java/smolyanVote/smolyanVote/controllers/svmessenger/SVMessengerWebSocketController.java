@@ -12,6 +12,7 @@ import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.SVMessengerService;
 import smolyanVote.smolyanVote.services.interfaces.MobilePushNotificationService;
+import smolyanVote.smolyanVote.services.support.PresenceRegistry;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVAttachmentDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVSendMessageRequest;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVTypingStatusDTO;
@@ -20,7 +21,6 @@ import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVCallEventType;
 import smolyanVote.smolyanVote.websocket.svmessenger.SVMessengerWebSocketHandler;
 
 import java.security.Principal;
-import java.time.Instant;
 
 /**
  * WebSocket Controller за SVMessenger
@@ -34,16 +34,19 @@ public class SVMessengerWebSocketController {
     private final SVMessengerWebSocketHandler wsHandler;
     private final UserRepository userRepository;
     private final MobilePushNotificationService pushNotificationService;
+    private final PresenceRegistry presenceRegistry;
 
     public SVMessengerWebSocketController(
             SVMessengerService messengerService,
             SVMessengerWebSocketHandler wsHandler,
             UserRepository userRepository,
-            MobilePushNotificationService pushNotificationService) {
+            MobilePushNotificationService pushNotificationService,
+            PresenceRegistry presenceRegistry) {
         this.messengerService = messengerService;
         this.wsHandler = wsHandler;
         this.userRepository = userRepository;
         this.pushNotificationService = pushNotificationService;
+        this.presenceRegistry = presenceRegistry;
     }
 
     // ========== MESSAGE SENDING ==========
@@ -286,11 +289,8 @@ public class SVMessengerWebSocketController {
                 return;
             }
 
-            // ✅ ПЪРВО: Обнови онлайн статуса в базата данни
-            Integer oldStatus = user.getOnlineStatus();
-            user.setOnlineStatus(1);
-            user.setLastOnline(Instant.now());
-            userRepository.save(user);
+            // ✅ ПЪРВО: Обнови онлайн статуса (in-memory, PresenceRegistry го записва на batch-ове)
+            presenceRegistry.connected(user);
 
             // ✅ СЛЕД ТОВА: Broadcast че е онлайн
             wsHandler.broadcastOnlineStatus(user.getId(), true);
@@ -318,10 +318,8 @@ public class SVMessengerWebSocketController {
 
                 if (user != null) {
 
-                    // ✅ ПЪРВО: Обнови офлайн статуса в базата данни
-                    user.setOnlineStatus(0);
-                    user.setLastOnline(Instant.now());
-                    userRepository.save(user);
+                    // ✅ ПЪРВО: Обнови офлайн статуса (in-memory, PresenceRegistry го записва на batch-ове)
+                    presenceRegistry.disconnected(user.getId());
 
                     // ✅ СЛЕД ТОВА: Broadcast че е офлайн
                     wsHandler.broadcastOnlineStatus(user.getId(), false);
@@ -11,6 +11,7 @@ import smolyanVote.smolyanVote.models.svmessenger.SVMessageEntity;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.repositories.svmessenger.MessageTranslationRepository;
 import smolyanVote.smolyanVote.repositories.svmessenger.SVMessageRepository;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
 import smolyanVote.smolyanVote.services.svmessenger.GeminiTranslationService;
 
 import java.util.HashMap;
@@ -83,10 +84,11 @@ public class TranslationController {
             // Get current user from security context
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            // Check if Principal is already UserEntity (from JWT filter)
+            // JWT filter sets only the identity — load a fresh user for this request
             UserEntity currentUser;
-            if (authentication.getPrincipal() instanceof UserEntity) {
-                currentUser = (UserEntity) authentication.getPrincipal();
+            if (authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+                currentUser = userRepository.findById(jwtPrincipal.userId())
+                        .orElseThrow(() -> new RuntimeException("User not found: " + jwtPrincipal.getName()));
             } else {
                 // Get identifier (email for most cases)
                 String identifier = authentication.getName();
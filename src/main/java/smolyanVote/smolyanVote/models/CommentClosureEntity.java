@@ -0,0 +1,76 @@
+package smolyanVote.smolyanVote.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Closure table за дървото от коментари - по един ред на всяка двойка (предшественик, наследник),
+ * включително (коментар, коментар) с depth 0. Поддържа се при insert/delete в CommentsServiceImpl.
+ * PK обслужва "цялото поддърво на X"; idx_comment_closure_depth - броя отговори по ниво;
+ * idx_comment_closure_desc - пътя до корена при нов отговор.
+ * Без FK към comments_entity; масовите изтривания по публикация/събитие/сигнал чистят редовете
+ * си през CommentClosureRepository.deleteBy...Id.
+ */
+@Entity
+@Table(name = "comment_closure", indexes = {
+        @Index(name = "idx_comment_closure_depth", columnList = "ancestor_id, depth"),
+        @Index(name = "idx_comment_closure_desc", columnList = "descendant_id, depth")
+})
+public class CommentClosureEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    public CommentClosureEntity() {
+    }
+
+    public CommentClosureEntity(Long ancestorId, Long descendantId, int depth) {
+        this.id = new Key(ancestorId, descendantId);
+        this.depth = depth;
+    }
+
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "ancestor_id", nullable = false)
+        private Long ancestorId;
+
+        @Column(name = "descendant_id", nullable = false)
+        private Long descendantId;
+
+        public Key() {
+        }
+
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+
+        public Long getAncestorId() { return ancestorId; }
+        public Long getDescendantId() { return descendantId; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(ancestorId, key.ancestorId)
+                    && Objects.equals(descendantId, key.descendantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
@@ -28,6 +28,8 @@ public class MultiPollEntity extends BaseEventEntity {
     @Enumerated(EnumType.STRING)
     private Locations location;
 
+    // Броячите се пишат само атомарно през MultiPollRepository (addVote, incrementViewCounter)
+    @Column(updatable = false)
     private int viewCounter;
     private Instant createdAt;
     private String creatorName;
@@ -35,6 +37,7 @@ public class MultiPollEntity extends BaseEventEntity {
     @OneToMany(mappedBy = "multiPoll", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MultiPollImageEntity> images = new ArrayList<>();
 
+    @Column(updatable = false)
     private int totalUsersVotes; // Колко човека са гласували
 
     private String option1;
@@ -48,16 +51,27 @@ public class MultiPollEntity extends BaseEventEntity {
     private String option9;
     private String option10;
 
+    @Column(updatable = false)
     private int votes1 = 0;
+    @Column(updatable = false)
     private int votes2 = 0;
+    @Column(updatable = false)
     private int votes3 = 0;
+    @Column(updatable = false)
     private int votes4 = 0;
+    @Column(updatable = false)
     private int votes5 = 0;
+    @Column(updatable = false)
     private int votes6 = 0;
+    @Column(updatable = false)
     private int votes7 = 0;
+    @Column(updatable = false)
     private int votes8 = 0;
+    @Column(updatable = false)
     private int votes9 = 0;
+    @Column(updatable = false)
     private int votes10 = 0;
+    @Column(updatable = false)
     private int totalVotes = 0;
 
 
@@ -33,7 +33,8 @@ public class PodcastEpisodeEntity {
     @Column(name = "episode_number")
     private Integer episodeNumber;
 
-    @Column(name = "listen_count")
+    // Пише се само атомарно от EngagementCounterBuffer.flush
+    @Column(name = "listen_count", updatable = false)
     private Long listenCount = 0L;
 
     @Column(name = "is_published")
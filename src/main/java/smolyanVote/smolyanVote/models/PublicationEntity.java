@@ -44,19 +44,21 @@ public class PublicationEntity extends BaseEntity {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
-    @Column(name = "views_count", nullable = false, columnDefinition = "int default 0")
+    // Пишат се само атомарно от EngagementCounterBuffer.flush (col = col + delta)
+    @Column(name = "views_count", nullable = false, updatable = false, columnDefinition = "int default 0")
     private Integer viewsCount = 0;
 
-    @Column(name = "likes_count", nullable = false, columnDefinition = "int default 0")
+    // Пишат се само атомарно през PublicationRepository.adjustReactionCounts
+    @Column(name = "likes_count", nullable = false, updatable = false, columnDefinition = "int default 0")
     private Integer likesCount = 0;
 
-    @Column(name = "dislikes_count", nullable = false, columnDefinition = "int default 0")
+    @Column(name = "dislikes_count", nullable = false, updatable = false, columnDefinition = "int default 0")
     private Integer dislikesCount = 0;
 
     @Column(name = "comments_count", nullable = false, columnDefinition = "int default 0")
     private Integer commentsCount = 0;
 
-    @Column(name = "shares_count", nullable = false, columnDefinition = "int default 0")
+    @Column(name = "shares_count", nullable = false, updatable = false, columnDefinition = "int default 0")
     private Integer sharesCount = 0;
 
     @Column(name = "published_at")
@@ -83,15 +85,7 @@ public class PublicationEntity extends BaseEntity {
     @JsonIgnore
     private Set<CommentsEntity> comments = new HashSet<>();
 
-    // JSON колони за взаимодействия
-    @Column(name = "liked_by_users", columnDefinition = "TEXT")
-    private String likedByUsers; // JSON array of usernames
-
-    @Column(name = "disliked_by_users", columnDefinition = "TEXT")
-    private String dislikedByUsers; // JSON array of usernames
-
-    @Column(name = "bookmarked_by_users", columnDefinition = "TEXT")
-    private String bookmarkedByUsers; // JSON array of usernames
+    // Likes / dislikes / bookmarks живеят в publication_reactions (PublicationReactionEntity)
 
     @Column(name = "reported_by_users", columnDefinition = "TEXT")
     private String reportedByUsers; // JSON array of report objects
@@ -161,26 +155,6 @@ public class PublicationEntity extends BaseEntity {
         this.viewsCount++;
     }
 
-    public void incrementLikes() {
-        this.likesCount++;
-    }
-
-    public void decrementLikes() {
-        if (this.likesCount > 0) {
-            this.likesCount--;
-        }
-    }
-
-    public void incrementDislikes() {
-        this.dislikesCount++;
-    }
-
-    public void decrementDislikes() {
-        if (this.dislikesCount > 0) {
-            this.dislikesCount--;
-        }
-    }
-
     public void incrementComments() {
         this.commentsCount++;
     }
@@ -216,129 +190,6 @@ public class PublicationEntity extends BaseEntity {
         return status == PublicationStatus.PENDING;
     }
 
-    // ====== LIKES MANAGEMENT (САМО USERNAME) ======
-
-    /**
-     * Проверка дали публикацията е харесана от потребител
-     */
-    public boolean isLikedBy(String userName) {
-        if (likedByUsers == null || userName == null) return false;
-        return likedByUsers.contains("\"" + userName + "\"");
-    }
-
-    /**
-     * Добавяне на харесване
-     */
-    public void addLike(String userName) {
-        if (userName == null) return;
-
-        if (likedByUsers == null || likedByUsers.isEmpty()) {
-            likedByUsers = "[\"" + userName + "\"]";
-        } else if (!isLikedBy(userName)) {
-            likedByUsers = likedByUsers.substring(0, likedByUsers.length() - 1) + ",\"" + userName + "\"]";
-        }
-        incrementLikes();
-    }
-
-    /**
-     * Премахване на харесване
-     */
-    public void removeLike(String userName) {
-        if (likedByUsers == null || userName == null || !isLikedBy(userName)) return;
-
-        String userStr = "\"" + userName + "\"";
-
-        if (likedByUsers.equals("[" + userStr + "]")) {
-            likedByUsers = null;
-        } else if (likedByUsers.startsWith("[" + userStr + ",")) {
-            likedByUsers = likedByUsers.replace("[" + userStr + ",", "[");
-        } else if (likedByUsers.endsWith("," + userStr + "]")) {
-            likedByUsers = likedByUsers.replace("," + userStr + "]", "]");
-        } else {
-            likedByUsers = likedByUsers.replace("," + userStr + ",", ",");
-        }
-
-        decrementLikes();
-    }
-
-    // ====== DISLIKES MANAGEMENT ======
-
-    /**
-     * Проверка дали публикацията е дислайкана от потребител
-     */
-    public boolean isDislikedBy(String userName) {
-        if (dislikedByUsers == null || userName == null) return false;
-        return dislikedByUsers.contains("\"" + userName + "\"");
-    }
-
-    /**
-     * Добавяне на дислайк
-     */
-    public void addDislike(String userName) {
-        if (userName == null) return;
-
-        if (dislikedByUsers == null || dislikedByUsers.isEmpty()) {
-            dislikedByUsers = "[\"" + userName + "\"]";
-        } else if (!isDislikedBy(userName)) {
-            dislikedByUsers = dislikedByUsers.substring(0, dislikedByUsers.length() - 1) + ",\"" + userName + "\"]";
-        }
-        incrementDislikes();
-    }
-
-    /**
-     * Премахване на дислайк
-     */
-    public void removeDislike(String userName) {
-        if (dislikedByUsers == null || userName == null || !isDislikedBy(userName)) return;
-
-        String userStr = "\"" + userName + "\"";
-
-        if (dislikedByUsers.equals("[" + userStr + "]")) {
-            dislikedByUsers = null;
-        } else if (dislikedByUsers.startsWith("[" + userStr + ",")) {
-            dislikedByUsers = dislikedByUsers.replace("[" + userStr + ",", "[");
-        } else if (dislikedByUsers.endsWith("," + userStr + "]")) {
-            dislikedByUsers = dislikedByUsers.replace("," + userStr + "]", "]");
-        } else {
-            dislikedByUsers = dislikedByUsers.replace("," + userStr + ",", ",");
-        }
-
-        decrementDislikes();
-    }
-
-    // ====== BOOKMARKS MANAGEMENT ======
-
-    public boolean isBookmarkedBy(String userName) {
-        if (bookmarkedByUsers == null || userName == null) return false;
-        return bookmarkedByUsers.contains("\"" + userName + "\"");
-    }
-
-    public void addBookmark(String userName) {
-        if (userName == null) return;
-
-        if (bookmarkedByUsers == null || bookmarkedByUsers.isEmpty()) {
-            bookmarkedByUsers = "[\"" + userName + "\"]";
-        } else if (!isBookmarkedBy(userName)) {
-            bookmarkedByUsers = bookmarkedByUsers.substring(0, bookmarkedByUsers.length() - 1) + ",\"" + userName + "\"]";
-        }
-    }
-
-    public void removeBookmark(String userName) {
-        if (bookmarkedByUsers == null || userName == null || !isBookmarkedBy(userName)) return;
-
-        String userStr = "\"" + userName + "\"";
-
-        if (bookmarkedByUsers.equals("[" + userStr + "]")) {
-            bookmarkedByUsers = null;
-        } else if (bookmarkedByUsers.startsWith("[" + userStr + ",")) {
-            bookmarkedByUsers = bookmarkedByUsers.replace("[" + userStr + ",", "[");
-        } else if (bookmarkedByUsers.endsWith("," + userStr + "]")) {
-            bookmarkedByUsers = bookmarkedByUsers.replace("," + userStr + "]", "]");
-        } else {
-            bookmarkedByUsers = bookmarkedByUsers.replace("," + userStr + ",", ",");
-        }
-    }
-
     // HELPER методи за work с link данните:
 
     public boolean hasLink() {
@@ -390,12 +241,6 @@ public class PublicationEntity extends BaseEntity {
     public UserEntity getAuthor() { return author; }
     public void setAuthor(UserEntity author) { this.author = author; }
 
-    public String getLikedByUsers() { return likedByUsers; }
-    public void setLikedByUsers(String likedByUsers) { this.likedByUsers = likedByUsers; }
-
-    public String getDislikedByUsers() { return dislikedByUsers; }
-    public void setDislikedByUsers(String dislikedByUsers) { this.dislikedByUsers = dislikedByUsers; }
-
     public String getReportedByUsers() { return reportedByUsers; }
     public void setReportedByUsers(String reportedByUsers) { this.reportedByUsers = reportedByUsers; }
 
@@ -411,9 +256,6 @@ public class PublicationEntity extends BaseEntity {
     public LocalDateTime getPublishedAt() { return publishedAt; }
     public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
 
-    public String getBookmarkedByUsers() { return bookmarkedByUsers; }
-    public void setBookmarkedByUsers(String bookmarkedByUsers) { this.bookmarkedByUsers = bookmarkedByUsers; }
-
     public String getLinkUrl() {return linkUrl;}
 
     public void setLinkUrl(String linkUrl) {this.linkUrl = linkUrl;}
@@ -0,0 +1,81 @@
+package smolyanVote.smolyanVote.models;
+
+import jakarta.persistence.*;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Like / dislike / bookmark на публикация - по един ред на (публикация, потребител, вид).
+ * PK обслужва toggle-ите; idx_pub_reaction_user обслужва "моите харесани/запазени".
+ * Брояча стои денормализиран в publications.likes_count / dislikes_count.
+ */
+@Entity
+@Table(name = "publication_reactions", indexes = {
+        @Index(name = "idx_pub_reaction_user", columnList = "user_id, kind, publication_id")
+})
+public class PublicationReactionEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public PublicationReactionEntity() {
+    }
+
+    public PublicationReactionEntity(Long publicationId, Long userId, PublicationReactionType kind) {
+        this.id = new Key(publicationId, userId, kind);
+        this.createdAt = Instant.now();
+    }
+
+    public Key getId() { return id; }
+    public void setId(Key id) { this.id = id; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "publication_id", nullable = false)
+        private Long publicationId;
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "kind", nullable = false, length = 10)
+        private PublicationReactionType kind;
+
+        public Key() {
+        }
+
+        public Key(Long publicationId, Long userId, PublicationReactionType kind) {
+            this.publicationId = publicationId;
+            this.userId = userId;
+            this.kind = kind;
+        }
+
+        public Long getPublicationId() { return publicationId; }
+        public Long getUserId() { return userId; }
+        public PublicationReactionType getKind() { return kind; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(publicationId, key.publicationId)
+                    && Objects.equals(userId, key.userId)
+                    && kind == key.kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(publicationId, userId, kind);
+        }
+    }
+}
@@ -29,6 +29,8 @@ public class ReferendumEntity extends BaseEventEntity{
     @Enumerated(EnumType.STRING)
     private Locations location;
 
+    // Броячите се пишат само атомарно през ReferendumRepository (addVote, incrementViewCounter)
+    @Column(updatable = false)
     private int viewCounter;
     private Instant createdAt;
     private String creatorName;
@@ -48,16 +50,27 @@ public class ReferendumEntity extends BaseEventEntity{
     private String option9;
     private String option10;
 
+    @Column(updatable = false)
     private int votes1 = 0;
+    @Column(updatable = false)
     private int votes2 = 0;
+    @Column(updatable = false)
     private int votes3 = 0;
+    @Column(updatable = false)
     private int votes4 = 0;
+    @Column(updatable = false)
     private int votes5 = 0;
+    @Column(updatable = false)
     private int votes6 = 0;
+    @Column(updatable = false)
     private int votes7 = 0;
+    @Column(updatable = false)
     private int votes8 = 0;
+    @Column(updatable = false)
     private int votes9 = 0;
+    @Column(updatable = false)
     private int votes10 = 0;
+    @Column(updatable = false)
     private int totalVotes;
 
 
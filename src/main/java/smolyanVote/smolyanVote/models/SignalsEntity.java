@@ -61,7 +61,8 @@ public class SignalsEntity extends BaseEntity {
     private UserEntity author;
 
     // Административни полета
-    @Column(name = "views_count", nullable = false)
+    // Пише се само атомарно от EngagementCounterBuffer.flush
+    @Column(name = "views_count", nullable = false, updatable = false)
     private Integer viewsCount = 0;
 
     @Column(name = "likes_count", nullable = false)
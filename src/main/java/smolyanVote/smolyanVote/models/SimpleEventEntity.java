@@ -26,6 +26,8 @@ public class SimpleEventEntity extends BaseEventEntity {
     @Enumerated(EnumType.STRING)
     private Locations location;
 
+    // Броячите се пишат само атомарно през SimpleEventRepository (addVote, incrementViewCounter)
+    @Column(updatable = false)
     private int viewCounter;
     private Instant createdAt;
     private String creatorName;
@@ -33,9 +35,13 @@ public class SimpleEventEntity extends BaseEventEntity {
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SimpleEventImageEntity> images = new ArrayList<>();
 
+    @Column(updatable = false)
     private int yesVotes;
+    @Column(updatable = false)
     private int noVotes;
+    @Column(updatable = false)
     private int neutralVotes;
+    @Column(updatable = false)
     private int totalVotes;
 
     private String positiveLabel;
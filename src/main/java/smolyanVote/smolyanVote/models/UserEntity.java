@@ -80,6 +80,8 @@ public class UserEntity extends BaseEntity {
     @ElementCollection(fetch = FetchType.EAGER)
     @Column
     private List<Long> notification;
+    // Пише се само атомарно през UserRepository (incrementTotalVotes, decrementTotalVotes)
+    @Column(updatable = false)
     private int totalVotes;
 
     private int publicationsCount;
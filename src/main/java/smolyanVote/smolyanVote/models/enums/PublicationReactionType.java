@@ -0,0 +1,7 @@
+package smolyanVote.smolyanVote.models.enums;
+
+public enum PublicationReactionType {
+    LIKE,
+    DISLIKE,
+    BOOKMARK
+}
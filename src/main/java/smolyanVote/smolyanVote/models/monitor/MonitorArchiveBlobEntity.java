@@ -0,0 +1,73 @@
+package smolyanVote.smolyanVote.models.monitor;
+
+import jakarta.persistence.*;
+import smolyanVote.smolyanVote.models.BaseEntity;
+
+/**
+ * One archived text, stored once per SHA-256 of its content whichever documents and versions
+ * share it. Either the deflated full text ({@code baseHash} null) or a deflated delta against
+ * the blob named by {@code baseHash}.
+ */
+@Entity
+@Table(name = "monitor_archive_blobs", indexes = {
+        @Index(name = "idx_monitor_archive_blobs_hash", columnList = "content_hash", unique = true)
+})
+public class MonitorArchiveBlobEntity extends BaseEntity {
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "base_hash", length = 64)
+    private String baseHash;
+
+    /** Deltas between this blob and the nearest full text. */
+    @Column(name = "chain_depth", nullable = false)
+    private int chainDepth;
+
+    @Column(name = "text_length", nullable = false)
+    private int textLength;
+
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] payload;
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getBaseHash() {
+        return baseHash;
+    }
+
+    public void setBaseHash(String baseHash) {
+        this.baseHash = baseHash;
+    }
+
+    public int getChainDepth() {
+        return chainDepth;
+    }
+
+    public void setChainDepth(int chainDepth) {
+        this.chainDepth = chainDepth;
+    }
+
+    public int getTextLength() {
+        return textLength;
+    }
+
+    public void setTextLength(int textLength) {
+        this.textLength = textLength;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
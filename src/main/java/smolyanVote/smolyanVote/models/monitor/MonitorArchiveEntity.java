@@ -18,9 +18,13 @@ public class MonitorArchiveEntity extends BaseEntity {
     @Column(name = "content_hash", nullable = false, length = 64)
     private String contentHash;
 
+    /** Legacy full copy; newer rows point at a shared blob through {@link #blobHash}. */
     @Column(name = "raw_snapshot", columnDefinition = "LONGTEXT")
     private String rawSnapshot;
 
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;
+
     @Column(name = "source_url", length = 1000)
     private String sourceUrl;
 
@@ -51,6 +55,14 @@ public class MonitorArchiveEntity extends BaseEntity {
         this.rawSnapshot = rawSnapshot;
     }
 
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
+
     public String getSourceUrl() {
         return sourceUrl;
     }
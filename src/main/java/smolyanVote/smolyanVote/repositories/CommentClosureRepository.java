@@ -0,0 +1,86 @@
+package smolyanVote.smolyanVote.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smolyanVote.smolyanVote.models.CommentClosureEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CommentClosureRepository extends JpaRepository<CommentClosureEntity, CommentClosureEntity.Key> {
+
+    /**
+     * Пътищата на нов коментар: всички предшественици на parent-а му с depth + 1 и собствения ред
+     * с depth 0. За коментар без parent вмъква само собствения ред.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO comment_closure (ancestor_id, descendant_id, depth)
+        SELECT p.ancestor_id, c.id, p.depth + 1
+        FROM comments_entity c
+        JOIN comment_closure p ON p.descendant_id = c.parent_id
+        WHERE c.id = :commentId
+        UNION ALL
+        SELECT c.id, c.id, 0 FROM comments_entity c WHERE c.id = :commentId
+        """, nativeQuery = true)
+    int insertPaths(@Param("commentId") Long commentId);
+
+    /** id-тата на цялото поддърво, включително корена */
+    @Query("SELECT cc.id.descendantId FROM CommentClosureEntity cc WHERE cc.id.ancestorId = :rootId")
+    List<Long> findSubtreeIds(@Param("rootId") Long rootId);
+
+    /** [depth, count] за отговорите под коментара (depth 1 = преки отговори) */
+    @Query("""
+        SELECT cc.depth, COUNT(cc) FROM CommentClosureEntity cc
+        WHERE cc.id.ancestorId = :rootId AND cc.depth > 0
+        GROUP BY cc.depth ORDER BY cc.depth
+        """)
+    List<Object[]> countRepliesByDepth(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query("DELETE FROM CommentClosureEntity cc WHERE cc.id.descendantId IN :commentIds")
+    int deleteByDescendantIds(@Param("commentIds") Collection<Long> commentIds);
+
+    // ====== МАСОВО ИЗТРИВАНЕ ======
+    // Викат се преди CommentsRepository.deleteAllBy..., докато коментарите още съществуват.
+    // Всеки ред има наследник в същата нишка, така че изтриването по descendant_id хваща всички.
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM comment_closure WHERE descendant_id IN
+            (SELECT c.id FROM comments_entity c WHERE c.publication_id = :publicationId)
+        """, nativeQuery = true)
+    int deleteByPublicationId(@Param("publicationId") Long publicationId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM comment_closure WHERE descendant_id IN
+            (SELECT c.id FROM comments_entity c WHERE c.event_id = :eventId)
+        """, nativeQuery = true)
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM comment_closure WHERE descendant_id IN
+            (SELECT c.id FROM comments_entity c WHERE c.referendum_id = :referendumId)
+        """, nativeQuery = true)
+    int deleteByReferendumId(@Param("referendumId") Long referendumId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM comment_closure WHERE descendant_id IN
+            (SELECT c.id FROM comments_entity c WHERE c.multi_poll_id = :multiPollId)
+        """, nativeQuery = true)
+    int deleteByMultiPollId(@Param("multiPollId") Long multiPollId);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM comment_closure WHERE descendant_id IN
+            (SELECT c.id FROM comments_entity c WHERE c.signal_id = :signalId)
+        """, nativeQuery = true)
+    int deleteBySignalId(@Param("signalId") Long signalId);
+}
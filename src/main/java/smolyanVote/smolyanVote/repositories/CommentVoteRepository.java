@@ -1,9 +1,13 @@
 package smolyanVote.smolyanVote.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import smolyanVote.smolyanVote.models.CommentVoteEntity;
 import smolyanVote.smolyanVote.models.enums.CommentReactionType;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface CommentVoteRepository extends JpaRepository<CommentVoteEntity, Long> {
@@ -14,4 +18,8 @@ public interface CommentVoteRepository extends JpaRepository<CommentVoteEntity,
     long countByCommentIdAndReaction(Long commentId, CommentReactionType commentReactionType);
 
     void deleteAllByCommentId(Long id);
+
+    @Modifying
+    @Query("DELETE FROM CommentVoteEntity v WHERE v.comment.id IN :commentIds")
+    int deleteAllByCommentIds(@Param("commentIds") Collection<Long> commentIds);
 }
@@ -3,12 +3,14 @@ package smolyanVote.smolyanVote.repositories;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.models.CommentsEntity;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,18 +34,12 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
             c.unlike_count,
             c.is_edited,
             c.parent_id,
-            COALESCE(reply_counts.reply_count, 0) as replies_count,
+            (SELECT COUNT(*) FROM comment_closure cc WHERE cc.ancestor_id = c.id AND cc.depth = 1) as replies_count,
             COALESCE(user_votes.reaction, 'NONE') as user_reaction,
             'publication' as entity_type,
             :publicationId as entity_id
         FROM comments_entity c
         LEFT JOIN users u ON c.author = u.username
-        LEFT JOIN (
-            SELECT parent_id, COUNT(*) as reply_count 
-            FROM comments_entity 
-            WHERE parent_id IS NOT NULL 
-            GROUP BY parent_id
-        ) reply_counts ON c.id = reply_counts.parent_id
         LEFT JOIN comment_votes user_votes ON c.id = user_votes.comment_id 
             AND user_votes.username = COALESCE(:currentUsername, '__guest__')
         WHERE c.publication_id = :publicationId 
@@ -121,10 +117,10 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
      * 🚀 BATCH заявка за replies counts на множество коментари
      */
     @Query(value = """
-        SELECT parent_id, COUNT(*) as reply_count 
-        FROM comments_entity 
-        WHERE parent_id IN :commentIds 
-        GROUP BY parent_id
+        SELECT ancestor_id, COUNT(*) as reply_count 
+        FROM comment_closure 
+        WHERE ancestor_id IN :commentIds AND depth = 1 
+        GROUP BY ancestor_id
         """, nativeQuery = true)
     List<Object[]> findRepliesCountsForComments(@Param("commentIds") List<Long> commentIds);
 
@@ -137,15 +133,11 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
         SELECT 
             c.id, c.text, c.created, c.modified, c.author, COALESCE(u.image_url, '/default-avatar.jpg') as author_image,
             c.like_count, c.unlike_count, c.is_edited, c.parent_id,
-            COALESCE(reply_counts.reply_count, 0) as replies_count,
+            (SELECT COUNT(*) FROM comment_closure cc WHERE cc.ancestor_id = c.id AND cc.depth = 1) as replies_count,
             COALESCE(user_votes.reaction, 'NONE') as user_reaction,
             'simpleEvent' as entity_type, :eventId as entity_id
         FROM comments_entity c
         LEFT JOIN users u ON c.author = u.username
-        LEFT JOIN (
-            SELECT parent_id, COUNT(*) as reply_count 
-            FROM comments_entity WHERE parent_id IS NOT NULL GROUP BY parent_id
-        ) reply_counts ON c.id = reply_counts.parent_id
         LEFT JOIN comment_votes user_votes ON c.id = user_votes.comment_id 
             AND user_votes.username = COALESCE(:currentUsername, '__guest__')
         WHERE c.event_id = :eventId AND c.parent_id IS NULL
@@ -170,15 +162,11 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
         SELECT 
             c.id, c.text, c.created, c.modified, c.author, COALESCE(u.image_url, '/default-avatar.jpg') as author_image,
             c.like_count, c.unlike_count, c.is_edited, c.parent_id,
-            COALESCE(reply_counts.reply_count, 0) as replies_count,
+            (SELECT COUNT(*) FROM comment_closure cc WHERE cc.ancestor_id = c.id AND cc.depth = 1) as replies_count,
             COALESCE(user_votes.reaction, 'NONE') as user_reaction,
             'referendum' as entity_type, :referendumId as entity_id
         FROM comments_entity c
         LEFT JOIN users u ON c.author = u.username
-        LEFT JOIN (
-            SELECT parent_id, COUNT(*) as reply_count 
-            FROM comments_entity WHERE parent_id IS NOT NULL GROUP BY parent_id
-        ) reply_counts ON c.id = reply_counts.parent_id
         LEFT JOIN comment_votes user_votes ON c.id = user_votes.comment_id 
             AND user_votes.username = COALESCE(:currentUsername, '__guest__')
         WHERE c.referendum_id = :referendumId AND c.parent_id IS NULL
@@ -203,15 +191,11 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
         SELECT 
             c.id, c.text, c.created, c.modified, c.author, COALESCE(u.image_url, '/default-avatar.jpg') as author_image,
             c.like_count, c.unlike_count, c.is_edited, c.parent_id,
-            COALESCE(reply_counts.reply_count, 0) as replies_count,
+            (SELECT COUNT(*) FROM comment_closure cc WHERE cc.ancestor_id = c.id AND cc.depth = 1) as replies_count,
             COALESCE(user_votes.reaction, 'NONE') as user_reaction,
             'multiPoll' as entity_type, :multiPollId as entity_id
         FROM comments_entity c
         LEFT JOIN users u ON c.author = u.username
-        LEFT JOIN (
-            SELECT parent_id, COUNT(*) as reply_count 
-            FROM comments_entity WHERE parent_id IS NOT NULL GROUP BY parent_id
-        ) reply_counts ON c.id = reply_counts.parent_id
         LEFT JOIN comment_votes user_votes ON c.id = user_votes.comment_id 
             AND user_votes.username = COALESCE(:currentUsername, '__guest__')
         WHERE c.multi_poll_id = :multiPollId AND c.parent_id IS NULL
@@ -237,15 +221,11 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
     SELECT 
         c.id, c.text, c.created, c.modified, c.author, COALESCE(u.image_url, '/default-avatar.jpg') as author_image,
         c.like_count, c.unlike_count, c.is_edited, c.parent_id,
-        COALESCE(reply_counts.reply_count, 0) as replies_count,
+        (SELECT COUNT(*) FROM comment_closure cc WHERE cc.ancestor_id = c.id AND cc.depth = 1) as replies_count,
         COALESCE(user_votes.reaction, 'NONE') as user_reaction,
         'signal' as entity_type, :signalId as entity_id
     FROM comments_entity c
     LEFT JOIN users u ON c.author = u.username
-    LEFT JOIN (
-        SELECT parent_id, COUNT(*) as reply_count 
-        FROM comments_entity WHERE parent_id IS NOT NULL GROUP BY parent_id
-    ) reply_counts ON c.id = reply_counts.parent_id
     LEFT JOIN comment_votes user_votes ON c.id = user_votes.comment_id 
         AND user_votes.username = COALESCE(:currentUsername, '__guest__')
     WHERE c.signal_id = :signalId AND c.parent_id IS NULL
@@ -298,7 +278,7 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
     @Query("SELECT c FROM CommentsEntity c WHERE c.parent.id = :parentId ORDER BY c.created ASC")
     Page<CommentsEntity> findRepliesDtoByParentId(@Param("parentId") Long parentId, Pageable pageable);
 
-    @Query("SELECT COUNT(c) FROM CommentsEntity c WHERE c.parent.id = :parentId")
+    @Query("SELECT COUNT(cc) FROM CommentClosureEntity cc WHERE cc.id.ancestorId = :parentId AND cc.depth = 1")
     long countRepliesByParentId(@Param("parentId") Long parentId);
 
     @Query("SELECT c FROM CommentsEntity c WHERE c.signal.id = :signalId AND c.parent IS NULL ORDER BY c.created DESC")
@@ -319,6 +299,22 @@ public interface CommentsRepository extends JpaRepository<CommentsEntity, Long>
     long countByMultiPollId(@Param("multiPollId") Long multiPollId);
     long countBySignalId(Long signalId);
 
+    // ====== ПОДДЪРВЕТА (comment_closure) ======
+
+    /** Коментарът и всички отговори под него, на произволна дълбочина - една заявка */
+    @Query("SELECT c FROM CommentsEntity c WHERE c.id IN " +
+            "(SELECT cc.id.descendantId FROM CommentClosureEntity cc WHERE cc.id.ancestorId = :rootId)")
+    List<CommentsEntity> findSubtree(@Param("rootId") Long rootId);
+
+    /** Откача parent връзките, за да може поддървото да се изтрие с една DELETE заявка */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE comments_entity SET parent_id = NULL WHERE id IN :commentIds", nativeQuery = true)
+    int detachParents(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM comments_entity WHERE id IN :commentIds", nativeQuery = true)
+    int deleteByIds(@Param("commentIds") Collection<Long> commentIds);
+
     // ====== CLEANUP МЕТОДИ ======
 
     @Transactional
@@ -9,6 +9,7 @@ import smolyanVote.smolyanVote.models.EmailSubscriptionEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.SubscriptionType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,11 @@ public interface EmailSubscriptionRepository extends JpaRepository<EmailSubscrip
     @Query("SELECT DISTINCT e.user FROM EmailSubscriptionEntity e WHERE e.type = :type AND e.isActive = true")
     List<UserEntity> findActiveSubscribersByType(@Param("type") SubscriptionType type);
 
+    // id + username на активните абонати за някой от типовете (за групови нотификации)
+    @Query("SELECT DISTINCT e.user.id, e.user.username FROM EmailSubscriptionEntity e " +
+            "WHERE e.type IN :types AND e.isActive = true")
+    List<Object[]> findActiveSubscriberIdsAndUsernames(@Param("types") Collection<SubscriptionType> types);
+
     // Token операции
     Optional<EmailSubscriptionEntity> findByUnsubscribeToken(String unsubscribeToken);
 
@@ -4,8 +4,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import smolyanVote.smolyanVote.models.MultiPollEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +22,29 @@ public interface MultiPollRepository extends JpaRepository<MultiPollEntity, Long
     <T> Page<MultiPollEntity> findAll(Specification<T> tSpecification, Pageable pageable);
 
     List<MultiPollEntity> findAllByCreatorNameIgnoreCase(String usernameLower);
+
+    /** Атомарно отчитане на един гласувал с избраните опции (1..10 → votes1..votes10) */
+    @Modifying
+    @Query("""
+            UPDATE MultiPollEntity e SET
+                e.votes1 = e.votes1 + CASE WHEN 1 IN (:options) THEN 1 ELSE 0 END,
+                e.votes2 = e.votes2 + CASE WHEN 2 IN (:options) THEN 1 ELSE 0 END,
+                e.votes3 = e.votes3 + CASE WHEN 3 IN (:options) THEN 1 ELSE 0 END,
+                e.votes4 = e.votes4 + CASE WHEN 4 IN (:options) THEN 1 ELSE 0 END,
+                e.votes5 = e.votes5 + CASE WHEN 5 IN (:options) THEN 1 ELSE 0 END,
+                e.votes6 = e.votes6 + CASE WHEN 6 IN (:options) THEN 1 ELSE 0 END,
+                e.votes7 = e.votes7 + CASE WHEN 7 IN (:options) THEN 1 ELSE 0 END,
+                e.votes8 = e.votes8 + CASE WHEN 8 IN (:options) THEN 1 ELSE 0 END,
+                e.votes9 = e.votes9 + CASE WHEN 9 IN (:options) THEN 1 ELSE 0 END,
+                e.votes10 = e.votes10 + CASE WHEN 10 IN (:options) THEN 1 ELSE 0 END,
+                e.totalVotes = e.totalVotes + :optionCount,
+                e.totalUsersVotes = e.totalUsersVotes + 1
+            WHERE e.id = :pollId
+            """)
+    int addVote(@Param("pollId") Long pollId, @Param("options") Collection<Integer> options,
+                @Param("optionCount") int optionCount);
+
+    @Modifying
+    @Query("UPDATE MultiPollEntity e SET e.viewCounter = e.viewCounter + 1 WHERE e.id = :pollId")
+    int incrementViewCounter(@Param("pollId") Long pollId);
 }
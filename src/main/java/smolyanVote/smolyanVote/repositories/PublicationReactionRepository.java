@@ -0,0 +1,83 @@
+package smolyanVote.smolyanVote.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import smolyanVote.smolyanVote.models.PublicationReactionEntity;
+import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
+
+import java.util.List;
+
+@Repository
+public interface PublicationReactionRepository
+        extends JpaRepository<PublicationReactionEntity, PublicationReactionEntity.Key> {
+
+    /**
+     * Връща 1 ако редът е добавен, 0 ако вече го има - броячите се променят само при 1,
+     * така че двоен клик / паралелни заявки не ги разминават.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO publication_reactions (publication_id, user_id, kind, created_at) " +
+            "VALUES (:publicationId, :userId, :kind, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("publicationId") Long publicationId,
+                       @Param("userId") Long userId,
+                       @Param("kind") String kind);
+
+    @Modifying
+    @Query("DELETE FROM PublicationReactionEntity r WHERE r.id.publicationId = :publicationId " +
+            "AND r.id.userId = :userId AND r.id.kind = :kind")
+    int deleteReaction(@Param("publicationId") Long publicationId,
+                       @Param("userId") Long userId,
+                       @Param("kind") PublicationReactionType kind);
+
+    /**
+     * Реакциите на един потребител към една публикация (PK prefix lookup)
+     */
+    @Query("SELECT r.id.kind FROM PublicationReactionEntity r " +
+            "WHERE r.id.publicationId = :publicationId AND r.id.userId = :userId")
+    List<PublicationReactionType> findKinds(@Param("publicationId") Long publicationId,
+                                            @Param("userId") Long userId);
+
+    /**
+     * "Моите харесани / запазени" - по idx_pub_reaction_user, най-новите първи
+     */
+    @Query("SELECT r.id.publicationId FROM PublicationReactionEntity r, UserEntity u " +
+            "WHERE u.username = :username AND r.id.userId = u.id AND r.id.kind = :kind " +
+            "ORDER BY r.createdAt DESC")
+    List<Long> findPublicationIdsByUsername(@Param("username") String username,
+                                            @Param("kind") PublicationReactionType kind);
+
+    @Query("SELECT u FROM PublicationReactionEntity r, UserEntity u " +
+            "WHERE r.id.publicationId = :publicationId AND r.id.kind = :kind AND u.id = r.id.userId " +
+            "ORDER BY r.createdAt")
+    List<UserEntity> findUsers(@Param("publicationId") Long publicationId,
+                               @Param("kind") PublicationReactionType kind);
+
+    @Modifying
+    @Query("DELETE FROM PublicationReactionEntity r WHERE r.id.publicationId = :publicationId")
+    int deleteAllByPublicationId(@Param("publicationId") Long publicationId);
+
+    /**
+     * Изважда харесванията / нехаресванията на потребителя от броячите на публикациите
+     * с една заявка - вика се преди deleteAllByUserId, иначе броячите остават завишени.
+     * Native, защото likes_count / dislikes_count не се пишат от entity save.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE publications p SET
+                likes_count = GREATEST(COALESCE(p.likes_count, 0) - (SELECT COUNT(*) FROM publication_reactions r
+                        WHERE r.publication_id = p.id AND r.user_id = :userId AND r.kind = 'LIKE'), 0),
+                dislikes_count = GREATEST(COALESCE(p.dislikes_count, 0) - (SELECT COUNT(*) FROM publication_reactions r
+                        WHERE r.publication_id = p.id AND r.user_id = :userId AND r.kind = 'DISLIKE'), 0)
+            WHERE p.id IN (SELECT r.publication_id FROM publication_reactions r
+                    WHERE r.user_id = :userId AND r.kind IN ('LIKE', 'DISLIKE'))
+            """, nativeQuery = true)
+    int releaseReactionCountsOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM PublicationReactionEntity r WHERE r.id.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -3,6 +3,7 @@ package smolyanVote.smolyanVote.repositories;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -180,38 +181,20 @@ public interface PublicationRepository extends JpaRepository<PublicationEntity,
      */
     long countByAuthorAndCreatedAfterAndStatus(UserEntity author, Instant created, PublicationStatus status);
 
-    // ====== USER PREFERENCES QUERIES ======
+    // ====== REACTION COUNTERS ======
 
     /**
-     * Намира всички публикации които потребителят е харесал
+     * Атомарна промяна на броячите спрямо реално добавените/изтритите редове в publication_reactions.
+     * Native, защото likes_count / dislikes_count не се пишат от entity save.
      */
-    @Query("SELECT p.id FROM PublicationEntity p WHERE p.likedByUsers LIKE :userPattern")
-    List<Long> findLikedPublicationIdsByUsernamePattern(@Param("userPattern") String userPattern);
-
-    /**
-     * Намира всички публикации които потребителят е дислайкнал
-     */
-    @Query("SELECT p.id FROM PublicationEntity p WHERE p.dislikedByUsers LIKE :userPattern")
-    List<Long> findDislikedPublicationIdsByUsernamePattern(@Param("userPattern") String userPattern);
-
-    /**
-     * Намира всички публикации които потребителят е bookmark-нал
-     */
-    @Query("SELECT p.id FROM PublicationEntity p WHERE p.bookmarkedByUsers LIKE :userPattern")
-    List<Long> findBookmarkedPublicationIdsByUsernamePattern(@Param("userPattern") String userPattern);
-
-    // Default методи за лесно използване
-    default List<Long> findLikedPublicationIdsByUsername(String username) {
-        return findLikedPublicationIdsByUsernamePattern("%\"" + username + "\"%");
-    }
-
-    default List<Long> findDislikedPublicationIdsByUsername(String username) {
-        return findDislikedPublicationIdsByUsernamePattern("%\"" + username + "\"%");
-    }
-
-    default List<Long> findBookmarkedPublicationIdsByUsername(String username) {
-        return findBookmarkedPublicationIdsByUsernamePattern("%\"" + username + "\"%");
-    }
+    @Modifying
+    @Query(value = "UPDATE publications SET " +
+            "likes_count = GREATEST(COALESCE(likes_count, 0) + :likesDelta, 0), " +
+            "dislikes_count = GREATEST(COALESCE(dislikes_count, 0) + :dislikesDelta, 0) " +
+            "WHERE id = :id", nativeQuery = true)
+    int adjustReactionCounts(@Param("id") Long id,
+                             @Param("likesDelta") int likesDelta,
+                             @Param("dislikesDelta") int dislikesDelta);
 
     @Query(value = "SELECT author_id FROM publications WHERE id = :publicationId", nativeQuery = true)
     Long findAuthorIdByPublicationId(@Param("publicationId") Long publicationId);
@@ -4,6 +4,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import smolyanVote.smolyanVote.models.ReferendumEntity;
 import java.util.List;
@@ -19,4 +22,27 @@ public interface ReferendumRepository extends JpaRepository<ReferendumEntity, Lo
     <T> Page<ReferendumEntity> findAll(Specification<T> tSpecification, Pageable pageable);
 
     List<ReferendumEntity> findAllByCreatorNameIgnoreCase(String usernameLower);
+
+    /** Атомарно отчитане на глас за опция {@code option} (0..9 → votes1..votes10) */
+    @Modifying
+    @Query("""
+            UPDATE ReferendumEntity e SET
+                e.votes1 = e.votes1 + CASE WHEN :option = 0 THEN 1 ELSE 0 END,
+                e.votes2 = e.votes2 + CASE WHEN :option = 1 THEN 1 ELSE 0 END,
+                e.votes3 = e.votes3 + CASE WHEN :option = 2 THEN 1 ELSE 0 END,
+                e.votes4 = e.votes4 + CASE WHEN :option = 3 THEN 1 ELSE 0 END,
+                e.votes5 = e.votes5 + CASE WHEN :option = 4 THEN 1 ELSE 0 END,
+                e.votes6 = e.votes6 + CASE WHEN :option = 5 THEN 1 ELSE 0 END,
+                e.votes7 = e.votes7 + CASE WHEN :option = 6 THEN 1 ELSE 0 END,
+                e.votes8 = e.votes8 + CASE WHEN :option = 7 THEN 1 ELSE 0 END,
+                e.votes9 = e.votes9 + CASE WHEN :option = 8 THEN 1 ELSE 0 END,
+                e.votes10 = e.votes10 + CASE WHEN :option = 9 THEN 1 ELSE 0 END,
+                e.totalVotes = e.totalVotes + 1
+            WHERE e.id = :referendumId
+            """)
+    int addVote(@Param("referendumId") Long referendumId, @Param("option") int option);
+
+    @Modifying
+    @Query("UPDATE ReferendumEntity e SET e.viewCounter = e.viewCounter + 1 WHERE e.id = :referendumId")
+    int incrementViewCounter(@Param("referendumId") Long referendumId);
 }
@@ -1,6 +1,8 @@
 package smolyanVote.smolyanVote.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import smolyanVote.smolyanVote.models.SignalSubscriptionEntity;
 
@@ -18,5 +20,9 @@ public interface SignalSubscriptionRepository extends JpaRepository<SignalSubscr
 
     List<SignalSubscriptionEntity> findBySignalId(Long signalId);
 
+    /** id + username на абонатите — за групови нотификации без зареждане на users */
+    @Query("SELECT s.user.id, s.user.username FROM SignalSubscriptionEntity s WHERE s.signal.id = :signalId")
+    List<Object[]> findSubscriberIdsAndUsernames(@Param("signalId") Long signalId);
+
     void deleteByUserIdAndSignalId(Long userId, Long signalId);
 }
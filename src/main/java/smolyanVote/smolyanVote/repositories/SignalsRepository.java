@@ -88,4 +88,8 @@ public interface SignalsRepository extends JpaRepository<SignalsEntity, Long> {
             "LOWER(s.description) LIKE LOWER(CONCAT('%', :term, '%'))) " +
             "ORDER BY s.created DESC")
     List<SignalsEntity> findActiveByTextMatch(@Param("term") String term, Pageable pageable);
+
+    /** id, title, description, category — what the related-signals index needs, without authors. */
+    @Query("SELECT s.id, s.title, s.description, s.category FROM SignalsEntity s WHERE s.active = true")
+    List<Object[]> findActiveSearchFields();
 }
\ No newline at end of file
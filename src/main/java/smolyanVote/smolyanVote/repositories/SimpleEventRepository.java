@@ -5,6 +5,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import smolyanVote.smolyanVote.models.SimpleEventEntity;
 
@@ -23,4 +26,21 @@ public interface SimpleEventRepository extends JpaRepository<SimpleEventEntity,
     <T> Page<SimpleEventEntity> findAll(Specification<T> tSpecification, Pageable pageable);
 
     List<SimpleEventEntity> findAllByCreatorNameIgnoreCase(String usernameLower);
+
+    /** Атомарно отчитане на глас (UPDATE col = col + 1), без read-modify-write на entity-то */
+    @Modifying
+    @Query("""
+            UPDATE SimpleEventEntity e SET
+                e.yesVotes = e.yesVotes + :yes,
+                e.noVotes = e.noVotes + :no,
+                e.neutralVotes = e.neutralVotes + :neutral,
+                e.totalVotes = e.totalVotes + 1
+            WHERE e.id = :eventId
+            """)
+    int addVote(@Param("eventId") Long eventId, @Param("yes") int yes, @Param("no") int no,
+                @Param("neutral") int neutral);
+
+    @Modifying
+    @Query("UPDATE SimpleEventEntity e SET e.viewCounter = e.viewCounter + 1 WHERE e.id = :eventId")
+    int incrementViewCounter(@Param("eventId") Long eventId);
 }
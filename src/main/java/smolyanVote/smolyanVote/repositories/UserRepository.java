@@ -3,6 +3,7 @@ package smolyanVote.smolyanVote.repositories;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,8 +26,6 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u FROM UserEntity u WHERE LOWER(u.username) = LOWER(:username)")
     Optional<UserEntity> findByUsername(@Param("username") String username);
 
-    @Query("SELECT u FROM UserEntity u WHERE u.onlineStatus = :status AND u.lastOnline < :time ORDER BY u.lastOnline")
-    List<UserEntity> findByOnlineStatusAndLastOnlineBefore(@Param("status") int status, @Param("time") Instant time);
 
     // ===== OPTIMIZED МЕТОД ЗА ADMIN DASHBOARD =====
 
@@ -61,14 +60,49 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     List<UserEntity> findByUsernameContainingIgnoreCase(String trim);
 
-    // ===== ONLINE USERS COUNT =====
-    long countByOnlineStatus(int status);
-
-    @Query("SELECT u FROM UserEntity u WHERE u.onlineStatus = :status ORDER BY u.lastOnline DESC")
-    List<UserEntity> findOnlineUsers(@Param("status") int status, Pageable pageable);
-
     List<UserEntity> findByRole(UserRole role);
 
+    @Query("SELECT u.id, u.username FROM UserEntity u WHERE u.role = :role")
+    List<Object[]> findIdsAndUsernamesByRole(@Param("role") UserRole role);
+
     @Query("SELECT u FROM UserEntity u WHERE u.role IS NULL")
     List<UserEntity> findAllWithNullRole();
+
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.totalVotes = u.totalVotes + 1 WHERE u.id = :userId")
+    int incrementTotalVotes(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            UPDATE UserEntity u
+            SET u.totalVotes = CASE WHEN u.totalVotes > :count THEN u.totalVotes - :count ELSE 0 END
+            WHERE u.id = :userId
+            """)
+    int decrementTotalVotes(@Param("userId") Long userId, @Param("count") int count);
+
+    // ===== АГРЕГАТИ ЗА ADMIN СТАТИСТИКИ (без зареждане на users) =====
+
+    /** [status, role, count] */
+    @Query("SELECT u.status, u.role, COUNT(u) FROM UserEntity u GROUP BY u.status, u.role")
+    List<Object[]> countByStatusAndRole();
+
+    /** [moderationStrikeCount, status, count] само за потребители със strikes */
+    @Query("SELECT u.moderationStrikeCount, u.status, COUNT(u) FROM UserEntity u " +
+            "WHERE u.moderationStrikeCount > 0 GROUP BY u.moderationStrikeCount, u.status")
+    List<Object[]> countByStrikesAndStatus();
+
+    /** Един ред: [днес, 7 дни, 30 дни, онлайн, средна активност, високо активни] */
+    @Query("""
+            SELECT SUM(CASE WHEN u.created > :todayStart THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN u.created > :weekStart THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN u.created > :monthStart THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN u.onlineStatus = 1 AND u.lastOnline > :onlineSince THEN 1 ELSE 0 END),
+                   AVG(u.userEventsCount + u.publicationsCount + u.totalVotes),
+                   SUM(CASE WHEN u.userEventsCount + u.publicationsCount > 5 THEN 1 ELSE 0 END)
+            FROM UserEntity u
+            """)
+    List<Object[]> aggregateActivity(@Param("todayStart") Instant todayStart,
+                                     @Param("weekStart") Instant weekStart,
+                                     @Param("monthStart") Instant monthStart,
+                                     @Param("onlineSince") Instant onlineSince);
 }
\ No newline at end of file
@@ -5,8 +5,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.models.mobile.MobileDeviceTokenEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,13 @@ public interface MobileDeviceTokenRepository extends JpaRepository<MobileDeviceT
      */
     List<MobileDeviceTokenEntity> findByUserIdAndIsActiveTrue(Long userId);
 
+    /**
+     * user id, device token и platform на активните tokens на всички подадени users — за multicast
+     */
+    @Query("SELECT t.user.id, t.deviceToken, t.platform FROM MobileDeviceTokenEntity t " +
+            "WHERE t.user.id IN :userIds AND t.isActive = true")
+    List<Object[]> findActiveTokensForUsers(@Param("userIds") Collection<Long> userIds);
+
     /**
      * Намери token по user и device token
      */
@@ -47,6 +56,14 @@ public interface MobileDeviceTokenRepository extends JpaRepository<MobileDeviceT
     @Query("UPDATE MobileDeviceTokenEntity t SET t.isActive = false WHERE t.deviceToken = :deviceToken")
     void deactivateToken(@Param("deviceToken") String deviceToken);
 
+    /**
+     * Деактивирай наведнъж всички tokens, които FCM е отхвърлил
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MobileDeviceTokenEntity t SET t.isActive = false WHERE t.deviceToken IN :deviceTokens")
+    int deactivateTokens(@Param("deviceTokens") Collection<String> deviceTokens);
+
     /**
      * Изтрий стари неактивни tokens (по-стари от X дни)
      */
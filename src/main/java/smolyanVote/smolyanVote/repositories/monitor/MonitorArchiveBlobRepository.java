@@ -0,0 +1,15 @@
+package smolyanVote.smolyanVote.repositories.monitor;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import smolyanVote.smolyanVote.models.monitor.MonitorArchiveBlobEntity;
+
+import java.util.Optional;
+
+@Repository
+public interface MonitorArchiveBlobRepository extends JpaRepository<MonitorArchiveBlobEntity, Long> {
+
+    Optional<MonitorArchiveBlobEntity> findByContentHash(String contentHash);
+
+    boolean existsByContentHash(String contentHash);
+}
@@ -5,9 +5,12 @@ import org.springframework.stereotype.Repository;
 import smolyanVote.smolyanVote.models.monitor.MonitorArchiveEntity;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MonitorArchiveRepository extends JpaRepository<MonitorArchiveEntity, Long> {
 
     List<MonitorArchiveEntity> findByDocumentIdOrderByFetchedAtDesc(Long documentId);
+
+    Optional<MonitorArchiveEntity> findFirstByDocumentIdAndBlobHashIsNotNullOrderByFetchedAtDesc(Long documentId);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import smolyanVote.smolyanVote.models.monitor.MonitorCompanyEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface MonitorCompanyRepository extends JpaRepository<MonitorCompanyEn
 
     Optional<MonitorCompanyEntity> findByEik(String eik);
 
+    List<MonitorCompanyEntity> findAllByEikIn(Collection<String> eiks);
+
     @Query("SELECT c FROM MonitorCompanyEntity c WHERE c.registryFetchedAt IS NULL OR c.legalForm IS NULL ORDER BY c.totalWonEur DESC")
     List<MonitorCompanyEntity> findNeedingRegistryEnrichment(Pageable pageable);
 
@@ -10,6 +10,7 @@ import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,8 +41,8 @@ public interface MonitorContractRepository extends JpaRepository<MonitorContract
 
     List<MonitorContractEntity> findByUnpAndContractorEik(String unp, String contractorEik);
 
-    /** Loaded in one shot by the SIGMA import so re-imports do not issue a query per row. */
-    List<MonitorContractEntity> findAllByAuthorityEik(String authorityEik);
+    /** One query per SIGMA import chunk instead of one per row. */
+    List<MonitorContractEntity> findAllBySigmaIdIn(Collection<String> sigmaIds);
 
     /**
      * All contracts of one municipality, or of the whole oblast when {@code authorityEik}
@@ -81,6 +82,9 @@ public interface MonitorContractRepository extends JpaRepository<MonitorContract
 
     List<MonitorContractEntity> findByContractorEikAndSectorCode(String contractorEik, String sectorCode);
 
+    /** Every contract of the given sectors — the population incremental risk scoring rebuilds. */
+    List<MonitorContractEntity> findAllBySectorCodeIn(Collection<String> sectorCodes);
+
     @Query("SELECT c FROM MonitorContractEntity c WHERE c.sectorCode = :sectorCode AND c.amountEur IS NOT NULL")
     List<MonitorContractEntity> findBySectorWithAmount(@Param("sectorCode") String sectorCode);
 
@@ -39,6 +39,9 @@ public interface MonitorDocumentRepository extends JpaRepository<MonitorDocument
 
     long countByCreatedAfter(Instant since);
 
+    @Query("SELECT d FROM MonitorDocumentEntity d WHERE d.publishedAt >= :since ORDER BY d.publishedAt DESC")
+    List<MonitorDocumentEntity> findPublishedSince(@Param("since") Instant since, Pageable pageable);
+
     @Query("SELECT d FROM MonitorDocumentEntity d WHERE d.rawContent IS NOT NULL AND (d.shortSummary IS NULL OR d.shortSummary = '') ORDER BY d.created DESC")
     List<MonitorDocumentEntity> findPendingAiProcessing(Pageable pageable);
 
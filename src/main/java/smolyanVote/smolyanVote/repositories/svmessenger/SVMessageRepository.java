@@ -28,6 +28,38 @@ public interface SVMessageRepository extends JpaRepository<SVMessageEntity, Long
         Page<SVMessageEntity> findByConversationId(@Param("conversationId") Long conversationId,
                         Pageable pageable);
 
+        // Keyset pagination по idx_sv_msg_conversation_sent: (sentAt, id) курсор, без count заявка.
+        // sentAt <= :sentAt държи range scan-а върху индекса, id разбива равенствата.
+        @Query("SELECT m FROM SVMessageEntity m " +
+                        "LEFT JOIN FETCH m.sender " +
+                        "WHERE m.conversation.id = :conversationId AND " +
+                        "m.isDeleted = false " +
+                        "ORDER BY m.sentAt DESC, m.id DESC")
+        List<SVMessageEntity> findLatestSlice(@Param("conversationId") Long conversationId,
+                        Pageable pageable);
+
+        @Query("SELECT m FROM SVMessageEntity m " +
+                        "LEFT JOIN FETCH m.sender " +
+                        "WHERE m.conversation.id = :conversationId AND " +
+                        "m.isDeleted = false AND " +
+                        "m.sentAt <= :sentAt AND (m.sentAt < :sentAt OR m.id < :id) " +
+                        "ORDER BY m.sentAt DESC, m.id DESC")
+        List<SVMessageEntity> findSliceBefore(@Param("conversationId") Long conversationId,
+                        @Param("sentAt") LocalDateTime sentAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        @Query("SELECT m FROM SVMessageEntity m " +
+                        "LEFT JOIN FETCH m.sender " +
+                        "WHERE m.conversation.id = :conversationId AND " +
+                        "m.isDeleted = false AND " +
+                        "m.sentAt >= :sentAt AND (m.sentAt > :sentAt OR m.id > :id) " +
+                        "ORDER BY m.sentAt ASC, m.id ASC")
+        List<SVMessageEntity> findSliceAfter(@Param("conversationId") Long conversationId,
+                        @Param("sentAt") LocalDateTime sentAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
         // ✅ FIX: Limit 1 за last message
         @Query("SELECT m FROM SVMessageEntity m " +
                         "WHERE m.conversation.id = :conversationId AND " +
@@ -23,6 +23,7 @@ public interface ActuatorDataService {
     Map<String, Object> getDiskSpaceInfo();
     Map<String, Object> getDatabaseConnectionPool();
     Map<String, Object> getDetailedMemoryStats();
+    Map<String, Object> getCacheStats();
 
     // Error Monitoring
     Map<String, Object> getRecentErrors();
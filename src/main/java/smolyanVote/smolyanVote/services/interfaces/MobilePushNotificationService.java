@@ -1,5 +1,6 @@
 package smolyanVote.smolyanVote.services.interfaces;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -11,6 +12,11 @@ public interface MobilePushNotificationService {
      * Изпраща push notification до user
      */
     void sendNotificationToUser(Long userId, String title, String body, Map<String, String> data);
+
+    /**
+     * Изпраща една и съща push notification до много users (multicast)
+     */
+    void sendNotificationToUsers(Collection<Long> userIds, String title, String body, Map<String, String> data);
     
     /**
      * Изпраща notification за ново съобщение
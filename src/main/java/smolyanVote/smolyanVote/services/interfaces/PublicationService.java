@@ -7,12 +7,14 @@ import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.models.PublicationEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.CategoryEnum;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
 import smolyanVote.smolyanVote.viewsAndDTO.PublicationRequestDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.PublicationResponseDTO;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface PublicationService {
 
@@ -55,6 +57,10 @@ public interface PublicationService {
     boolean toggleDislike(Long publicationId, UserEntity user);
 
     int getLikesCount(Long publicationId);
+
+    /** LIKE / DISLIKE / BOOKMARK на потребителя за публикацията. */
+    Set<PublicationReactionType> getUserReactions(Long publicationId, Long userId);
+
     void incrementShareCount(Long publicationId);
     int getSharesCount(Long publicationId);
 
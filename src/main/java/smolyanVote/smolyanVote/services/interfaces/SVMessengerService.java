@@ -7,6 +7,7 @@ import smolyanVote.smolyanVote.models.svmessenger.SVMessageFlagEntity;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVCallTokenResponse;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVConversationDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVMessageDTO;
+import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVMessageSliceDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVParticipantDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVE2EPublicKeyDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVPollDTO;
@@ -162,7 +163,21 @@ public interface SVMessengerService {
      * @return Page от MessageDTO
      */
     Page<SVMessageDTO> getMessages(Long conversationId, int page, int size, UserEntity currentUser);
-    
+
+    /**
+     * Вземи история на съобщения с cursor (keyset) pagination — без count заявка,
+     * стабилен ред при нови съобщения.
+     *
+     * @param conversationId ID на разговора
+     * @param before Курсор: по-стари от него, най-новите първи (null + after null = последните съобщения)
+     * @param after Курсор: по-нови от него, най-старите първи
+     * @param size Размер на порцията (max 100)
+     * @param currentUser Текущият user (за валидация)
+     * @throws IllegalArgumentException при невалиден курсор или ако са подадени и двата
+     */
+    SVMessageSliceDTO getMessagesByCursor(Long conversationId, String before, String after, int size,
+                                          UserEntity currentUser);
+
     /**
      * Маркирай едно съобщение като прочетено
      * 
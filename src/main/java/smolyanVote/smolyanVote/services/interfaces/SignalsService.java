@@ -66,6 +66,7 @@ public interface SignalsService {
     List<Long> getLikedSignalIdsByUser(String username);
 
     void incrementViews(Long signalId);
+    int getViewsCount(Long signalId);
 
     // ====== ПРАВА НА ДОСТЪП ======
 
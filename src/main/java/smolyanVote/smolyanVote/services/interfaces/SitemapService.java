@@ -1,22 +1,36 @@
 package smolyanVote.smolyanVote.services.interfaces;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.Optional;
 
 /**
- * Сервис за генериране на Sitemap.xml
+ * Сервис за sitemap: индекс + шардове по 50 000 URL-а, генерирани предварително
  */
 public interface SitemapService {
-    
+
+    int URLS_PER_SHARD = 50_000;
+
     /**
-     * Генерира XML съдържание за sitemap
-     * @return XML string за sitemap
+     * Готов за сервиране документ
+     * @param body XML за индекса, gzip-нат XML за шардовете
+     * @param lastModified най-новият lastmod в документа
      */
-    String generateSitemapXml();
-    
+    record SitemapDocument(String name, byte[] body, String etag, Instant lastModified) {
+    }
+
     /**
-     * Връща списък с всички URL-и за sitemap
-     * @return List от URL strings
+     * Sitemap index (/sitemap.xml) с всички шардове
      */
-    List<String> getAllUrls();
-}
+    SitemapDocument getIndex();
+
+    /**
+     * Шард по име на файла, напр. {@code publications-0.xml.gz}
+     */
+    Optional<SitemapDocument> getShard(String fileName);
 
+    /**
+     * Преизгражда само шардовете, чиито редове са се променили
+     * @return брой преизградени или премахнати шардове
+     */
+    int refresh();
+}
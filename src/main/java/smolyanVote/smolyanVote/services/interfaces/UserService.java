@@ -54,6 +54,6 @@ public interface UserService {
     long getOnlineUsersCount();
 
     /** Recent online users for the publications left-rail widget (capped). */
-    java.util.List<smolyanVote.smolyanVote.models.UserEntity> getOnlineUsers(int limit);
+    java.util.List<smolyanVote.smolyanVote.services.support.PresenceRegistry.OnlineUser> getOnlineUsers(int limit);
 
 }
@@ -0,0 +1,20 @@
+package smolyanVote.smolyanVote.services.jwt;
+
+import java.security.Principal;
+
+/**
+ * Immutable identity of a JWT-authenticated request — the principal
+ * {@link smolyanVote.smolyanVote.componentsAndSecurity.JwtAuthenticationFilter} puts into the
+ * SecurityContext and the only thing {@link JwtPrincipalCache} keeps between requests.
+ * <p>
+ * No {@code UserEntity} here on purpose: a shared entity would be mutated and saved by concurrent
+ * requests. Code that needs the user loads a fresh one by {@link #userId()};
+ * {@link #getName()} is the lowercase email, same as for session logins.
+ */
+public record JwtPrincipal(Long userId, String email, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
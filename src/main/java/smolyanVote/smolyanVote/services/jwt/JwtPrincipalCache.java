@@ -0,0 +1,106 @@
+package smolyanVote.smolyanVote.services.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Short-lived cache from access-token hash to the principal {@link smolyanVote.smolyanVote.componentsAndSecurity.JwtAuthenticationFilter}
+ * resolved for it, so a warm token costs one SHA-256 + map lookup instead of signature
+ * verification and {@code findByEmail}. Only the immutable {@link JwtPrincipal} is cached — never
+ * the entity — so requests can't share mutable user state.
+ * <p>
+ * Entries live at most {@code ttl} and never past the token's own {@code exp}. Ban, unban, role
+ * change, password reset and logout evict explicitly via {@link #invalidateUser} /
+ * {@link #invalidateToken}.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    /** What the filter needs to rebuild the Authentication without touching the database. */
+    public record CachedPrincipal(JwtPrincipal principal, List<GrantedAuthority> authorities, long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    public JwtPrincipalCache(MeterRegistry meterRegistry,
+                             @Value("${smolyanvote.jwt.principal-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${smolyanvote.jwt.principal-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtPrincipals");
+    }
+
+    public CachedPrincipal get(String token) {
+        String key = hash(token);
+        CachedPrincipal principal = cache.getIfPresent(key);
+        if (principal != null && principal.isExpired(System.currentTimeMillis())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return principal;
+    }
+
+    public void put(String token, CachedPrincipal principal) {
+        cache.put(hash(token), principal);
+    }
+
+    public void invalidateToken(String token) {
+        if (token != null) {
+            cache.invalidate(hash(token));
+        }
+    }
+
+    /**
+     * Evicts every cached token of the user. Called from inside the write transaction, so it
+     * evicts again after commit — a request racing the commit could otherwise re-cache the old state.
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evictUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUser(userId);
+                }
+            });
+        }
+    }
+
+    private void evictUser(Long userId) {
+        cache.asMap().values().removeIf(p -> Objects.equals(p.principal().userId(), userId));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
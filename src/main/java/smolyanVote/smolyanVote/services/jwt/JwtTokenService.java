@@ -33,16 +33,23 @@ public class JwtTokenService {
     @Value("${jwt.refresh-token-expiration:604800000}") // 7 дни по подразбиране
     private long refreshTokenExpiration;
 
+    private volatile SecretKey signingKey;
+
     /**
-     * Генерира SecretKey от secret string
+     * Генерира SecretKey от secret string (веднъж - secret-ът не се променя в runtime)
      */
     private SecretKey getSigningKey() {
-        // Ensure secret is at least 256 bits (32 bytes)
-        String secret = jwtSecret;
-        if (secret.length() < 32) {
-            secret = secret.repeat((32 / secret.length()) + 1).substring(0, 32);
+        SecretKey key = signingKey;
+        if (key == null) {
+            // Ensure secret is at least 256 bits (32 bytes)
+            String secret = jwtSecret;
+            if (secret.length() < 32) {
+                secret = secret.repeat((32 / secret.length()) + 1).substring(0, 32);
+            }
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
         }
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return key;
     }
 
     /**
@@ -98,6 +105,43 @@ public class JwtTokenService {
         }
     }
 
+    /**
+     * Единична проверка на подпис + срок: връща claims или null за невалиден token.
+     * За filter-а, който иначе парсва един и същ token по няколко пъти на заявка.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (Exception e) {
+            log.debug("Token validation failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Извлича user ID от вече парснати claims
+     */
+    public static Long userIdOf(Claims claims) {
+        Object userIdObj = claims.get("userId");
+        if (userIdObj instanceof Integer) {
+            return ((Integer) userIdObj).longValue();
+        } else if (userIdObj instanceof Long) {
+            return (Long) userIdObj;
+        }
+        return null;
+    }
+
+    /**
+     * Проверява дали claims са на Access Token
+     */
+    public static boolean isAccessClaims(Claims claims) {
+        return "ACCESS".equals(claims.get("type"));
+    }
+
     /**
      * Извлича конкретен claim
      */
@@ -117,14 +161,7 @@ public class JwtTokenService {
      * Извлича user ID от token
      */
     public Long extractUserId(String token) {
-        Claims claims = extractAllClaims(token);
-        Object userIdObj = claims.get("userId");
-        if (userIdObj instanceof Integer) {
-            return ((Integer) userIdObj).longValue();
-        } else if (userIdObj instanceof Long) {
-            return (Long) userIdObj;
-        }
-        return null;
+        return userIdOf(extractAllClaims(token));
     }
 
     /**
@@ -0,0 +1,145 @@
+package smolyanVote.smolyanVote.services.mobile;
+
+import com.google.firebase.messaging.AndroidConfig;
+import com.google.firebase.messaging.AndroidNotification;
+import com.google.firebase.messaging.ApnsConfig;
+import com.google.firebase.messaging.Aps;
+import com.google.firebase.messaging.ApsAlert;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FCM (Android) и APNs през FCM (iOS) с {@code sendEachForMulticast}.
+ */
+@Component
+@Slf4j
+public class FirebasePushTransport implements PushTransport {
+
+    private FirebaseMessaging firebaseMessaging;
+
+    @Value("${firebase.enabled:false}")
+    private boolean firebaseEnabled;
+
+    @Autowired(required = false)
+    public void setFirebaseMessaging(FirebaseMessaging firebaseMessaging) {
+        this.firebaseMessaging = firebaseMessaging;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return firebaseEnabled && firebaseMessaging != null;
+    }
+
+    @Override
+    public List<Outcome> send(Batch batch) throws FirebaseMessagingException {
+        MulticastMessage.Builder message = "ios".equals(batch.platform())
+                ? apnsMessage(batch.title(), batch.body())
+                : fcmMessage(batch.title(), batch.body(), batch.data());
+        if (batch.data() != null && !batch.data().isEmpty()) {
+            message.putAllData(batch.data());
+        }
+        message.addAllTokens(batch.tokens());
+
+        BatchResponse response = firebaseMessaging.sendEachForMulticast(message.build());
+        List<Outcome> outcomes = new ArrayList<>(batch.tokens().size());
+        for (SendResponse each : response.getResponses()) {
+            if (each.isSuccessful()) {
+                outcomes.add(Outcome.SENT);
+            } else if (isInvalidToken(each.getException())) {
+                outcomes.add(Outcome.INVALID_TOKEN);
+            } else {
+                log.warn("Push failed: {}", each.getException() != null ? each.getException().getMessage() : "?");
+                outcomes.add(Outcome.FAILED);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * CRITICAL: За входящи обаждания пращаме МИНИМАЛЕН notification payload — Android не доставя
+     * надеждно data-only съобщения във background (doze mode), а native service-ът го cancel-ва
+     * веднага и потребителят вижда само Full Screen Intent. За останалите — пълен payload, за да го
+     * покаже Firebase дори при затворено приложение.
+     */
+    private static MulticastMessage.Builder fcmMessage(String title, String body, Map<String, String> data) {
+        boolean isIncomingCall = data != null && "INCOMING_CALL".equals(data.get("type"));
+        AndroidConfig.Builder android = AndroidConfig.builder().setPriority(AndroidConfig.Priority.HIGH);
+        MulticastMessage.Builder message = MulticastMessage.builder();
+        if (isIncomingCall) {
+            message.setNotification(Notification.builder()
+                    .setTitle("Incoming call")
+                    .setBody(title) // името на звънящия
+                    .build());
+            android.setNotification(AndroidNotification.builder()
+                    .setTitle("Incoming call")
+                    .setBody(title)
+                    .setSound("default")
+                    .setChannelId("svmessenger_calls")
+                    .setPriority(AndroidNotification.Priority.MAX)
+                    .setTag("incoming_call") // за лесно cancel-ване от native
+                    .build());
+        } else {
+            message.setNotification(Notification.builder()
+                    .setTitle(title)
+                    .setBody(body)
+                    .build());
+            android.setNotification(AndroidNotification.builder()
+                    .setTitle(title)
+                    .setBody(body)
+                    .setSound("default")
+                    .setChannelId("svmessenger_messages")
+                    .setPriority(AndroidNotification.Priority.HIGH)
+                    .build());
+        }
+        return message.setAndroidConfig(android.build());
+    }
+
+    private static MulticastMessage.Builder apnsMessage(String title, String body) {
+        return MulticastMessage.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .setApnsConfig(ApnsConfig.builder()
+                        .setAps(Aps.builder()
+                                .setAlert(ApsAlert.builder()
+                                        .setTitle(title)
+                                        .setBody(body)
+                                        .build())
+                                .setSound("default")
+                                .build())
+                        .build());
+    }
+
+    /** Всички error codes, които означават изтрит или невалиден token. */
+    private static boolean isInvalidToken(FirebaseMessagingException e) {
+        if (e == null) {
+            return false;
+        }
+        if (e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+            return true;
+        }
+        String errorCode = e.getErrorCode() != null ? e.getErrorCode().name() : "";
+        String errorMessage = e.getMessage() != null ? e.getMessage() : "";
+        return "INVALID_ARGUMENT".equals(errorCode) ||
+                "REGISTRATION_TOKEN_NOT_REGISTERED".equals(errorCode) ||
+                "INVALID_REGISTRATION_TOKEN".equals(errorCode) ||
+                "NOT_FOUND".equals(errorCode) ||
+                errorMessage.contains("Requested entity was not found") ||
+                errorMessage.contains("NotRegistered") ||
+                errorMessage.contains("not found");
+    }
+}
@@ -1,342 +1,157 @@
 package smolyanVote.smolyanVote.services.mobile;
 
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.Notification;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import smolyanVote.smolyanVote.models.mobile.MobileDeviceTokenEntity;
 import smolyanVote.smolyanVote.repositories.mobile.MobileDeviceTokenRepository;
 import smolyanVote.smolyanVote.services.interfaces.MobilePushNotificationService;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Push Notification Service за мобилни приложения
  * Използва Firebase Cloud Messaging (FCM) за Android и APNs за iOS
- * 
- * NOTE: Firebase Admin SDK setup ще се направи в отделен config клас
+ *
+ * <p>Нотификациите не се пращат в нишката на извикващия. Те чакат до {@link #COALESCE_WINDOW_MS}
+ * в опашка: поредица съобщения до един потребител в един разговор става една нотификация (с
+ * последния текст и {@code coalescedCount}); същото важи за нотификации за един обект
+ * ({@code notificationId} или {@code entityType} + {@code entityId}). Нотификации без такъв
+ * ключ не се обединяват. Еднаквите нотификации до различни потребители се
+ * събират в общи multicast заявки по {@link PushTransport#MAX_TOKENS_PER_CALL} tokens. Tokens,
+ * отхвърлени от FCM, се деактивират с една заявка след всяко изпращане.
+ *
+ * <p>Входящите обаждания не чакат — пращат се веднага.
  */
 @Service
 @Slf4j
 public class PushNotificationService implements MobilePushNotificationService {
 
+    static final long COALESCE_WINDOW_MS = 1500;
+    private static final int SEND_THREADS = 4;
+    private static final int SEND_QUEUE = 32;
+
     private final MobileDeviceTokenRepository deviceTokenRepository;
-    private FirebaseMessaging firebaseMessaging;
+    private final PushTransport transport;
 
     // Cache to prevent duplicate call notifications: Key="userId_conversationId",
     // Value=Timestamp
-    private final java.util.concurrent.ConcurrentHashMap<String, Long> callNotificationCache = new java.util.concurrent.ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> callNotificationCache = new ConcurrentHashMap<>();
 
-    @Value("${firebase.enabled:false}")
-    private boolean firebaseEnabled;
+    private final Object pendingLock = new Object();
+    private Map<PendingKey, Pending> pending = new LinkedHashMap<>();
+    /** Собствен ключ за нотификации, които нямат обект, по който да се обединят. */
+    private final AtomicLong uncollapsed = new AtomicLong();
 
-    public PushNotificationService(MobileDeviceTokenRepository deviceTokenRepository) {
-        this.deviceTokenRepository = deviceTokenRepository;
-    }
+    private final ScheduledExecutorService coalescer;
+    private final ThreadPoolExecutor senders;
+    private final ExecutorService calls;
 
-    @Autowired(required = false)
-    public void setFirebaseMessaging(FirebaseMessaging firebaseMessaging) {
-        this.firebaseMessaging = firebaseMessaging;
+    private record Push(String title, String body, Map<String, String> data) {
     }
 
-    /**
-     * Изпраща push notification до конкретен user
-     * 
-     * @param userId ID на потребителя
-     * @param title  Заглавие на notification
-     * @param body   Текст на notification
-     * @param data   Допълнителни данни (optional)
-     */
-    public void sendNotificationToUser(Long userId, String title, String body, Map<String, String> data) {
-        if (!firebaseEnabled) {
-            log.warn("Firebase is not enabled - skipping push notification");
-            return;
-        }
-
-        try {
-            // Намери всички активни device tokens за user
-            List<MobileDeviceTokenEntity> tokens = deviceTokenRepository.findByUserIdAndIsActiveTrue(userId);
+    private record PendingKey(Long userId, String collapseKey) {
+    }
 
-            if (tokens.isEmpty()) {
-                log.debug("No active device tokens found for user: {}", userId);
-                return;
-            }
+    private record Pending(Push push, int count) {
+    }
 
-            // Изпращане на notification до всеки device
-            // CRITICAL FIX: Deduplicate tokens to prevent double notifications
-            // If the database has multiple active entries for the same token (e.g. from
-            // reinstalls),
-            // we must ensure we only send to the unique token string once.
-            java.util.Set<String> processedTokens = new java.util.HashSet<>();
-
-            for (MobileDeviceTokenEntity token : tokens) {
-                String tokenString = token.getDeviceToken();
-                if (tokenString != null && !processedTokens.contains(tokenString)) {
-                    sendNotificationToDevice(token, title, body, data);
-                    processedTokens.add(tokenString);
-                }
-            }
+    private record Device(String token, String platform) {
+    }
 
-            log.info("Push notification sent to {} devices for user: {}", tokens.size(), userId);
+    @Autowired
+    public PushNotificationService(MobileDeviceTokenRepository deviceTokenRepository, PushTransport transport) {
+        this(deviceTokenRepository, transport, COALESCE_WINDOW_MS);
+    }
 
-        } catch (Exception e) {
-            log.error("Error sending push notification to user: {}", userId, e);
-        }
+    PushNotificationService(MobileDeviceTokenRepository deviceTokenRepository, PushTransport transport,
+                            long coalesceWindowMs) {
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.transport = transport;
+        AtomicInteger threads = new AtomicInteger();
+        this.coalescer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "push-coalescer"));
+        // Bounded: when FCM is slow the coalescer itself sends (CallerRuns) instead of queueing more
+        this.senders = new ThreadPoolExecutor(SEND_THREADS, SEND_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(SEND_QUEUE),
+                r -> daemon(r, "push-sender-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        // Calls get their own thread so they never queue behind a broadcast
+        this.calls = Executors.newSingleThreadExecutor(r -> daemon(r, "push-calls"));
+        this.coalescer.scheduleWithFixedDelay(this::flushSafely, coalesceWindowMs, coalesceWindowMs,
+                TimeUnit.MILLISECONDS);
     }
 
-    /**
-     * Изпраща push notification до конкретен device
-     * 
-     * @param deviceToken Device token entity
-     * @param title       Заглавие
-     * @param body        Текст
-     * @param data        Допълнителни данни
-     */
-    private void sendNotificationToDevice(MobileDeviceTokenEntity deviceToken, String title, String body,
-            Map<String, String> data) {
+    @PreDestroy
+    void shutdown() {
+        coalescer.shutdown();
         try {
-            String platform = deviceToken.getPlatform().toLowerCase();
-            String token = deviceToken.getDeviceToken();
-
-            if ("android".equals(platform)) {
-                sendFCMNotification(token, title, body, data, deviceToken);
-            } else if ("ios".equals(platform)) {
-                sendAPNsNotification(token, title, body, data, deviceToken);
-            } else {
-                log.warn("Unknown platform: {}", platform);
-            }
-
-        } catch (Exception e) {
-            log.error("Error sending notification to device: {}", deviceToken.getDeviceToken(), e);
+            coalescer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        flushPending();
+        senders.shutdown();
+        calls.shutdown();
     }
 
     /**
-     * Изпраща FCM notification за Android
-     * CRITICAL: За входящи обаждания използваме DATA-ONLY payload (без notification
-     * payload)
-     * Това позволява на app-а да покаже Full Screen Intent вместо notification в
-     * лентата
-     * За други notifications използваме notification payload за автоматично
-     * показване от Firebase
+     * Изпраща push notification до конкретен user
+     *
+     * @param userId ID на потребителя
+     * @param title  Заглавие на notification
+     * @param body   Текст на notification
+     * @param data   Допълнителни данни (optional)
      */
-    private void sendFCMNotification(String deviceToken, String title, String body, Map<String, String> data,
-            MobileDeviceTokenEntity tokenEntity) {
-        if (firebaseMessaging == null) {
-            log.warn("FirebaseMessaging not available - cannot send FCM notification");
-            return;
-        }
-
-        try {
-            // CRITICAL FIX: Проверка дали е входящо обаждане
-            // CRITICAL FIX: Android emulators and some devices do NOT reliably deliver
-            // data-only messages when app is background/killed (doze mode, battery
-            // optimization)
-            // We MUST include a minimal notification payload to guarantee delivery
-            // Native service will IMMEDIATELY cancel this notification - user sees only FSI
-            boolean isIncomingCall = data != null && "INCOMING_CALL".equals(data.get("type"));
-
-            // CRITICAL: Log what we're sending for debugging
-            if (isIncomingCall) {
-                log.info(
-                        "📞 INCOMING CALL - Sending with MINIMAL notification payload (for delivery guarantee)");
-                log.info("📞 Native service will CANCEL notification immediately - user sees only Full Screen Intent");
-            } else {
-                log.info("📬 Regular notification - Sending with notification payload and AndroidNotification");
-            }
-
-            Message.Builder messageBuilder = Message.builder()
-                    .setToken(deviceToken);
-
-            // CRITICAL FIX: For incoming calls, add MINIMAL notification payload
-            // This is ONLY for delivery guarantee - notification will be cancelled
-            // immediately
-            // For regular messages, add full notification payload
-            if (isIncomingCall) {
-                // Minimal notification ensures FCM delivers the message
-                // SVMessengerFirebaseMessagingService will cancel it immediately on line
-                // 122-127
-                messageBuilder.setNotification(Notification.builder()
-                        .setTitle("Incoming call")
-                        .setBody(title) // Use title for caller name
-                        .build());
-                log.info("✅ Added MINIMAL Notification payload for delivery (will be cancelled by native)");
-            } else {
-                // For regular notifications use full notification payload
-                // Firebase автоматично ги показва дори когато app-ът е затворен (оптимизация на
-                // батерията)
-                messageBuilder.setNotification(Notification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .build());
-                log.debug("✅ Added Notification payload: title={}, body={}", title, body);
-            }
-
-            // Android config с priority: "high" - критично за background notifications
-            com.google.firebase.messaging.AndroidConfig.Builder androidConfigBuilder = com.google.firebase.messaging.AndroidConfig
-                    .builder()
-                    .setPriority(com.google.firebase.messaging.AndroidConfig.Priority.HIGH);
-
-            // CRITICAL FIX: For incoming calls, add MINIMAL AndroidNotification
-            // This notification will be IMMEDIATELY cancelled by native service
-            // But it ensures the FCM message is delivered reliably
-            if (isIncomingCall) {
-                androidConfigBuilder.setNotification(com.google.firebase.messaging.AndroidNotification.builder()
-                        .setTitle("Incoming call")
-                        .setBody(title) // Caller name
-                        .setSound("default") // Will be overridden by IncomingCallActivity sound
-                        .setChannelId("svmessenger_calls")
-                        .setPriority(com.google.firebase.messaging.AndroidNotification.Priority.MAX)
-                        .setTag("incoming_call") // Tag for easy cancellation
-                        .build());
-                log.info("✅ Added MINIMAL AndroidNotification for delivery (will be cancelled by native)");
-            } else {
-                androidConfigBuilder.setNotification(com.google.firebase.messaging.AndroidNotification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .setSound("default")
-                        .setChannelId(getNotificationChannelId(data))
-                        .setPriority(com.google.firebase.messaging.AndroidNotification.Priority.HIGH)
-                        .build());
-                log.debug("✅ Added AndroidNotification: title={}, body={}, channelId={}", title, body,
-                        getNotificationChannelId(data));
-            }
-
-            messageBuilder.setAndroidConfig(androidConfigBuilder.build());
-
-            // Добавяне на data payload за app логика
-            if (data != null && !data.isEmpty()) {
-                messageBuilder.putAllData(data);
-                log.debug("✅ Added data payload: {}", data);
-            }
-
-            Message message = messageBuilder.build();
-            String response = firebaseMessaging.send(message);
-
-            // CRITICAL: Log what was actually sent
-            if (isIncomingCall) {
-                log.info("✅ FCM DATA-ONLY notification sent successfully for INCOMING CALL: token={}, response={}",
-                        deviceToken, response);
-                log.info(
-                        "📞 VERIFICATION: This message has NO notification payload and NO AndroidNotification - Firebase will NOT show notification in bar");
-            } else {
-                log.info("✅ FCM notification sent successfully: token={}, response={}", deviceToken, response);
-            }
-
-        } catch (FirebaseMessagingException e) {
-            log.error("❌ Failed to send FCM notification: token={}, error={}, errorCode={}",
-                    deviceToken, e.getMessage(), e.getErrorCode());
-
-            // ✅ Маркирай device token като неактивен ако е невалиден
-            // Проверяваме всички възможни error codes които означават невалиден token
-            String errorCode = e.getErrorCode() != null ? e.getErrorCode().name() : "";
-            String errorMessage = e.getMessage() != null ? e.getMessage() : "";
-            boolean isInvalidToken = "INVALID_ARGUMENT".equals(errorCode) ||
-                    "REGISTRATION_TOKEN_NOT_REGISTERED".equals(errorCode) ||
-                    "INVALID_REGISTRATION_TOKEN".equals(errorCode) ||
-                    "NOT_FOUND".equals(errorCode) ||
-                    errorMessage.contains("Requested entity was not found") ||
-                    errorMessage.contains("NotRegistered") ||
-                    errorMessage.contains("not found");
-
-            if (isInvalidToken) {
-                log.warn("Invalid device token detected (errorCode={}, message={}) - marking as inactive",
-                        errorCode, errorMessage);
-                markTokenAsInactive(tokenEntity);
-            }
-        } catch (Exception e) {
-            log.error("❌ Unexpected error sending FCM notification: token={}", deviceToken, e);
-        }
+    @Override
+    public void sendNotificationToUser(Long userId, String title, String body, Map<String, String> data) {
+        sendNotificationToUsers(List.of(userId), title, body, data);
     }
 
     /**
-     * Изпраща APNs notification за iOS
-     * Firebase Admin SDK поддържа iOS чрез APNs автоматично
+     * Една и съща нотификация до много потребители — tokens се зареждат с една заявка и се
+     * пращат с multicast.
      */
-    private void sendAPNsNotification(String deviceToken, String title, String body, Map<String, String> data,
-            MobileDeviceTokenEntity tokenEntity) {
-        if (firebaseMessaging == null) {
-            log.warn("FirebaseMessaging not available - cannot send APNs notification");
+    @Override
+    public void sendNotificationToUsers(Collection<Long> userIds, String title, String body,
+                                        Map<String, String> data) {
+        if (!transport.isAvailable()) {
+            log.warn("Firebase is not enabled - skipping push notification");
             return;
         }
-
-        try {
-            Message.Builder messageBuilder = Message.builder()
-                    .setToken(deviceToken)
-                    .setNotification(Notification.builder()
-                            .setTitle(title)
-                            .setBody(body)
-                            .build())
-                    .setApnsConfig(com.google.firebase.messaging.ApnsConfig.builder()
-                            .setAps(com.google.firebase.messaging.Aps.builder()
-                                    .setAlert(com.google.firebase.messaging.ApsAlert.builder()
-                                            .setTitle(title)
-                                            .setBody(body)
-                                            .build())
-                                    .setSound("default")
-                                    .build())
-                            .build());
-
-            // Добавяне на data payload
-            if (data != null && !data.isEmpty()) {
-                messageBuilder.putAllData(data);
-            }
-
-            Message message = messageBuilder.build();
-            String response = firebaseMessaging.send(message);
-            log.info("✅ APNs notification sent successfully: token={}, response={}", deviceToken, response);
-
-        } catch (FirebaseMessagingException e) {
-            log.error("❌ Failed to send APNs notification: token={}, error={}, errorCode={}",
-                    deviceToken, e.getMessage(), e.getErrorCode());
-
-            // ✅ Маркирай device token като неактивен ако е невалиден
-            // Проверяваме всички възможни error codes които означават невалиден token
-            String errorCode = e.getErrorCode() != null ? e.getErrorCode().name() : "";
-            String errorMessage = e.getMessage() != null ? e.getMessage() : "";
-            boolean isInvalidToken = "INVALID_ARGUMENT".equals(errorCode) ||
-                    "REGISTRATION_TOKEN_NOT_REGISTERED".equals(errorCode) ||
-                    "INVALID_REGISTRATION_TOKEN".equals(errorCode) ||
-                    "NOT_FOUND".equals(errorCode) ||
-                    errorMessage.contains("Requested entity was not found") ||
-                    errorMessage.contains("NotRegistered") ||
-                    errorMessage.contains("not found");
-
-            if (isInvalidToken) {
-                log.warn("Invalid device token detected (errorCode={}, message={}) - marking as inactive",
-                        errorCode, errorMessage);
-                markTokenAsInactive(tokenEntity);
-            }
-        } catch (Exception e) {
-            log.error("❌ Unexpected error sending APNs notification: token={}", deviceToken, e);
-        }
-    }
-
-    /**
-     * Маркира device token като неактивен
-     */
-    private void markTokenAsInactive(MobileDeviceTokenEntity tokenEntity) {
-        try {
-            if (tokenEntity != null) {
-                tokenEntity.setIsActive(false);
-                deviceTokenRepository.save(tokenEntity);
-                log.info("Device token marked as inactive: {}", tokenEntity.getDeviceToken());
+        Push push = new Push(title, body, copyOf(data));
+        String collapseKey = collapseKey(push);
+        synchronized (pendingLock) {
+            for (Long userId : userIds) {
+                if (userId != null) {
+                    pending.merge(new PendingKey(userId, collapseKey), new Pending(push, 1),
+                            (old, latest) -> new Pending(latest.push(), old.count() + 1));
+                }
             }
-        } catch (Exception e) {
-            log.error("Failed to mark device token as inactive", e);
         }
     }
 
     /**
      * Изпраща notification за ново съобщение
      */
+    @Override
     public void sendNewMessageNotification(Long userId, String senderName, String messagePreview, Long conversationId) {
         Map<String, String> data = new HashMap<>();
         data.put("type", "NEW_MESSAGE");
@@ -348,7 +163,7 @@ public class PushNotificationService implements MobilePushNotificationService {
 
     /**
      * Изпраща notification за входящо обаждане
-     * 
+     *
      * @param userId         ID на получателя на нотификацията
      * @param callerName     Име на звънящия
      * @param conversationId ID на разговора
@@ -357,6 +172,7 @@ public class PushNotificationService implements MobilePushNotificationService {
      * @param callerImageUrl URL на аватара на звънящия - използва се за показване в
      *                       call UI
      */
+    @Override
     public void sendIncomingCallNotification(Long userId, String callerName, Long conversationId, Long participantId,
             String callerImageUrl) {
         // CRITICAL FIX: Validate required parameters to prevent NullPointerException
@@ -368,6 +184,10 @@ public class PushNotificationService implements MobilePushNotificationService {
             log.error("❌ Cannot send incoming call notification: conversationId is null for userId {}", userId);
             return;
         }
+        if (!transport.isAvailable()) {
+            log.warn("Firebase is not enabled - skipping push notification");
+            return;
+        }
         // callerName can be null, use default value
         String safeCallerName = (callerName != null && !callerName.trim().isEmpty())
                 ? callerName
@@ -410,17 +230,161 @@ public class PushNotificationService implements MobilePushNotificationService {
 
         callNotificationCache.put(dedupKey, currentTime);
 
-        sendNotificationToUser(userId, "Входящо обаждане", safeCallerName + " те вика", data);
+        // Обаждането не чака прозореца за обединяване
+        Push push = new Push("Входящо обаждане", safeCallerName + " те вика", copyOf(data));
+        calls.execute(() -> {
+            try {
+                deliver(Map.of(push, Set.of(userId)), Runnable::run);
+            } catch (Exception e) {
+                log.error("Error sending incoming call notification to user: {}", userId, e);
+            }
+        });
+    }
+
+    /** Изпраща всичко чакащо и връща след като FCM е отговорил. */
+    void flushPending() {
+        Map<PendingKey, Pending> batch;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        Map<Push, Set<Long>> groups = new LinkedHashMap<>();
+        batch.forEach((key, entry) -> groups
+                .computeIfAbsent(coalesced(entry), p -> new LinkedHashSet<>())
+                .add(key.userId()));
+        deliver(groups, senders);
+    }
+
+    private void flushSafely() {
+        try {
+            flushPending();
+        } catch (Exception e) {
+            log.error("Error sending push notifications", e);
+        }
+    }
+
+    private void deliver(Map<Push, Set<Long>> groups, Executor executor) {
+        long started = System.nanoTime();
+        Set<Long> allUsers = new LinkedHashSet<>();
+        groups.values().forEach(allUsers::addAll);
+        Map<Long, List<Device>> devicesByUser = new HashMap<>();
+        for (Object[] row : deviceTokenRepository.findActiveTokensForUsers(allUsers)) {
+            if (row[1] != null && row[2] != null) {
+                devicesByUser.computeIfAbsent((Long) row[0], u -> new ArrayList<>())
+                        .add(new Device((String) row[1], ((String) row[2]).toLowerCase()));
+            }
+        }
+
+        Set<String> invalid = ConcurrentHashMap.newKeySet();
+        AtomicInteger sent = new AtomicInteger();
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (Map.Entry<Push, Set<Long>> group : groups.entrySet()) {
+            // CRITICAL FIX: Deduplicate tokens to prevent double notifications
+            // (reinstalls leave several active rows with the same token string)
+            Map<String, List<String>> tokensByPlatform = new LinkedHashMap<>();
+            Set<String> seen = new LinkedHashSet<>();
+            for (Long userId : group.getValue()) {
+                for (Device device : devicesByUser.getOrDefault(userId, List.of())) {
+                    if (!seen.add(device.token())) {
+                        continue;
+                    }
+                    if (!"android".equals(device.platform()) && !"ios".equals(device.platform())) {
+                        log.warn("Unknown platform: {}", device.platform());
+                        continue;
+                    }
+                    tokensByPlatform.computeIfAbsent(device.platform(), p -> new ArrayList<>()).add(device.token());
+                }
+            }
+            Push push = group.getKey();
+            tokensByPlatform.forEach((platform, tokens) -> {
+                for (int from = 0; from < tokens.size(); from += PushTransport.MAX_TOKENS_PER_CALL) {
+                    List<String> chunk = tokens.subList(from, Math.min(tokens.size(), from + PushTransport.MAX_TOKENS_PER_CALL));
+                    PushTransport.Batch batch = new PushTransport.Batch(platform, List.copyOf(chunk),
+                            push.title(), push.body(), push.data());
+                    requests.add(CompletableFuture.runAsync(() -> sendChunk(batch, sent, invalid), executor));
+                }
+            });
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+
+        if (!invalid.isEmpty()) {
+            try {
+                int deactivated = deviceTokenRepository.deactivateTokens(invalid);
+                log.info("Deactivated {} invalid device tokens", deactivated);
+            } catch (Exception e) {
+                log.error("Failed to mark device tokens as inactive", e);
+            }
+        }
+        log.info("Push: {} notifications to {} users, {} devices delivered in {} calls, {} ms",
+                groups.size(), allUsers.size(), sent.get(), requests.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void sendChunk(PushTransport.Batch batch, AtomicInteger sent, Set<String> invalid) {
+        try {
+            List<PushTransport.Outcome> outcomes = transport.send(batch);
+            for (int i = 0; i < outcomes.size() && i < batch.tokens().size(); i++) {
+                switch (outcomes.get(i)) {
+                    case SENT -> sent.incrementAndGet();
+                    case INVALID_TOKEN -> invalid.add(batch.tokens().get(i));
+                    case FAILED -> { /* transient — the token stays active */ }
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to send {} push notifications to {} devices", batch.platform(), batch.tokens().size(), e);
+        }
     }
 
     /**
-     * Определя notification channel ID според типа на нотификацията
-     * За да се използват правилните звуци и настройки
+     * Поредица от нотификации за един разговор или един обект се обединява в една. Заглавието не
+     * е ключ — различни събития с едно заглавие не бива да се слеят в „последното“.
      */
-    private String getNotificationChannelId(Map<String, String> data) {
-        if (data != null && "INCOMING_CALL".equals(data.get("type"))) {
-            return "svmessenger_calls"; // Calls channel
+    private String collapseKey(Push push) {
+        Map<String, String> data = push.data();
+        String type = data.get("type");
+        String conversationId = data.get("conversationId");
+        if (type != null && conversationId != null) {
+            return type + ":conversation:" + conversationId;
+        }
+        String notificationId = data.get("notificationId");
+        if (notificationId != null) {
+            return "notification:" + notificationId;
+        }
+        String entityType = data.get("entityType");
+        String entityId = data.get("entityId");
+        if (entityType != null && entityId != null) {
+            return type + ":" + entityType + ":" + entityId;
+        }
+        return "single:" + uncollapsed.incrementAndGet();
+    }
+
+    private static Push coalesced(Pending entry) {
+        if (entry.count() == 1) {
+            return entry.push();
         }
-        return "svmessenger_messages"; // Messages channel (default)
+        Map<String, String> data = new HashMap<>(entry.push().data());
+        data.put("coalescedCount", String.valueOf(entry.count()));
+        return new Push(entry.push().title(), entry.push().body(), Map.copyOf(data));
+    }
+
+    private static Map<String, String> copyOf(Map<String, String> data) {
+        Map<String, String> copy = new HashMap<>();
+        if (data != null) {
+            data.forEach((key, value) -> {
+                if (key != null && value != null) {
+                    copy.put(key, value);
+                }
+            });
+        }
+        return Map.copyOf(copy);
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread thread = new Thread(r, name);
+        thread.setDaemon(true);
+        return thread;
     }
 }
@@ -0,0 +1,25 @@
+package smolyanVote.smolyanVote.services.mobile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Изпращане на една и съща нотификация до много device tokens с една заявка (FCM multicast).
+ * Отделено от {@link PushNotificationService}, за да може доставката да се тества без Firebase.
+ */
+public interface PushTransport {
+
+    /** FCM приема до 500 tokens в едно multicast извикване. */
+    int MAX_TOKENS_PER_CALL = 500;
+
+    enum Outcome { SENT, INVALID_TOKEN, FAILED }
+
+    /** Една нотификация за tokens от една платформа ("android" / "ios"). */
+    record Batch(String platform, List<String> tokens, String title, String body, Map<String, String> data) {
+    }
+
+    boolean isAvailable();
+
+    /** Резултат за всеки token от batch-а, в същия ред. */
+    List<Outcome> send(Batch batch) throws Exception;
+}
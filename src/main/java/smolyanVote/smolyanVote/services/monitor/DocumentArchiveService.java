@@ -2,19 +2,42 @@ package smolyanVote.smolyanVote.services.monitor;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import smolyanVote.smolyanVote.models.monitor.MonitorArchiveBlobEntity;
 import smolyanVote.smolyanVote.models.monitor.MonitorArchiveEntity;
 import smolyanVote.smolyanVote.models.monitor.MonitorDocumentEntity;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorArchiveBlobRepository;
 import smolyanVote.smolyanVote.repositories.monitor.MonitorArchiveRepository;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Предишни версии на документите.
+ *
+ * <p>Текстовете се пазят веднъж по SHA-256 в {@code monitor_archive_blobs}, така че повторно
+ * публикуван текст (в същия или в друг документ) не заема място. Нова версия се записва като
+ * delta спрямо последната архивирана версия на същия документ, т.е. колкото е редакцията, а не
+ * колкото е документът. На всеки {@link #MAX_CHAIN} delta-и идва пълен текст, за да е ограничено
+ * възстановяването.
+ */
 @Service
 public class DocumentArchiveService {
 
+    static final int MAX_CHAIN = 16;
+
     private final MonitorArchiveRepository archiveRepository;
+    private final MonitorArchiveBlobRepository blobRepository;
 
-    public DocumentArchiveService(MonitorArchiveRepository archiveRepository) {
+    public DocumentArchiveService(MonitorArchiveRepository archiveRepository,
+                                  MonitorArchiveBlobRepository blobRepository) {
         this.archiveRepository = archiveRepository;
+        this.blobRepository = blobRepository;
+    }
+
+    public record ArchivedVersion(Long id, String contentHash, String sourceUrl, Instant fetchedAt) {
     }
 
     @Transactional
@@ -25,12 +48,77 @@ public class DocumentArchiveService {
         if (previousHash.equals(doc.getContentHash())) {
             return;
         }
+        // The ingest hash may cover the title; the blob is keyed by the text it stores
+        String blobHash = MonitorHashUtil.sha256(previousContent);
+        storeBlob(doc.getId(), blobHash, previousContent);
+
         MonitorArchiveEntity archive = new MonitorArchiveEntity();
         archive.setDocumentId(doc.getId());
         archive.setContentHash(previousHash);
-        archive.setRawSnapshot(previousContent);
+        archive.setBlobHash(blobHash);
         archive.setSourceUrl(doc.getSourceUrl());
         archive.setFetchedAt(Instant.now());
         archiveRepository.save(archive);
     }
+
+    @Transactional(readOnly = true)
+    public List<ArchivedVersion> listVersions(Long documentId) {
+        return archiveRepository.findByDocumentIdOrderByFetchedAtDesc(documentId).stream()
+                .map(a -> new ArchivedVersion(a.getId(), a.getContentHash(), a.getSourceUrl(), a.getFetchedAt()))
+                .toList();
+    }
+
+    /** Текстът на архивна версия; записите отпреди blob-овете връщат пълното си копие. */
+    @Transactional(readOnly = true)
+    public Optional<String> reconstruct(Long archiveId) {
+        return archiveRepository.findById(archiveId)
+                .map(archive -> archive.getBlobHash() == null
+                        ? archive.getRawSnapshot()
+                        : reconstructBlob(archive.getBlobHash()));
+    }
+
+    @Transactional(readOnly = true)
+    public String reconstructBlob(String hash) {
+        Deque<MonitorArchiveBlobEntity> chain = new ArrayDeque<>();
+        MonitorArchiveBlobEntity blob = requireBlob(hash);
+        chain.push(blob);
+        while (blob.getBaseHash() != null) {
+            blob = requireBlob(blob.getBaseHash());
+            chain.push(blob);
+        }
+        String text = MonitorTextDelta.decompress(chain.pop().getPayload());
+        while (!chain.isEmpty()) {
+            text = MonitorTextDelta.apply(text, chain.pop().getPayload());
+        }
+        return text;
+    }
+
+    private void storeBlob(Long documentId, String hash, String text) {
+        if (blobRepository.existsByContentHash(hash)) {
+            return;
+        }
+        MonitorArchiveBlobEntity blob = new MonitorArchiveBlobEntity();
+        blob.setContentHash(hash);
+        blob.setTextLength(text.length());
+        blob.setPayload(MonitorTextDelta.compress(text));
+
+        Optional<MonitorArchiveBlobEntity> base = archiveRepository
+                .findFirstByDocumentIdAndBlobHashIsNotNullOrderByFetchedAtDesc(documentId)
+                .flatMap(previous -> blobRepository.findByContentHash(previous.getBlobHash()))
+                .filter(candidate -> candidate.getChainDepth() < MAX_CHAIN);
+        if (base.isPresent()) {
+            byte[] delta = MonitorTextDelta.encode(reconstructBlob(base.get().getContentHash()), text);
+            if (delta.length < blob.getPayload().length) {
+                blob.setPayload(delta);
+                blob.setBaseHash(base.get().getContentHash());
+                blob.setChainDepth(base.get().getChainDepth() + 1);
+            }
+        }
+        blobRepository.save(blob);
+    }
+
+    private MonitorArchiveBlobEntity requireBlob(String hash) {
+        return blobRepository.findByContentHash(hash)
+                .orElseThrow(() -> new IllegalStateException("Липсва архивен blob " + hash));
+    }
 }
@@ -1,21 +1,32 @@
 package smolyanVote.smolyanVote.services.monitor;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Fetches daily open-data buckets from storage.eop.bg (MinIO S3-compatible listing).
@@ -23,30 +34,46 @@ import java.util.regex.Pattern;
  * <p>Object keys are Bulgarian sentences ("Автоматично генерирани данни за Договори,
  * публикувани в РОП ЦАИС от 29.07.2026.json"), so both the listing and the object URL
  * must be handled as UTF-8 throughout.
+ *
+ * <p>Both the listing and the day objects are read as streams: the listing through StAX, the
+ * JSON array one element at a time, so a heavy day never sits in memory as bytes or as a tree.
  */
 @Component
 public class EopBucketClient {
 
     private static final Logger log = LoggerFactory.getLogger(EopBucketClient.class);
-    private static final Pattern KEY_PATTERN = Pattern.compile("<Key>([^<]+)</Key>");
     private static final String BASE_URL = "https://storage.eop.bg";
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper;
+    private final String baseUrl;
 
+    @Autowired
     public EopBucketClient(ObjectMapper objectMapper) {
+        this(objectMapper, BASE_URL);
+    }
+
+    EopBucketClient(ObjectMapper objectMapper, String baseUrl) {
         this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
     }
 
     public record DayBucket(LocalDate day, String contractsKey, String annexesKey) {
     }
 
+    /** Rows seen in the object vs. rows that passed the filter and were handed over. */
+    public record StreamStats(int scanned, int kept) {
+    }
+
     public DayBucket listDay(LocalDate day) {
         // MinIO S3 listing requires list-type=2; bare bucket URL returns 403.
-        String bucketUrl = BASE_URL + "/open-data-" + day + "/?list-type=2";
-        byte[] raw;
+        String bucketUrl = baseUrl + "/open-data-" + day + "/?list-type=2";
+        List<String> keys;
         try {
-            raw = restTemplate.getForObject(URI.create(bucketUrl), byte[].class);
+            keys = restTemplate.execute(URI.create(bucketUrl), HttpMethod.GET, null,
+                    response -> readListingKeys(response.getBody()));
         } catch (HttpClientErrorException ex) {
             if (ex.getStatusCode().value() == 403 || ex.getStatusCode().value() == 404) {
                 log.debug("EOP bucket missing or not published yet for {}: {}", day, ex.getStatusCode());
@@ -54,18 +81,13 @@ public class EopBucketClient {
             }
             throw ex;
         }
-        if (raw == null || raw.length == 0) {
+        if (keys == null || keys.isEmpty()) {
             return null;
         }
-        // Read as bytes and decode explicitly: the response has no charset, so the default
-        // String converter would fall back to ISO-8859-1 and mangle the Cyrillic keys.
-        String xml = new String(raw, StandardCharsets.UTF_8);
 
         String contractsKey = null;
         String annexesKey = null;
-        Matcher m = KEY_PATTERN.matcher(xml);
-        while (m.find()) {
-            String key = unescapeXml(m.group(1));
+        for (String key : keys) {
             String lower = key.toLowerCase();
             if (contractsKey == null && lower.contains("договор")) {
                 contractsKey = key;
@@ -81,32 +103,93 @@ public class EopBucketClient {
         return new DayBucket(day, contractsKey, annexesKey);
     }
 
-    public List<JsonNode> fetchArray(LocalDate day, String objectKey) throws Exception {
+    /**
+     * Walks the object's top-level JSON array element by element. Rows accepted by {@code filter}
+     * are handed to {@code onChunk} in lists of at most {@code chunkSize}; everything else is
+     * dropped as soon as it is read. A body that is not an array yields no rows.
+     */
+    public StreamStats streamArray(LocalDate day, String objectKey, Predicate<JsonNode> filter, int chunkSize,
+                                   Consumer<List<JsonNode>> onChunk) {
         if (objectKey == null || objectKey.isBlank()) {
-            return List.of();
+            return new StreamStats(0, 0);
         }
         String encoded = URLEncoder.encode(objectKey, StandardCharsets.UTF_8).replace("+", "%20");
-        String url = BASE_URL + "/open-data-" + day + "/" + encoded;
-        byte[] bytes = restTemplate.getForObject(URI.create(url), byte[].class);
-        if (bytes == null || bytes.length == 0) {
-            return List.of();
+        String url = baseUrl + "/open-data-" + day + "/" + encoded;
+        int limit = Math.max(1, chunkSize);
+        return restTemplate.execute(URI.create(url), HttpMethod.GET, null,
+                response -> readArray(response.getBody(), filter, limit, onChunk));
+    }
+
+    private StreamStats readArray(InputStream body, Predicate<JsonNode> filter, int chunkSize,
+                                  Consumer<List<JsonNode>> onChunk) throws IOException {
+        // Jackson detects UTF-8/16/32 from the bytes, so the missing charset header does not matter here
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return new StreamStats(0, 0);
+            }
+            int scanned = 0;
+            int kept = 0;
+            List<JsonNode> chunk = new ArrayList<>(chunkSize);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IOException("EOP JSON array ended unexpectedly");
+                }
+                JsonNode row = objectMapper.readTree(parser);
+                scanned++;
+                if (!filter.test(row)) {
+                    continue;
+                }
+                chunk.add(row);
+                kept++;
+                if (chunk.size() == chunkSize) {
+                    onChunk.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                onChunk.accept(chunk);
+            }
+            return new StreamStats(scanned, kept);
+        }
+    }
+
+    /** Text of every {@code <Key>} element; StAX decodes entities and reads the declared encoding. */
+    static List<String> readListingKeys(InputStream body) throws IOException {
+        List<String> keys = new ArrayList<>();
+        if (body == null) {
+            return keys;
+        }
+        PushbackInputStream in = new PushbackInputStream(body);
+        int first = in.read();
+        if (first < 0) {
+            return keys;
         }
-        JsonNode root = objectMapper.readTree(bytes);
-        if (!root.isArray()) {
-            return List.of();
+        in.unread(first);
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "Key".equals(reader.getLocalName())) {
+                        String key = reader.getElementText();
+                        if (!key.isBlank()) {
+                            keys.add(key);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException ex) {
+            throw new IOException("EOP bucket listing is not valid XML: " + ex.getMessage(), ex);
         }
-        List<JsonNode> out = new ArrayList<>();
-        root.forEach(out::add);
-        return out;
+        return keys;
     }
 
-    private static String unescapeXml(String value) {
-        return value.replace("&lt;", "<")
-                .replace("&gt;", ">")
-                .replace("&quot;", "\"")
-                .replace("&#34;", "\"")
-                .replace("&apos;", "'")
-                .replace("&#39;", "'")
-                .replace("&amp;", "&");
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Remote XML: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 }
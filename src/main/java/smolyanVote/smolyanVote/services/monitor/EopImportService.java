@@ -23,8 +23,10 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class EopImportService {
@@ -38,8 +40,12 @@ public class EopImportService {
     private final MonitorIngestionRunService runService;
     private final MonitorRiskService riskService;
     private final MonitorCompanyAggregateService aggregateService;
+    private final MonitorProcurementGraph procurementGraph;
     private final TransactionTemplate dayTransaction;
 
+    /** Regional rows per persist transaction. */
+    static final int ROW_CHUNK_SIZE = 200;
+
     public EopImportService(
             EopBucketClient bucketClient,
             MonitorContractRepository contractRepository,
@@ -48,6 +54,7 @@ public class EopImportService {
             MonitorIngestionRunService runService,
             MonitorRiskService riskService,
             MonitorCompanyAggregateService aggregateService,
+            MonitorProcurementGraph procurementGraph,
             PlatformTransactionManager transactionManager) {
         this.bucketClient = bucketClient;
         this.contractRepository = contractRepository;
@@ -56,6 +63,7 @@ public class EopImportService {
         this.runService = runService;
         this.riskService = riskService;
         this.aggregateService = aggregateService;
+        this.procurementGraph = procurementGraph;
         this.dayTransaction = new TransactionTemplate(transactionManager);
         this.dayTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
@@ -63,8 +71,9 @@ public class EopImportService {
     /**
      * Walks back over the daily open-data buckets.
      *
-     * <p>Each day is downloaded outside any transaction and then persisted in its own, so a
-     * missing bucket or a malformed row costs only that day.
+     * <p>Each day object is streamed: rows outside oblast Smolyan are dropped as they are read,
+     * and regional rows are persisted in chunks of {@link #ROW_CHUNK_SIZE}, each in its own
+     * transaction — a missing bucket costs only that day, a malformed row only that row.
      *
      * @param days number of calendar days to walk back (capped at 30)
      */
@@ -76,37 +85,37 @@ public class EopImportService {
         int annexes = 0;
         int rowErrors = 0;
         int daysWithData = 0;
+        Set<Long> touchedContractIds = new HashSet<>();
         List<String> failures = new ArrayList<>();
         LocalDate end = LocalDate.now();
 
         for (int i = 0; i < cappedDays; i++) {
             LocalDate day = end.minusDays(i);
+            DayTally tally = new DayTally();
             try {
                 EopBucketClient.DayBucket bucket = bucketClient.listDay(day);
                 if (bucket == null) {
                     continue;
                 }
-                List<JsonNode> contractRows = regionalRows(day, bucket.contractsKey());
-                List<JsonNode> annexRows = regionalRows(day, bucket.annexesKey());
+                streamRegionalRows(day, bucket.contractsKey(), false, tally);
+                streamRegionalRows(day, bucket.annexesKey(), true, tally);
                 daysWithData++;
-                if (contractRows.isEmpty() && annexRows.isEmpty()) {
-                    continue;
-                }
-                DayResult result = dayTransaction.execute(status -> persistDay(day, contractRows, annexRows));
-                if (result != null) {
-                    contracts += result.contracts();
-                    annexes += result.annexes();
-                    rowErrors += result.rowErrors();
-                }
             } catch (Exception ex) {
                 log.error("EOP import failed for {}", day, ex);
                 failures.add(day + ": " + MonitorIngestionRunService.describe(ex));
             }
+            // Chunks committed before a failure still count
+            contracts += tally.contracts;
+            annexes += tally.annexes;
+            rowErrors += tally.rowErrors;
+            touchedContractIds.addAll(tally.contractIds);
         }
 
         if (contracts + annexes > 0) {
             try {
-                riskService.scoreAllContracts();
+                int rescored = riskService.rescoreContracts(touchedContractIds);
+                log.info("EOP risk scoring: {} touched contracts, {} scores updated",
+                        touchedContractIds.size(), rescored);
             } catch (Exception ex) {
                 log.error("EOP risk scoring failed", ex);
                 failures.add("Риск скоринг: " + MonitorIngestionRunService.describe(ex));
@@ -117,6 +126,7 @@ public class EopImportService {
                 log.error("EOP company aggregation failed", ex);
                 failures.add("Агрегиране на фирми: " + MonitorIngestionRunService.describe(ex));
             }
+            procurementGraph.refresh();
         }
 
         StringBuilder message = new StringBuilder("EOP: " + contracts + " договора, " + annexes
@@ -137,51 +147,57 @@ public class EopImportService {
         return runService.finish(run.getId(), status, contracts + annexes, message.toString());
     }
 
-    private record DayResult(int contracts, int annexes, int rowErrors) {
+    /** Per-day counters, filled chunk by chunk. */
+    private static final class DayTally {
+        int contracts;
+        int annexes;
+        int rowErrors;
+        /** Contracts written by this day's rows — the only ones risk scoring has to revisit. */
+        final List<Long> contractIds = new ArrayList<>();
+
+        void add(DayTally chunk) {
+            if (chunk != null) {
+                contracts += chunk.contracts;
+                annexes += chunk.annexes;
+                rowErrors += chunk.rowErrors;
+                contractIds.addAll(chunk.contractIds);
+            }
+        }
     }
 
-    /** Downloads a bucket object and keeps only rows whose buyer is a Smolyan-oblast authority. */
-    private List<JsonNode> regionalRows(LocalDate day, String objectKey) throws Exception {
+    /** Streams a bucket object and persists rows whose buyer is a Smolyan-oblast authority. */
+    private void streamRegionalRows(LocalDate day, String objectKey, boolean annexObject, DayTally tally) {
         if (objectKey == null) {
-            return List.of();
-        }
-        List<JsonNode> kept = new ArrayList<>();
-        for (JsonNode row : bucketClient.fetchArray(day, objectKey)) {
-            if (MonitorRegionalConfig.isRegionalAuthority(text(row, "buyerRegistryNumber"))) {
-                kept.add(row);
-            }
+            return;
         }
-        return kept;
+        EopBucketClient.StreamStats stats = bucketClient.streamArray(day, objectKey,
+                row -> MonitorRegionalConfig.isRegionalAuthority(text(row, "buyerRegistryNumber")),
+                ROW_CHUNK_SIZE,
+                chunk -> tally.add(dayTransaction.execute(status -> persistChunk(day, chunk, annexObject))));
+        log.debug("EOP {} {}: {} rows scanned, {} regional", day, annexObject ? "annexes" : "contracts",
+                stats.scanned(), stats.kept());
     }
 
-    private DayResult persistDay(LocalDate day, List<JsonNode> contractRows, List<JsonNode> annexRows) {
-        int contracts = 0;
-        int annexes = 0;
-        int rowErrors = 0;
-        for (JsonNode row : contractRows) {
-            try {
-                if (importContract(row, day)) {
-                    contracts++;
-                }
-            } catch (Exception ex) {
-                rowErrors++;
-                log.warn("EOP contract row skipped ({}): {}", day, ex.getMessage());
-            }
-        }
-        for (JsonNode row : annexRows) {
+    private DayTally persistChunk(LocalDate day, List<JsonNode> rows, boolean annexObject) {
+        DayTally tally = new DayTally();
+        for (JsonNode row : rows) {
             try {
-                if (importAnnex(row, day)) {
-                    annexes++;
+                if (annexObject) {
+                    if (importAnnex(row, day, tally.contractIds)) {
+                        tally.annexes++;
+                    }
+                } else if (importContract(row, day, tally.contractIds)) {
+                    tally.contracts++;
                 }
             } catch (Exception ex) {
-                rowErrors++;
-                log.warn("EOP annex row skipped ({}): {}", day, ex.getMessage());
+                tally.rowErrors++;
+                log.warn("EOP {} row skipped ({}): {}", annexObject ? "annex" : "contract", day, ex.getMessage());
             }
         }
-        return new DayResult(contracts, annexes, rowErrors);
+        return tally;
     }
 
-    private boolean importContract(JsonNode row, LocalDate day) {
+    private boolean importContract(JsonNode row, LocalDate day, List<Long> touchedContractIds) {
         String buyerEik = text(row, "buyerRegistryNumber");
         if (!MonitorRegionalConfig.isRegionalAuthority(buyerEik)) {
             return false;
@@ -231,6 +247,7 @@ public class EopImportService {
             entity.setShortSummary(MonitorColumnLimits.clamp(entity.getSubject(), MonitorColumnLimits.SHORT_SUMMARY));
         }
         contractRepository.save(entity);
+        touchedContractIds.add(entity.getId());
         upsertCompany(entity);
         upsertSubcontractorCompany(entity);
         propagateSubcontractorFields(row, entity);
@@ -305,7 +322,7 @@ public class EopImportService {
         return "да".equals(lower) || "yes".equals(lower) || "1".equals(v) || "true".equals(lower);
     }
 
-    private boolean importAnnex(JsonNode row, LocalDate day) {
+    private boolean importAnnex(JsonNode row, LocalDate day, List<Long> touchedContractIds) {
         String buyerEik = text(row, "buyerRegistryNumber");
         if (!MonitorRegionalConfig.isRegionalAuthority(buyerEik)) {
             return false;
@@ -341,6 +358,7 @@ public class EopImportService {
             contract.setAmountEur(amendment.getNewAmountEur());
             contract.setFetchedAt(Instant.now());
             contractRepository.save(contract);
+            touchedContractIds.add(contract.getId());
         }
         return true;
     }
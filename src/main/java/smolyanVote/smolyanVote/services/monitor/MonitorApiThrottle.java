@@ -1,32 +1,62 @@
 package smolyanVote.smolyanVote.services.monitor;
 
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-/** Shared pacing for free-tier / rate-limited external APIs. */
+/**
+ * Shared pacing for free-tier / rate-limited external APIs.
+ *
+ * <p>A one-token bucket refilled every {@code minIntervalMs}: callers on any number of threads
+ * park until a token is free, so requests start at most once per interval without anyone
+ * sleeping inside a lock. {@link #backOff} pauses every caller when the upstream asks for it.
+ */
 final class MonitorApiThrottle {
 
     private static final Pattern RETRY_DELAY_SECONDS =
             Pattern.compile("\"retryDelay\"\\s*:\\s*\"(\\d+)s\"");
 
-    private final long minIntervalMs;
-    private long lastCallAtMs;
+    /** {@code null} when pacing is off. */
+    private final Bucket bucket;
+    private final AtomicLong blockedUntilMs = new AtomicLong();
 
     MonitorApiThrottle(long minIntervalMs) {
-        this.minIntervalMs = Math.max(0, minIntervalMs);
+        this.bucket = minIntervalMs <= 0 ? null : Bucket.builder()
+                .addLimit(Bandwidth.classic(1, Refill.greedy(1, Duration.ofMillis(minIntervalMs))))
+                .build();
+    }
+
+    /** Throttle allowing at most {@code requestsPerMinute} request starts per minute. */
+    static MonitorApiThrottle perMinute(int requestsPerMinute) {
+        return new MonitorApiThrottle(requestsPerMinute <= 0 ? 0 : 60_000L / requestsPerMinute);
     }
 
     void awaitSlot() {
-        if (minIntervalMs <= 0) {
+        long wait;
+        while ((wait = blockedUntilMs.get() - System.currentTimeMillis()) > 0) {
+            sleepQuietly(wait);
+        }
+        if (bucket == null) {
             return;
         }
-        synchronized (this) {
-            long elapsed = System.currentTimeMillis() - lastCallAtMs;
-            long wait = minIntervalMs - elapsed;
-            if (wait > 0) {
-                sleepQuietly(wait);
-            }
-            lastCallAtMs = System.currentTimeMillis();
+        try {
+            bucket.asBlocking().consume(1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MonitorJobCancelledException();
+        }
+        MonitorJobCancellation.check();
+    }
+
+    /** Holds back every caller of {@link #awaitSlot()} for at least {@code delayMs} from now. */
+    void backOff(long delayMs) {
+        if (delayMs > 0) {
+            blockedUntilMs.accumulateAndGet(System.currentTimeMillis() + delayMs, Math::max);
         }
     }
 
@@ -57,8 +87,4 @@ final class MonitorApiThrottle {
         }
         MonitorJobCancellation.check();
     }
-
-    private MonitorApiThrottle() {
-        throw new UnsupportedOperationException();
-    }
 }
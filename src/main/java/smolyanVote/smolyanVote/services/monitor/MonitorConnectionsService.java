@@ -1,11 +1,8 @@
 package smolyanVote.smolyanVote.services.monitor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
-import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
 import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorConnectionsDTO;
 
 import java.math.BigDecimal;
@@ -22,17 +19,19 @@ public class MonitorConnectionsService {
 
     private static final int TOP_CONTRACTORS = 12;
 
-    private final MonitorContractRepository contractRepository;
-    private final ObjectMapper objectMapper;
+    private final MonitorProcurementGraph procurementGraph;
 
-    public MonitorConnectionsService(MonitorContractRepository contractRepository, ObjectMapper objectMapper) {
-        this.contractRepository = contractRepository;
-        this.objectMapper = objectMapper;
+    public MonitorConnectionsService(MonitorProcurementGraph procurementGraph) {
+        this.procurementGraph = procurementGraph;
     }
 
-    @Transactional(readOnly = true)
+    /** Served from the materialized graph — built once per ingestion, not per request. */
     public MonitorConnectionsDTO buildConnectionsGraph(MonitorScope scope) {
-        List<MonitorContractEntity> contracts = contractRepository.findAllInScope(scope.authorityFilter());
+        return procurementGraph.connections(scope);
+    }
+
+    /** Top contractors by value and the authorities that pay them, from scoped contracts. */
+    static MonitorConnectionsDTO build(List<MonitorContractEntity> contracts, ObjectMapper objectMapper) {
         Map<String, BigDecimal> contractorTotals = new HashMap<>();
         Map<String, String> contractorLabels = new HashMap<>();
         Map<String, List<MonitorContractEntity>> contractorContracts = new HashMap<>();
@@ -124,7 +123,6 @@ public class MonitorConnectionsService {
     }
 
     /** A company's ties are shown across the whole oblast — that is the point of the view. */
-    @Transactional(readOnly = true)
     public MonitorConnectionsDTO buildCompanyConnections(String contractorEik) {
         MonitorConnectionsDTO full = buildConnectionsGraph(MonitorScope.WHOLE_OBLAST);
         String companyId = "co:" + contractorEik.trim();
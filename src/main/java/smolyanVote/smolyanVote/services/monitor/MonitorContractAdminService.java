@@ -19,16 +19,19 @@ public class MonitorContractAdminService {
     private final MonitorAmendmentRepository amendmentRepository;
     private final MonitorRiskService riskService;
     private final MonitorCompanyAggregateService aggregateService;
+    private final MonitorProcurementGraph procurementGraph;
 
     public MonitorContractAdminService(
             MonitorContractRepository contractRepository,
             MonitorAmendmentRepository amendmentRepository,
             MonitorRiskService riskService,
-            MonitorCompanyAggregateService aggregateService) {
+            MonitorCompanyAggregateService aggregateService,
+            MonitorProcurementGraph procurementGraph) {
         this.contractRepository = contractRepository;
         this.amendmentRepository = amendmentRepository;
         this.riskService = riskService;
         this.aggregateService = aggregateService;
+        this.procurementGraph = procurementGraph;
     }
 
     @Transactional(readOnly = true)
@@ -77,6 +80,7 @@ public class MonitorContractAdminService {
         riskService.scoreContract(c);
         MonitorContractEntity saved = contractRepository.save(c);
         aggregateService.refreshFromAllContracts();
+        procurementGraph.invalidate();
         return toDto(saved);
     }
 
@@ -90,6 +94,7 @@ public class MonitorContractAdminService {
         }
         contractRepository.deleteById(id);
         aggregateService.refreshFromAllContracts();
+        procurementGraph.invalidate();
     }
 
     private MonitorAdminContractDTO toDto(MonitorContractEntity c) {
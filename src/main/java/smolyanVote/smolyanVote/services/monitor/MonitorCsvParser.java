@@ -1,13 +1,21 @@
 package smolyanVote.smolyanVote.services.monitor;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * RFC 4180-ish CSV parser for SIGMA exports (handles quoted fields and commas).
+ * RFC 4180-ish CSV parser for SIGMA exports (handles quoted fields, commas and line breaks
+ * inside quotes). {@link #open} streams rows from a {@link Reader}; {@link #parseRows} is the
+ * in-memory convenience for small, already cached bodies.
  */
 final class MonitorCsvParser {
 
+    private static final char BOM = '\uFEFF';
+
     private MonitorCsvParser() {
     }
 
@@ -16,43 +24,111 @@ final class MonitorCsvParser {
         if (csv == null || csv.isBlank()) {
             return rows;
         }
-        String normalized = csv.replace("\uFEFF", "");
-        List<String> fields = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        for (int i = 0; i < normalized.length(); i++) {
-            char c = normalized.charAt(i);
-            if (inQuotes) {
-                if (c == '"') {
-                    if (i + 1 < normalized.length() && normalized.charAt(i + 1) == '"') {
-                        current.append('"');
-                        i++;
+        try {
+            RowReader reader = open(new StringReader(csv));
+            for (String[] row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    /** Row-at-a-time reader; the caller owns (and closes) {@code reader}. */
+    static RowReader open(Reader reader) {
+        return new RowReader(reader);
+    }
+
+    /**
+     * Pulls one row per {@link #next()} call. The char buffer and the field builders are reused
+     * across rows, so memory is bounded by the longest row, not by the file.
+     */
+    static final class RowReader {
+
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private boolean pushedBack;
+        private int pushedBackChar;
+        private boolean finished;
+
+        private final StringBuilder field = new StringBuilder();
+        private final List<String> fields = new ArrayList<>();
+
+        private RowReader(Reader in) {
+            this.in = in;
+        }
+
+        /** Next row, or {@code null} at end of input. Byte order marks are dropped wherever they appear. */
+        String[] next() throws IOException {
+            if (finished) {
+                return null;
+            }
+            fields.clear();
+            field.setLength(0);
+            boolean inQuotes = false;
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    finished = true;
+                    if (!field.isEmpty() || !fields.isEmpty()) {
+                        fields.add(field.toString());
+                        return fields.toArray(new String[0]);
+                    }
+                    return null;
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                            unread(following);
+                        }
                     } else {
-                        inQuotes = false;
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    inQuotes = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields.toArray(new String[0]);
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack) {
+                pushedBack = false;
+                return pushedBackChar;
+            }
+            while (true) {
+                if (position >= limit) {
+                    limit = in.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return -1;
                     }
-                } else {
-                    current.append(c);
                 }
-            } else if (c == '"') {
-                inQuotes = true;
-            } else if (c == ',') {
-                fields.add(current.toString());
-                current.setLength(0);
-            } else if (c == '\n') {
-                fields.add(current.toString());
-                current.setLength(0);
-                if (!fields.isEmpty() || rows.isEmpty()) {
-                    rows.add(fields.toArray(new String[0]));
+                char c = buffer[position++];
+                if (c != BOM) {
+                    return c;
                 }
-                fields = new ArrayList<>();
-            } else if (c != '\r') {
-                current.append(c);
             }
         }
-        if (!current.isEmpty() || !fields.isEmpty()) {
-            fields.add(current.toString());
-            rows.add(fields.toArray(new String[0]));
+
+        private void unread(int c) {
+            pushedBack = true;
+            pushedBackChar = c;
         }
-        return rows;
     }
 }
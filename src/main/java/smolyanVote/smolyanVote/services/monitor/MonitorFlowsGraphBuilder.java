@@ -190,10 +190,24 @@ public final class MonitorFlowsGraphBuilder {
         }
 
         List<MonitorContractEntity> matched = contracts.stream()
-                .filter(c -> c.getAmountEur() != null)
                 .filter(c -> authEik.equals(c.getAuthorityEik()))
                 .filter(c -> coEik.equals(c.getContractorEik())
                         || ("unknown".equals(coEik) && (c.getContractorEik() == null || c.getContractorEik().isBlank())))
+                .toList();
+        return buildPathDetailFromMatched(matched, source, target, mapper);
+    }
+
+    /**
+     * Path detail for contracts already known to run from {@code source} to {@code target} — any
+     * node kinds, e.g. authority → subcontractor through the contractors in between.
+     */
+    public static MonitorFlowPathDetailDTO buildPathDetailFromMatched(
+            List<MonitorContractEntity> contracts,
+            String source,
+            String target,
+            ObjectMapper mapper) {
+        List<MonitorContractEntity> matched = contracts.stream()
+                .filter(c -> c.getAmountEur() != null)
                 .sorted(Comparator.comparing(MonitorContractEntity::getAmountEur, Comparator.nullsLast(Comparator.reverseOrder())))
                 .toList();
 
@@ -202,8 +216,6 @@ public final class MonitorFlowsGraphBuilder {
         }
 
         MonitorContractEntity first = matched.get(0);
-        String authName = first.getAuthorityName() != null ? first.getAuthorityName() : authEik;
-        String coName = first.getContractorName() != null ? first.getContractorName() : coEik;
 
         BigDecimal totalEur = BigDecimal.ZERO;
         BigDecimal subTotal = BigDecimal.ZERO;
@@ -238,14 +250,24 @@ public final class MonitorFlowsGraphBuilder {
         }
 
         return new MonitorFlowPathDetailDTO(
-                new MonitorFlowPathDetailDTO.FlowPartyDTO(authEik, authName, source),
-                new MonitorFlowPathDetailDTO.FlowPartyDTO(
-                        "unknown".equals(coEik) ? null : coEik, coName, target),
+                party(source, first),
+                party(target, first),
                 new MonitorFlowPathDetailDTO.FlowPathTotalsDTO(
                         totalEur, matched.size(), subTotal.signum() > 0 ? subTotal : null, withSub),
                 slices);
     }
 
+    private static MonitorFlowPathDetailDTO.FlowPartyDTO party(String nodeId, MonitorContractEntity first) {
+        String eik = nodeId.substring(nodeId.indexOf(':') + 1);
+        String name = switch (nodeType(nodeId)) {
+            case "authority" -> first.getAuthorityName();
+            case "contractor" -> first.getContractorName();
+            default -> first.getSubcontractorName();
+        };
+        return new MonitorFlowPathDetailDTO.FlowPartyDTO(
+                "unknown".equals(eik) ? null : eik, name != null ? name : eik, nodeId);
+    }
+
     private static MonitorFlowsDTO.FlowLinkDTO toAuthLink(
             String linkKey,
             BigDecimal valueEur,
@@ -418,7 +418,8 @@ public class MonitorGeminiClient {
                             attempt + 1,
                             MAX_RATE_LIMIT_RETRIES);
                     if (attempt < MAX_RATE_LIMIT_RETRIES - 1) {
-                        MonitorApiThrottle.sleepQuietly(delayMs);
+                        // The next awaitSlot() waits this out — for every Gemini caller, not just this one
+                        geminiThrottle.backOff(delayMs);
                         continue;
                     }
                     throw new MonitorRateLimitException(
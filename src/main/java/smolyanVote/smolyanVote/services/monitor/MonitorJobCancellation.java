@@ -17,6 +17,11 @@ final class MonitorJobCancellation {
         activeKey.set(key);
     }
 
+    /** Key of the job running on this thread, for handing over to worker threads. */
+    static String activeKey() {
+        return activeKey.get();
+    }
+
     static void end() {
         activeKey.remove();
     }
@@ -11,11 +11,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Runs ingestion jobs off the request thread.
@@ -83,6 +85,9 @@ public class MonitorJobLauncher {
     /** Accepted but not yet finished jobs; anything beyond the first has to wait its turn. */
     private final AtomicInteger pending = new AtomicInteger();
 
+    /** Called on the ingestion thread with the final state of every job that ran. */
+    private final List<Consumer<JobState>> completionListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Queues {@code job}; its return value becomes the message shown in the panel.
      *
@@ -159,6 +164,27 @@ public class MonitorJobLauncher {
         return count;
     }
 
+    /**
+     * Replaces the panel message of a running job — e.g. "3/8 възложители". Ignored once the job
+     * has finished or been cancelled, so a late worker cannot overwrite the final outcome.
+     */
+    public void reportProgress(String key, String message) {
+        if (key == null) {
+            return;
+        }
+        states.computeIfPresent(key, (k, state) -> state.status() == JobStatus.RUNNING
+                ? new JobState(k, state.label(), JobStatus.RUNNING, message, state.startedAt(), null)
+                : state);
+    }
+
+    /**
+     * Registers work to run after each job — successful, failed or cancelled, since a stopped
+     * import may still have committed part of its data.
+     */
+    public void addCompletionListener(Consumer<JobState> listener) {
+        completionListeners.add(listener);
+    }
+
     public boolean hasPendingJobs() {
         return states.values().stream().anyMatch(state -> isPending(state.status()));
     }
@@ -207,6 +233,17 @@ public class MonitorJobLauncher {
                 Thread.interrupted();
                 log.info("Monitor job {} cancelled", key);
             }
+            notifyCompletion(states.get(key));
+        }
+    }
+
+    private void notifyCompletion(JobState finished) {
+        for (Consumer<JobState> listener : completionListeners) {
+            try {
+                listener.accept(finished);
+            } catch (Exception ex) {
+                log.warn("Monitor job listener failed after {}: {}", finished.key(), ex.getMessage());
+            }
         }
     }
 
@@ -0,0 +1,145 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Briefing and weekly highlights for the monitor landing page, precomputed per scope.
+ *
+ * <p>Both payloads are expensive (the briefing parses the insight JSON of up to 400 flagged
+ * contracts) and the landing page is the most visited monitor view, yet the data only moves
+ * when an ingestion job runs. They are regenerated after every job and on a timer, serialized
+ * once and served as-is. The ETag is a hash of the body, so a regeneration that changes nothing
+ * keeps it and clients revalidating with {@code If-None-Match} get a 304.
+ */
+@Service
+public class MonitorLandingSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorLandingSnapshotService.class);
+
+    private static final String WHOLE_OBLAST_KEY = "";
+
+    /** A serialized payload; {@code version} grows each time the body actually changes. */
+    public record Snapshot(long version, String etag, byte[] body, Instant generatedAt) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final MonitorService monitorService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Snapshot> briefings = new ConcurrentHashMap<>();
+    private final Map<String, Snapshot> highlights = new ConcurrentHashMap<>();
+
+    public MonitorLandingSnapshotService(MonitorService monitorService,
+                                         ObjectMapper objectMapper,
+                                         MonitorJobLauncher jobLauncher,
+                                         MeterRegistry meterRegistry) {
+        this.monitorService = monitorService;
+        this.objectMapper = objectMapper;
+        jobLauncher.addCompletionListener(job -> regenerateAll());
+
+        Gauge.builder("monitor.snapshot.age", this, MonitorLandingSnapshotService::oldestAgeSeconds)
+                .description("Seconds since the oldest landing snapshot was generated")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public Snapshot briefing(MonitorScope scope) {
+        return briefings.computeIfAbsent(scopeKey(scope), key -> generate(null, scope, monitorService::buildBriefing));
+    }
+
+    public Snapshot weeklyHighlights(MonitorScope scope) {
+        return highlights.computeIfAbsent(scopeKey(scope),
+                key -> generate(null, scope, monitorService::buildWeeklyHighlights));
+    }
+
+    @Scheduled(fixedDelayString = "${monitor.snapshots.refresh-interval-ms:900000}",
+            initialDelayString = "${monitor.snapshots.refresh-interval-ms:900000}")
+    public synchronized void regenerateAll() {
+        long started = System.nanoTime();
+        int failed = 0;
+        for (MonitorScope scope : scopes()) {
+            String key = scopeKey(scope);
+            try {
+                briefings.put(key, generate(briefings.get(key), scope, monitorService::buildBriefing));
+                highlights.put(key, generate(highlights.get(key), scope, monitorService::buildWeeklyHighlights));
+            } catch (Exception ex) {
+                // The previous snapshot keeps being served; staleness shows on the gauge
+                failed++;
+                log.warn("Landing snapshot for {} failed: {}", scope.label(), ex.getMessage());
+            }
+        }
+        log.info("Landing snapshots regenerated in {} ms ({} scopes failed)",
+                (System.nanoTime() - started) / 1_000_000, failed);
+    }
+
+    private <T> Snapshot generate(Snapshot previous, MonitorScope scope, Function<MonitorScope, T> builder) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(builder.apply(scope));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Snapshot serialization failed", ex);
+        }
+        String etag = "\"" + MonitorHashUtil.sha256(json).substring(0, 16) + "\"";
+        Instant now = Instant.now();
+        if (previous != null && previous.etag().equals(etag)) {
+            return new Snapshot(previous.version(), etag, previous.body(), now);
+        }
+        long version = previous != null ? previous.version() + 1 : 1;
+        return new Snapshot(version, etag, json.getBytes(StandardCharsets.UTF_8), now);
+    }
+
+    double oldestAgeSeconds() {
+        Instant oldest = null;
+        for (Map<String, Snapshot> snapshots : List.of(briefings, highlights)) {
+            for (Snapshot snapshot : snapshots.values()) {
+                if (oldest == null || snapshot.generatedAt().isBefore(oldest)) {
+                    oldest = snapshot.generatedAt();
+                }
+            }
+        }
+        return oldest == null ? 0 : (System.currentTimeMillis() - oldest.toEpochMilli()) / 1000.0;
+    }
+
+    private static List<MonitorScope> scopes() {
+        List<MonitorScope> scopes = new ArrayList<>();
+        scopes.add(MonitorScope.WHOLE_OBLAST);
+        for (String authorityEik : MonitorRegionalConfig.AUTHORITY_LABELS.keySet()) {
+            scopes.add(MonitorScope.of(authorityEik));
+        }
+        return scopes;
+    }
+
+    private static String scopeKey(MonitorScope scope) {
+        return scope.isWholeOblast() ? WHOLE_OBLAST_KEY : scope.authorityEik();
+    }
+}
@@ -1,105 +1,565 @@
 package smolyanVote.smolyanVote.services.monitor;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+import smolyanVote.smolyanVote.config.MonitorOcrProperties;
 import smolyanVote.smolyanVote.models.monitor.MonitorDocumentEntity;
 import smolyanVote.smolyanVote.repositories.monitor.MonitorDocumentRepository;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * OCR for scanned PDFs via external {@code tesseract} when installed on the host.
  * Documents with very short raw text and PDF source URLs are candidates.
+ *
+ * <p>A batch runs as a two-stage pipeline. Download workers stream PDFs to temp files while OCR
+ * workers render single pages with {@code pdftoppm} and recognize them, one process per worker
+ * within the CPU budget — pages of several documents overlap and a slow download never idles
+ * the CPU. Temp files stay within a disk quota: PDFs draw from a shared budget and every OCR
+ * worker has room set aside for one page image, so pages can always drain the queue. Each
+ * document has a deadline, and a cancelled job kills its processes.
  */
 @Service
 public class MonitorOcrService {
 
     private static final Logger log = LoggerFactory.getLogger(MonitorOcrService.class);
     private static final int MIN_TEXT_LEN = 80;
+    private static final int MAX_TEXT_LEN = 50_000;
+    private static final long MB = 1024L * 1024L;
+    private static final Pattern PDFINFO_PAGES = Pattern.compile("(?m)^Pages:\\s+(\\d+)");
 
     private final MonitorDocumentRepository documentRepository;
+    private final MonitorOcrProperties properties;
+    private final MonitorJobLauncher jobLauncher;
+    private final RestTemplate restTemplate;
 
-    public MonitorOcrService(MonitorDocumentRepository documentRepository) {
+    private final Counter pagesCounter;
+    private final AtomicInteger downloadQueue = new AtomicInteger();
+    private final AtomicInteger pageQueue = new AtomicInteger();
+    private volatile double lastBatchPagesPerSecond;
+
+    public MonitorOcrService(MonitorDocumentRepository documentRepository,
+                             MonitorOcrProperties properties,
+                             MonitorJobLauncher jobLauncher,
+                             MeterRegistry meterRegistry) {
         this.documentRepository = documentRepository;
+        this.properties = properties;
+        this.jobLauncher = jobLauncher;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(15_000);
+        requestFactory.setReadTimeout(60_000);
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.pagesCounter = Counter.builder("monitor.ocr.pages")
+                .description("Pages recognized by tesseract")
+                .register(meterRegistry);
+        Gauge.builder("monitor.ocr.queue.depth", downloadQueue, AtomicInteger::get)
+                .tag("stage", "download")
+                .description("PDFs waiting for a download worker")
+                .register(meterRegistry);
+        Gauge.builder("monitor.ocr.queue.depth", pageQueue, AtomicInteger::get)
+                .tag("stage", "ocr")
+                .description("Pages waiting for an OCR worker")
+                .register(meterRegistry);
+        Gauge.builder("monitor.ocr.pages_per_second", this, service -> service.lastBatchPagesPerSecond)
+                .description("Throughput of the last OCR batch")
+                .register(meterRegistry);
     }
 
     public boolean isTesseractAvailable() {
         try {
-            Process p = new ProcessBuilder("tesseract", "--version").redirectErrorStream(true).start();
+            Process p = new ProcessBuilder(properties.getTesseractCommand(), "--version")
+                    .redirectErrorStream(true).start();
             return p.waitFor(5, TimeUnit.SECONDS) && p.exitValue() == 0;
         } catch (Exception ex) {
             return false;
         }
     }
 
-    @Transactional
+    /** poppler's tools print their version with a non-zero exit on some releases; starting is enough. */
+    private static boolean canStart(String command) {
+        try {
+            Process p = new ProcessBuilder(command, "-v").redirectErrorStream(true).start();
+            if (!p.waitFor(5, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+            }
+            return true;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     public int processBatch(int limit) {
-        List<MonitorDocumentEntity> candidates = documentRepository.findOcrCandidates(PageRequest.of(0, limit));
-        int processed = 0;
-        for (MonitorDocumentEntity doc : candidates) {
-            try {
-                if (runOcr(doc)) {
+        List<MonitorDocumentEntity> candidates = documentRepository.findOcrCandidates(PageRequest.of(0, limit))
+                .stream()
+                .filter(doc -> doc.getSourceUrl() != null && doc.getSourceUrl().toLowerCase().contains(".pdf"))
+                .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        if (!isTesseractAvailable()) {
+            log.info("Tesseract not installed — skip OCR for {} documents", candidates.size());
+            return 0;
+        }
+
+        Batch batch = new Batch(MonitorJobCancellation.activeKey(),
+                canStart(properties.getPdfinfoCommand()) && canStart(properties.getPdftoppmCommand()));
+        long started = System.nanoTime();
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (MonitorDocumentEntity doc : candidates) {
+                results.add(batch.submit(doc));
+            }
+            int processed = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                MonitorDocumentEntity doc = candidates.get(i);
+                String text = await(results.get(i), doc);
+                if (text != null && text.length() >= MIN_TEXT_LEN) {
+                    doc.setRawContent(text.length() > MAX_TEXT_LEN ? text.substring(0, MAX_TEXT_LEN) : text);
                     documentRepository.save(doc);
                     processed++;
                 }
-            } catch (Exception ex) {
-                log.warn("OCR failed for document {}: {}", doc.getId(), ex.getMessage());
+                jobLauncher.reportProgress(batch.jobKey, "OCR: " + (i + 1) + "/" + candidates.size()
+                        + " документа (" + batch.pagesDone.get() + " страници)");
             }
+            return processed;
+        } finally {
+            batch.close();
+            double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+            lastBatchPagesPerSecond = batch.pagesDone.get() / seconds;
+            log.info("OCR batch: {} documents, {} pages in {} s ({} pages/s)",
+                    candidates.size(), batch.pagesDone.get(), String.format("%.1f", seconds),
+                    String.format("%.2f", lastBatchPagesPerSecond));
         }
-        return processed;
     }
 
-    private boolean runOcr(MonitorDocumentEntity doc) throws Exception {
-        String url = doc.getSourceUrl();
-        if (url == null || !url.toLowerCase().contains(".pdf")) {
-            return false;
+    /** Text of one document, or {@code null} when its OCR failed; polls so a cancel is noticed. */
+    private static String await(CompletableFuture<String> result, MonitorDocumentEntity doc) {
+        try {
+            while (true) {
+                try {
+                    return result.get(1, TimeUnit.SECONDS);
+                } catch (TimeoutException ex) {
+                    MonitorJobCancellation.check();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MonitorJobCancelledException();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof MonitorJobCancelledException cancelled) {
+                throw cancelled;
+            }
+            log.warn("OCR failed for document {}: {}", doc.getId(),
+                    cause != null ? cause.getMessage() : ex.getMessage());
+            return null;
         }
-        if (!isTesseractAvailable()) {
-            log.info("Tesseract not installed — skip OCR for document {}", doc.getId());
-            return false;
+    }
+
+    /** Worker pools, disk budget and counters of one {@link #processBatch} call. */
+    private final class Batch {
+
+        private final String jobKey;
+        /** Page-wise rendering needs poppler; without it the whole PDF goes to tesseract. */
+        private final boolean pageWise;
+        private final int ocrThreads;
+        private final long pageImageBytes;
+        private final DiskBudget pdfBudget;
+        /** Most a single PDF may take of {@link #pdfBudget}. */
+        private final long maxPdfBytes;
+        private final ExecutorService downloads;
+        private final ExecutorService pages;
+        private final AtomicInteger pagesDone = new AtomicInteger();
+        /** Downloaded PDFs not yet cleaned up — swept on close if a cancel left them behind. */
+        private final Set<DownloadedPdf> live = ConcurrentHashMap.newKeySet();
+
+        Batch(String jobKey, boolean pageWise) {
+            this.jobKey = jobKey;
+            this.pageWise = pageWise;
+            long quota = Math.max(1, properties.getTempDiskQuotaMb()) * MB;
+            long pageImage = Math.max(1, properties.getMaxPageImageMb()) * MB;
+            int threads = properties.getOcrThreads() > 0
+                    ? properties.getOcrThreads()
+                    : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            if (pageWise) {
+                // At least half of the quota stays for PDFs
+                pageImage = Math.min(pageImage, quota / 2);
+                threads = (int) Math.max(1, Math.min(threads, quota / 2 / pageImage));
+            }
+            this.ocrThreads = threads;
+            this.pageImageBytes = pageImage;
+            this.pdfBudget = new DiskBudget(quota - (pageWise ? threads * pageImage : 0));
+            this.maxPdfBytes = Math.min(pdfBudget.capacity(), Math.max(1, properties.getMaxPdfMb()) * MB);
+            this.downloads = workerPool("ocr-download-", Math.max(1, properties.getDownloadConcurrency()));
+            this.pages = workerPool("ocr-page-", ocrThreads);
         }
 
-        Path tmpPdf = Files.createTempFile("monitor-ocr-", ".pdf");
-        Path tmpTxt = Files.createTempFile("monitor-ocr-", ".txt");
-        try {
-            byte[] pdf = new org.springframework.web.client.RestTemplate().getForObject(url, byte[].class);
-            if (pdf == null || pdf.length == 0) {
-                return false;
+        CompletableFuture<String> submit(MonitorDocumentEntity doc) {
+            downloadQueue.incrementAndGet();
+            return CompletableFuture
+                    .supplyAsync(onWorker(() -> {
+                        downloadQueue.decrementAndGet();
+                        return download(doc);
+                    }), downloads)
+                    .thenCompose(pdf -> recognize(pdf).whenComplete((text, ex) -> discard(pdf)));
+        }
+
+        private DownloadedPdf download(MonitorDocumentEntity doc) throws IOException {
+            // The download clock starts when a worker picks the document up, not while it waits in the queue
+            DownloadedPdf pdf = new DownloadedPdf(Files.createTempDirectory(tempRoot(), "monitor-ocr-"),
+                    TimeUnit.SECONDS.toNanos(Math.max(1, properties.getDocumentTimeoutSeconds())));
+            live.add(pdf);
+            try {
+                long written = restTemplate.execute(doc.getSourceUrl(), HttpMethod.GET, null, response -> {
+                    // One reservation for the whole file: a download never holds part of the budget
+                    // while waiting for more, so two large PDFs cannot block each other.
+                    long declared = response.getHeaders().getContentLength();
+                    if (declared > maxPdfBytes) {
+                        throw new IOException("PDF надхвърля дисковата квота за OCR");
+                    }
+                    long reserve = declared > 0 ? declared : maxPdfBytes;
+                    pdfBudget.reserve(reserve, pdf.deadline());
+                    pdf.reservedBytes = reserve;
+                    long total = 0;
+                    try (InputStream in = response.getBody(); OutputStream out = Files.newOutputStream(pdf.file())) {
+                        byte[] buffer = new byte[64 * 1024];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            total += read;
+                            if (total > reserve) {
+                                throw new IOException("PDF надхвърля дисковата квота за OCR");
+                            }
+                            out.write(buffer, 0, read);
+                        }
+                    }
+                    return total;
+                });
+                if (written == 0) {
+                    throw new IOException("празен PDF");
+                }
+                // Without a Content-Length the whole per-file cap was reserved; hand back the unused part
+                pdfBudget.release(pdf.reservedBytes - written);
+                pdf.reservedBytes = written;
+                if (pageWise) {
+                    pdf.pageCount = pageCount(pdf);
+                }
+                return pdf;
+            } catch (IOException | RuntimeException ex) {
+                discard(pdf);
+                throw ex;
             }
-            Files.write(tmpPdf, pdf);
+        }
 
-            Process p = new ProcessBuilder(
-                    "tesseract",
-                    tmpPdf.toAbsolutePath().toString(),
-                    tmpTxt.toAbsolutePath().toString().replace(".txt", ""),
-                    "-l", "bul")
-                    .redirectErrorStream(true)
-                    .start();
-            if (!p.waitFor(120, TimeUnit.SECONDS) || p.exitValue() != 0) {
-                return false;
+        private int pageCount(DownloadedPdf pdf) throws IOException {
+            String info = runProcess(List.of(properties.getPdfinfoCommand(), pdf.file().toString()),
+                    pdf.workDir().resolve("pdfinfo.log"), pdf.deadline());
+            Matcher matcher = PDFINFO_PAGES.matcher(info);
+            if (!matcher.find()) {
+                throw new IOException("pdfinfo не върна брой страници");
             }
+            return Integer.parseInt(matcher.group(1));
+        }
 
-            Path outFile = Path.of(tmpTxt.toAbsolutePath().toString().replace(".txt", "") + ".txt");
-            if (!Files.exists(outFile)) {
-                return false;
+        private CompletableFuture<String> recognize(DownloadedPdf pdf) {
+            if (!pageWise) {
+                pageQueue.incrementAndGet();
+                return CompletableFuture.supplyAsync(onWorker(() -> {
+                    pageQueue.decrementAndGet();
+                    pdf.startOcr();
+                    String text = tesseract(pdf.file(), pdf.workDir().resolve("document"), pdf);
+                    pageDone();
+                    return text;
+                }), pages);
             }
-            String text = Files.readString(outFile, StandardCharsets.UTF_8).trim();
-            if (text.length() < MIN_TEXT_LEN) {
-                return false;
+            int pageCount = Math.min(pdf.pageCount, Math.max(1, properties.getMaxPagesPerDocument()));
+            List<CompletableFuture<String>> texts = new ArrayList<>();
+            for (int page = 1; page <= pageCount; page++) {
+                int pageNumber = page;
+                pageQueue.incrementAndGet();
+                texts.add(CompletableFuture.supplyAsync(onWorker(() -> {
+                    pageQueue.decrementAndGet();
+                    return ocrPage(pdf, pageNumber);
+                }), pages));
             }
-            doc.setRawContent(text.length() > 50_000 ? text.substring(0, 50_000) : text);
-            return true;
+            return CompletableFuture.allOf(texts.toArray(CompletableFuture[]::new))
+                    .thenApply(done -> texts.stream()
+                            .map(CompletableFuture::join)
+                            .filter(text -> !text.isEmpty())
+                            .collect(Collectors.joining("\n\n")));
+        }
+
+        private String ocrPage(DownloadedPdf pdf, int page) throws IOException {
+            // Downloads run ahead of OCR; time spent waiting for an OCR thread does not count
+            if (System.nanoTime() - pdf.startOcr() > 0) {
+                throw new IOException("времето за документа изтече");
+            }
+            Path base = pdf.workDir().resolve("page-" + page);
+            Path image = Path.of(base + ".png");
+            try {
+                runProcess(List.of(properties.getPdftoppmCommand(),
+                                "-f", String.valueOf(page), "-l", String.valueOf(page),
+                                "-r", String.valueOf(properties.getRenderDpi()),
+                                "-gray", "-png", "-singlefile",
+                                pdf.file().toString(), base.toString()),
+                        Path.of(base + "-render.log"), pdf.deadline());
+                if (!Files.exists(image)) {
+                    throw new IOException("pdftoppm не създаде страница " + page);
+                }
+                if (Files.size(image) > pageImageBytes) {
+                    throw new IOException("страница " + page + " надхвърля лимита за изображение");
+                }
+                String text = tesseract(image, base, pdf);
+                pageDone();
+                return text;
+            } finally {
+                Files.deleteIfExists(image);
+            }
+        }
+
+        private String tesseract(Path input, Path outputBase, DownloadedPdf pdf) throws IOException {
+            Path output = Path.of(outputBase + ".txt");
+            try {
+                runProcess(List.of(properties.getTesseractCommand(), input.toString(), outputBase.toString(),
+                        "-l", "bul"), Path.of(outputBase + "-ocr.log"), pdf.deadline());
+                return Files.exists(output) ? Files.readString(output, StandardCharsets.UTF_8).trim() : "";
+            } finally {
+                Files.deleteIfExists(output);
+            }
+        }
+
+        private void pageDone() {
+            pagesDone.incrementAndGet();
+            pagesCounter.increment();
+        }
+
+        /** Runs {@code work} on a worker with the job key carried over, so cancellation reaches it. */
+        private <T> Supplier<T> onWorker(Callable<T> work) {
+            return () -> {
+                MonitorJobCancellation.begin(jobKey);
+                try {
+                    MonitorJobCancellation.check();
+                    return work.call();
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                } finally {
+                    MonitorJobCancellation.end();
+                }
+            };
+        }
+
+        private void discard(DownloadedPdf pdf) {
+            if (!live.remove(pdf)) {
+                return;
+            }
+            deleteRecursively(pdf.workDir());
+            pdfBudget.release(pdf.reservedBytes);
+        }
+
+        void close() {
+            downloads.shutdownNow();
+            pages.shutdownNow();
+            try {
+                if (!downloads.awaitTermination(5, TimeUnit.SECONDS) || !pages.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("OCR workers did not stop within 5s");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            for (DownloadedPdf pdf : List.copyOf(live)) {
+                discard(pdf);
+            }
+            downloadQueue.set(0);
+            pageQueue.set(0);
+        }
+    }
+
+    private static final class DownloadedPdf {
+
+        private static final long OCR_NOT_STARTED = Long.MIN_VALUE;
+
+        private final Path workDir;
+        private final long timeoutNanos;
+        /** Download and pdfinfo run against this one. */
+        private final long downloadDeadline;
+        /** Set when the first page starts OCR; render and recognition get a full timeout from then. */
+        private final AtomicLong ocrDeadline = new AtomicLong(OCR_NOT_STARTED);
+        /** Written by the download worker only. */
+        private volatile long reservedBytes;
+        private volatile int pageCount = 1;
+
+        DownloadedPdf(Path workDir, long timeoutNanos) {
+            this.workDir = workDir;
+            this.timeoutNanos = timeoutNanos;
+            this.downloadDeadline = System.nanoTime() + timeoutNanos;
+        }
+
+        Path workDir() {
+            return workDir;
+        }
+
+        Path file() {
+            return workDir.resolve("source.pdf");
+        }
+
+        long deadline() {
+            long ocr = ocrDeadline.get();
+            return ocr == OCR_NOT_STARTED ? downloadDeadline : ocr;
+        }
+
+        /** Starts the OCR clock on the first call; returns the OCR deadline. */
+        long startOcr() {
+            ocrDeadline.compareAndSet(OCR_NOT_STARTED, System.nanoTime() + timeoutNanos);
+            return ocrDeadline.get();
+        }
+    }
+
+    /** Bytes of temp disk that downloads may hold; reservations wait until others release. */
+    static final class DiskBudget {
+
+        private final long capacity;
+        private long used;
+
+        DiskBudget(long capacity) {
+            this.capacity = capacity;
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        synchronized long used() {
+            return used;
+        }
+
+        synchronized void reserve(long bytes, long deadlineNanos) throws IOException {
+            if (bytes > capacity) {
+                throw new IOException("заявката надхвърля дисковата квота");
+            }
+            try {
+                while (used + bytes > capacity) {
+                    long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                    if (remainingMs <= 0) {
+                        throw new IOException("времето за документа изтече в очакване на дискова квота");
+                    }
+                    wait(Math.min(remainingMs, 200));
+                    MonitorJobCancellation.check();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MonitorJobCancelledException();
+            }
+            used += bytes;
+        }
+
+        synchronized void release(long bytes) {
+            used = Math.max(0, used - bytes);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Runs an external tool until it exits, the document deadline passes or the job is
+     * cancelled; the process is killed in the last two cases. Output goes to {@code logFile}
+     * so a chatty tool can never block on a full pipe.
+     */
+    private static String runProcess(List<String> command, Path logFile, long deadlineNanos) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            while (!process.waitFor(200, TimeUnit.MILLISECONDS)) {
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    throw new IOException(command.get(0) + " превиши времето за документа");
+                }
+                MonitorJobCancellation.check();
+            }
+            String output = Files.readString(logFile, StandardCharsets.UTF_8);
+            if (process.exitValue() != 0) {
+                throw new IOException(command.get(0) + " exit " + process.exitValue() + ": "
+                        + (output.length() > 200 ? output.substring(0, 200) : output).trim());
+            }
+            return output;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MonitorJobCancelledException();
         } finally {
-            Files.deleteIfExists(tmpPdf);
-            Files.deleteIfExists(tmpTxt);
-            Files.deleteIfExists(Path.of(tmpTxt.toAbsolutePath().toString().replace(".txt", "") + ".txt"));
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private Path tempRoot() throws IOException {
+        String configured = properties.getTempDir();
+        Path root = configured == null || configured.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"))
+                : Path.of(configured);
+        return Files.createDirectories(root);
+    }
+
+    private static ExecutorService workerPool(String namePrefix, int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ex) {
+                    log.debug("Could not delete OCR temp file {}: {}", path, ex.getMessage());
+                }
+            });
+        } catch (IOException ex) {
+            log.debug("Could not clean OCR temp dir {}: {}", dir, ex.getMessage());
         }
     }
 }
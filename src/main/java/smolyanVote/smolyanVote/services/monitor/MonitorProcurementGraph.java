@@ -0,0 +1,278 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
+import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorConnectionsDTO;
+import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorFlowsDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Materialized money-flow graph of the region (authority → contractor → subcontractor).
+ *
+ * <p>Flows and connections used to be rebuilt from every contract on every page view. The graph
+ * is now built once from a single pass over the contracts and swapped in whole: precomputed
+ * flows/connections per municipality, plus adjacency keyed by node id ({@code auth:EIK},
+ * {@code co:EIK}, {@code sub:EIK}) with value, count and contract ids per edge. Ingestion calls
+ * {@link #refresh()} after it commits; admin edits call {@link #invalidate()} and the next read
+ * rebuilds.
+ */
+@Service
+public class MonitorProcurementGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorProcurementGraph.class);
+
+    /** authority → contractor → subcontractor is the longest chain in the graph. */
+    static final int MAX_PATH_HOPS = 2;
+
+    private static final String WHOLE_OBLAST_KEY = "";
+
+    private final MonitorContractRepository contractRepository;
+    private final ObjectMapper objectMapper;
+
+    /** Bumped on every invalidation; a snapshot built from an older generation is stale. */
+    private final AtomicLong generation = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public MonitorProcurementGraph(MonitorContractRepository contractRepository, ObjectMapper objectMapper) {
+        this.contractRepository = contractRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Directed edge with the contracts behind it; ids are kept sorted for cheap intersection. */
+    record Edge(BigDecimal valueEur, long count, long[] contractIds) {
+    }
+
+    private record Snapshot(
+            long generation,
+            Map<String, MonitorFlowsDTO> flowsByScope,
+            Map<String, MonitorConnectionsDTO> connectionsByScope,
+            Map<String, Map<String, Edge>> adjacency) {
+    }
+
+    public MonitorFlowsDTO flows(MonitorScope scope) {
+        MonitorFlowsDTO flows = current().flowsByScope().get(scopeKey(scope));
+        return flows != null ? flows : MonitorFlowsGraphBuilder.build(List.of(), objectMapper);
+    }
+
+    public MonitorConnectionsDTO connections(MonitorScope scope) {
+        MonitorConnectionsDTO connections = current().connectionsByScope().get(scopeKey(scope));
+        return connections != null ? connections : new MonitorConnectionsDTO(List.of(), List.of());
+    }
+
+    /**
+     * Ids of the contracts whose money runs from {@code source} to {@code target}, found by a
+     * breadth-first walk of at most {@link #MAX_PATH_HOPS} edges. Each contract lies on exactly
+     * one authority → contractor → subcontractor chain, so a contract reaches a node through a
+     * path only if it is on every edge of it; the sets are intersected hop by hop.
+     *
+     * @return sorted ids, empty when the nodes are not connected within the bound
+     */
+    public long[] pathContractIds(String source, String target) {
+        Map<String, Map<String, Edge>> adjacency = current().adjacency();
+        Map<String, long[]> frontier = new HashMap<>();
+        for (Map.Entry<String, Edge> edge : adjacency.getOrDefault(source, Map.of()).entrySet()) {
+            frontier.put(edge.getKey(), edge.getValue().contractIds());
+        }
+        Set<String> visited = new HashSet<>();
+        visited.add(source);
+        for (int hop = 1; hop <= MAX_PATH_HOPS && !frontier.isEmpty(); hop++) {
+            long[] reached = frontier.get(target);
+            if (reached != null) {
+                return reached;
+            }
+            visited.addAll(frontier.keySet());
+            if (hop == MAX_PATH_HOPS) {
+                break;
+            }
+            Map<String, long[]> next = new HashMap<>();
+            for (Map.Entry<String, long[]> node : frontier.entrySet()) {
+                for (Map.Entry<String, Edge> edge : adjacency.getOrDefault(node.getKey(), Map.of()).entrySet()) {
+                    if (visited.contains(edge.getKey())) {
+                        continue;
+                    }
+                    long[] carried = intersect(node.getValue(), edge.getValue().contractIds());
+                    if (carried.length > 0) {
+                        next.merge(edge.getKey(), carried, MonitorProcurementGraph::union);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return new long[0];
+    }
+
+    /**
+     * Marks the graph stale. Inside a transaction this waits for the commit, so a read racing
+     * the commit cannot cache the old data as current.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    /** Rebuilds right away so the first visitor after an import does not pay for it. */
+    public void refresh() {
+        generation.incrementAndGet();
+        try {
+            current();
+        } catch (Exception ex) {
+            // Stays stale; the next read retries
+            log.warn("Procurement graph rebuild failed: {}", ex.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current;
+        }
+        synchronized (rebuildLock) {
+            current = snapshot;
+            long target = generation.get();
+            if (current != null && current.generation() == target) {
+                return current;
+            }
+            long started = System.nanoTime();
+            current = build(target, contractRepository.findAllInScope(null));
+            snapshot = current;
+            log.debug("Procurement graph rebuilt in {} ms", (System.nanoTime() - started) / 1_000_000);
+            return current;
+        }
+    }
+
+    private Snapshot build(long generation, List<MonitorContractEntity> contracts) {
+        Map<String, List<MonitorContractEntity>> byAuthority = new HashMap<>();
+        for (String authorityEik : MonitorRegionalConfig.AUTHORITY_LABELS.keySet()) {
+            byAuthority.put(authorityEik, new ArrayList<>());
+        }
+        Map<String, Map<String, EdgeBuilder>> edges = new HashMap<>();
+        for (MonitorContractEntity c : contracts) {
+            List<MonitorContractEntity> scoped = byAuthority.get(c.getAuthorityEik());
+            if (scoped != null) {
+                scoped.add(c);
+            }
+            if (c.getAmountEur() == null || c.getId() == null) {
+                continue;
+            }
+            // Node ids exactly as MonitorFlowsGraphBuilder emits them, so a clicked link resolves
+            String authId = "auth:" + c.getAuthorityEik();
+            String contractorId = c.getContractorEik() != null ? "co:" + c.getContractorEik() : "co:unknown";
+            addEdge(edges, authId, contractorId, c.getAmountEur(), c.getId());
+
+            if (MonitorSubcontractorHelper.hasDeclaredSubcontractor(c) && c.getContractorEik() != null) {
+                BigDecimal subAmount = MonitorSubcontractorHelper.effectiveSubcontractingAmountEur(c);
+                if (subAmount != null && subAmount.signum() > 0) {
+                    String subEik = c.getSubcontractorEik();
+                    String subId = subEik != null && !subEik.isBlank() ? "sub:" + subEik.trim() : "sub:unknown";
+                    addEdge(edges, contractorId, subId, subAmount, c.getId());
+                }
+            }
+        }
+
+        Map<String, MonitorFlowsDTO> flows = new HashMap<>();
+        Map<String, MonitorConnectionsDTO> connections = new HashMap<>();
+        flows.put(WHOLE_OBLAST_KEY, MonitorFlowsGraphBuilder.build(contracts, objectMapper));
+        connections.put(WHOLE_OBLAST_KEY, MonitorConnectionsService.build(contracts, objectMapper));
+        byAuthority.forEach((authorityEik, scoped) -> {
+            flows.put(authorityEik, MonitorFlowsGraphBuilder.build(scoped, objectMapper));
+            connections.put(authorityEik, MonitorConnectionsService.build(scoped, objectMapper));
+        });
+
+        Map<String, Map<String, Edge>> adjacency = new HashMap<>();
+        edges.forEach((from, targets) -> {
+            Map<String, Edge> out = new HashMap<>();
+            targets.forEach((to, edge) -> out.put(to, edge.toEdge()));
+            adjacency.put(from, Map.copyOf(out));
+        });
+        return new Snapshot(generation, Map.copyOf(flows), Map.copyOf(connections), Map.copyOf(adjacency));
+    }
+
+    private static void addEdge(Map<String, Map<String, EdgeBuilder>> edges, String from, String to,
+                                BigDecimal amount, long contractId) {
+        edges.computeIfAbsent(from, key -> new HashMap<>())
+                .computeIfAbsent(to, key -> new EdgeBuilder())
+                .add(amount, contractId);
+    }
+
+    private static final class EdgeBuilder {
+        private BigDecimal value = BigDecimal.ZERO;
+        private final List<Long> ids = new ArrayList<>();
+
+        void add(BigDecimal amount, long contractId) {
+            value = value.add(amount);
+            ids.add(contractId);
+        }
+
+        Edge toEdge() {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Edge(value, sorted.length, sorted);
+        }
+    }
+
+    private static String scopeKey(MonitorScope scope) {
+        return scope.isWholeOblast() ? WHOLE_OBLAST_KEY : scope.authorityEik();
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static long[] union(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            out[n++] = next;
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
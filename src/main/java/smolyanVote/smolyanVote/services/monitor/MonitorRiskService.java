@@ -13,10 +13,15 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Regional risk scoring — ported from SIGMA riskLogic.ts.
@@ -49,6 +54,9 @@ public class MonitorRiskService {
     private final MonitorCompanyRepository companyRepository;
     private final ObjectMapper objectMapper;
 
+    /** Built by the last full rescore, kept current by {@link #rescoreContracts}. */
+    private RiskIndex index;
+
     public MonitorRiskService(
             MonitorContractRepository contractRepository,
             MonitorCompanyRepository companyRepository,
@@ -137,15 +145,83 @@ public class MonitorRiskService {
 
     /**
      * Rescores the whole region. Every comparison is precomputed from a single pass over the
-     * contracts — scoring row by row against the database costs thousands of queries.
+     * contracts — scoring row by row against the database costs thousands of queries. The index
+     * built here is kept for {@link #rescoreContracts}.
+     *
+     * @return number of contracts whose score or flags changed (only those are written back)
      */
-    public void scoreAllContracts() {
+    public synchronized int scoreAllContracts() {
         List<MonitorContractEntity> all = contractRepository.findAll();
-        RiskFacts facts = new InMemoryFacts(all, companyRepository.findAll());
-        for (MonitorContractEntity contract : all) {
+        index = new RiskIndex(all, companyRepository.findAll());
+        return scoreAndSaveChanged(all, index);
+    }
+
+    /**
+     * Rescores after {@code contractIds} changed: the changed contracts plus everyone sharing a
+     * sector with them (old or new), since medians, winner shares and fragmentation counts are
+     * per sector. Only the affected sectors of the index are rebuilt; other sectors are neither
+     * read nor rescored. Without an index yet (first run after a restart) this is a full rescore.
+     *
+     * @return number of contracts whose score or flags changed
+     */
+    public synchronized int rescoreContracts(Collection<Long> contractIds) {
+        if (contractIds == null || contractIds.isEmpty()) {
+            return 0;
+        }
+        if (index == null) {
+            return scoreAllContracts();
+        }
+        List<MonitorContractEntity> changed = contractRepository.findAllById(contractIds);
+        Set<String> sectors = new HashSet<>();
+        for (Long id : contractIds) {
+            String previousSector = index.sectorOf(id);
+            if (previousSector != null) {
+                sectors.add(previousSector);
+            }
+        }
+        Map<Long, MonitorContractEntity> affected = new LinkedHashMap<>();
+        for (MonitorContractEntity contract : changed) {
+            affected.put(contract.getId(), contract);
+            if (contract.getSectorCode() != null) {
+                sectors.add(contract.getSectorCode());
+            }
+        }
+        // A contract that left every sector must not linger in its old one
+        index.forgetSectorOf(contractIds);
+        if (!sectors.isEmpty()) {
+            List<MonitorContractEntity> sectorRows = contractRepository.findAllBySectorCodeIn(sectors);
+            index.rebuildSectors(sectors, sectorRows);
+            for (MonitorContractEntity contract : sectorRows) {
+                affected.putIfAbsent(contract.getId(), contract);
+            }
+        }
+        Set<String> contractorEiks = new HashSet<>();
+        for (MonitorContractEntity contract : affected.values()) {
+            if (contract.getContractorEik() != null) {
+                contractorEiks.add(contract.getContractorEik().trim());
+            }
+        }
+        if (!contractorEiks.isEmpty()) {
+            index.refreshCompanies(companyRepository.findAllByEikIn(contractorEiks));
+        }
+        return scoreAndSaveChanged(affected.values(), index);
+    }
+
+    private int scoreAndSaveChanged(Collection<MonitorContractEntity> contracts, RiskFacts facts) {
+        List<MonitorContractEntity> dirty = new ArrayList<>();
+        for (MonitorContractEntity contract : contracts) {
+            Integer previousScore = contract.getRiskScore();
+            String previousFlags = contract.getRiskFlagsJson();
             scoreContract(contract, facts);
+            if (!Objects.equals(previousScore, contract.getRiskScore())
+                    || !Objects.equals(previousFlags, contract.getRiskFlagsJson())) {
+                dirty.add(contract);
+            }
         }
-        contractRepository.saveAll(all);
+        if (!dirty.isEmpty()) {
+            contractRepository.saveAll(dirty);
+        }
+        return dirty.size();
     }
 
     /** The regional comparisons a risk rule needs, so scoring works the same in bulk and one-off. */
@@ -185,41 +261,102 @@ public class MonitorRiskService {
         }
     }
 
-    private static final class InMemoryFacts implements RiskFacts {
+    /**
+     * Per-sector indexes over the contracts, so each rule is a lookup instead of a scan of the
+     * sector: sorted amounts for the median, winner tallies for the share, sorted signing dates
+     * per contractor for fragmentation. Rebuilt per sector when a sector's contracts change.
+     */
+    private static final class RiskIndex implements RiskFacts {
 
-        private final Map<String, List<MonitorContractEntity>> bySector = new HashMap<>();
+        private final Map<String, SectorStats> sectors = new HashMap<>();
+        private final Map<Long, String> sectorById = new HashMap<>();
         private final Map<String, LocalDate> foundedByEik = new HashMap<>();
 
-        InMemoryFacts(List<MonitorContractEntity> contracts, List<MonitorCompanyEntity> companies) {
+        RiskIndex(List<MonitorContractEntity> contracts, List<MonitorCompanyEntity> companies) {
+            Map<String, List<MonitorContractEntity>> bySector = new HashMap<>();
             for (MonitorContractEntity contract : contracts) {
-                if (contract.getSectorCode() != null && contract.getAmountEur() != null) {
+                if (contract.getSectorCode() != null) {
                     bySector.computeIfAbsent(contract.getSectorCode(), key -> new ArrayList<>()).add(contract);
                 }
             }
+            bySector.forEach(this::putSector);
+            refreshCompanies(companies);
+        }
+
+        String sectorOf(Long contractId) {
+            return sectorById.get(contractId);
+        }
+
+        void forgetSectorOf(Collection<Long> contractIds) {
+            contractIds.forEach(sectorById::remove);
+        }
+
+        /** Replaces the stats of {@code sectorCodes} with ones built from {@code rows} (all their contracts). */
+        void rebuildSectors(Set<String> sectorCodes, List<MonitorContractEntity> rows) {
+            sectorById.values().removeIf(sectorCodes::contains);
+            Map<String, List<MonitorContractEntity>> bySector = new HashMap<>();
+            for (String sectorCode : sectorCodes) {
+                bySector.put(sectorCode, new ArrayList<>());
+            }
+            for (MonitorContractEntity contract : rows) {
+                List<MonitorContractEntity> sectorRows = bySector.get(contract.getSectorCode());
+                if (sectorRows != null) {
+                    sectorRows.add(contract);
+                }
+            }
+            bySector.forEach(this::putSector);
+        }
+
+        void refreshCompanies(List<MonitorCompanyEntity> companies) {
             for (MonitorCompanyEntity company : companies) {
-                if (company.getEik() != null && company.getFoundedAt() != null) {
+                if (company.getEik() == null) {
+                    continue;
+                }
+                if (company.getFoundedAt() != null) {
                     foundedByEik.put(company.getEik().trim(), company.getFoundedAt());
+                } else {
+                    foundedByEik.remove(company.getEik().trim());
                 }
             }
         }
 
+        private void putSector(String sectorCode, List<MonitorContractEntity> rows) {
+            for (MonitorContractEntity contract : rows) {
+                if (contract.getId() != null) {
+                    sectorById.put(contract.getId(), sectorCode);
+                }
+            }
+            SectorStats stats = new SectorStats(rows);
+            if (stats.amounts.isEmpty()) {
+                sectors.remove(sectorCode);
+            } else {
+                sectors.put(sectorCode, stats);
+            }
+        }
+
         @Override
         public BigDecimal medianForSector(String sectorCode, Long excludeId) {
-            return median(bySector.getOrDefault(sectorCode, List.of()), excludeId);
+            SectorStats stats = sectors.get(sectorCode);
+            return stats == null ? null : stats.median(excludeId);
         }
 
         @Override
         public double winnerShareInSector(String contractorEik, String sectorCode) {
-            return winnerShare(bySector.getOrDefault(sectorCode, List.of()), contractorEik);
+            SectorStats stats = sectors.get(sectorCode);
+            if (stats == null) {
+                return 0;
+            }
+            return (double) stats.winsByEik.getOrDefault(contractorEik, 0) / stats.amounts.size();
         }
 
         @Override
         public long fragmentationCount(String contractorEik, String sectorCode, LocalDate since) {
-            return bySector.getOrDefault(sectorCode, List.of()).stream()
-                    .filter(c -> contractorEik.equals(c.getContractorEik()))
-                    .filter(c -> c.getSignedAt() != null && !c.getSignedAt().isBefore(since))
-                    .filter(c -> c.getAmountEur().compareTo(FRAGMENTATION_THRESHOLD_EUR) < 0)
-                    .count();
+            SectorStats stats = sectors.get(sectorCode);
+            List<LocalDate> dates = stats == null ? null : stats.smallContractDates.get(contractorEik);
+            if (dates == null) {
+                return 0;
+            }
+            return dates.size() - firstNotBefore(dates, since);
         }
 
         @Override
@@ -228,6 +365,78 @@ public class MonitorRiskService {
         }
     }
 
+    /** Contracts with an amount in one sector — the population every sector rule compares against. */
+    private static final class SectorStats {
+
+        /** Ascending; duplicates kept. */
+        private final List<BigDecimal> amounts = new ArrayList<>();
+        private final Map<Long, BigDecimal> amountById = new HashMap<>();
+        private final Map<String, Integer> winsByEik = new HashMap<>();
+        /** Signing dates of below-threshold contracts per contractor, ascending. */
+        private final Map<String, List<LocalDate>> smallContractDates = new HashMap<>();
+
+        SectorStats(List<MonitorContractEntity> rows) {
+            for (MonitorContractEntity contract : rows) {
+                BigDecimal amount = contract.getAmountEur();
+                if (amount == null) {
+                    continue;
+                }
+                amounts.add(amount);
+                if (contract.getId() != null) {
+                    amountById.put(contract.getId(), amount);
+                }
+                String eik = contract.getContractorEik();
+                if (eik != null) {
+                    winsByEik.merge(eik, 1, Integer::sum);
+                    if (contract.getSignedAt() != null && amount.compareTo(FRAGMENTATION_THRESHOLD_EUR) < 0) {
+                        smallContractDates.computeIfAbsent(eik, key -> new ArrayList<>()).add(contract.getSignedAt());
+                    }
+                }
+            }
+            amounts.sort(null);
+            smallContractDates.values().forEach(dates -> dates.sort(null));
+        }
+
+        /** Median of the sector without {@code excludeId}'s own amount — no copy, no re-sort. */
+        BigDecimal median(Long excludeId) {
+            BigDecimal excluded = excludeId == null ? null : amountById.get(excludeId);
+            int skip = excluded == null ? -1 : indexOf(excluded);
+            int size = skip < 0 ? amounts.size() : amounts.size() - 1;
+            if (size == 0) {
+                return null;
+            }
+            int mid = size / 2;
+            if (size % 2 == 1) {
+                return amountAt(mid, skip);
+            }
+            return amountAt(mid - 1, skip).add(amountAt(mid, skip)).divide(new BigDecimal("2"), 2, RoundingMode.HALF_UP);
+        }
+
+        private BigDecimal amountAt(int position, int skip) {
+            return amounts.get(skip >= 0 && position >= skip ? position + 1 : position);
+        }
+
+        private int indexOf(BigDecimal amount) {
+            int found = Collections.binarySearch(amounts, amount);
+            return found >= 0 ? found : -1;
+        }
+    }
+
+    /** Index of the first date not before {@code since} in an ascending list. */
+    private static int firstNotBefore(List<LocalDate> dates, LocalDate since) {
+        int low = 0;
+        int high = dates.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates.get(mid).isBefore(since)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /** Composite regional risk index for a company (0–100), weighted by contract value. */
     public int computeCompanyCri(String contractorEik) {
         return computeCompanyCri(contractRepository.findByContractorEikOrderBySignedAtDesc(
@@ -27,6 +27,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -51,6 +52,7 @@ public class MonitorService {
     private final MonitorAiAnalysisService aiAnalysisService;
     private final ObjectMapper objectMapper;
     private final SigmaProxyService sigmaProxyService;
+    private final MonitorProcurementGraph procurementGraph;
 
     public MonitorService(
             MonitorContractRepository contractRepository,
@@ -64,7 +66,8 @@ public class MonitorService {
             MonitorAmendmentRepository amendmentRepository,
             MonitorAiAnalysisService aiAnalysisService,
             ObjectMapper objectMapper,
-            SigmaProxyService sigmaProxyService) {
+            SigmaProxyService sigmaProxyService,
+            MonitorProcurementGraph procurementGraph) {
         this.contractRepository = contractRepository;
         this.documentRepository = documentRepository;
         this.companyRepository = companyRepository;
@@ -77,6 +80,7 @@ public class MonitorService {
         this.aiAnalysisService = aiAnalysisService;
         this.objectMapper = objectMapper;
         this.sigmaProxyService = sigmaProxyService;
+        this.procurementGraph = procurementGraph;
     }
 
     @Transactional(readOnly = true)
@@ -135,8 +139,9 @@ public class MonitorService {
         return MonitorPageDTO.of(items, page, size, contracts.getTotalElements());
     }
 
+    /** Computes the briefing; visitors get it from {@link MonitorLandingSnapshotService}. */
     @Transactional(readOnly = true)
-    public MonitorBriefingDTO getBriefing(MonitorScope scope) {
+    public MonitorBriefingDTO buildBriefing(MonitorScope scope) {
         String authority = scope.authorityFilter();
         LocalDate yearStart = LocalDate.of(LocalDate.now().getYear(), 1, 1);
         LocalDate yearEnd = LocalDate.of(LocalDate.now().getYear(), 12, 31);
@@ -387,8 +392,9 @@ public class MonitorService {
         return out.stream().limit(capped).toList();
     }
 
+    /** Computes the weekly highlights; visitors get them from {@link MonitorLandingSnapshotService}. */
     @Transactional(readOnly = true)
-    public List<MonitorFeedItemDTO> getWeeklyHighlights(MonitorScope scope) {
+    public List<MonitorFeedItemDTO> buildWeeklyHighlights(MonitorScope scope) {
         Page<MonitorContractEntity> flagged = contractRepository.findAnomalies(
                 MonitorRiskService.FLAG_THRESHOLD,
                 scope.authorityFilter(),
@@ -398,14 +404,9 @@ public class MonitorService {
 
         if (items.size() < 5 && scope.includesScrapedSources()) {
             Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-            for (MonitorDocumentEntity d : documentRepository.findAll()) {
-                Instant published = d.getPublishedAt();
-                if (published != null && !published.isBefore(weekAgo)) {
-                    items.add(toFeedItem(d));
-                    if (items.size() >= 5) {
-                        break;
-                    }
-                }
+            for (MonitorDocumentEntity d : documentRepository.findPublishedSince(
+                    weekAgo, PageRequest.of(0, 5 - items.size()))) {
+                items.add(toFeedItem(d));
             }
         }
         return items.stream().limit(5).toList();
@@ -458,19 +459,35 @@ public class MonitorService {
         return MonitorPageDTO.of(items, page, size, anomalies.getTotalElements());
     }
 
-    @Transactional(readOnly = true)
     public MonitorFlowsDTO getFlows(MonitorScope scope) {
-        List<MonitorContractEntity> contracts = contractRepository.findAllInScope(scope.authorityFilter());
-        return MonitorFlowsGraphBuilder.build(contracts, objectMapper);
+        return procurementGraph.flows(scope);
     }
 
+    /**
+     * Contracts behind a flow — a direct link or a chain such as authority → subcontractor. The
+     * path is resolved on the materialized graph; only the contracts on it are loaded.
+     */
     @Transactional(readOnly = true)
     public MonitorFlowPathDetailDTO getFlowPath(MonitorScope scope, String source, String target) {
         if (source == null || source.isBlank() || target == null || target.isBlank()) {
             throw new MonitorNotFoundException("Липсват параметри source и target.");
         }
-        List<MonitorContractEntity> contracts = contractRepository.findAllInScope(scope.authorityFilter());
-        return MonitorFlowsGraphBuilder.buildPathDetail(contracts, source.trim(), target.trim(), objectMapper);
+        String from = source.trim();
+        String to = target.trim();
+        if (!isFlowNodeId(from) || !isFlowNodeId(to)) {
+            throw new MonitorNotFoundException("Невалидна връзка за паричен поток.");
+        }
+        long[] ids = procurementGraph.pathContractIds(from, to);
+        List<MonitorContractEntity> contracts = ids.length == 0
+                ? List.of()
+                : contractRepository.findAllById(Arrays.stream(ids).boxed().toList()).stream()
+                        .filter(scope::matches)
+                        .toList();
+        return MonitorFlowsGraphBuilder.buildPathDetailFromMatched(contracts, from, to, objectMapper);
+    }
+
+    private static boolean isFlowNodeId(String nodeId) {
+        return nodeId.startsWith("auth:") || nodeId.startsWith("co:") || nodeId.startsWith("sub:");
     }
 
     @Transactional(readOnly = true)
@@ -496,12 +513,10 @@ public class MonitorService {
         return deepDataService.getOfficialBudgetTrend();
     }
 
-    @Transactional(readOnly = true)
     public MonitorConnectionsDTO getConnections(MonitorScope scope) {
         return connectionsService.buildConnectionsGraph(scope);
     }
 
-    @Transactional(readOnly = true)
     public MonitorConnectionsDTO getCompanyConnections(String eik) {
         return connectionsService.buildCompanyConnections(eik);
     }
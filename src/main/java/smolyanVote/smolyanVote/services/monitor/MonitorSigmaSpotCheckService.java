@@ -10,6 +10,8 @@ import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
 import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorSigmaSpotCheckDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorSigmaSpotCheckDTO.SpotCheckRow;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -49,8 +51,8 @@ public class MonitorSigmaSpotCheckService {
         int fetchErrors = 0;
         for (String eik : MonitorRegionalConfig.OBLAST_SMOLYAN_EIKS) {
             try {
-                SigmaProxyService.CachedCsv csv = sigmaProxyService.getContractsCsv(eik, true);
-                sigmaByAuthority.put(eik, indexSigmaAmounts(csv.body()));
+                sigmaByAuthority.put(eik, sigmaProxyService.streamContractsCsv(
+                        eik, true, MonitorSigmaSpotCheckService::indexSigmaAmounts));
             } catch (Exception ex) {
                 fetchErrors++;
                 log.warn("SIGMA spot-check CSV failed for {}: {}", eik, ex.getMessage());
@@ -111,20 +113,20 @@ public class MonitorSigmaSpotCheckService {
                 rows);
     }
 
-    private static Map<String, BigDecimal> indexSigmaAmounts(String csv) {
+    private static Map<String, BigDecimal> indexSigmaAmounts(Reader csv) throws IOException {
         Map<String, BigDecimal> map = new LinkedHashMap<>();
-        List<String[]> rows = MonitorCsvParser.parseRows(csv);
-        if (rows.size() <= 1) {
+        MonitorCsvParser.RowReader rows = MonitorCsvParser.open(csv);
+        String[] headerRow = rows.next();
+        if (headerRow == null) {
             return map;
         }
-        String[] header = normalizeHeader(rows.get(0));
-        Map<String, Integer> idx = indexHeader(header);
-        for (int i = 1; i < rows.size(); i++) {
-            String id = cell(rows.get(i), idx, "id");
+        Map<String, Integer> idx = indexHeader(normalizeHeader(headerRow));
+        for (String[] row = rows.next(); row != null; row = rows.next()) {
+            String id = cell(row, idx, "id");
             if (id == null || id.isBlank()) {
                 continue;
             }
-            BigDecimal amount = parseDecimal(cell(rows.get(i), idx, "value_eur"));
+            BigDecimal amount = parseDecimal(cell(row, idx, "value_eur"));
             if (amount != null) {
                 map.put(id.trim(), amount);
             }
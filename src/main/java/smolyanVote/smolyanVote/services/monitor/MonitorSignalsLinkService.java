@@ -1,22 +1,18 @@
 package smolyanVote.smolyanVote.services.monitor;
 
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import smolyanVote.smolyanVote.models.SignalsEntity;
 import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
-import smolyanVote.smolyanVote.repositories.SignalsRepository;
+import smolyanVote.smolyanVote.services.support.BulgarianAnalyzer;
+import smolyanVote.smolyanVote.services.support.SignalSearchIndex;
 import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorRelatedSignalDTO;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class MonitorSignalsLinkService {
@@ -27,58 +23,33 @@ public class MonitorSignalsLinkService {
             "работи", "доставка", "ремонт", "изграждане", "обект", "град", "село", "улица",
             "бул", "булевард", "площад", "район", "област", "фирма", "дружество", "лtd",
             "оод", "ead", "за", "при", "от", "на", "с", "и", "в", "по", "до", "без", "или");
+    // Compared by stem, so „ремонти“ and „ремонтите“ are as generic as „ремонт“
+    private static final Set<String> STOP_STEMS = STOP_WORDS.stream()
+            .map(BulgarianAnalyzer::stem)
+            .collect(Collectors.toUnmodifiableSet());
 
-    private final SignalsRepository signalsRepository;
+    private final SignalSearchIndex signalIndex;
 
-    public MonitorSignalsLinkService(SignalsRepository signalsRepository) {
-        this.signalsRepository = signalsRepository;
+    public MonitorSignalsLinkService(SignalSearchIndex signalIndex) {
+        this.signalIndex = signalIndex;
     }
 
-    @Transactional(readOnly = true)
+    /** One ranked lookup in {@link SignalSearchIndex} over the contract's distinctive words. */
     public List<MonitorRelatedSignalDTO> findRelatedSignals(MonitorContractEntity contract, int limit) {
         String corpus = joinNonBlank(contract.getSubject(), contract.getShortSummary());
-        List<String> keywords = extractKeywords(corpus, 6);
+        List<String> keywords = extractKeywords(corpus, 12);
         if (keywords.isEmpty()) {
             return List.of();
         }
-
-        Map<Long, ScoredSignal> matches = new LinkedHashMap<>();
-        for (String keyword : keywords) {
-            List<SignalsEntity> hits = signalsRepository.findActiveByTextMatch(
-                    keyword, PageRequest.of(0, Math.min(limit * 2, 20)));
-            for (SignalsEntity signal : hits) {
-                int score = scoreMatch(keywords, signal);
-                if (score <= 0) {
-                    continue;
-                }
-                matches.merge(signal.getId(), new ScoredSignal(signal, score), (a, b) ->
-                        b.score() > a.score() ? b : a);
-            }
-        }
-
-        return matches.values().stream()
-                .sorted(Comparator.comparingInt(ScoredSignal::score).reversed())
-                .limit(Math.max(1, Math.min(limit, 15)))
-                .map(s -> toDto(s.signal()))
+        return signalIndex.search(keywords, Math.max(1, Math.min(limit, 15))).stream()
+                .map(MonitorSignalsLinkService::toDto)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
     public int countRelatedSignals(MonitorContractEntity contract) {
         return findRelatedSignals(contract, 15).size();
     }
 
-    private static int scoreMatch(List<String> keywords, SignalsEntity signal) {
-        String haystack = joinNonBlank(signal.getTitle(), signal.getDescription()).toLowerCase(Locale.ROOT);
-        int score = 0;
-        for (String keyword : keywords) {
-            if (haystack.contains(keyword.toLowerCase(Locale.ROOT))) {
-                score += keyword.length() >= 6 ? 3 : 2;
-            }
-        }
-        return score;
-    }
-
     private static List<String> extractKeywords(String text, int max) {
         if (text == null || text.isBlank()) {
             return List.of();
@@ -87,10 +58,13 @@ public class MonitorSignalsLinkService {
         List<String> result = new ArrayList<>();
         for (String raw : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
             String token = raw.trim();
-            if (token.length() < 4 || STOP_WORDS.contains(token) || seen.contains(token)) {
+            if (token.length() < 4) {
+                continue;
+            }
+            String stem = BulgarianAnalyzer.stem(token);
+            if (STOP_STEMS.contains(stem) || !seen.add(stem)) {
                 continue;
             }
-            seen.add(token);
             result.add(token);
             if (result.size() >= max) {
                 break;
@@ -99,16 +73,12 @@ public class MonitorSignalsLinkService {
         return result;
     }
 
-    private static MonitorRelatedSignalDTO toDto(SignalsEntity signal) {
-        String snippet = signal.getDescription();
-        if (snippet != null && snippet.length() > 120) {
-            snippet = snippet.substring(0, 117) + "...";
-        }
+    private static MonitorRelatedSignalDTO toDto(SignalSearchIndex.Hit hit) {
         return new MonitorRelatedSignalDTO(
-                signal.getId(),
-                signal.getTitle(),
-                signal.getCategory() != null ? signal.getCategory().name() : null,
-                snippet);
+                hit.id(),
+                hit.title(),
+                hit.category() != null ? hit.category().name() : null,
+                hit.snippet());
     }
 
     private static String joinNonBlank(String... parts) {
@@ -123,7 +93,4 @@ public class MonitorSignalsLinkService {
         }
         return sb.toString();
     }
-
-    private record ScoredSignal(SignalsEntity signal, int score) {
-    }
 }
@@ -0,0 +1,176 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Copy/insert deltas between two versions of a text, deflated.
+ *
+ * <p>The base is indexed in fixed blocks and the target is scanned with a rolling hash, as in
+ * rsync: every block found in the base becomes a copy extended as far as the texts agree, and
+ * everything else is inserted literally. A revision that touches a few sentences of a long
+ * decision therefore costs a few copy ops plus the changed text, not the whole document.
+ */
+final class MonitorTextDelta {
+
+    static final int BLOCK = 32;
+
+    private static final byte OP_COPY = 1;
+    private static final byte OP_INSERT = 2;
+    private static final long PRIME = 1_000_003L;
+
+    private MonitorTextDelta() {
+    }
+
+    static byte[] encode(String base, String target) {
+        Map<Long, Integer> blocks = new HashMap<>();
+        for (int i = 0; i + BLOCK <= base.length(); i += BLOCK) {
+            blocks.putIfAbsent(hash(base, i), i);
+        }
+        long outPower = 1;
+        for (int i = 1; i < BLOCK; i++) {
+            outPower *= PRIME;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            int literalStart = 0;
+            int t = 0;
+            long rolling = target.length() >= BLOCK ? hash(target, 0) : 0;
+            while (t + BLOCK <= target.length()) {
+                Integer b = blocks.get(rolling);
+                if (b != null && base.regionMatches(b, target, t, BLOCK)) {
+                    int start = t;
+                    int from = b;
+                    // Grow back into the pending literal, forward past the block
+                    while (start > literalStart && from > 0 && base.charAt(from - 1) == target.charAt(start - 1)) {
+                        start--;
+                        from--;
+                    }
+                    int end = t + BLOCK;
+                    int baseEnd = b + BLOCK;
+                    while (end < target.length() && baseEnd < base.length()
+                            && base.charAt(baseEnd) == target.charAt(end)) {
+                        end++;
+                        baseEnd++;
+                    }
+                    writeInsert(out, target, literalStart, start);
+                    out.writeByte(OP_COPY);
+                    out.writeInt(from);
+                    out.writeInt(end - start);
+                    literalStart = end;
+                    t = end;
+                    if (t + BLOCK <= target.length()) {
+                        rolling = hash(target, t);
+                    }
+                    continue;
+                }
+                if (t + BLOCK < target.length()) {
+                    rolling = (rolling - target.charAt(t) * outPower) * PRIME + target.charAt(t + BLOCK);
+                }
+                t++;
+            }
+            writeInsert(out, target, literalStart, target.length());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return deflate(bytes.toByteArray());
+    }
+
+    static String apply(String base, byte[] delta) {
+        StringBuilder target = new StringBuilder();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(delta)))) {
+            while (in.available() > 0) {
+                byte op = in.readByte();
+                if (op == OP_COPY) {
+                    int from = in.readInt();
+                    int length = in.readInt();
+                    target.append(base, from, from + length);
+                } else if (op == OP_INSERT) {
+                    int length = in.readInt();
+                    for (int i = 0; i < length; i++) {
+                        target.append(in.readChar());
+                    }
+                } else {
+                    throw new IllegalStateException("Непознат delta запис: " + op);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return target.toString();
+    }
+
+    static byte[] compress(String text) {
+        return deflate(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decompress(byte[] payload) {
+        return new String(inflate(payload), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInsert(DataOutputStream out, String target, int from, int to) throws IOException {
+        if (to <= from) {
+            return;
+        }
+        // UTF-16 units, not UTF-8: a copy may end between the halves of a surrogate pair
+        out.writeByte(OP_INSERT);
+        out.writeInt(to - from);
+        out.writeChars(target.substring(from, to));
+    }
+
+    private static long hash(String text, int from) {
+        long h = 0;
+        for (int i = from; i < from + BLOCK; i++) {
+            h = h * PRIME + text.charAt(i);
+        }
+        return h;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Повреден архивен запис");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Повреден архивен запис", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
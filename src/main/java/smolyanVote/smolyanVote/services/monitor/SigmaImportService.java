@@ -16,14 +16,26 @@ import smolyanVote.smolyanVote.repositories.monitor.MonitorCompanyRepository;
 import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
 import smolyanVote.smolyanVote.config.SigmaProxyProperties;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class SigmaImportService {
@@ -33,6 +45,9 @@ public class SigmaImportService {
     /** sigma.midt.bg answers 429 when the eight municipalities are requested back to back. */
     private static final int ENRICHMENT_VERSION = 1;
 
+    /** Rows per upsert transaction — bounds the persistence context and the rows held in memory. */
+    static final int IMPORT_CHUNK_SIZE = 500;
+
     private final MonitorContractRepository contractRepository;
     private final MonitorCompanyRepository companyRepository;
     private final MonitorIngestionRunService runService;
@@ -43,7 +58,16 @@ public class SigmaImportService {
     private final MonitorContractDateBackfillService contractDateBackfillService;
     private final SigmaProxyService sigmaProxyService;
     private final SigmaProxyProperties sigmaProxyProperties;
-    private final TransactionTemplate authorityTransaction;
+    private final MonitorJobLauncher jobLauncher;
+    private final MonitorProcurementGraph procurementGraph;
+    private final TransactionTemplate chunkTransaction;
+
+    /**
+     * Chunk upserts from parallel authorities take turns: two municipalities often share a
+     * contractor, and concurrent inserts of the same company would trip its unique EIK. Only the
+     * short DB write is serialized — downloading and parsing still overlap.
+     */
+    private final ReentrantLock upsertLock = new ReentrantLock();
 
     public SigmaImportService(
             MonitorContractRepository contractRepository,
@@ -56,6 +80,8 @@ public class SigmaImportService {
             MonitorContractDateBackfillService contractDateBackfillService,
             SigmaProxyService sigmaProxyService,
             SigmaProxyProperties sigmaProxyProperties,
+            MonitorJobLauncher jobLauncher,
+            MonitorProcurementGraph procurementGraph,
             PlatformTransactionManager transactionManager) {
         this.contractRepository = contractRepository;
         this.companyRepository = companyRepository;
@@ -67,16 +93,18 @@ public class SigmaImportService {
         this.contractDateBackfillService = contractDateBackfillService;
         this.sigmaProxyService = sigmaProxyService;
         this.sigmaProxyProperties = sigmaProxyProperties;
-        this.authorityTransaction = new TransactionTemplate(transactionManager);
-        this.authorityTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobLauncher = jobLauncher;
+        this.procurementGraph = procurementGraph;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
      * Imports contracts for every municipality in oblast Smolyan.
      *
-     * <p>Deliberately not transactional: each municipality commits on its own, so a feed
-     * outage or a single malformed row cannot discard the work already done, and the run
-     * log survives to explain what happened.
+     * <p>Deliberately not transactional: every import chunk of a municipality commits on its
+     * own, so a feed outage or a single malformed row cannot discard the work already done, and
+     * the run log survives to explain what happened.
      */
     public MonitorIngestionRunEntity importRegionalContracts() {
         MonitorIngestionRunEntity run = runService.start(MonitorIngestionType.SIGMA);
@@ -105,6 +133,10 @@ public class SigmaImportService {
 
     /**
      * Fetches CSV via {@link SigmaProxyService}, upserts only new/changed rows, re-scores deltas.
+     *
+     * <p>Authorities are handled by {@code fetch-concurrency} workers; the request rate is capped
+     * by the proxy's shared throttle, not by pauses here. Each finished authority is reported to
+     * the admin panel through {@link MonitorJobLauncher#reportProgress}.
      */
     public RefreshResult refreshRegionalContracts(boolean bypassCache) {
         int processed = 0;
@@ -112,33 +144,37 @@ public class SigmaImportService {
         int skippedRows = 0;
         List<String> failures = new ArrayList<>();
         List<Long> changedContractIds = new ArrayList<>();
-        boolean first = true;
 
-        for (String eik : MonitorRegionalConfig.AUTHORITY_LABELS.keySet()) {
-            MonitorJobCancellation.check();
-            if (!first) {
-                pause(sigmaProxyProperties.getAuthorityPauseMs());
+        List<String> authorities = List.copyOf(MonitorRegionalConfig.AUTHORITY_LABELS.keySet());
+        String jobKey = MonitorJobCancellation.activeKey();
+        int workers = Math.max(1, Math.min(sigmaProxyProperties.getFetchConcurrency(), authorities.size()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "sigma-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            ExecutorCompletionService<AuthorityOutcome> completion = new ExecutorCompletionService<>(pool);
+            for (String eik : authorities) {
+                completion.submit(() -> fetchAuthority(eik, bypassCache, jobKey));
             }
-            first = false;
-            String label = MonitorRegionalConfig.labelForAuthority(eik, eik);
-            try {
-                String csv = fetchCsv(eik, bypassCache);
-                if (csv == null || csv.isBlank()) {
-                    continue;
+            for (int done = 1; done <= authorities.size(); done++) {
+                AuthorityOutcome outcome = awaitNext(completion);
+                if (outcome.result() != null) {
+                    processed += outcome.result().imported();
+                    changed += outcome.result().changed();
+                    skippedRows += outcome.result().skipped();
+                    changedContractIds.addAll(outcome.result().changedContractIds());
                 }
-                AuthorityResult result = authorityTransaction.execute(status -> importForAuthority(eik, csv));
-                if (result != null) {
-                    processed += result.imported();
-                    changed += result.changed();
-                    skippedRows += result.skipped();
-                    changedContractIds.addAll(result.changedContractIds());
+                if (outcome.failure() != null) {
+                    failures.add(outcome.label() + ": " + outcome.failure());
                 }
-            } catch (MonitorJobCancelledException ex) {
-                throw ex;
-            } catch (Exception ex) {
-                log.error("SIGMA import failed for {}", label, ex);
-                failures.add(label + ": " + MonitorIngestionRunService.describe(ex));
+                jobLauncher.reportProgress(jobKey, "SIGMA: " + done + "/" + authorities.size()
+                        + " възложители (" + processed + " договора)");
             }
+        } finally {
+            pool.shutdownNow();
         }
 
         if (processed > 0) {
@@ -150,14 +186,9 @@ public class SigmaImportService {
                 failures.add("Дати на договори: " + MonitorIngestionRunService.describe(ex));
             }
             try {
-                if (!changedContractIds.isEmpty()) {
-                    for (Long id : changedContractIds) {
-                        contractRepository.findById(id).ifPresent(riskService::scoreContract);
-                    }
-                    log.info("SIGMA risk scoring: {} changed contracts", changedContractIds.size());
-                } else {
-                    riskService.scoreAllContracts();
-                }
+                int rescored = riskService.rescoreContracts(changedContractIds);
+                log.info("SIGMA risk scoring: {} changed contracts, {} scores updated",
+                        changedContractIds.size(), rescored);
             } catch (Exception ex) {
                 log.error("SIGMA risk scoring failed", ex);
                 failures.add("Риск скоринг: " + MonitorIngestionRunService.describe(ex));
@@ -177,52 +208,192 @@ public class SigmaImportService {
                 log.error("SIGMA company aggregation failed", ex);
                 failures.add("Агрегиране на фирми: " + MonitorIngestionRunService.describe(ex));
             }
+            if (changed > 0) {
+                procurementGraph.refresh();
+            }
         }
 
         return new RefreshResult(processed, changed, skippedRows, failures);
     }
 
+    private record AuthorityOutcome(String label, AuthorityResult result, String failure) {
+    }
+
+    /** Runs on a fetch worker; carries the job key over so cancellation reaches the worker. */
+    private AuthorityOutcome fetchAuthority(String eik, boolean bypassCache, String jobKey) {
+        MonitorJobCancellation.begin(jobKey);
+        String label = MonitorRegionalConfig.labelForAuthority(eik, eik);
+        AuthorityProgress progress = new AuthorityProgress();
+        try {
+            MonitorJobCancellation.check();
+            sigmaProxyService.streamContractsCsv(eik, bypassCache, reader -> importForAuthority(eik, reader, progress));
+            return new AuthorityOutcome(label, progress.result(), null);
+        } catch (MonitorJobCancelledException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("SIGMA import failed for {} after {} committed rows", label, progress.imported, ex);
+            // Committed chunks stay in the database — their changes still need rescoring
+            return new AuthorityOutcome(label, progress.result(), MonitorIngestionRunService.describe(ex));
+        } finally {
+            MonitorJobCancellation.end();
+        }
+    }
+
+    /** Next finished authority; polls so a cancel request is noticed even without an interrupt. */
+    private static AuthorityOutcome awaitNext(ExecutorCompletionService<AuthorityOutcome> completion) {
+        try {
+            Future<AuthorityOutcome> next;
+            while ((next = completion.poll(1, TimeUnit.SECONDS)) == null) {
+                MonitorJobCancellation.check();
+            }
+            return next.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MonitorJobCancelledException();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("SIGMA fetch worker failed", ex.getCause());
+        }
+    }
+
     private record AuthorityResult(int imported, int changed, int skipped, List<Long> changedContractIds) {
     }
 
+    /**
+     * What one authority has committed so far, kept outside the CSV callback so a failure after
+     * some chunks still reports them. Used by a single fetch worker.
+     */
+    private static final class AuthorityProgress {
+        private int imported;
+        private int changed;
+        private int skipped;
+        private final List<Long> changedContractIds = new ArrayList<>();
+
+        /**
+         * A retried download reads the CSV from the top again: rows already committed count once
+         * more, so the row counts restart. Changes stay — the retry sees those rows as unchanged.
+         */
+        void restart() {
+            imported = 0;
+            skipped = 0;
+        }
+
+        void add(AuthorityResult chunk) {
+            imported += chunk.imported();
+            changed += chunk.changed();
+            skipped += chunk.skipped();
+            changedContractIds.addAll(chunk.changedContractIds());
+        }
+
+        AuthorityResult result() {
+            return new AuthorityResult(imported, changed, skipped, changedContractIds);
+        }
+    }
+
     private record RowResult(boolean imported, boolean changed, Long contractId) {
     }
 
-    private AuthorityResult importForAuthority(String authorityEik, String csv) {
-        List<String[]> rows = MonitorCsvParser.parseRows(csv);
-        if (rows.size() <= 1) {
-            return new AuthorityResult(0, 0, 0, List.of());
+    /**
+     * Streams the CSV and upserts it in chunks of {@link #IMPORT_CHUNK_SIZE} rows, each chunk in
+     * its own transaction with only the contracts/companies it references loaded — heap use does
+     * not grow with the file, and a late failure keeps the chunks already committed. Each committed
+     * chunk is added to {@code progress} right away.
+     */
+    private AuthorityResult importForAuthority(String authorityEik, Reader csv, AuthorityProgress progress)
+            throws IOException {
+        progress.restart();
+        MonitorCsvParser.RowReader rows = MonitorCsvParser.open(csv);
+        String[] headerRow = rows.next();
+        if (headerRow == null) {
+            return progress.result();
+        }
+        Map<String, Integer> idx = indexHeader(normalizeHeader(headerRow));
+        Instant fetchedAt = Instant.now();
+
+        List<String[]> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int firstRowNumber = 1;
+        for (String[] row = rows.next(); row != null; row = rows.next()) {
+            chunk.add(row);
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                progress.add(importChunk(authorityEik, chunk, firstRowNumber, idx, fetchedAt));
+                firstRowNumber += chunk.size();
+                chunk.clear();
+                MonitorJobCancellation.check();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            progress.add(importChunk(authorityEik, chunk, firstRowNumber, idx, fetchedAt));
         }
+        return progress.result();
+    }
 
-        String[] header = normalizeHeader(rows.get(0));
-        Map<String, Integer> idx = indexHeader(header);
-        ImportContext context = new ImportContext(
-                indexBySigmaId(contractRepository.findAllByAuthorityEik(authorityEik)),
-                indexByEik(companyRepository.findAll()),
-                Instant.now());
+    private AuthorityResult importChunk(String authorityEik, List<String[]> rows, int firstRowNumber,
+                                        Map<String, Integer> idx, Instant fetchedAt) {
+        upsertLock.lock();
+        try {
+            return upsertChunk(authorityEik, rows, firstRowNumber, idx, fetchedAt);
+        } finally {
+            upsertLock.unlock();
+        }
+    }
 
-        int count = 0;
-        int changed = 0;
-        int skipped = 0;
-        List<Long> changedIds = new ArrayList<>();
-        for (int i = 1; i < rows.size(); i++) {
-            try {
-                RowResult rowResult = importRow(rows.get(i), idx, context);
-                if (rowResult.imported()) {
-                    count++;
-                    if (rowResult.changed()) {
-                        changed++;
-                        if (rowResult.contractId() != null) {
-                            changedIds.add(rowResult.contractId());
+    private AuthorityResult upsertChunk(String authorityEik, List<String[]> rows, int firstRowNumber,
+                                        Map<String, Integer> idx, Instant fetchedAt) {
+        return chunkTransaction.execute(status -> {
+            Set<String> sigmaIds = referencedSigmaIds(rows, idx);
+            Set<String> contractorEiks = referencedContractorEiks(rows, idx);
+            ImportContext context = new ImportContext(
+                    indexBySigmaId(sigmaIds.isEmpty() ? List.of() : contractRepository.findAllBySigmaIdIn(sigmaIds)),
+                    indexByEik(contractorEiks.isEmpty() ? List.of() : companyRepository.findAllByEikIn(contractorEiks)),
+                    fetchedAt);
+
+            int count = 0;
+            int changed = 0;
+            int skipped = 0;
+            List<Long> changedIds = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    RowResult rowResult = importRow(rows.get(i), idx, context);
+                    if (rowResult.imported()) {
+                        count++;
+                        if (rowResult.changed()) {
+                            changed++;
+                            if (rowResult.contractId() != null) {
+                                changedIds.add(rowResult.contractId());
+                            }
                         }
                     }
+                } catch (Exception ex) {
+                    skipped++;
+                    log.warn("SIGMA row {} skipped for {}: {}", firstRowNumber + i, authorityEik, ex.getMessage());
                 }
-            } catch (Exception ex) {
-                skipped++;
-                log.warn("SIGMA row {} skipped for {}: {}", i, authorityEik, ex.getMessage());
+            }
+            return new AuthorityResult(count, changed, skipped, changedIds);
+        });
+    }
+
+    private static Set<String> referencedSigmaIds(List<String[]> rows, Map<String, Integer> idx) {
+        Set<String> ids = new HashSet<>();
+        for (String[] row : rows) {
+            String id = MonitorColumnLimits.clampIdentifier(cell(row, idx, "id"), MonitorColumnLimits.SIGMA_ID);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Set<String> referencedContractorEiks(List<String[]> rows, Map<String, Integer> idx) {
+        Set<String> eiks = new HashSet<>();
+        for (String[] row : rows) {
+            String eik = MonitorColumnLimits.clamp(cell(row, idx, "contractor_eik"), MonitorColumnLimits.EIK);
+            if (eik != null && !eik.isBlank()) {
+                eiks.add(eik.trim());
             }
         }
-        return new AuthorityResult(count, changed, skipped, changedIds);
+        return eiks;
     }
 
     private record ImportContext(
@@ -314,24 +485,6 @@ public class SigmaImportService {
         return value == null ? "" : value.trim();
     }
 
-    private String fetchCsv(String authorityEik, boolean bypassCache) {
-        SigmaProxyService.CachedCsv cached = sigmaProxyService.getContractsCsv(authorityEik, bypassCache);
-        String body = cached.body();
-        if (body == null || body.isBlank()) {
-            return null;
-        }
-        return body;
-    }
-
-    private static void pause(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("SIGMA import interrupted", ex);
-        }
-    }
-
     private void upsertCompany(MonitorContractEntity contract, Map<String, MonitorCompanyEntity> companiesByEik) {
         String eik = contract.getContractorEik();
         if (eik == null || eik.isBlank()) {
@@ -6,20 +6,31 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import smolyanVote.smolyanVote.config.SigmaProxyProperties;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Server-side cache for sigma.midt.bg CSV/JSON exports — one IP, shared TTL, 429-aware retries.
+ *
+ * <p>CSV requests from every thread share one {@link MonitorApiThrottle}, so parallel import
+ * workers together never exceed {@code max-requests-per-minute}; a 429 pauses all of them.
  */
 @Service
 public class SigmaProxyService {
@@ -32,6 +43,7 @@ public class SigmaProxyService {
     private final ObjectMapper objectMapper;
     private final Cache<String, CachedCsv> csvCache;
     private final Cache<String, CachedJson> jsonCache;
+    private final MonitorApiThrottle csvThrottle;
 
     public SigmaProxyService(SigmaProxyProperties properties, ObjectMapper objectMapper) {
         this.properties = properties;
@@ -40,6 +52,7 @@ public class SigmaProxyService {
         Duration ttl = Duration.ofHours(Math.max(1, properties.getCacheTtlHours()));
         this.csvCache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(32).build();
         this.jsonCache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(5000).build();
+        this.csvThrottle = MonitorApiThrottle.perMinute(properties.getMaxRequestsPerMinute());
     }
 
     public record CachedCsv(String body, Instant fetchedAt) {
@@ -48,6 +61,12 @@ public class SigmaProxyService {
     public record CachedJson(JsonNode body, Instant fetchedAt) {
     }
 
+    /** Consumes a CSV body as it arrives. */
+    @FunctionalInterface
+    public interface CsvReaderCallback<T> {
+        T read(Reader reader) throws IOException;
+    }
+
     /** Cached CSV for authority EIK; bypassCache=true for admin refresh. */
     public CachedCsv getContractsCsv(String authorityEik, boolean bypassCache) {
         String key = "csv:" + authorityEik;
@@ -58,12 +77,39 @@ public class SigmaProxyService {
             }
         }
         String url = MonitorRegionalConfig.SIGMA_CONTRACTS_CSV + "?authority=" + authorityEik;
-        String body = fetchBytes(url);
+        String body = fetchCsv(url);
         CachedCsv cached = new CachedCsv(body, Instant.now());
         csvCache.put(key, cached);
         return cached;
     }
 
+    /**
+     * Streams the authority's contracts CSV into {@code callback} without holding the body as a
+     * String. A cached copy is reused unless {@code bypassCache}; a body read from the network is
+     * not cached — imports are the only caller and read each authority once per run.
+     */
+    public <T> T streamContractsCsv(String authorityEik, boolean bypassCache, CsvReaderCallback<T> callback) {
+        if (!bypassCache) {
+            CachedCsv hit = csvCache.getIfPresent("csv:" + authorityEik);
+            if (hit != null) {
+                try {
+                    return callback.read(new StringReader(hit.body()));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+        String url = MonitorRegionalConfig.SIGMA_CONTRACTS_CSV + "?authority=" + authorityEik;
+        return withRetries(url, () -> {
+            csvThrottle.awaitSlot();
+            return restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                try (Reader reader = new InputStreamReader(response.getBody(), StandardCharsets.UTF_8)) {
+                    return callback.read(reader);
+                }
+            });
+        });
+    }
+
     /** Optional year filter uses SIGMA query param. */
     public CachedCsv getContractsCsv(String authorityEik, Integer year, boolean bypassCache) {
         if (year == null) {
@@ -78,7 +124,7 @@ public class SigmaProxyService {
         }
         String url = MonitorRegionalConfig.SIGMA_CONTRACTS_CSV
                 + "?authority=" + authorityEik + "&year=" + year;
-        String body = fetchBytes(url);
+        String body = fetchCsv(url);
         CachedCsv cached = new CachedCsv(body, Instant.now());
         csvCache.put(key, cached);
         return cached;
@@ -123,8 +169,11 @@ public class SigmaProxyService {
         return cached != null ? cached.fetchedAt() : null;
     }
 
-    private String fetchBytes(String url) {
-        byte[] bytes = fetchBytesRaw(url);
+    private String fetchCsv(String url) {
+        byte[] bytes = withRetries(url, () -> {
+            csvThrottle.awaitSlot();
+            return restTemplate.getForObject(url, byte[].class);
+        });
         if (bytes == null || bytes.length == 0) {
             return "";
         }
@@ -132,28 +181,42 @@ public class SigmaProxyService {
     }
 
     private byte[] fetchBytesRaw(String url) {
+        return withRetries(url, () -> restTemplate.getForObject(url, byte[].class));
+    }
+
+    /**
+     * 429 and 5xx are retried with linear back-off; the status arrives before any body is read.
+     * A 429 honours the server's Retry-After / retryDelay and holds back every CSV caller.
+     */
+    private <T> T withRetries(String url, Supplier<T> call) {
         for (int attempt = 1; ; attempt++) {
             try {
-                return restTemplate.getForObject(url, byte[].class);
+                return call.get();
             } catch (HttpStatusCodeException ex) {
                 boolean retryable = ex.getStatusCode().value() == TOO_MANY_REQUESTS
                         || ex.getStatusCode().is5xxServerError();
                 if (!retryable || attempt >= properties.getMaxFetchAttempts()) {
                     throw ex;
                 }
-                log.warn("SIGMA {} attempt {}/{} got {} — retrying",
-                        url, attempt, properties.getMaxFetchAttempts(), ex.getStatusCode());
-                pause(properties.getRetryBaseDelayMs() * attempt);
+                long delayMs = properties.getRetryBaseDelayMs() * attempt;
+                if (ex.getStatusCode().value() == TOO_MANY_REQUESTS) {
+                    delayMs = retryDelayMs(ex, delayMs);
+                    csvThrottle.backOff(delayMs);
+                }
+                log.warn("SIGMA {} attempt {}/{} got {} — retrying in {} ms",
+                        url, attempt, properties.getMaxFetchAttempts(), ex.getStatusCode(), delayMs);
+                MonitorApiThrottle.sleepQuietly(delayMs);
             }
         }
     }
 
-    private void pause(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("SIGMA fetch interrupted", ex);
+    private static long retryDelayMs(HttpStatusCodeException ex, long defaultMs) {
+        String retryAfter = ex.getResponseHeaders() != null
+                ? ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)
+                : null;
+        if (retryAfter != null && retryAfter.trim().matches("\\d{1,6}")) {
+            return Long.parseLong(retryAfter.trim()) * 1000L;
         }
+        return MonitorApiThrottle.parseRetryDelayMs(ex.getResponseBodyAsString(), defaultMs);
     }
 }
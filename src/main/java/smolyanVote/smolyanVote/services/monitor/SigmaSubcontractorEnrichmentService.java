@@ -33,18 +33,21 @@ public class SigmaSubcontractorEnrichmentService {
     private final SigmaProxyService sigmaProxyService;
     private final SigmaProxyProperties sigmaProxyProperties;
     private final MonitorIngestionRunService runService;
+    private final MonitorProcurementGraph procurementGraph;
 
     public SigmaSubcontractorEnrichmentService(
             MonitorContractRepository contractRepository,
             MonitorCompanyRepository companyRepository,
             SigmaProxyService sigmaProxyService,
             SigmaProxyProperties sigmaProxyProperties,
-            MonitorIngestionRunService runService) {
+            MonitorIngestionRunService runService,
+            MonitorProcurementGraph procurementGraph) {
         this.contractRepository = contractRepository;
         this.companyRepository = companyRepository;
         this.sigmaProxyService = sigmaProxyService;
         this.sigmaProxyProperties = sigmaProxyProperties;
         this.runService = runService;
+        this.procurementGraph = procurementGraph;
     }
 
     @Transactional
@@ -88,7 +91,7 @@ public class SigmaSubcontractorEnrichmentService {
                     failures.add(sigmaId + ": " + MonitorIngestionRunService.describe(ex));
                 }
             }
-            pause(sigmaProxyProperties.getAuthorityPauseMs() / 3);
+            pause(sigmaProxyProperties.getJsonPauseMs());
         }
 
         StringBuilder message = new StringBuilder("Подизпълнители (SIGMA JSON): "
@@ -103,6 +106,11 @@ public class SigmaSubcontractorEnrichmentService {
             message.append(" | ").append(String.join("; ", failures));
         }
 
+        if (enriched > 0) {
+            // Subcontractor edges changed; rebuilt on the first read after this commits
+            procurementGraph.invalidate();
+        }
+
         MonitorIngestionStatus status = failures.isEmpty()
                 ? MonitorIngestionStatus.SUCCESS
                 : enriched > 0 ? MonitorIngestionStatus.PARTIAL : MonitorIngestionStatus.FAILED;
@@ -1,23 +1,20 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import smolyanVote.smolyanVote.config.websocket.ActivityWebSocketHandler;
 import smolyanVote.smolyanVote.models.ActivityLogEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
 import smolyanVote.smolyanVote.repositories.ActivityLogRepository;
 import smolyanVote.smolyanVote.repositories.ActivityLogSpecifications;
 import smolyanVote.smolyanVote.services.interfaces.ActivityLogService;
+import smolyanVote.smolyanVote.services.support.ActivityLogPipeline;
 import smolyanVote.smolyanVote.services.support.ActivityLogSearchCriteria;
 
 import java.time.LocalDateTime;
@@ -25,121 +22,74 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
 public class ActivityLogServiceImpl implements ActivityLogService {
 
     private static final int DEFAULT_RETENTION_DAYS = 30;
     private static final int MAX_ACTIVITIES_PER_IP_PER_DAY = 1000;
 
     private final ActivityLogRepository activityLogRepository;
-    private final ActivityWebSocketHandler activityWebSocketHandler;
+    private final ActivityLogPipeline activityLogPipeline;
 
     @Autowired
     public ActivityLogServiceImpl(ActivityLogRepository activityLogRepository,
-                                  @Lazy ActivityWebSocketHandler activityWebSocketHandler) {
+                                  ActivityLogPipeline activityLogPipeline) {
         this.activityLogRepository = activityLogRepository;
-        this.activityWebSocketHandler = activityWebSocketHandler;
+        this.activityLogPipeline = activityLogPipeline;
     }
 
     // ===== CORE LOGGING METHODS =====
+    // Записът е само submit към ActivityLogPipeline — INSERT и broadcast стават на writer нишката на батчове,
+    // затова тези методи нямат @Transactional (класът също няма — всеки DB метод си носи анотацията).
 
     @Override
-    @Async("activityLogExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logActivity(ActivityActionEnum action, UserEntity user, String entityType, Long entityId,
                             String details, String ipAddress, String userAgent) {
-        try {
-            Long userId = user != null ? user.getId() : null;
-            String username = user != null ? user.getUsername() : "Anonymous";
-
-            ActivityLogEntity log = new ActivityLogEntity(action.getActionName(), userId, username,
-                    entityType, entityId, details, ipAddress, userAgent);
-
-            ActivityLogEntity savedLog = activityLogRepository.save(log);
-
-            // Real-time broadcast към админите
-            if (activityWebSocketHandler != null) {
-                activityWebSocketHandler.broadcastNewActivity(savedLog);
-            }
-
-        } catch (Exception e) {
-            System.err.println("Failed to log activity: " + e.getMessage());
-        }
+        submit(action.getActionName(), user, entityType, entityId, details, ipAddress, userAgent);
     }
 
     @Override
-    @Async("activityLogExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logActivity(ActivityActionEnum action, UserEntity user, String ipAddress, String userAgent) {
         logActivity(action, user, null, null, null, ipAddress, userAgent);
     }
 
     @Override
-    @Async("activityLogExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logActivity(ActivityActionEnum action, Long userId, String username, String entityType,
                             Long entityId, String details, String ipAddress, String userAgent) {
-        try {
-            ActivityLogEntity log = new ActivityLogEntity(action.getActionName(), userId, username,
-                    entityType, entityId, details, ipAddress, userAgent);
-
-            ActivityLogEntity savedLog = activityLogRepository.save(log);
-
-            if (activityWebSocketHandler != null) {
-                activityWebSocketHandler.broadcastNewActivity(savedLog);
-            }
-
-        } catch (Exception e) {
-            System.err.println("Failed to log activity: " + e.getMessage());
-        }
+        activityLogPipeline.submit(new ActivityLogEntity(action.getActionName(), userId, username,
+                entityType, entityId, details, ipAddress, userAgent));
     }
 
     @Override
-    @Async("activityLogExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logActivity(String action, UserEntity user, String entityType, Long entityId,
                             String details, String ipAddress, String userAgent) {
         ActivityActionEnum actionEnum = ActivityActionEnum.fromString(action);
-        if (actionEnum != null) {
-            logActivity(actionEnum, user, entityType, entityId, details, ipAddress, userAgent);
-        } else {
-            try {
-                Long userId = user != null ? user.getId() : null;
-                String username = user != null ? user.getUsername() : "Anonymous";
-
-                ActivityLogEntity log = new ActivityLogEntity(action, userId, username,
-                        entityType, entityId, details, ipAddress, userAgent);
-
-                ActivityLogEntity savedLog = activityLogRepository.save(log);
-
-                if (activityWebSocketHandler != null) {
-                    activityWebSocketHandler.broadcastNewActivity(savedLog);
-                }
+        submit(actionEnum != null ? actionEnum.getActionName() : action,
+                user, entityType, entityId, details, ipAddress, userAgent);
+    }
 
-            } catch (Exception e) {
-                System.err.println("Failed to log legacy activity: " + e.getMessage());
-            }
-        }
+    private void submit(String action, UserEntity user, String entityType, Long entityId,
+                        String details, String ipAddress, String userAgent) {
+        Long userId = user != null ? user.getId() : null;
+        String username = user != null ? user.getUsername() : "Anonymous";
+        activityLogPipeline.submit(new ActivityLogEntity(action, userId, username,
+                entityType, entityId, details, ipAddress, userAgent));
     }
 
     // ===== VOTING TRACKING =====
 
     @Override
-    @Async("activityLogExecutor")
     public void logSimpleEventVote(UserEntity user, Long eventId, String voteChoice, String ipAddress, String userAgent) {
         String details = "Vote: " + voteChoice;
         logActivity(ActivityActionEnum.VOTE_SIMPLE_EVENT, user, "SIMPLE_EVENT", eventId, details, ipAddress, userAgent);
     }
 
     @Override
-    @Async("activityLogExecutor")
     public void logReferendumVote(UserEntity user, Long referendumId, String selectedOption, String ipAddress, String userAgent) {
         String details = "Selected: " + selectedOption;
         logActivity(ActivityActionEnum.VOTE_REFERENDUM, user, "REFERENDUM", referendumId, details, ipAddress, userAgent);
     }
 
     @Override
-    @Async("activityLogExecutor")
     public void logMultiPollVote(UserEntity user, Long pollId, List<String> selectedOptions, String ipAddress, String userAgent) {
         String details = "Selected: " + String.join(", ", selectedOptions);
         logActivity(ActivityActionEnum.VOTE_MULTI_POLL, user, "MULTI_POLL", pollId, details, ipAddress, userAgent);
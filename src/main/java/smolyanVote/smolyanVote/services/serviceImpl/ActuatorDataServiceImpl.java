@@ -1,11 +1,15 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Gauge;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import smolyanVote.smolyanVote.services.interfaces.ActuatorDataService;
@@ -17,6 +21,7 @@ import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.sql.Connection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -27,16 +32,19 @@ public class ActuatorDataServiceImpl implements ActuatorDataService {
     private final MeterRegistry meterRegistry;
     private final DataSource dataSource;
     private final Environment environment;
+    private final CacheManager cacheManager;
 
     @Autowired
     public ActuatorDataServiceImpl(HealthEndpoint healthEndpoint,
                                    MeterRegistry meterRegistry,
                                    DataSource dataSource,
-                                   Environment environment) {
+                                   Environment environment,
+                                   CacheManager cacheManager) {
         this.healthEndpoint = healthEndpoint;
         this.meterRegistry = meterRegistry;
         this.dataSource = dataSource;
         this.environment = environment;
+        this.cacheManager = cacheManager;
     }
 
     @Override
@@ -434,6 +442,32 @@ public class ActuatorDataServiceImpl implements ActuatorDataService {
         return memoryStats;
     }
 
+    @Override
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+                continue;
+            }
+            CacheStats stats = nativeCache.stats();
+            Map<String, Object> cacheInfo = new HashMap<>();
+            cacheInfo.put("size", nativeCache.estimatedSize());
+            cacheInfo.put("hits", stats.hitCount());
+            cacheInfo.put("misses", stats.missCount());
+            cacheInfo.put("hitRate", Math.round(stats.hitRate() * 1000) / 10.0);
+            cacheInfo.put("evictions", stats.evictionCount());
+            cacheInfo.put("averageLoadMs", Math.round(stats.averageLoadPenalty() / 1_000_000.0));
+            caches.put(name, cacheInfo);
+        }
+
+        return caches;
+    }
+
     @Override
     public Map<String, Object> getRecentErrors() {
         Map<String, Object> errors = new HashMap<>();
@@ -6,9 +6,7 @@ import smolyanVote.smolyanVote.repositories.PodcastEpisodeRepository;
 import smolyanVote.smolyanVote.repositories.PublicationRepository;
 import smolyanVote.smolyanVote.repositories.ReportsRepository;
 import smolyanVote.smolyanVote.repositories.SignalsRepository;
-import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.*;
-import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,7 +22,6 @@ public class AdminOverviewServiceImpl implements AdminOverviewService {
     private final SubscriptionService subscriptionService;
     private final ActivityLogService activityLogService;
     private final ActuatorDataService actuatorDataService;
-    private final UserRepository userRepository;
     private final ReportsRepository reportsRepository;
     private final PublicationRepository publicationRepository;
     private final SignalsRepository signalsRepository;
@@ -36,7 +33,6 @@ public class AdminOverviewServiceImpl implements AdminOverviewService {
             SubscriptionService subscriptionService,
             ActivityLogService activityLogService,
             ActuatorDataService actuatorDataService,
-            UserRepository userRepository,
             ReportsRepository reportsRepository,
             PublicationRepository publicationRepository,
             SignalsRepository signalsRepository,
@@ -46,7 +42,6 @@ public class AdminOverviewServiceImpl implements AdminOverviewService {
         this.subscriptionService = subscriptionService;
         this.activityLogService = activityLogService;
         this.actuatorDataService = actuatorDataService;
-        this.userRepository = userRepository;
         this.reportsRepository = reportsRepository;
         this.publicationRepository = publicationRepository;
         this.signalsRepository = signalsRepository;
@@ -60,7 +55,7 @@ public class AdminOverviewServiceImpl implements AdminOverviewService {
         overview.put("reports", reportsService.getReportsStatistics());
         overview.put("activity", activityLogService.getActivityStatistics());
         overview.put("subscriptions", buildSubscriptionSummary());
-        overview.put("strikes", buildStrikeSummary());
+        overview.put("strikes", adminUserManagementService.getStrikeStatistics());
         overview.put("content", buildContentSummary());
         overview.put("healthAlerts", getHealthAlerts());
         return overview;
@@ -119,9 +114,9 @@ public class AdminOverviewServiceImpl implements AdminOverviewService {
             items.add(alert("info", "Репорти", pending + " чакащи репорта"));
         }
 
-        long atRisk = userRepository.findAll().stream()
-                .filter(u -> u.getModerationStrikeCount() >= 2)
-                .count();
+        Map<String, Object> strikes = adminUserManagementService.getStrikeStatistics();
+        long atRisk = ((Number) strikes.get("withTwoStrikes")).longValue()
+                + ((Number) strikes.get("withThreeOrMore")).longValue();
         if (atRisk > 0) {
             items.add(alert("warning", "Strikes", atRisk + " потребители с ≥2 strikes"));
         }
@@ -148,19 +143,6 @@ public class AdminOverviewServiceImpl implements AdminOverviewService {
         return sub;
     }
 
-    private Map<String, Object> buildStrikeSummary() {
-        var users = userRepository.findAll();
-        Map<String, Object> strikes = new HashMap<>();
-        strikes.put("withOneStrike", users.stream().filter(u -> u.getModerationStrikeCount() == 1).count());
-        strikes.put("withTwoStrikes", users.stream().filter(u -> u.getModerationStrikeCount() == 2).count());
-        strikes.put("withThreeOrMore", users.stream().filter(u -> u.getModerationStrikeCount() >= 3).count());
-        strikes.put("autoBannedNow", users.stream()
-                .filter(u -> UserStatusEnum.TEMPORARILY_BANNED.equals(u.getStatus())
-                        && u.getModerationStrikeCount() >= 3)
-                .count());
-        return strikes;
-    }
-
     private Map<String, Object> buildContentSummary() {
         Map<String, Object> content = new HashMap<>();
         content.put("publications", publicationRepository.count());
@@ -22,8 +22,10 @@ import smolyanVote.smolyanVote.repositories.UserRoleAndBansHistoryRepository;
 import smolyanVote.smolyanVote.services.interfaces.ActivityLogService;
 import smolyanVote.smolyanVote.services.interfaces.AdminUserManagementService;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache;
 import smolyanVote.smolyanVote.services.mappers.AdminUserManagementMapper;
 import smolyanVote.smolyanVote.services.mappers.UserBanAndRolesHistoryMapper;
+import smolyanVote.smolyanVote.services.support.UserStatisticsSnapshot;
 import smolyanVote.smolyanVote.viewsAndDTO.AdminUserViewDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.UserBanAndRolesHistoryDto;
 
@@ -43,6 +45,8 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
     private final ActivityLogService activityLogService;
     private final MasterAdminPolicy masterAdminPolicy;
     private final PasswordEncoder passwordEncoder;
+    private final JwtPrincipalCache jwtPrincipalCache;
+    private final UserStatisticsSnapshot userStatisticsSnapshot;
 
     @Autowired
     public AdminUserManagementServiceImpl(UserRepository userRepository,
@@ -52,7 +56,9 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
                                           AdminUserManagementMapper adminUserManagementMapper,
                                           ActivityLogService activityLogService,
                                           MasterAdminPolicy masterAdminPolicy,
-                                          PasswordEncoder passwordEncoder) {
+                                          PasswordEncoder passwordEncoder,
+                                          JwtPrincipalCache jwtPrincipalCache,
+                                          UserStatisticsSnapshot userStatisticsSnapshot) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.historyRepository = historyRepository;
@@ -61,6 +67,8 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
         this.activityLogService = activityLogService;
         this.masterAdminPolicy = masterAdminPolicy;
         this.passwordEncoder = passwordEncoder;
+        this.jwtPrincipalCache = jwtPrincipalCache;
+        this.userStatisticsSnapshot = userStatisticsSnapshot;
     }
 
     // ===== USER RETRIEVAL =====
@@ -91,62 +99,23 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getUserStatistics() {
-        List<UserEntity> allUsers = userRepository.findAll();
+        UserStatisticsSnapshot.UserStatistics snapshot = userStatisticsSnapshot.get();
         Map<String, Object> stats = new HashMap<>();
 
-        long totalUsers = allUsers.size();
-
-        long activeUsers = allUsers.stream()
-                .mapToLong(u -> UserStatusEnum.ACTIVE.equals(u.getStatus()) ? 1 : 0).sum();
-        long pendingUsers = allUsers.stream()
-                .mapToLong(u -> UserStatusEnum.PENDING_ACTIVATION.equals(u.getStatus()) ? 1 : 0).sum();
-        long tempBannedUsers = allUsers.stream()
-                .mapToLong(u -> UserStatusEnum.TEMPORARILY_BANNED.equals(u.getStatus()) ? 1 : 0).sum();
-        long permBannedUsers = allUsers.stream()
-                .mapToLong(u -> UserStatusEnum.PERMANENTLY_BANNED.equals(u.getStatus()) ? 1 : 0).sum();
-
-        Instant fiveMinutesAgo = Instant.now().minus(5, ChronoUnit.MINUTES);
-        long onlineUsers = allUsers.stream()
-                .mapToLong(u -> (u.getOnlineStatus() == 1 && u.getLastOnline() != null &&
-                        u.getLastOnline().isAfter(fiveMinutesAgo)) ? 1 : 0).sum();
-
-        long adminCount = allUsers.stream()
-                .mapToLong(u -> UserRole.ADMIN.equals(u.getRole()) ? 1 : 0).sum();
-        long userCount = allUsers.stream()
-                .mapToLong(u -> UserRole.USER.equals(u.getRole()) ? 1 : 0).sum();
-
-        Instant todayStart = Instant.now().truncatedTo(ChronoUnit.DAYS);
-        Instant weekStart = Instant.now().minus(7, ChronoUnit.DAYS);
-        Instant monthStart = Instant.now().minus(30, ChronoUnit.DAYS);
-
-        long todayRegistrations = allUsers.stream()
-                .mapToLong(u -> u.getCreated().isAfter(todayStart) ? 1 : 0).sum();
-        long weekRegistrations = allUsers.stream()
-                .mapToLong(u -> u.getCreated().isAfter(weekStart) ? 1 : 0).sum();
-        long monthRegistrations = allUsers.stream()
-                .mapToLong(u -> u.getCreated().isAfter(monthStart) ? 1 : 0).sum();
-
-        double avgEngagement = allUsers.stream()
-                .mapToDouble(u -> u.getUserEventsCount() + u.getPublicationsCount() + u.getTotalVotes())
-                .average().orElse(0.0);
-
-        long highActivityUsers = allUsers.stream()
-                .mapToLong(u -> (u.getUserEventsCount() + u.getPublicationsCount() > 5) ? 1 : 0).sum();
-
-        stats.put("totalUsers", totalUsers);
-        stats.put("activeUsers", activeUsers);
-        stats.put("pendingUsers", pendingUsers);
-        stats.put("tempBannedUsers", tempBannedUsers);
-        stats.put("permBannedUsers", permBannedUsers);
-        stats.put("onlineUsers", onlineUsers);
-        stats.put("adminCount", adminCount);
-        stats.put("userCount", userCount);
-        stats.put("todayRegistrations", todayRegistrations);
-        stats.put("weekRegistrations", weekRegistrations);
-        stats.put("monthRegistrations", monthRegistrations);
-        stats.put("avgEngagement", Math.round(avgEngagement * 100.0) / 100.0);
-        stats.put("highActivityUsers", highActivityUsers);
-        stats.put("timestamp", Instant.now());
+        stats.put("totalUsers", snapshot.totalUsers());
+        stats.put("activeUsers", snapshot.activeUsers());
+        stats.put("pendingUsers", snapshot.pendingUsers());
+        stats.put("tempBannedUsers", snapshot.tempBannedUsers());
+        stats.put("permBannedUsers", snapshot.permBannedUsers());
+        stats.put("onlineUsers", snapshot.onlineUsers());
+        stats.put("adminCount", snapshot.adminCount());
+        stats.put("userCount", snapshot.userCount());
+        stats.put("todayRegistrations", snapshot.todayRegistrations());
+        stats.put("weekRegistrations", snapshot.weekRegistrations());
+        stats.put("monthRegistrations", snapshot.monthRegistrations());
+        stats.put("avgEngagement", Math.round(snapshot.avgEngagement() * 100.0) / 100.0);
+        stats.put("highActivityUsers", snapshot.highActivityUsers());
+        stats.put("timestamp", snapshot.computedAt());
 
         return stats;
     }
@@ -188,6 +157,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
             UserRole oldRole = user.getRole();
             user.setRole(targetRole);
             userRepository.save(user);
+            jwtPrincipalCache.invalidateUser(user.getId());
 
             recordRoleChange(user, currentAdmin, oldRole, targetRole, reason);
 
@@ -222,6 +192,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
 
             user.setPassword(passwordEncoder.encode(password));
             userRepository.save(user);
+            jwtPrincipalCache.invalidateUser(userId);
 
             String details = "Admin password reset for " + user.getUsername() + ": " + reason.trim();
             activityLogService.logActivity(
@@ -310,6 +281,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
             user.setBanDate(null);
 
             userRepository.save(user);
+            jwtPrincipalCache.invalidateUser(userId);
 
             recordUnbanAction(user, currentAdmin, "Ръчно отблокиране от администратор", oldStatus);
 
@@ -363,6 +335,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
         user.setBanDate(Instant.now());
 
         userRepository.save(user);
+        jwtPrincipalCache.invalidateUser(userId);
 
         recordBanAction(user, currentAdmin, "PERMANENT", reason, null, null, oldStatus, UserStatusEnum.PERMANENTLY_BANNED);
     }
@@ -389,6 +362,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
         user.setBanDate(Instant.now());
 
         userRepository.save(user);
+        jwtPrincipalCache.invalidateUser(userId);
 
         recordBanAction(
                 user,
@@ -489,6 +463,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
             }
 
             userService.deleteUser(userId);
+            jwtPrincipalCache.invalidateUser(userId);
             return Map.of("message", "Потребителят е изтрит успешно");
         } catch (Exception e) {
             return Map.of("error", "Грешка при изтриване: " + e.getMessage());
@@ -503,6 +478,7 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
             int previous = user.getModerationStrikeCount();
             user.setModerationStrikeCount(0);
             userRepository.save(user);
+            userStatisticsSnapshot.invalidate();
             activityLogService.logActivity(
                     ActivityActionEnum.ADMIN_REVIEW_REPORT,
                     admin,
@@ -573,15 +549,12 @@ public class AdminUserManagementServiceImpl implements AdminUserManagementServic
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getStrikeStatistics() {
-        List<UserEntity> allUsers = userRepository.findAll();
+        UserStatisticsSnapshot.UserStatistics snapshot = userStatisticsSnapshot.get();
         Map<String, Object> stats = new HashMap<>();
-        stats.put("withOneStrike", allUsers.stream().filter(u -> u.getModerationStrikeCount() == 1).count());
-        stats.put("withTwoStrikes", allUsers.stream().filter(u -> u.getModerationStrikeCount() == 2).count());
-        stats.put("withThreeOrMore", allUsers.stream().filter(u -> u.getModerationStrikeCount() >= 3).count());
-        stats.put("autoBannedNow", allUsers.stream()
-                .filter(u -> UserStatusEnum.TEMPORARILY_BANNED.equals(u.getStatus())
-                        && u.getModerationStrikeCount() >= 3)
-                .count());
+        stats.put("withOneStrike", snapshot.withOneStrike());
+        stats.put("withTwoStrikes", snapshot.withTwoStrikes());
+        stats.put("withThreeOrMore", snapshot.withThreeOrMore());
+        stats.put("autoBannedNow", snapshot.autoBannedNow());
         return stats;
     }
 
@@ -39,6 +39,7 @@ public class CommentsServiceImpl implements CommentsService {
     private static final Logger logger = LoggerFactory.getLogger(CommentsServiceImpl.class);
 
     private final CommentsRepository commentsRepository;
+    private final CommentClosureRepository commentClosureRepository;
     private final SimpleEventRepository simpleEventRepository;
     private final ReferendumRepository referendumRepository;
     private final MultiPollRepository multiPollRepository;
@@ -70,8 +71,10 @@ public class CommentsServiceImpl implements CommentsService {
                                UserRepository userRepository,
                                ContentModerationService contentModerationService,
                                UserBanService userBanService,
-                               ReputationCounterService reputationCounterService) {
+                               ReputationCounterService reputationCounterService,
+                               CommentClosureRepository commentClosureRepository) {
         this.commentsRepository = commentsRepository;
+        this.commentClosureRepository = commentClosureRepository;
         this.simpleEventRepository = simpleEventRepository;
         this.referendumRepository = referendumRepository;
         this.multiPollRepository = multiPollRepository;
@@ -239,6 +242,7 @@ public class CommentsServiceImpl implements CommentsService {
 
         // ✅ ПОПРАВКА: Първо запазваме коментара
         CommentsEntity savedComment = commentsRepository.save(comment);
+        commentClosureRepository.insertPaths(savedComment.getId());
 
         // ✅ ПОПРАВКА: После инкрементираме брояча
         publication.setCommentsCount(publication.getCommentsCount()+1);
@@ -275,6 +279,7 @@ public class CommentsServiceImpl implements CommentsService {
         comment.setEdited(false);
 
         CommentsEntity saved = commentsRepository.save(comment);
+        commentClosureRepository.insertPaths(saved.getId());
         reputationCounterService.incrementComments(author);
         // Notify simple event creator
         try {
@@ -307,6 +312,7 @@ public class CommentsServiceImpl implements CommentsService {
         comment.setEdited(false);
 
         CommentsEntity saved = commentsRepository.save(comment);
+        commentClosureRepository.insertPaths(saved.getId());
         reputationCounterService.incrementComments(author);
         // Notify referendum creator
         try {
@@ -339,6 +345,7 @@ public class CommentsServiceImpl implements CommentsService {
         comment.setEdited(false);
 
         CommentsEntity saved = commentsRepository.save(comment);
+        commentClosureRepository.insertPaths(saved.getId());
         reputationCounterService.incrementComments(author);
         // Notify multipoll creator
         try {
@@ -372,6 +379,7 @@ public class CommentsServiceImpl implements CommentsService {
 
         // Първо запазваме коментара
         CommentsEntity savedComment = commentsRepository.save(comment);
+        commentClosureRepository.insertPaths(savedComment.getId());
 
         // После инкрементираме брояча (като при публикациите)
         signal.setCommentsCount(signal.getCommentsCount() +1);
@@ -425,6 +433,7 @@ public class CommentsServiceImpl implements CommentsService {
 
 
         CommentsEntity savedReply = commentsRepository.save(reply);
+        commentClosureRepository.insertPaths(savedReply.getId());
         // Notify original comment author
         try {
             String parentAuthorUsername = parentComment.getAuthor();
@@ -506,7 +515,7 @@ public class CommentsServiceImpl implements CommentsService {
                 ? comment.getText().substring(0, 200) + "..."
                 : comment.getText();
 
-        // ✅ ПОПРАВКА: Броим ВСИЧКИ коментари които ще се изтрият
+        // Цялото поддърво с една заявка през comment_closure
         List<CommentsEntity> commentsToRemove = collectCommentsForDeletion(comment);
         reputationCounterService.onCommentsRemoved(commentsToRemove);
 
@@ -528,7 +537,7 @@ public class CommentsServiceImpl implements CommentsService {
             signalsRepository.save(signal);
         }
 
-        commentsRepository.delete(comment);
+        deleteSubtree(commentsToRemove);
         // Activity logging for admin log panel след успешното изтриване
         try {
             String details = String.format("Deleted text: \"%s\"", deletedText);
@@ -768,23 +777,21 @@ public class CommentsServiceImpl implements CommentsService {
     }
 
     private List<CommentsEntity> collectCommentsForDeletion(CommentsEntity root) {
-        List<CommentsEntity> all = new ArrayList<>();
-        collectCommentSubtree(root, all);
-        return all;
-    }
-
-    private void collectCommentSubtree(CommentsEntity node, List<CommentsEntity> out) {
-        out.add(node);
-        for (CommentsEntity reply : commentsRepository.findByParent_Id(node.getId())) {
-            collectCommentSubtree(reply, out);
-        }
+        List<CommentsEntity> subtree = commentsRepository.findSubtree(root.getId());
+        // Коментар без closure редове (напр. преди backfill-а) - поне самия него
+        return subtree.isEmpty() ? List.of(root) : subtree;
     }
 
     /**
-     * ✅ НОВА ПОПРАВКА: Брои колко общо коментари ще се изтрият (главен + всички подкоментари)
+     * Votes, closure редове и коментари на поддървото - по една bulk заявка,
+     * независимо от дълбочината на нишката
      */
-    private int countCommentsToDelete(CommentsEntity comment) {
-        return collectCommentsForDeletion(comment).size();
+    private void deleteSubtree(List<CommentsEntity> subtree) {
+        List<Long> ids = subtree.stream().map(CommentsEntity::getId).toList();
+        commentVoteRepository.deleteAllByCommentIds(ids);
+        commentClosureRepository.deleteByDescendantIds(ids);
+        commentsRepository.detachParents(ids);
+        commentsRepository.deleteByIds(ids);
     }
 
     /**
@@ -10,6 +10,7 @@ import smolyanVote.smolyanVote.repositories.ProfanityWordRepository;
 import smolyanVote.smolyanVote.services.interfaces.ContentModerationService;
 import smolyanVote.smolyanVote.services.interfaces.ProfanityWordService;
 import smolyanVote.smolyanVote.services.interfaces.UserBanService;
+import smolyanVote.smolyanVote.services.support.ProfanityMatcher;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -18,14 +19,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Pattern;
 
 @Service
 public class ContentModerationServiceImpl implements ContentModerationService, ProfanityWordService {
 
     private final ProfanityWordRepository profanityWordRepository;
     private final UserBanService userBanService;
-    private final AtomicReference<List<String>> cachedWords = new AtomicReference<>(List.of());
+    private final AtomicReference<Dictionary> dictionary =
+            new AtomicReference<>(new Dictionary(List.of(), ProfanityMatcher.EMPTY));
+    private final Object refreshLock = new Object();
+
+    /** Active words and the automaton compiled from them — swapped as one unit. */
+    private record Dictionary(List<String> words, ProfanityMatcher matcher) {
+    }
 
     public ContentModerationServiceImpl(ProfanityWordRepository profanityWordRepository,
                                         UserBanService userBanService) {
@@ -38,15 +44,25 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
         refreshCache();
     }
 
+    /**
+     * Reloads the active words and, only if they differ from the current set, compiles a new
+     * automaton off to the side and publishes it with a single reference swap — concurrent
+     * validations keep using the previous one until then. Refreshes run one at a time, so a
+     * slower refresh that read an older word list cannot publish it over a newer one.
+     */
     @Override
     public void refreshCache() {
-        cachedWords.set(
-                profanityWordRepository.findByActiveTrueOrderByWordAsc().stream()
-                        .map(ProfanityWordEntity::getWord)
-                        .map(word -> word.toLowerCase(Locale.ROOT).trim())
-                        .filter(word -> !word.isBlank())
-                        .toList()
-        );
+        synchronized (refreshLock) {
+            List<String> words = profanityWordRepository.findByActiveTrueOrderByWordAsc().stream()
+                    .map(ProfanityWordEntity::getWord)
+                    .map(word -> word.toLowerCase(Locale.ROOT).trim())
+                    .filter(word -> !word.isBlank())
+                    .toList();
+            if (words.equals(dictionary.get().words())) {
+                return;
+            }
+            dictionary.set(new Dictionary(words, ProfanityMatcher.compile(words)));
+        }
     }
 
     @Override
@@ -55,11 +71,8 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
             return;
         }
 
-        String normalized = text.toLowerCase(Locale.ROOT);
-        for (String word : cachedWords.get()) {
-            if (containsWholeWord(normalized, word)) {
-                throw buildViolation(user, type, profanityMessage(type));
-            }
+        if (dictionary.get().matcher().containsAny(text)) {
+            throw buildViolation(user, type, profanityMessage(type));
         }
     }
 
@@ -99,14 +112,6 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
         return "Снимката не премина модерацията и не може да бъде качена.";
     }
 
-    private static boolean containsWholeWord(String haystack, String needle) {
-        if (needle.isBlank()) {
-            return false;
-        }
-        Pattern pattern = Pattern.compile("(?i)(?<![\\p{L}\\p{N}])" + Pattern.quote(needle) + "(?![\\p{L}\\p{N}])");
-        return pattern.matcher(haystack).find();
-    }
-
     @Override
     @Transactional(readOnly = true)
     public List<ProfanityWordEntity> listAll() {
@@ -116,6 +121,12 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
     @Override
     @Transactional
     public ProfanityWordEntity addWord(String word) {
+        ProfanityWordEntity saved = insertWord(word);
+        refreshCache();
+        return saved;
+    }
+
+    private ProfanityWordEntity insertWord(String word) {
         if (word == null || word.isBlank()) {
             throw new IllegalArgumentException("Думата не може да е празна.");
         }
@@ -127,9 +138,7 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
         entity.setWord(normalized);
         entity.setActive(true);
         entity.setCreatedAt(Instant.now());
-        ProfanityWordEntity saved = profanityWordRepository.save(entity);
-        refreshCache();
-        return saved;
+        return profanityWordRepository.save(entity);
     }
 
     @Override
@@ -168,10 +177,7 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
             result.put("matches", List.of());
             return result;
         }
-        String normalized = text.toLowerCase(Locale.ROOT);
-        List<String> matches = cachedWords.get().stream()
-                .filter(word -> containsWholeWord(normalized, word))
-                .toList();
+        List<String> matches = dictionary.get().matcher().findAll(text);
         result.put("blocked", !matches.isEmpty());
         result.put("matches", matches);
         return result;
@@ -190,7 +196,7 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
                     continue;
                 }
                 try {
-                    addWord(word);
+                    insertWord(word);
                     added++;
                 } catch (RuntimeException e) {
                     skipped++;
@@ -198,6 +204,10 @@ public class ContentModerationServiceImpl implements ContentModerationService, P
                 }
             }
         }
+        if (added > 0) {
+            // One rebuild for the whole import instead of one per word
+            refreshCache();
+        }
         Map<String, Object> result = new HashMap<>();
         result.put("added", added);
         result.put("skipped", skipped);
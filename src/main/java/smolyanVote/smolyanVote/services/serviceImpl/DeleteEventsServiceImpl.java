@@ -2,9 +2,11 @@ package smolyanVote.smolyanVote.services.serviceImpl;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.annotations.LogActivity;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.*;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
 import smolyanVote.smolyanVote.models.enums.EventType;
@@ -43,6 +45,7 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
     private final UserService userService;
     private final VoteIpRepository voteIpRepository;
     private final ReputationCounterService reputationCounterService;
+    private final CommentClosureRepository commentClosureRepository;
 
     private static final String VOTE_IP_SIMPLE = "SIMPLE_EVENT";
     private static final String VOTE_IP_REFERENDUM = "REFERENDUM";
@@ -67,7 +70,8 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
                                    smolyanVote.smolyanVote.scheduling.UserScheduler userScheduler,
                                    UserService userService,
                                    VoteIpRepository voteIpRepository,
-                                   ReputationCounterService reputationCounterService) {
+                                   ReputationCounterService reputationCounterService,
+                                   CommentClosureRepository commentClosureRepository) {
         this.simpleEventRepository = simpleEventRepository;
         this.referendumRepository = referendumRepository;
         this.voteSimpleEventRepository = voteSimpleEventRepository;
@@ -87,6 +91,7 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
         this.userService = userService;
         this.voteIpRepository = voteIpRepository;
         this.reputationCounterService = reputationCounterService;
+        this.commentClosureRepository = commentClosureRepository;
     }
 
     public EventType getEventTypeById(Long id) {
@@ -103,6 +108,7 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.EVENTS_CATALOG, CacheNames.HOME_STATS}, allEntries = true)
     //@LogActivity - manual Log try/catch logic
 
     public void deleteEvent(Long eventId) {
@@ -127,6 +133,7 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
 
                 voteIpRepository.deleteByEventIdAndEventType(eventId, VOTE_IP_SIMPLE);
                 voteSimpleEventRepository.deleteAllByEventId(eventId);
+                commentClosureRepository.deleteByEventId(eventId);
                 commentsRepository.deleteAllByEvent_Id(eventId);
 
                 List<SimpleEventImageEntity> simpleImages = simpleEventImageRepository.findByEventId(eventId);
@@ -154,6 +161,7 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
                 imageCloudinaryService.deleteFolder(folderPathReferendums);
 
                 voteReferendumRepository.deleteAllByReferendumId(eventId);
+                commentClosureRepository.deleteByReferendumId(eventId);
                 commentsRepository.deleteAllByReferendum_Id(eventId);
 
                 List<ReferendumImageEntity> referendumImages = referendumImageRepository.findByReferendumId(eventId);
@@ -178,6 +186,7 @@ public class DeleteEventsServiceImpl implements DeleteEventsService {
                 imageCloudinaryService.deleteFolder(folderPathMultiPoll);
 
                 voteMultiPollRepository.deleteAllByMultiPollId(eventId);
+                commentClosureRepository.deleteByMultiPollId(eventId);
                 commentsRepository.deleteAllByMultiPoll_Id(eventId);
 
                 List<MultiPollImageEntity> multiPollImages = multiPollImageRepository.findByMultiPoll_Id(eventId);
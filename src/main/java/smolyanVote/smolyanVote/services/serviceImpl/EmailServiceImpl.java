@@ -21,10 +21,12 @@ import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.ConfirmationLinkService;
 import smolyanVote.smolyanVote.services.interfaces.EmailService;
+import smolyanVote.smolyanVote.services.support.BulkEmailDispatcher;
 import smolyanVote.smolyanVote.services.support.ClasspathHtmlTemplate;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,6 +46,7 @@ public class EmailServiceImpl implements EmailService {
     private final String senderEmail;
     private final String senderName;
     private final Environment environment;
+    private final BulkEmailDispatcher bulkEmailDispatcher;
 
     public EmailServiceImpl(@Value("${mailjet.api.key}") String apiKey,
                             @Value("${mailjet.api.secret}") String apiSecret,
@@ -53,7 +56,8 @@ public class EmailServiceImpl implements EmailService {
                             ConfirmationLinkService confirmationLinkService,
                             UserRepository userRepository,
                             FrontendProperties frontendProperties,
-                            Environment environment) {
+                            Environment environment,
+                            BulkEmailDispatcher bulkEmailDispatcher) {
         this.apiKey = apiKey == null ? "" : apiKey.trim();
         this.apiSecret = apiSecret == null ? "" : apiSecret.trim();
         this.senderEmail = senderEmail;
@@ -68,6 +72,7 @@ public class EmailServiceImpl implements EmailService {
         this.userRepository = userRepository;
         this.frontendProperties = frontendProperties;
         this.environment = environment;
+        this.bulkEmailDispatcher = bulkEmailDispatcher;
     }
 
     @PostConstruct
@@ -155,7 +160,8 @@ public class EmailServiceImpl implements EmailService {
     }
 
     /**
-     * Single Mailjet send path — confirmation, reset and podcast all go through here.
+     * Single-message Mailjet send path — confirmation, reset and podcast all go through here;
+     * mailings to many recipients go through {@link #sendBulkEmail}.
      */
     private void sendHtmlEmail(String recipientEmail, String subject, String htmlContent, String textContent) {
         try {
@@ -222,9 +228,31 @@ public class EmailServiceImpl implements EmailService {
         // TODO: Implement later
     }
 
+    /**
+     * Шаблонът се рендерира веднъж с общите променливи; за всеки получател се попълват само
+     * {@code {{username}}} и {@code {{usernameSuffix}}}; {@code textContent} от variables става TextPart.
+     * Изпращането минава през {@link BulkEmailDispatcher} и методът не чака края му.
+     */
     @Override
     public void sendBulkEmail(List<UserEntity> recipients, String subject, String templateName, Map<String, Object> variables) {
-        // TODO: Implement later
+        if (recipients == null || recipients.isEmpty()) {
+            return;
+        }
+        Map<String, String> shared = new HashMap<>();
+        variables.forEach((key, value) -> shared.put(key, value == null ? "" : value.toString()));
+        String textContent = shared.getOrDefault("textContent", subject);
+        String html = htmlTemplate.render(templateName, shared);
+
+        bulkEmailDispatcher.dispatch(subject, recipients, user -> {
+            if (user.getEmail() == null || user.getEmail().isBlank()) {
+                return null;
+            }
+            String username = user.getUsername() == null ? "" : user.getUsername();
+            String personal = html
+                    .replace("{{username}}", username)
+                    .replace("{{usernameSuffix}}", username.isBlank() ? "" : ", " + username);
+            return new BulkEmailDispatcher.Message(user.getEmail(), subject, personal, textContent);
+        });
     }
 
     @Override
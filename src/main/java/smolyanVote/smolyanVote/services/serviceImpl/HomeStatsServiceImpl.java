@@ -1,7 +1,9 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.enums.PublicationStatus;
 import smolyanVote.smolyanVote.repositories.MultiPollRepository;
 import smolyanVote.smolyanVote.repositories.PublicationRepository;
@@ -38,6 +40,7 @@ public class HomeStatsServiceImpl implements HomeStatsService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.HOME_STATS, key = "'home'")
     public HomeStatsResponse getHomeStats() {
         long eventsTotal = simpleEventRepository.count()
                 + referendumRepository.count()
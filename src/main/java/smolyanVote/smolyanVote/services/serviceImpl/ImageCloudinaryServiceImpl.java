@@ -10,10 +10,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import smolyanVote.smolyanVote.exceptions.ModerationViolationException;
 import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.ImageCloudinaryService;
 import smolyanVote.smolyanVote.services.interfaces.ContentModerationService;
 import smolyanVote.smolyanVote.services.interfaces.ImageModerationService;
 import smolyanVote.smolyanVote.services.interfaces.UserBanService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -31,12 +33,14 @@ public class ImageCloudinaryServiceImpl implements ImageCloudinaryService {
     private final Cloudinary cloudinary;
     private final ImageModerationService imageModerationService;
     private final ContentModerationService contentModerationService;
+    private final UserRepository userRepository;
 
     public ImageCloudinaryServiceImpl(@Value("${cloudinary.cloud_name}") String cloudName,
                                       @Value("${cloudinary.api_key}") String apiKey,
                                       @Value("${cloudinary.api_secret}") String apiSecret,
                                       ImageModerationService imageModerationService,
-                                      ContentModerationService contentModerationService) {
+                                      ContentModerationService contentModerationService,
+                                      UserRepository userRepository) {
         cloudinary = new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
@@ -44,6 +48,7 @@ public class ImageCloudinaryServiceImpl implements ImageCloudinaryService {
         ));
         this.imageModerationService = imageModerationService;
         this.contentModerationService = contentModerationService;
+        this.userRepository = userRepository;
     }
 
     // Manual profile photo — separate folder so OAuth refresh never overwrites it.
@@ -332,10 +337,10 @@ public class ImageCloudinaryServiceImpl implements ImageCloudinaryService {
     }
 
     /** Avoids injecting {@code UserService} — breaks circular dependency with {@link UserServiceImpl}. */
-    private static UserEntity currentAuthenticatedUser() {
+    private UserEntity currentAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof UserEntity user) {
-            return user;
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.userId()).orElse(null);
         }
         return null;
     }
@@ -4,12 +4,15 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.MultiPollEntity;
 import smolyanVote.smolyanVote.models.ReferendumEntity;
 import smolyanVote.smolyanVote.models.SimpleEventEntity;
@@ -31,6 +34,7 @@ import smolyanVote.smolyanVote.viewsAndDTO.apiv1.EventsCatalogResponse;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +51,7 @@ public class MainEventsServiceImpl implements MainEventsService {
     private final SimpleEventRepository simpleEventRepository;
     private final ReferendumRepository referendumRepository;
     private final MultiPollRepository multiPollRepository;
+    private final Cache eventsCatalogCache;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -59,7 +64,8 @@ public class MainEventsServiceImpl implements MainEventsService {
             VoteMultiPollRepository voteMultiPollRepository,
             SimpleEventRepository simpleEventRepository,
             ReferendumRepository referendumRepository,
-            MultiPollRepository multiPollRepository) {
+            MultiPollRepository multiPollRepository,
+            CacheManager cacheManager) {
         this.allEventsSimplePreviewMapper = allEventsSimplePreviewMapper;
         this.userFollowRepository = userFollowRepository;
         this.voteSimpleEventRepository = voteSimpleEventRepository;
@@ -68,18 +74,14 @@ public class MainEventsServiceImpl implements MainEventsService {
         this.simpleEventRepository = simpleEventRepository;
         this.referendumRepository = referendumRepository;
         this.multiPollRepository = multiPollRepository;
+        this.eventsCatalogCache = cacheManager.getCache(CacheNames.EVENTS_CATALOG);
     }
 
     @Transactional(readOnly = true)
     @Override
     public EventsCatalogResponse getEventsCatalog(Long currentUserId) {
-        List<EventSimpleViewDTO> events = loadAllEvents();
-        events.sort((a, b) -> {
-            if (a.getCreatedAt() == null && b.getCreatedAt() == null) return 0;
-            if (a.getCreatedAt() == null) return 1;
-            if (b.getCreatedAt() == null) return -1;
-            return b.getCreatedAt().compareTo(a.getCreatedAt());
-        });
+        // The event list is identical for every visitor — only following/votedKeys are per user.
+        List<EventSimpleViewDTO> events = eventsCatalogCache.get("all", this::loadAllEvents);
 
         if (currentUserId == null) {
             return new EventsCatalogResponse(events, List.of(), List.of());
@@ -100,7 +102,10 @@ public class MainEventsServiceImpl implements MainEventsService {
                 events.add(allEventsSimplePreviewMapper.mapReferendumToSimpleView(e)));
         multiPollRepository.findAll().forEach(e ->
                 events.add(allEventsSimplePreviewMapper.mapMultiPollToSimpleView(e)));
-        return events;
+        events.sort(Comparator.comparing(EventSimpleViewDTO::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        // Shared across requests via the cache — must not be mutated by callers.
+        return List.copyOf(events);
     }
 
     private List<String> buildVotedKeys(Long userId) {
@@ -2,10 +2,12 @@ package smolyanVote.smolyanVote.services.serviceImpl;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import smolyanVote.smolyanVote.annotations.LogActivity;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.MultiPollEntity;
 import smolyanVote.smolyanVote.models.MultiPollImageEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
@@ -58,6 +60,7 @@ public class MultiPollServiceImpl implements MultiPollService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.EVENTS_CATALOG, CacheNames.HOME_STATS}, allEntries = true)
     @LogActivity(action = ActivityActionEnum.CREATE_MULTI_POLL, entityType = ActivityTypeEnum.MULTI_POLL,
             details = "Title: {title}, Location: {location}", includeTitle = true)
 
@@ -115,6 +118,7 @@ public class MultiPollServiceImpl implements MultiPollService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheNames.EVENTS_CATALOG, allEntries = true)
     @LogActivity(action = ActivityActionEnum.EDIT_MULTI_POLL, entityType = ActivityTypeEnum.MULTI_POLL,
             entityIdParam = "id", details = "Title: {title}, Location: {location}", includeTitle = true)
 
@@ -192,8 +196,8 @@ public class MultiPollServiceImpl implements MultiPollService {
         MultiPollEntity poll = multiPollRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Анкетата не е намерена"));
 
+        multiPollRepository.incrementViewCounter(id);
         poll.setViewCounter(poll.getViewCounter() + 1);
-        multiPollRepository.save(poll);
 
         return buildMultiPollDetailDto(poll);
     }
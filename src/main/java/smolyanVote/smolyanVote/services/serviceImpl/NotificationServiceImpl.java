@@ -11,13 +11,15 @@ import smolyanVote.smolyanVote.models.NotificationEntity;
 import smolyanVote.smolyanVote.models.PodcastEpisodeEntity;
 import smolyanVote.smolyanVote.models.SignalsEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.models.enums.SubscriptionType;
 import smolyanVote.smolyanVote.models.enums.UserRole;
 import smolyanVote.smolyanVote.repositories.CommentsRepository;
+import smolyanVote.smolyanVote.repositories.EmailSubscriptionRepository;
 import smolyanVote.smolyanVote.repositories.NotificationRepository;
 import smolyanVote.smolyanVote.repositories.SignalSubscriptionRepository;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.NotificationService;
-import smolyanVote.smolyanVote.services.interfaces.SubscriptionService;
+import smolyanVote.smolyanVote.services.support.NotificationFanout;
 import smolyanVote.smolyanVote.viewsAndDTO.NotificationDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.GlobalActivityToastDTO;
 
@@ -35,20 +37,23 @@ public class NotificationServiceImpl implements NotificationService {
     private final UserRepository userRepository;
     private final CommentsRepository commentsRepository;
     private final SignalSubscriptionRepository signalSubscriptionRepository;
-    private final SubscriptionService subscriptionService;
+    private final EmailSubscriptionRepository emailSubscriptionRepository;
+    private final NotificationFanout fanout;
 
     public NotificationServiceImpl(NotificationRepository repository,
                                    NotificationWebSocketHandler webSocket,
                                    UserRepository userRepository,
                                    CommentsRepository commentsRepository,
                                    SignalSubscriptionRepository signalSubscriptionRepository,
-                                   SubscriptionService subscriptionService) {
+                                   EmailSubscriptionRepository emailSubscriptionRepository,
+                                   NotificationFanout fanout) {
         this.repository = repository;
         this.webSocket = webSocket;
         this.userRepository = userRepository;
         this.commentsRepository = commentsRepository;
         this.signalSubscriptionRepository = signalSubscriptionRepository;
-        this.subscriptionService = subscriptionService;
+        this.emailSubscriptionRepository = emailSubscriptionRepository;
+        this.fanout = fanout;
     }
 
     @Override
@@ -448,32 +453,27 @@ public class NotificationServiceImpl implements NotificationService {
         webSocket.broadcastGlobalActivity(GlobalActivityToastDTO.of(title, message, actionUrl, icon));
     }
 
+    // ====== GROUP NOTIFICATIONS (fan-out) ======
+
     @Override
     @Async
     public void notifyAdminsSignalResolvedReports(SignalsEntity signal, long reportCount) {
-        List<UserEntity> admins = userRepository.findByRole(UserRole.ADMIN);
         String msg = reportCount + " потребителя докладват, че „" + signal.getTitle() + "“ е решен. Моля, прегледайте.";
-        String actionUrl = "/signals?openSignal=" + signal.getId();
-        for (UserEntity admin : admins) {
-            create(admin, "SIGNAL_RESOLVED_REPORTS", msg,
-                    "Система", null,
-                    "SIGNAL", signal.getId(), actionUrl);
-        }
+        fanout.fanOut(new NotificationFanout.Template("SIGNAL_RESOLVED_REPORTS", msg, "Система",
+                        "SIGNAL", signal.getId(), "/signals?openSignal=" + signal.getId()),
+                recipients(userRepository.findIdsAndUsernamesByRole(UserRole.ADMIN)), null);
     }
 
     @Override
     @Async
     public void notifySignalSubscribers(SignalsEntity signal, UserEntity actor, String type, String message) {
         if (signal == null || signal.getId() == null) return;
-        String actionUrl = "/signals?openSignal=" + signal.getId();
         String actorUsername = actor != null ? actor.getUsername() : "Система";
-        String actorImage = actor != null ? actor.getImageUrl() : null;
 
-        signalSubscriptionRepository.findBySignalId(signal.getId()).forEach(sub -> {
-            UserEntity recipient = sub.getUser();
-            if (recipient == null || isSelf(recipient, actor)) return;
-            create(recipient, type, message, actorUsername, actorImage, "SIGNAL", signal.getId(), actionUrl);
-        });
+        fanout.fanOut(new NotificationFanout.Template(type, message, actorUsername,
+                        "SIGNAL", signal.getId(), "/signals?openSignal=" + signal.getId()),
+                recipients(signalSubscriptionRepository.findSubscriberIdsAndUsernames(signal.getId())),
+                actor != null ? actor.getId() : null);
     }
 
     @Override
@@ -481,12 +481,18 @@ public class NotificationServiceImpl implements NotificationService {
     public void notifyPodcastSubscribers(PodcastEpisodeEntity episode) {
         if (episode == null || episode.getId() == null) return;
 
-        String actionUrl = "/podcast?episode=" + episode.getId();
         String title = episode.getTitle() == null ? "Нов епизод" : episode.getTitle();
-        String message = "Нов епизод: " + title;
+        fanout.fanOut(new NotificationFanout.Template("PODCAST_EPISODE", "Нов епизод: " + title, "SmolyanVote",
+                        "PODCAST", episode.getId(), "/podcast?episode=" + episode.getId()),
+                recipients(emailSubscriptionRepository.findActiveSubscriberIdsAndUsernames(
+                        List.of(SubscriptionType.PODCAST_EPISODES, SubscriptionType.ALL_NOTIFICATIONS))),
+                null);
+    }
 
-        subscriptionService.getPodcastNotificationSubscribers().forEach(user -> {
-            create(user, "PODCAST_EPISODE", message, "SmolyanVote", null, "PODCAST", episode.getId(), actionUrl);
-        });
+    /** [id, username] редове от проекциите → получатели за fan-out */
+    private static List<NotificationFanout.Recipient> recipients(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new NotificationFanout.Recipient((Long) row[0], (String) row[1]))
+                .toList();
     }
-}
\ No newline at end of file
+}
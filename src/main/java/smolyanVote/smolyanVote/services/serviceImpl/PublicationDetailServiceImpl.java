@@ -12,15 +12,18 @@ import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
 import smolyanVote.smolyanVote.models.enums.ActivityTypeEnum;
 import smolyanVote.smolyanVote.models.enums.EventType;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
 import smolyanVote.smolyanVote.repositories.PublicationRepository;
 import smolyanVote.smolyanVote.services.interfaces.PublicationDetailService;
 import smolyanVote.smolyanVote.services.interfaces.PublicationService;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.support.EngagementCounterBuffer;
 import smolyanVote.smolyanVote.viewsAndDTO.PublicationResponseDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.PublicationRequestDTO;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Set;
 
 @Service
 @Transactional(readOnly = true)
@@ -29,14 +32,17 @@ public class PublicationDetailServiceImpl implements PublicationDetailService {
     private final PublicationService publicationService;
     private final UserService userService;
     private final PublicationRepository publicationRepository;
+    private final EngagementCounterBuffer counterBuffer;
 
     @Autowired
     public PublicationDetailServiceImpl(PublicationService publicationService,
                                         UserService userService,
-                                        PublicationRepository publicationRepository) {
+                                        PublicationRepository publicationRepository,
+                                        EngagementCounterBuffer counterBuffer) {
         this.publicationService = publicationService;
         this.userService = userService;
         this.publicationRepository = publicationRepository;
+        this.counterBuffer = counterBuffer;
     }
 
     @Override
@@ -56,9 +62,8 @@ public class PublicationDetailServiceImpl implements PublicationDetailService {
             throw new RuntimeException("Необходима е автентикация");
         }
 
-        // Increment view count using entity method
-        publication.incrementViews();
-        publicationRepository.save(publication);
+        // Buffered — flushed as a batched UPDATE by EngagementCounterBuffer
+        counterBuffer.increment(EngagementCounterBuffer.Counter.PUBLICATION_VIEWS, publicationId);
 
         // Build and return DTO
         return buildPublicationResponseDTO(publication, auth);
@@ -79,8 +84,7 @@ public class PublicationDetailServiceImpl implements PublicationDetailService {
             throw new AccessDeniedException("Нямате права да видите тази публикация.");
         }
 
-        publication.incrementViews();
-        publicationRepository.save(publication);
+        counterBuffer.increment(EngagementCounterBuffer.Counter.PUBLICATION_VIEWS, publicationId);
 
         return buildPublicationResponseDTO(publication, auth);
     }
@@ -105,6 +109,10 @@ public class PublicationDetailServiceImpl implements PublicationDetailService {
     public PublicationResponseDTO buildPublicationResponseDTO(PublicationEntity publication, Authentication auth) {
         // Create DTO using entity constructor
         PublicationResponseDTO dto = new PublicationResponseDTO(publication);
+        dto.setViewsCount(counterBuffer.merged(EngagementCounterBuffer.Counter.PUBLICATION_VIEWS,
+                publication.getId(), publication.getViewsCount()));
+        dto.setSharesCount(counterBuffer.merged(EngagementCounterBuffer.Counter.PUBLICATION_SHARES,
+                publication.getId(), publication.getSharesCount()));
 
         // Set author online status
         setAuthorOnlineStatus(dto);
@@ -113,12 +121,12 @@ public class PublicationDetailServiceImpl implements PublicationDetailService {
         if (auth != null && auth.isAuthenticated()) {
             try {
                 UserEntity currentUser = userService.getCurrentUser();
-                String username = currentUser.getUsername();
+                Set<PublicationReactionType> reactions =
+                        publicationService.getUserReactions(publication.getId(), currentUser.getId());
 
-                // Use entity methods for checking interactions
-                dto.setIsLiked(publication.isLikedBy(username));
-                dto.setIsDisliked(publication.isDislikedBy(username));
-                dto.setIsBookmarked(publication.isBookmarkedBy(username));
+                dto.setIsLiked(reactions.contains(PublicationReactionType.LIKE));
+                dto.setIsDisliked(reactions.contains(PublicationReactionType.DISLIKE));
+                dto.setIsBookmarked(reactions.contains(PublicationReactionType.BOOKMARK));
                 dto.setIsOwner(publication.canBeEditedBy(currentUser));
             } catch (Exception e) {
                 // Keep default false values
@@ -1,11 +1,14 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.annotations.LogActivity;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.CommentsEntity;
 import smolyanVote.smolyanVote.models.PublicationEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
@@ -17,6 +20,7 @@ import smolyanVote.smolyanVote.exceptions.ModerationViolationException;
 import smolyanVote.smolyanVote.services.interfaces.ContentModerationService;
 import smolyanVote.smolyanVote.services.interfaces.PublicationService;
 import smolyanVote.smolyanVote.services.interfaces.UserBanService;
+import smolyanVote.smolyanVote.services.support.EngagementCounterBuffer;
 import smolyanVote.smolyanVote.services.support.ReputationCounterService;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
 import smolyanVote.smolyanVote.services.mappers.PublicationMapper;
@@ -27,9 +31,11 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,6 +55,9 @@ public class PublicationServiceImpl implements PublicationService {
     private final ContentModerationService contentModerationService;
     private final UserBanService userBanService;
     private final ReputationCounterService reputationCounterService;
+    private final EngagementCounterBuffer counterBuffer;
+    private final PublicationReactionRepository reactionRepository;
+    private final CommentClosureRepository commentClosureRepository;
 
     public PublicationServiceImpl(PublicationRepository publicationRepository,
                                   UserService userService,
@@ -62,7 +71,10 @@ public class PublicationServiceImpl implements PublicationService {
                                   NotificationService notificationService,
                                   ContentModerationService contentModerationService,
                                   UserBanService userBanService,
-                                  ReputationCounterService reputationCounterService) {
+                                  ReputationCounterService reputationCounterService,
+                                  EngagementCounterBuffer counterBuffer,
+                                  PublicationReactionRepository reactionRepository,
+                                  CommentClosureRepository commentClosureRepository) {
         this.publicationRepository = publicationRepository;
         this.userService = userService;
         this.userRepository = userRepository;
@@ -76,6 +88,9 @@ public class PublicationServiceImpl implements PublicationService {
         this.contentModerationService = contentModerationService;
         this.userBanService = userBanService;
         this.reputationCounterService = reputationCounterService;
+        this.counterBuffer = counterBuffer;
+        this.reactionRepository = reactionRepository;
+        this.commentClosureRepository = commentClosureRepository;
     }
 
 
@@ -102,13 +117,21 @@ public class PublicationServiceImpl implements PublicationService {
         }
 
         return publications.stream()
-                .map(PublicationMapper::toDto)
+                .map(publication -> {
+                    PublicationResponseDTO dto = PublicationMapper.toDto(publication);
+                    dto.setViewsCount(counterBuffer.merged(EngagementCounterBuffer.Counter.PUBLICATION_VIEWS,
+                            publication.getId(), publication.getViewsCount()));
+                    dto.setSharesCount(counterBuffer.merged(EngagementCounterBuffer.Counter.PUBLICATION_SHARES,
+                            publication.getId(), publication.getSharesCount()));
+                    return dto;
+                })
                 .toList();
 
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheNames.PUBLICATION_STATS, CacheNames.HOME_STATS}, allEntries = true)
     @LogActivity(action = ActivityActionEnum.CREATE_PUBLICATION, entityType = ActivityTypeEnum.PUBLICATION,
             details = "Topic: {topic}, Location: {location}", includeTitle = true, includeText = true)
 
@@ -180,6 +203,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheNames.PUBLICATION_STATS, CacheNames.HOME_STATS}, allEntries = true)
     //@LogActivity - manual Log try/catch logic
     public PublicationEntity update(PublicationEntity publication, PublicationRequestDTO request) {
         // Запазваме старите стойности за activity log
@@ -270,6 +294,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheNames.PUBLICATION_STATS, CacheNames.HOME_STATS}, allEntries = true)
     //@LogActivity - manual Log try/catch logic
 
     public void delete(Long id) {
@@ -317,6 +342,7 @@ public class PublicationServiceImpl implements PublicationService {
                 }
 
                 // Сега изтриваме коментарите
+                commentClosureRepository.deleteByPublicationId(id);
                 commentsRepository.deleteAllByPublicationId(id);
 
             } catch (Exception e) {
@@ -334,6 +360,9 @@ public class PublicationServiceImpl implements PublicationService {
                 // Продължаваме, за да не блокираме изтриването
             }
 
+            // ИЗТРИВАМЕ LIKES / DISLIKES / BOOKMARKS
+            reactionRepository.deleteAllByPublicationId(id);
+
             // ИЗТРИВАМЕ ПУБЛИКАЦИЯТА
             publicationRepository.deleteById(id);
 
@@ -452,6 +481,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PUBLICATION_STATS, key = "'total'")
     public long getTotalCount() {
         return publicationRepository.countPublicPublications();
     }
@@ -464,6 +494,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PUBLICATION_STATS, key = "'today'")
     public long getTodayCount() {
         Instant startOfDay = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant();
         return publicationRepository.countByCreatedAfterAndStatus(startOfDay, PublicationStatus.PUBLISHED);
@@ -471,6 +502,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PUBLICATION_STATS, key = "'week'")
     public long getWeekCount() {
         Instant weekAgo = Instant.now().minus(7, ChronoUnit.DAYS);
         return publicationRepository.countByCreatedAfterAndStatus(weekAgo, PublicationStatus.PUBLISHED);
@@ -492,31 +524,30 @@ public class PublicationServiceImpl implements PublicationService {
         PublicationEntity publication = findById(publicationId);
         if (publication == null) return false;
 
-        boolean isLiked = publication.isLikedBy(user.getUsername());
+        // Премахни like
+        if (reactionRepository.deleteReaction(publicationId, user.getId(), PublicationReactionType.LIKE) > 0) {
+            publicationRepository.adjustReactionCounts(publicationId, -1, 0);
+            return false;
+        }
+
+        // Добави like (0 = паралелна заявка вече го е добавила)
+        if (reactionRepository.insertIfAbsent(publicationId, user.getId(), PublicationReactionType.LIKE.name()) == 0) {
+            return true;
+        }
 
-        if (isLiked) {
-            // Премахни like
-            publication.removeLike(user.getUsername());
-        } else {
-            // Добави like
-            publication.addLike(user.getUsername());
+        // ВАЖНО: Премахни dislike ако го има
+        int removedDislikes = reactionRepository.deleteReaction(publicationId, user.getId(), PublicationReactionType.DISLIKE);
+        publicationRepository.adjustReactionCounts(publicationId, 1, -removedDislikes);
 
-            // ВАЖНО: Премахни dislike ако го има
-            if (publication.isDislikedBy(user.getUsername())) {
-                publication.removeDislike(user.getUsername());
+        // Notify publication author за нов like
+        try {
+            UserEntity author = publication.getAuthor();
+            if (author != null && !author.getUsername().equals(user.getUsername())) {
+                notificationService.notifyLike(author, user, "PUBLICATION", publicationId);
             }
-            
-            // Notify publication author за нов like
-            try {
-                UserEntity author = publication.getAuthor();
-                if (author != null && !author.getUsername().equals(user.getUsername())) {
-                    notificationService.notifyLike(author, user, "PUBLICATION", publicationId);
-                }
-            } catch (Exception ignored) {}
-        }
+        } catch (Exception ignored) {}
 
-        publicationRepository.save(publication);
-        return !isLiked;
+        return true;
     }
 
     @Transactional
@@ -526,31 +557,30 @@ public class PublicationServiceImpl implements PublicationService {
         PublicationEntity publication = findById(publicationId);
         if (publication == null) return false;
 
-        boolean isDisliked = publication.isDislikedBy(user.getUsername());
+        // Премахни dislike
+        if (reactionRepository.deleteReaction(publicationId, user.getId(), PublicationReactionType.DISLIKE) > 0) {
+            publicationRepository.adjustReactionCounts(publicationId, 0, -1);
+            return false;
+        }
+
+        // Добави dislike
+        if (reactionRepository.insertIfAbsent(publicationId, user.getId(), PublicationReactionType.DISLIKE.name()) == 0) {
+            return true;
+        }
 
-        if (isDisliked) {
-            // Премахни dislike
-            publication.removeDislike(user.getUsername());
-        } else {
-            // Добави dislike
-            publication.addDislike(user.getUsername());
+        // ВАЖНО: Премахни like ако го има
+        int removedLikes = reactionRepository.deleteReaction(publicationId, user.getId(), PublicationReactionType.LIKE);
+        publicationRepository.adjustReactionCounts(publicationId, -removedLikes, 1);
 
-            // ВАЖНО: Премахни like ако го има
-            if (publication.isLikedBy(user.getUsername())) {
-                publication.removeLike(user.getUsername());
+        // Notify publication author за нов dislike
+        try {
+            UserEntity author = publication.getAuthor();
+            if (author != null && !author.getUsername().equals(user.getUsername())) {
+                notificationService.notifyDislike(author, user, "PUBLICATION", publicationId);
             }
-            
-            // Notify publication author за нов dislike
-            try {
-                UserEntity author = publication.getAuthor();
-                if (author != null && !author.getUsername().equals(user.getUsername())) {
-                    notificationService.notifyDislike(author, user, "PUBLICATION", publicationId);
-                }
-            } catch (Exception ignored) {}
-        }
+        } catch (Exception ignored) {}
 
-        publicationRepository.save(publication);
-        return !isDisliked;
+        return true;
     }
 
     @Override
@@ -573,19 +603,23 @@ public class PublicationServiceImpl implements PublicationService {
             entityIdParam = "publicationId", details = "Bookmark toggled")
 
     public boolean toggleBookmark(Long publicationId, UserEntity user) {
-        PublicationEntity publication = findById(publicationId);
-        if (publication == null) return false;
-
-        boolean isBookmarked = publication.isBookmarkedBy(user.getUsername());
+        if (!publicationRepository.existsById(publicationId)) return false;
 
-        if (isBookmarked) {
-            publication.removeBookmark(user.getUsername());
-        } else {
-            publication.addBookmark(user.getUsername());
+        if (reactionRepository.deleteReaction(publicationId, user.getId(), PublicationReactionType.BOOKMARK) > 0) {
+            return false;
         }
+        reactionRepository.insertIfAbsent(publicationId, user.getId(), PublicationReactionType.BOOKMARK.name());
+        return true;
+    }
 
-        publicationRepository.save(publication);
-        return !isBookmarked;
+    @Override
+    @Transactional(readOnly = true)
+    public Set<PublicationReactionType> getUserReactions(Long publicationId, Long userId) {
+        if (publicationId == null || userId == null) {
+            return Set.of();
+        }
+        List<PublicationReactionType> kinds = reactionRepository.findKinds(publicationId, userId);
+        return kinds.isEmpty() ? Set.of() : EnumSet.copyOf(kinds);
     }
 
 
@@ -596,10 +630,8 @@ public class PublicationServiceImpl implements PublicationService {
             entityIdParam = "publicationId", details = "Publication shared")
 
     public void incrementShareCount(Long publicationId) {
-        PublicationEntity publication = findById(publicationId);
-        if (publication != null) {
-            publication.incrementShares();
-            publicationRepository.save(publication);
+        if (publicationRepository.existsById(publicationId)) {
+            counterBuffer.increment(EngagementCounterBuffer.Counter.PUBLICATION_SHARES, publicationId);
         }
     }
 
@@ -607,7 +639,9 @@ public class PublicationServiceImpl implements PublicationService {
     @Transactional(readOnly = true)
     public int getSharesCount(Long publicationId) {
         PublicationEntity publication = findById(publicationId);
-        return publication != null ? publication.getSharesCount() : 0;
+        return publication != null
+                ? counterBuffer.merged(EngagementCounterBuffer.Counter.PUBLICATION_SHARES, publicationId, publication.getSharesCount())
+                : 0;
     }
 
 
@@ -638,6 +672,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PUBLICATION_STATS, key = "'trending'")
     public List<Object[]> getTrendingHashtags() {
         return publicationRepository.findTrendingHashtags();
     }
@@ -676,6 +711,7 @@ public class PublicationServiceImpl implements PublicationService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PUBLICATION_STATS, key = "'topAuthors:' + #startOfDay + ':' + #limit")
     public List<Map<String, Object>> getTopAuthorsData(Instant startOfDay, int limit) {
         List<UserEntity> authors = publicationRepository.findTodayTopAuthors(
             PublicationStatus.PUBLISHED, 
@@ -762,7 +798,7 @@ public class PublicationServiceImpl implements PublicationService {
             if (username == null || username.trim().isEmpty()) {
                 return List.of();
             }
-            return publicationRepository.findLikedPublicationIdsByUsername(username);
+            return reactionRepository.findPublicationIdsByUsername(username, PublicationReactionType.LIKE);
         } catch (Exception e) {
             // Log error if you have a logger
             // logger.error("Грешка при извличане на харесани публикации за потребител: " + username, e);
@@ -777,7 +813,7 @@ public class PublicationServiceImpl implements PublicationService {
             if (username == null || username.trim().isEmpty()) {
                 return List.of();
             }
-            return publicationRepository.findDislikedPublicationIdsByUsername(username);
+            return reactionRepository.findPublicationIdsByUsername(username, PublicationReactionType.DISLIKE);
         } catch (Exception e) {
             // Log error if you have a logger
             // logger.error("Грешка при извличане на нехаресани публикации за потребител: " + username, e);
@@ -792,7 +828,7 @@ public class PublicationServiceImpl implements PublicationService {
             if (username == null || username.trim().isEmpty()) {
                 return List.of();
             }
-            return publicationRepository.findBookmarkedPublicationIdsByUsername(username);
+            return reactionRepository.findPublicationIdsByUsername(username, PublicationReactionType.BOOKMARK);
         } catch (Exception e) {
             // Log error if you have a logger
             // logger.error("Грешка при извличане на запазени публикации за потребител: " + username, e);
@@ -805,65 +841,20 @@ public class PublicationServiceImpl implements PublicationService {
     @Override
     @Transactional(readOnly = true)
     public List<smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO> getLikedUsers(Long publicationId) {
-        PublicationEntity publication = findById(publicationId);
-        if (publication == null || publication.getLikedByUsers() == null || publication.getLikedByUsers().trim().isEmpty()) {
-            return List.of();
-        }
-        return extractUsersFromJson(publication.getLikedByUsers());
+        return reactionUsers(publicationId, PublicationReactionType.LIKE);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO> getDislikedUsers(Long publicationId) {
-        PublicationEntity publication = findById(publicationId);
-        if (publication == null || publication.getDislikedByUsers() == null || publication.getDislikedByUsers().trim().isEmpty()) {
-            return List.of();
-        }
-        return extractUsersFromJson(publication.getDislikedByUsers());
+        return reactionUsers(publicationId, PublicationReactionType.DISLIKE);
     }
 
-    /**
-     * Парсва JSON масив от usernames и връща списък с SVUserMinimalDTO обекти
-     * Формат: ["username1","username2","username3"]
-     */
-    private List<smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO> extractUsersFromJson(String jsonArray) {
-        if (jsonArray == null || jsonArray.trim().isEmpty() || jsonArray.equals("[]")) {
-            return List.of();
-        }
-
-        try {
-            // Парсваме JSON масива: премахваме [ и ], разделяме по ", и извличаме usernames
-            String cleaned = jsonArray.trim();
-            if (cleaned.startsWith("[") && cleaned.endsWith("]")) {
-                cleaned = cleaned.substring(1, cleaned.length() - 1);
-            }
-
-            if (cleaned.isEmpty()) {
-                return List.of();
-            }
-
-            // Разделяме по запетая и премахваме кавичките
-            String[] usernames = cleaned.split(",");
-            List<smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO> users = new java.util.ArrayList<>();
-
-            for (String usernameWithQuotes : usernames) {
-                String username = usernameWithQuotes.trim();
-                // Премахваме кавичките
-                if (username.startsWith("\"") && username.endsWith("\"")) {
-                    username = username.substring(1, username.length() - 1);
-                }
-                
-                if (!username.isEmpty()) {
-                    userRepository.findByUsername(username).ifPresent(user -> {
-                        users.add(smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO.Mapper.toDTO(user));
-                    });
-                }
-            }
-
-            return users;
-        } catch (Exception e) {
-            return List.of();
-        }
+    private List<smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO> reactionUsers(
+            Long publicationId, PublicationReactionType kind) {
+        return reactionRepository.findUsers(publicationId, kind).stream()
+                .map(smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVUserMinimalDTO.Mapper::toDTO)
+                .toList();
     }
 
-}
\ No newline at end of file
+}
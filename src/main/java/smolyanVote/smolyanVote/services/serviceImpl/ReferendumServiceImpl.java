@@ -1,10 +1,12 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import smolyanVote.smolyanVote.annotations.LogActivity;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.*;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
 import smolyanVote.smolyanVote.models.enums.ActivityTypeEnum;
@@ -59,6 +61,7 @@ public class ReferendumServiceImpl implements ReferendumService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.EVENTS_CATALOG, CacheNames.HOME_STATS}, allEntries = true)
     @LogActivity(action = ActivityActionEnum.CREATE_REFERENDUM, entityType = ActivityTypeEnum.REFERENDUM,
             details = "Topic: {topic}, Location: {location}", includeTitle = true, includeText = true)
 
@@ -117,6 +120,7 @@ public class ReferendumServiceImpl implements ReferendumService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheNames.EVENTS_CATALOG, allEntries = true)
     @LogActivity(action = ActivityActionEnum.EDIT_REFERENDUM, entityType = ActivityTypeEnum.REFERENDUM,
             entityIdParam = "id", details = "Topic: {topic}, Location: {location}", includeTitle = true)
 
@@ -222,8 +226,8 @@ public class ReferendumServiceImpl implements ReferendumService {
                 .orElseThrow(() -> new EntityNotFoundException("Referendum not found"));
 
         // Увеличаване на броя прегледи
+        referendumRepository.incrementViewCounter(referendumId);
         referendum.setViewCounter(referendum.getViewCounter() + 1);
-        referendumRepository.save(referendum);
 
         ReferendumDetailViewDTO dto = referendumMapper.mapReferendumDetailView(referendum);
 
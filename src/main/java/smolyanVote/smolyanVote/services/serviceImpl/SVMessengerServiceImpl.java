@@ -34,9 +34,12 @@ import smolyanVote.smolyanVote.repositories.svmessenger.SVMessageRepository;
 import smolyanVote.smolyanVote.repositories.svmessenger.CallHistoryRepository;
 import smolyanVote.smolyanVote.services.interfaces.FollowService;
 import smolyanVote.smolyanVote.services.interfaces.SVMessengerService;
+import smolyanVote.smolyanVote.services.support.TypingIndicatorRegistry;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVAttachmentDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVConversationDTO;
+import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVMessageCursor;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVMessageDTO;
+import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVMessageSliceDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVParticipantDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVE2EPublicKeyDTO;
 import smolyanVote.smolyanVote.viewsAndDTO.svmessenger.SVPollDTO;
@@ -55,7 +58,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 // LiveKit imports
@@ -80,8 +82,7 @@ public class SVMessengerServiceImpl implements SVMessengerService {
     private final SVMessengerWebSocketHandler webSocketHandler;
     private final FollowService followService;
     private final smolyanVote.smolyanVote.services.interfaces.MobilePushNotificationService pushNotificationService;
-
-    private final Map<Long, Map<Long, LocalDateTime>> typingStatuses = new ConcurrentHashMap<>();
+    private final TypingIndicatorRegistry typingIndicators;
 
     // LiveKit configuration
     @Value("${livekit.api-key}")
@@ -106,7 +107,8 @@ public class SVMessengerServiceImpl implements SVMessengerService {
             UserRepository userRepo,
             SVMessengerWebSocketHandler webSocketHandler,
             FollowService followService,
-            smolyanVote.smolyanVote.services.interfaces.MobilePushNotificationService pushNotificationService) {
+            smolyanVote.smolyanVote.services.interfaces.MobilePushNotificationService pushNotificationService,
+            TypingIndicatorRegistry typingIndicators) {
         this.conversationRepo = conversationRepo;
         this.participantRepo = participantRepo;
         this.messageRepo = messageRepo;
@@ -120,6 +122,7 @@ public class SVMessengerServiceImpl implements SVMessengerService {
         this.webSocketHandler = webSocketHandler;
         this.followService = followService;
         this.pushNotificationService = pushNotificationService;
+        this.typingIndicators = typingIndicators;
     }
 
     // ✅ FIX: readOnly=true за read operations
@@ -823,6 +826,55 @@ public class SVMessengerServiceImpl implements SVMessengerService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SVMessageSliceDTO getMessagesByCursor(Long conversationId, String before, String after, int size,
+                                                 UserEntity currentUser) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+        SVConversationEntity conversation = conversationRepo.findById(conversationId)
+                .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
+        if (!hasAccess(conversation, currentUser)) {
+            throw new IllegalArgumentException("Access denied");
+        }
+
+        int limit = Math.max(1, Math.min(size, 100));
+        // Един ред повече — така разбираме дали има следваща порция без count заявка
+        Pageable probe = PageRequest.of(0, limit + 1);
+        List<SVMessageEntity> rows;
+        if (after != null) {
+            SVMessageCursor cursor = SVMessageCursor.decode(after);
+            rows = messageRepo.findSliceAfter(conversationId, cursor.sentAt(), cursor.id(), probe);
+        } else if (before != null) {
+            SVMessageCursor cursor = SVMessageCursor.decode(before);
+            rows = messageRepo.findSliceBefore(conversationId, cursor.sentAt(), cursor.id(), probe);
+        } else {
+            rows = messageRepo.findLatestSlice(conversationId, probe);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        // Празна порция: клиентът е стигнал края — връщаме неговия курсор, за да продължи от него
+        String nextCursor = after != null ? after : before;
+        String newestCursor = after;
+        if (!rows.isEmpty()) {
+            nextCursor = cursorOf(rows.get(rows.size() - 1));
+            // after върви от старите към новите, before и последните — обратно
+            newestCursor = cursorOf(after != null ? rows.get(rows.size() - 1) : rows.get(0));
+        }
+
+        List<SVMessageDTO> dtos = rows.stream().map(SVMessageDTO.Mapper::toDTO).collect(Collectors.toList());
+        enrichWithReactionsAndFlags(dtos, currentUser);
+        return new SVMessageSliceDTO(dtos, nextCursor, newestCursor, hasMore);
+    }
+
+    private static String cursorOf(SVMessageEntity message) {
+        return new SVMessageCursor(message.getSentAt(), message.getId()).encode();
+    }
+
     // ✅ FIX: Proper transaction
     @Override
     @Transactional
@@ -1323,13 +1375,12 @@ public class SVMessengerServiceImpl implements SVMessengerService {
 
     @Override
     public void updateTypingStatus(Long conversationId, UserEntity user, boolean isTyping) {
-        Map<Long, LocalDateTime> conversationTyping = typingStatuses.computeIfAbsent(
-                conversationId, k -> new ConcurrentHashMap<>());
-
-        if (isTyping) {
-            conversationTyping.put(user.getId(), LocalDateTime.now());
-        } else {
-            conversationTyping.remove(user.getId());
+        // Повторните натискания само местят срока; изтичането се праща от TypingIndicatorRegistry
+        boolean changed = isTyping
+                ? typingIndicators.typing(conversationId, user.getId(), user.getUsername())
+                : typingIndicators.stopped(conversationId, user.getId());
+        if (!changed) {
+            return;
         }
 
         try {
@@ -1337,41 +1388,16 @@ public class SVMessengerServiceImpl implements SVMessengerService {
         } catch (Exception e) {
             log.error("Failed to broadcast typing status", e);
         }
-
-        if (isTyping) {
-            scheduleTypingCleanup(conversationId, user.getId());
-        }
     }
 
     @Override
     public boolean isUserTyping(Long conversationId, Long userId) {
-        Map<Long, LocalDateTime> conversationTyping = typingStatuses.get(conversationId);
-        if (conversationTyping == null) {
-            return false;
-        }
-
-        LocalDateTime lastTyping = conversationTyping.get(userId);
-        if (lastTyping == null) {
-            return false;
-        }
-
-        if (lastTyping.plusSeconds(3).isBefore(LocalDateTime.now())) {
-            conversationTyping.remove(userId);
-            return false;
-        }
-
-        return true;
+        return typingIndicators.isTyping(conversationId, userId);
     }
 
     /** True when anyone other than {@code exceptUserId} is currently typing in the conversation. */
     private boolean isAnyoneTyping(Long conversationId, Long exceptUserId) {
-        Map<Long, LocalDateTime> conversationTyping = typingStatuses.get(conversationId);
-        if (conversationTyping == null) {
-            return false;
-        }
-        return conversationTyping.keySet().stream()
-                .filter(id -> !id.equals(exceptUserId))
-                .anyMatch(id -> isUserTyping(conversationId, id));
+        return typingIndicators.isAnyoneTyping(conversationId, exceptUserId);
     }
 
     @Override
@@ -1450,20 +1476,6 @@ public class SVMessengerServiceImpl implements SVMessengerService {
         }
     }
 
-    private void scheduleTypingCleanup(Long conversationId, Long userId) {
-        new Thread(() -> {
-            try {
-                Thread.sleep(3000);
-                Map<Long, LocalDateTime> conversationTyping = typingStatuses.get(conversationId);
-                if (conversationTyping != null) {
-                    conversationTyping.remove(userId);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
-    }
-
     private String truncateText(String text, int maxLength) {
         if (text == null)
             return "";
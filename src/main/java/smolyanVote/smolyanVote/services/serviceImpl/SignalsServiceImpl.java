@@ -17,6 +17,7 @@ import smolyanVote.smolyanVote.models.enums.ActivityTypeEnum;
 import smolyanVote.smolyanVote.models.enums.SignalsCategory;
 import smolyanVote.smolyanVote.models.SignalResolvedReportEntity;
 import smolyanVote.smolyanVote.models.SignalSubscriptionEntity;
+import smolyanVote.smolyanVote.repositories.CommentClosureRepository;
 import smolyanVote.smolyanVote.repositories.CommentVoteRepository;
 import smolyanVote.smolyanVote.repositories.CommentsRepository;
 import smolyanVote.smolyanVote.repositories.SignalResolvedReportRepository;
@@ -28,7 +29,9 @@ import smolyanVote.smolyanVote.services.interfaces.ImageCloudinaryService;
 import smolyanVote.smolyanVote.services.interfaces.NotificationService;
 import smolyanVote.smolyanVote.services.interfaces.SignalsService;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.support.EngagementCounterBuffer;
 import smolyanVote.smolyanVote.services.support.ReputationCounterService;
+import smolyanVote.smolyanVote.services.support.SignalSearchIndex;
 import smolyanVote.smolyanVote.services.mappers.SignalsMapper;
 import smolyanVote.smolyanVote.viewsAndDTO.SignalsDto;
 import smolyanVote.smolyanVote.viewsAndDTO.apiv1.SignalEnrichment;
@@ -57,6 +60,9 @@ public class SignalsServiceImpl implements SignalsService {
     private final SignalResolvedReportRepository resolvedReportRepository;
     private final NotificationService notificationService;
     private final ReputationCounterService reputationCounterService;
+    private final EngagementCounterBuffer counterBuffer;
+    private final SignalSearchIndex signalIndex;
+    private final CommentClosureRepository commentClosureRepository;
 
     private static final int RESOLVED_REPORT_ESCALATION_THRESHOLD = 2;
 
@@ -71,7 +77,10 @@ public class SignalsServiceImpl implements SignalsService {
                               SignalSubscriptionRepository subscriptionRepository,
                               SignalResolvedReportRepository resolvedReportRepository,
                               NotificationService notificationService,
-                              ReputationCounterService reputationCounterService) {
+                              ReputationCounterService reputationCounterService,
+                              EngagementCounterBuffer counterBuffer,
+                              SignalSearchIndex signalIndex,
+                              CommentClosureRepository commentClosureRepository) {
         this.signalsRepository = signalsRepository;
         this.imageCloudinaryService = imageCloudinaryService;
         this.userService = userService;
@@ -83,6 +92,9 @@ public class SignalsServiceImpl implements SignalsService {
         this.resolvedReportRepository = resolvedReportRepository;
         this.notificationService = notificationService;
         this.reputationCounterService = reputationCounterService;
+        this.counterBuffer = counterBuffer;
+        this.signalIndex = signalIndex;
+        this.commentClosureRepository = commentClosureRepository;
     }
 
     // ====== ОСНОВНИ CRUD ОПЕРАЦИИ ======
@@ -108,7 +120,12 @@ public class SignalsServiceImpl implements SignalsService {
     public List<SignalsDto> findAllByAuthorId(Long authorId) {
         return signalsRepository.findAllByAuthorId(authorId)
                 .stream()
-                .map(SignalsMapper::toDto)
+                .map(signal -> {
+                    SignalsDto dto = SignalsMapper.toDto(signal);
+                    dto.setViewsCount(counterBuffer.merged(EngagementCounterBuffer.Counter.SIGNAL_VIEWS,
+                            signal.getId(), signal.getViewsCount()));
+                    return dto;
+                })
                 .toList();
     }
 
@@ -140,6 +157,7 @@ public class SignalsServiceImpl implements SignalsService {
                 // Signal is saved; client may warn user to add image via edit.
             }
         }
+        signalIndex.index(signal);
         UserEntity user = userService.getCurrentUser();
         user.setSignalsCount(user.getSignalsCount() + 1);
         userRepository.save(user);
@@ -189,6 +207,7 @@ public class SignalsServiceImpl implements SignalsService {
                 throw new IllegalStateException("Снимката не можа да се качи. Опитайте отново.");
             }
         }
+        signalIndex.index(signal);
 
         // Activity logging for admin log panel СЛЕД успешната промяна
         try {
@@ -220,6 +239,7 @@ public class SignalsServiceImpl implements SignalsService {
         signal.setResolvedBy(markResolved ? admin : null);
         signal.setModified(Instant.now());
         signalsRepository.save(signal);
+        signalIndex.index(signal);
 
         if (markResolved && !wasResolved) {
             notificationService.broadcastGlobalActivity(
@@ -280,6 +300,7 @@ public class SignalsServiceImpl implements SignalsService {
 
             // ВТОРО ИЗТРИВАМЕ КОМЕНТАРИТЕ
             try {
+                commentClosureRepository.deleteBySignalId(id);
                 commentsRepository.deleteAllBySignal_Id(id);
             } catch (Exception e) {
                 System.out.println("ERROR deleting comments: " + e.getMessage());
@@ -294,6 +315,7 @@ public class SignalsServiceImpl implements SignalsService {
             UserEntity author = signal != null ? signal.getAuthor() : null;
 
             signalsRepository.deleteById(id);
+            signalIndex.remove(id);
 
             // Activity logging for admin log panel СЛЕД успешното изтриване
             try {
@@ -519,9 +541,7 @@ public class SignalsServiceImpl implements SignalsService {
     public void incrementViews(Long signalId) {
         SignalsEntity signal = findById(signalId);
         if (signal != null) {
-            signal.setViewsCount((signal.getViewsCount() == null ? 0 : signal.getViewsCount()) + 1);
-            signal.setModified(Instant.now());
-            signalsRepository.save(signal);
+            counterBuffer.increment(EngagementCounterBuffer.Counter.SIGNAL_VIEWS, signalId);
 
             // ✅ ЛОГИРАНЕ НА VIEW_SIGNAL
             try {
@@ -540,6 +560,15 @@ public class SignalsServiceImpl implements SignalsService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int getViewsCount(Long signalId) {
+        SignalsEntity signal = findById(signalId);
+        return signal != null
+                ? counterBuffer.merged(EngagementCounterBuffer.Counter.SIGNAL_VIEWS, signalId, signal.getViewsCount())
+                : 0;
+    }
+
     // ====== ПРАВА НА ДОСТЪП ======
 
     @Override
@@ -675,7 +704,8 @@ public class SignalsServiceImpl implements SignalsService {
                     reportedIds.contains(signal.getId()),
                     count,
                     userId,
-                    isAdmin));
+                    isAdmin,
+                    counterBuffer.pending(EngagementCounterBuffer.Counter.SIGNAL_VIEWS, signal.getId())));
         }
         return result;
     }
@@ -739,7 +769,8 @@ public class SignalsServiceImpl implements SignalsService {
 
     private SignalEnrichment enrichmentForGuest(SignalsEntity signal) {
         int count = signal.getResolvedReportCount() != null ? signal.getResolvedReportCount() : 0;
-        return new SignalEnrichment(false, false, false, count, null, false);
+        return new SignalEnrichment(false, false, false, count, null, false,
+                counterBuffer.pending(EngagementCounterBuffer.Counter.SIGNAL_VIEWS, signal.getId()));
     }
 
     // ====== ПОМОЩНИ МЕТОДИ ======
@@ -1,10 +1,12 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import smolyanVote.smolyanVote.annotations.LogActivity;
+import smolyanVote.smolyanVote.config.cache.CacheNames;
 import smolyanVote.smolyanVote.models.*;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
 import smolyanVote.smolyanVote.models.enums.ActivityTypeEnum;
@@ -81,8 +83,8 @@ public class SimpleEventServiceImpl implements SimpleEventService {
                 .orElseThrow(() -> new IllegalArgumentException("Събитието не е намерено"));
 
         // Увеличаване на броя прегледи
+        simpleEventRepository.incrementViewCounter(id);
         event.setViewCounter(event.getViewCounter() + 1);
-        simpleEventRepository.save(event);
 
         // Мапване към DTO
         SimpleEventDetailViewDTO dto = simpleEventMapper.mapSimpleEventToView(event);
@@ -113,6 +115,7 @@ public class SimpleEventServiceImpl implements SimpleEventService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = {CacheNames.EVENTS_CATALOG, CacheNames.HOME_STATS}, allEntries = true)
     @LogActivity(action = ActivityActionEnum.CREATE_SIMPLE_EVENT, entityType = ActivityTypeEnum.SIMPLEEVENT,
             details = "Title: {title}, Location: {location}", includeTitle = true, includeText = true)
 
@@ -173,6 +176,7 @@ public class SimpleEventServiceImpl implements SimpleEventService {
 
     @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheNames.EVENTS_CATALOG, allEntries = true)
     @LogActivity(action = ActivityActionEnum.EDIT_EVENT, entityType = ActivityTypeEnum.SIMPLEEVENT,
             entityIdParam = "id", details = "Title: {title}, Location: {location}", includeTitle = true)
 
@@ -1,227 +1,283 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import smolyanVote.smolyanVote.models.MultiPollEntity;
-import smolyanVote.smolyanVote.models.PublicationEntity;
-import smolyanVote.smolyanVote.models.ReferendumEntity;
-import smolyanVote.smolyanVote.models.SimpleEventEntity;
-import smolyanVote.smolyanVote.models.UserEntity;
-import smolyanVote.smolyanVote.models.enums.PublicationStatus;
-import smolyanVote.smolyanVote.repositories.MultiPollRepository;
-import smolyanVote.smolyanVote.repositories.PublicationRepository;
-import smolyanVote.smolyanVote.repositories.ReferendumRepository;
-import smolyanVote.smolyanVote.repositories.SimpleEventRepository;
-import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.SitemapService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Имплементация на SitemapService
- * Генерира динамичен sitemap.xml с всички публични страници
+ * <p>
+ * Всяка секция (публикации, събития, референдуми, анкети, профили) се шардира по id:
+ * шард {@code k} съдържа редовете с id в [k·50000, (k+1)·50000), така че промяна по един
+ * ред засяга точно един шард. На всеки refresh една GROUP BY заявка на секция дава отпечатък
+ * на шардовете (брой, сума на id-тата, най-нов lastmod); преизграждат се само шардовете с
+ * променен отпечатък — нов ред, изтрит ред или обновен ред (BaseEntity вдига modified).
+ * <p>
+ * Шардът се пише ред по ред директно в gzip поток и се пази като готови байтове с ETag и
+ * Last-Modified, така че заявките от crawler-и не стигат до базата.
  */
 @Service
 public class SitemapServiceImpl implements SitemapService {
 
+    private static final Logger log = LoggerFactory.getLogger(SitemapServiceImpl.class);
+
     private static final String BASE_URL = "https://smolyanvote.com";
     private static final DateTimeFormatter W3C_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX")
             .withZone(ZoneId.of("Europe/Sofia"));
-
-    private final PublicationRepository publicationRepository;
-    private final SimpleEventRepository simpleEventRepository;
-    private final ReferendumRepository referendumRepository;
-    private final MultiPollRepository multiPollRepository;
-    private final UserRepository userRepository;
-
-    public SitemapServiceImpl(PublicationRepository publicationRepository,
-                              SimpleEventRepository simpleEventRepository,
-                              ReferendumRepository referendumRepository,
-                              MultiPollRepository multiPollRepository,
-                              UserRepository userRepository) {
-        this.publicationRepository = publicationRepository;
-        this.simpleEventRepository = simpleEventRepository;
-        this.referendumRepository = referendumRepository;
-        this.multiPollRepository = multiPollRepository;
-        this.userRepository = userRepository;
+    private static final String SHARD_SUFFIX = ".xml.gz";
+    private static final String STATIC_SHARD = "pages-0" + SHARD_SUFFIX;
+
+    /**
+     * @param lastmod SQL израз за lastmod на реда
+     * @param key     колоната, от която се строи URL-ът
+     */
+    private record Section(String name, String table, String where, String lastmod, String key,
+                           String path, String priority, String changefreq) {
+
+        String shardName(long shard) {
+            return name + "-" + shard + SHARD_SUFFIX;
+        }
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public String generateSitemapXml() {
-        StringBuilder xml = new StringBuilder();
-        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        xml.append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\"\n");
-        xml.append("        xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
-        xml.append("        xsi:schemaLocation=\"http://www.sitemaps.org/schemas/sitemap/0.9\n");
-        xml.append("        http://www.sitemaps.org/schemas/sitemap/0.9/sitemap.xsd\">\n\n");
-
-        // Статични страници с висок приоритет
-        addStaticPages(xml);
-
-        // Публикации
-        addPublications(xml);
-
-        // Събития
-        addSimpleEvents(xml);
-
-        // Референдуми
-        addReferendums(xml);
-
-        // Анкети
-        addMultiPolls(xml);
+    private static final List<Section> SECTIONS = List.of(
+            // Само публикувани или редактирани публикации
+            new Section("publications", "publications", "status IN ('PUBLISHED', 'EDITED')",
+                    "COALESCE(modified, created)", "id", "/publications/", "0.8", "weekly"),
+            new Section("events", "simple_events", "1 = 1", "created_at", "id", "/event/", "0.8", "weekly"),
+            new Section("referendums", "referendum", "1 = 1", "created_at", "id", "/referendum/", "0.8", "weekly"),
+            new Section("polls", "multi_poll", "1 = 1", "created_at", "id", "/multipoll/", "0.8", "weekly"),
+            // Потребителските профили са с по-нисък приоритет
+            new Section("users", "users", "username IS NOT NULL AND username <> ''",
+                    "COALESCE(modified, created)", "username", "/user/", "0.6", "monthly"));
+
+    private record Fingerprint(long count, long idSum, Instant lastmod) {
+    }
 
-        // Публични потребителски профили
-        addPublicUserProfiles(xml);
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, SitemapDocument> shards = new ConcurrentHashMap<>();
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+    private volatile SitemapDocument index;
 
-        xml.append("</urlset>");
-        return xml.toString();
+    public SitemapServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<String> getAllUrls() {
-        List<String> urls = new ArrayList<>();
-
-        // Статични страници
-        urls.add(BASE_URL + "/");
-        urls.add(BASE_URL + "/about");
-        urls.add(BASE_URL + "/faq");
-        urls.add(BASE_URL + "/terms-and-conditions");
-        urls.add(BASE_URL + "/publications");
-        urls.add(BASE_URL + "/events");
-        urls.add(BASE_URL + "/signals");
-        urls.add(BASE_URL + "/podcast");
-
-        // Публикации
-        List<PublicationEntity> publications = publicationRepository.findAll();
-        for (PublicationEntity pub : publications) {
-            if (pub.getStatus() == PublicationStatus.PUBLISHED || pub.getStatus() == PublicationStatus.EDITED) {
-                urls.add(BASE_URL + "/publications/" + pub.getId());
-            }
+    public SitemapDocument getIndex() {
+        SitemapDocument current = index;
+        if (current == null) {
+            refresh();
+            current = index;
         }
+        return current;
+    }
 
-        // Събития
-        List<SimpleEventEntity> events = simpleEventRepository.findAll();
-        for (SimpleEventEntity event : events) {
-            urls.add(BASE_URL + "/event/" + event.getId());
+    @Override
+    public Optional<SitemapDocument> getShard(String fileName) {
+        if (index == null) {
+            refresh();
         }
+        return Optional.ofNullable(shards.get(fileName));
+    }
 
-        // Референдуми
-        List<ReferendumEntity> referendums = referendumRepository.findAll();
-        for (ReferendumEntity ref : referendums) {
-            urls.add(BASE_URL + "/referendum/" + ref.getId());
+    @Override
+    @Scheduled(fixedDelayString = "${smolyanvote.sitemap.refresh-interval-ms:300000}",
+            initialDelayString = "${smolyanvote.sitemap.refresh-interval-ms:300000}")
+    public synchronized int refresh() {
+        long started = System.nanoTime();
+        int changed = 0;
+        if (!shards.containsKey(STATIC_SHARD)) {
+            shards.put(STATIC_SHARD, buildStaticShard());
+            changed++;
         }
-
-        // Анкети
-        List<MultiPollEntity> polls = multiPollRepository.findAll();
-        for (MultiPollEntity poll : polls) {
-            urls.add(BASE_URL + "/multipoll/" + poll.getId());
+        for (Section section : SECTIONS) {
+            try {
+                changed += refreshSection(section);
+            } catch (RuntimeException ex) {
+                // Старите шардове на секцията продължават да се сервират
+                log.warn("Sitemap section {} refresh failed: {}", section.name(), ex.getMessage());
+            }
+        }
+        if (changed > 0 || index == null) {
+            index = buildIndex();
+            log.info("Sitemap: {} shard(s) rebuilt, {} in index, {} ms",
+                    changed, shards.size(), (System.nanoTime() - started) / 1_000_000);
         }
+        return changed;
+    }
 
-        // Публични потребители
-        List<UserEntity> users = userRepository.findAll();
-        for (UserEntity user : users) {
-            if (user.getUsername() != null && !user.getUsername().isEmpty()) {
-                urls.add(BASE_URL + "/user/" + user.getUsername());
+    private int refreshSection(Section section) {
+        Map<Long, Fingerprint> current = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT FLOOR(id / " + URLS_PER_SHARD + "), COUNT(*), SUM(id), MAX(" + section.lastmod() + ")"
+                        + " FROM " + section.table() + " WHERE " + section.where()
+                        + " GROUP BY FLOOR(id / " + URLS_PER_SHARD + ")",
+                rs -> {
+                    current.put(rs.getLong(1), new Fingerprint(rs.getLong(2), rs.getLong(3), instant(rs.getTimestamp(4))));
+                });
+
+        int changed = 0;
+        for (Map.Entry<Long, Fingerprint> entry : current.entrySet()) {
+            String name = section.shardName(entry.getKey());
+            if (!entry.getValue().equals(fingerprints.get(name)) || !shards.containsKey(name)) {
+                shards.put(name, buildShard(section, entry.getKey(), entry.getValue().lastmod()));
+                fingerprints.put(name, entry.getValue());
+                changed++;
             }
         }
-
-        return urls;
+        // Шард без нито един ред вече (всичко изтрито / скрито)
+        String prefix = section.name() + "-";
+        for (String name : List.copyOf(shards.keySet())) {
+            if (name.startsWith(prefix) && !current.containsKey(shardNumber(name, prefix))) {
+                shards.remove(name);
+                fingerprints.remove(name);
+                changed++;
+            }
+        }
+        return changed;
     }
 
-    private void addStaticPages(StringBuilder xml) {
-        Instant now = Instant.now();
-        String lastmod = formatDate(now);
-
-        // Главна страница - най-висок приоритет
-        addUrl(xml, BASE_URL + "/", "1.0", "daily", lastmod);
-
-        // Основни страници - висок приоритет
-        addUrl(xml, BASE_URL + "/publications", "0.9", "daily", lastmod);
-        addUrl(xml, BASE_URL + "/events", "0.9", "daily", lastmod);
-        addUrl(xml, BASE_URL + "/signals", "0.8", "weekly", lastmod);
-        addUrl(xml, BASE_URL + "/podcast", "0.8", "weekly", lastmod);
+    private SitemapDocument buildShard(Section section, long shard, Instant lastmod) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer xml = new OutputStreamWriter(new GZIPOutputStream(bytes, 64 * 1024), StandardCharsets.UTF_8)) {
+            openUrlset(xml);
+            jdbcTemplate.query(
+                    "SELECT " + section.key() + ", " + section.lastmod() + " FROM " + section.table()
+                            + " WHERE " + section.where() + " AND id >= ? AND id < ? ORDER BY id",
+                    rs -> {
+                        try {
+                            addUrl(xml, BASE_URL + section.path() + rs.getString(1), section.priority(),
+                                    section.changefreq(), instant(rs.getTimestamp(2)));
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    },
+                    shard * URLS_PER_SHARD, (shard + 1) * URLS_PER_SHARD);
+            xml.write("</urlset>");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return document(section.shardName(shard), bytes.toByteArray(), lastmod);
+    }
 
-        // Информационни страници - среден приоритет
-        addUrl(xml, BASE_URL + "/about", "0.7", "monthly", lastmod);
-        addUrl(xml, BASE_URL + "/faq", "0.7", "monthly", lastmod);
-        addUrl(xml, BASE_URL + "/terms-and-conditions", "0.5", "yearly", lastmod);
+    private SitemapDocument buildStaticShard() {
+        Instant lastmod = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer xml = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            openUrlset(xml);
+            // Главна страница - най-висок приоритет
+            addUrl(xml, BASE_URL + "/", "1.0", "daily", lastmod);
+
+            // Основни страници - висок приоритет
+            addUrl(xml, BASE_URL + "/publications", "0.9", "daily", lastmod);
+            addUrl(xml, BASE_URL + "/events", "0.9", "daily", lastmod);
+            addUrl(xml, BASE_URL + "/signals", "0.8", "weekly", lastmod);
+            addUrl(xml, BASE_URL + "/podcast", "0.8", "weekly", lastmod);
+
+            // Информационни страници - среден приоритет
+            addUrl(xml, BASE_URL + "/about", "0.7", "monthly", lastmod);
+            addUrl(xml, BASE_URL + "/faq", "0.7", "monthly", lastmod);
+            addUrl(xml, BASE_URL + "/terms-and-conditions", "0.5", "yearly", lastmod);
+            xml.write("</urlset>");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return document(STATIC_SHARD, bytes.toByteArray(), lastmod);
     }
 
-    private void addPublications(StringBuilder xml) {
-        List<PublicationEntity> publications = publicationRepository.findAll();
-        for (PublicationEntity pub : publications) {
-            // Само публикувани или редактирани публикации
-            if (pub.getStatus() == PublicationStatus.PUBLISHED || pub.getStatus() == PublicationStatus.EDITED) {
-                String url = BASE_URL + "/publications/" + pub.getId();
-                String lastmod = formatDate(pub.getModified() != null ? pub.getModified() : pub.getCreated());
-                // Публикациите са важни, но не толкова колкото главната страница
-                addUrl(xml, url, "0.8", "weekly", lastmod);
+    private SitemapDocument buildIndex() {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        Instant newest = Instant.EPOCH;
+        for (SitemapDocument shard : new TreeMap<>(shards).values()) {
+            xml.append("  <sitemap>\n");
+            xml.append("    <loc>").append(BASE_URL).append("/sitemaps/").append(shard.name()).append("</loc>\n");
+            xml.append("    <lastmod>").append(formatDate(shard.lastModified())).append("</lastmod>\n");
+            xml.append("  </sitemap>\n");
+            if (shard.lastModified().isAfter(newest)) {
+                newest = shard.lastModified();
             }
         }
+        xml.append("</sitemapindex>\n");
+        return document("sitemap.xml", xml.toString().getBytes(StandardCharsets.UTF_8), newest);
     }
 
-    private void addSimpleEvents(StringBuilder xml) {
-        List<SimpleEventEntity> events = simpleEventRepository.findAll();
-        for (SimpleEventEntity event : events) {
-            String url = BASE_URL + "/event/" + event.getId();
-            String lastmod = formatDate(event.getCreatedAt() != null ? event.getCreatedAt() : Instant.now());
-            addUrl(xml, url, "0.8", "weekly", lastmod);
-        }
+    private static void openUrlset(Writer xml) throws IOException {
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.write("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
     }
 
-    private void addReferendums(StringBuilder xml) {
-        List<ReferendumEntity> referendums = referendumRepository.findAll();
-        for (ReferendumEntity ref : referendums) {
-            String url = BASE_URL + "/referendum/" + ref.getId();
-            String lastmod = formatDate(ref.getCreatedAt() != null ? ref.getCreatedAt() : Instant.now());
-            addUrl(xml, url, "0.8", "weekly", lastmod);
-        }
+    private static void addUrl(Writer xml, String loc, String priority, String changefreq, Instant lastmod)
+            throws IOException {
+        xml.write("  <url>\n");
+        xml.write("    <loc>");
+        xml.write(escapeXml(loc));
+        xml.write("</loc>\n");
+        xml.write("    <lastmod>");
+        xml.write(formatDate(lastmod));
+        xml.write("</lastmod>\n");
+        xml.write("    <changefreq>");
+        xml.write(changefreq);
+        xml.write("</changefreq>\n");
+        xml.write("    <priority>");
+        xml.write(priority);
+        xml.write("</priority>\n");
+        xml.write("  </url>\n");
     }
 
-    private void addMultiPolls(StringBuilder xml) {
-        List<MultiPollEntity> polls = multiPollRepository.findAll();
-        for (MultiPollEntity poll : polls) {
-            String url = BASE_URL + "/multipoll/" + poll.getId();
-            String lastmod = formatDate(poll.getCreatedAt() != null ? poll.getCreatedAt() : Instant.now());
-            addUrl(xml, url, "0.8", "weekly", lastmod);
+    private static SitemapDocument document(String name, byte[] body, Instant lastmod) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+            return new SitemapDocument(name, body, etag, lastmod.truncatedTo(ChronoUnit.SECONDS));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
         }
     }
 
-    private void addPublicUserProfiles(StringBuilder xml) {
-        List<UserEntity> users = userRepository.findAll();
-        for (UserEntity user : users) {
-            if (user.getUsername() != null && !user.getUsername().isEmpty()) {
-                String url = BASE_URL + "/user/" + user.getUsername();
-                String lastmod = formatDate(user.getModified() != null ? user.getModified() : user.getCreated());
-                // Потребителските профили са с по-нисък приоритет
-                addUrl(xml, url, "0.6", "monthly", lastmod);
-            }
+    private static long shardNumber(String name, String prefix) {
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - SHARD_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
         }
     }
 
-    private void addUrl(StringBuilder xml, String loc, String priority, String changefreq, String lastmod) {
-        xml.append("  <url>\n");
-        xml.append("    <loc>").append(escapeXml(loc)).append("</loc>\n");
-        xml.append("    <lastmod>").append(lastmod).append("</lastmod>\n");
-        xml.append("    <changefreq>").append(changefreq).append("</changefreq>\n");
-        xml.append("    <priority>").append(priority).append("</priority>\n");
-        xml.append("  </url>\n\n");
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp == null ? Instant.EPOCH : timestamp.toInstant();
     }
 
-    private String formatDate(Instant instant) {
-        if (instant == null) {
-            instant = Instant.now();
-        }
+    private static String formatDate(Instant instant) {
         return W3C_DATE_FORMAT.format(instant);
     }
 
-    private String escapeXml(String text) {
+    private static String escapeXml(String text) {
         if (text == null) {
             return "";
         }
@@ -232,4 +288,3 @@ public class SitemapServiceImpl implements SitemapService {
                    .replace("'", "&apos;");
     }
 }
-
@@ -7,7 +7,9 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import smolyanVote.smolyanVote.annotations.LogActivity;
+import smolyanVote.smolyanVote.config.FrontendProperties;
 import smolyanVote.smolyanVote.models.EmailSubscriptionEntity;
+import smolyanVote.smolyanVote.models.PodcastEpisodeEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
 import smolyanVote.smolyanVote.models.enums.ActivityTypeEnum;
@@ -26,6 +28,7 @@ import java.util.stream.Collectors;
 public class SubscriptionServiceImpl implements SubscriptionService {
 
     private final EmailSubscriptionRepository emailSubscriptionRepository;
+    private final FrontendProperties frontendProperties;
 
     // Lazy injection за да избегнем цикличната зависимост
     @Lazy
@@ -33,8 +36,10 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     private EmailService emailService;
 
     @Autowired
-    public SubscriptionServiceImpl(EmailSubscriptionRepository emailSubscriptionRepository) {
+    public SubscriptionServiceImpl(EmailSubscriptionRepository emailSubscriptionRepository,
+                                   FrontendProperties frontendProperties) {
         this.emailSubscriptionRepository = emailSubscriptionRepository;
+        this.frontendProperties = frontendProperties;
     }
 
     @Transactional
@@ -161,21 +166,21 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     @Async
     @Override
     public void sendPodcastNotificationToSubscribers(Object podcastEpisode) {
+        if (!(podcastEpisode instanceof PodcastEpisodeEntity episode)) {
+            throw new IllegalArgumentException("Expected PodcastEpisodeEntity");
+        }
         List<UserEntity> subscribers = getPodcastNotificationSubscribers();
 
         log.info("Sending podcast email notification to {} subscribers", subscribers.size());
 
-        subscribers.forEach(user -> {
-            try {
-                emailService.sendPodcastNotification(user, podcastEpisode);
-                // Rate limiting - 100ms между email-и
-                Thread.sleep(100);
-            } catch (Exception e) {
-                log.error("Failed to send podcast notification to user: {}", user.getEmail(), e);
-            }
-        });
-
-        log.info("Finished sending podcast notifications");
+        // Chunk-ове по Mailjet, темпото го държи token bucket-ът в BulkEmailDispatcher (без sleep тук)
+        String title = episode.getTitle() == null ? "Нов епизод" : episode.getTitle();
+        String episodeLink = frontendProperties.origin() + "/podcast?episode=" + episode.getId();
+        emailService.sendBulkEmail(subscribers, "Нов епизод: " + title, "email/podcast-notification.html", Map.of(
+                "episodeTitle", title,
+                "episodeDescription", episode.getDescription() == null ? "" : episode.getDescription(),
+                "episodeLink", episodeLink,
+                "textContent", "Нов епизод от SmolyanVote подкаста: " + title + " — " + episodeLink));
     }
 
     @Override
@@ -8,6 +8,7 @@ import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserBanService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -17,10 +18,14 @@ public class UserBanServiceImpl implements UserBanService {
 
     private final UserRepository userRepository;
     private final MasterAdminPolicy masterAdminPolicy;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
-    public UserBanServiceImpl(UserRepository userRepository, MasterAdminPolicy masterAdminPolicy) {
+    public UserBanServiceImpl(UserRepository userRepository,
+                              MasterAdminPolicy masterAdminPolicy,
+                              JwtPrincipalCache jwtPrincipalCache) {
         this.userRepository = userRepository;
         this.masterAdminPolicy = masterAdminPolicy;
+        this.jwtPrincipalCache = jwtPrincipalCache;
     }
 
     @Override
@@ -39,6 +44,7 @@ public class UserBanServiceImpl implements UserBanService {
             user.setBannedByUsername(null);
             user.setBanDate(null);
             user.setModerationStrikeCount(0);
+            jwtPrincipalCache.invalidateUser(user.getId());
             return userRepository.save(user);
         }
 
@@ -111,6 +117,7 @@ public class UserBanServiceImpl implements UserBanService {
             user.setBanDate(Instant.now());
             user.setModerationStrikeCount(0);
             userRepository.save(user);
+            jwtPrincipalCache.invalidateUser(user.getId());
             return new StrikeResult(MAX_STRIKES_BEFORE_AUTO_BAN, 0, true, banEnd);
         }
 
@@ -1,7 +1,6 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,12 +15,16 @@ import smolyanVote.smolyanVote.componentsAndSecurity.MasterAdminPolicy;
 import smolyanVote.smolyanVote.models.BaseEntity;
 import smolyanVote.smolyanVote.models.UserEntity;
 import smolyanVote.smolyanVote.models.enums.*;
+import smolyanVote.smolyanVote.repositories.PublicationReactionRepository;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.ConfirmationLinkService;
 import smolyanVote.smolyanVote.services.interfaces.ActivityLogService;
 import smolyanVote.smolyanVote.services.interfaces.EmailService;
 import smolyanVote.smolyanVote.services.mappers.UsersMapper;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipal;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache;
+import smolyanVote.smolyanVote.services.support.PresenceRegistry;
 import smolyanVote.smolyanVote.viewsAndDTO.UserProfileViewModel;
 import smolyanVote.smolyanVote.viewsAndDTO.UserRegistrationViewModel;
 
@@ -47,6 +50,9 @@ public class UserServiceImpl implements UserService {
     private final EmailService emailService;
     private final ActivityLogService activityLogService;
     private final MasterAdminPolicy masterAdminPolicy;
+    private final PresenceRegistry presenceRegistry;
+    private final PublicationReactionRepository publicationReactionRepository;
+    private final JwtPrincipalCache jwtPrincipalCache;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository,
@@ -57,7 +63,10 @@ public class UserServiceImpl implements UserService {
                            ConfirmationLinkService confirmationLinkService,
                            EmailService emailService,
                            ActivityLogService activityLogService,
-                           MasterAdminPolicy masterAdminPolicy) {
+                           MasterAdminPolicy masterAdminPolicy,
+                           PresenceRegistry presenceRegistry,
+                           PublicationReactionRepository publicationReactionRepository,
+                           JwtPrincipalCache jwtPrincipalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userDetailsService = userDetailsService;
@@ -67,6 +76,9 @@ public class UserServiceImpl implements UserService {
         this.emailService = emailService;
         this.activityLogService = activityLogService;
         this.masterAdminPolicy = masterAdminPolicy;
+        this.presenceRegistry = presenceRegistry;
+        this.publicationReactionRepository = publicationReactionRepository;
+        this.jwtPrincipalCache = jwtPrincipalCache;
     }
 
     /**
@@ -149,11 +161,10 @@ public class UserServiceImpl implements UserService {
         if (authentication != null && authentication.isAuthenticated()) {
             String identifier = null;
 
-            // JWT автентикация (JwtAuthenticationFilter поставя UserEntity директно
-            // като principal) - authentication.getName() би върнал UserEntity#toString(),
-            // затова връщаме entity-то веднага, без email/username lookup.
-            if (authentication.getPrincipal() instanceof UserEntity) {
-                return (UserEntity) authentication.getPrincipal();
+            // JWT автентикация: principal-ът е само кешираната идентичност (JwtPrincipal),
+            // затова зареждаме свеж managed UserEntity по id за всяка заявка.
+            if (authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+                return userRepository.findById(jwtPrincipal.userId()).orElse(null);
             }
 
             // Проверка за OAuth2User (Google/Facebook login)
@@ -214,6 +225,8 @@ public class UserServiceImpl implements UserService {
             String deletedEmail = user.get().getEmail();
 
             System.out.println("Delete user => "+currentUser.getUsername());
+            publicationReactionRepository.releaseReactionCountsOfUser(userId);
+            publicationReactionRepository.deleteAllByUserId(userId);
             userRepository.delete(currentUser);
 
             // Activity logging for admin log panel СЛЕД успешното изтриване
@@ -410,19 +423,20 @@ public class UserServiceImpl implements UserService {
 
         // Запазване на обновените данни
         userRepository.save(user);
+        jwtPrincipalCache.invalidateUser(user.getId());
     }
 
     // ====== SIDEBAR METHODS =====
 
     @Override
     public long getOnlineUsersCount() {
-        return userRepository.countByOnlineStatus(1); // 1 = online
+        return presenceRegistry.getOnlineCount();
     }
 
     @Override
-    public List<UserEntity> getOnlineUsers(int limit) {
+    public List<PresenceRegistry.OnlineUser> getOnlineUsers(int limit) {
         int size = Math.min(Math.max(limit, 1), 20);
-        return userRepository.findOnlineUsers(1, PageRequest.of(0, size));
+        return presenceRegistry.getOnlineUsers(size);
     }
 
 }
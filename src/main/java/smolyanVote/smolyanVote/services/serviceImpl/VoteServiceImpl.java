@@ -1,8 +1,13 @@
 package smolyanVote.smolyanVote.services.serviceImpl;
 
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smolyanVote.smolyanVote.annotations.LogActivity;
 import smolyanVote.smolyanVote.models.*;
 import smolyanVote.smolyanVote.models.enums.ActivityActionEnum;
@@ -13,10 +18,20 @@ import smolyanVote.smolyanVote.services.interfaces.VoteService;
 import smolyanVote.smolyanVote.services.support.VoteIpGuardService;
 
 import java.util.List;
-
+import java.util.concurrent.Executor;
+
+/**
+ * Гласуване: броячите на събитието и user.totalVotes се увеличават с атомарни
+ * {@code UPDATE ... SET col = col + 1}, така че паралелни гласове не се губят.
+ * UPDATE-ът на събитието върви преди insert-а на vote реда: иначе FK проверката на insert-а
+ * взима shared lock на реда на събитието и два паралелни гласа се deadlock-ват при ъпгрейда му.
+ * Creator-ът се търси и се нотифицира след commit, извън транзакцията на гласа.
+ */
 @Service
 public class VoteServiceImpl implements VoteService {
 
+    private static final Logger log = LoggerFactory.getLogger(VoteServiceImpl.class);
+
     private final SimpleEventRepository simpleEventRepository;
     private final UserRepository userRepository;
     private final VoteSimpleEventRepository voteSimpleEventRepository;
@@ -26,6 +41,7 @@ public class VoteServiceImpl implements VoteService {
     private final VoteMultiPollRepository voteMultiPollRepository;
     private final NotificationService notificationService;
     private final VoteIpGuardService voteIpGuardService;
+    private final Executor notificationExecutor;
 
     private static final String EVENT_TYPE_SIMPLE = "SIMPLE_EVENT";
     private static final String EVENT_TYPE_REFERENDUM = "REFERENDUM";
@@ -40,7 +56,8 @@ public class VoteServiceImpl implements VoteService {
                            MultiPollRepository multiPollRepository,
                            VoteMultiPollRepository voteMultiPollRepository,
                            NotificationService notificationService,
-                           VoteIpGuardService voteIpGuardService) {
+                           VoteIpGuardService voteIpGuardService,
+                           @Qualifier("taskExecutor") Executor notificationExecutor) {
         this.simpleEventRepository = simpleEventRepository;
         this.userRepository = userRepository;
         this.voteSimpleEventRepository = voteSimpleEventRepository;
@@ -50,6 +67,7 @@ public class VoteServiceImpl implements VoteService {
         this.voteMultiPollRepository = voteMultiPollRepository;
         this.notificationService = notificationService;
         this.voteIpGuardService = voteIpGuardService;
+        this.notificationExecutor = notificationExecutor;
     }
 
 
@@ -69,39 +87,24 @@ public class VoteServiceImpl implements VoteService {
 
         voteIpGuardService.reserveIpSlot(ipAddress, eventId, EVENT_TYPE_SIMPLE, user.getId());
 
-        VoteSimpleEventEntity vote = new VoteSimpleEventEntity();
-        vote.setUser(user);
-        vote.setEvent(event);
-        vote.setVoteValue(voteValue);
-        voteSimpleEventRepository.save(vote);
-
+        int yes = 0, no = 0, neutral = 0;
         switch (voteValue.toLowerCase()) {
-            case "1" -> {
-                event.setYesVotes(event.getYesVotes() + 1);
-                event.setTotalVotes(event.getTotalVotes() + 1);
-            }
-            case "2" -> {
-                event.setNoVotes(event.getNoVotes() + 1);
-                event.setTotalVotes(event.getTotalVotes() + 1);
-            }
-            case "3" -> {
-                event.setNeutralVotes(event.getNeutralVotes() + 1);
-                event.setTotalVotes(event.getTotalVotes() + 1);
-            }
+            case "1" -> yes = 1;
+            case "2" -> no = 1;
+            case "3" -> neutral = 1;
             default -> throw new IllegalArgumentException("Невалиден вот: " + voteValue);
         }
 
-        simpleEventRepository.save(event);
+        simpleEventRepository.addVote(eventId, yes, no, neutral);
 
-        user.setTotalVotes(user.getTotalVotes() + 1);
-        userRepository.save(user);
+        VoteSimpleEventEntity vote = new VoteSimpleEventEntity();
+        vote.setUser(user);
+        vote.setEvent(event);
+        vote.setVoteValue(voteValue);
+        voteSimpleEventRepository.save(vote);
+        userRepository.incrementTotalVotes(user.getId());
 
-        // ✅ НОТИФИКАЦИЯ - намери creator-а на събитието
-        UserEntity creator = userRepository.findByUsername(event.getCreatorName())
-                .orElse(null);
-        if (creator != null) {
-            notificationService.notifyNewVote(creator, user, "SIMPLEEVENT", eventId, event.getTitle());
-        }
+        notifyCreatorAfterCommit(event.getCreatorName(), user, "SIMPLEEVENT", eventId, event.getTitle());
     }
 
 
@@ -144,37 +147,16 @@ public class VoteServiceImpl implements VoteService {
             throw new IllegalArgumentException("Избрана е невалидна опция.");
         }
 
-        switch (voteIndex) {
-            case 0 -> referendum.setVotes1(referendum.getVotes1() + 1);
-            case 1 -> referendum.setVotes2(referendum.getVotes2() + 1);
-            case 2 -> referendum.setVotes3(referendum.getVotes3() + 1);
-            case 3 -> referendum.setVotes4(referendum.getVotes4() + 1);
-            case 4 -> referendum.setVotes5(referendum.getVotes5() + 1);
-            case 5 -> referendum.setVotes6(referendum.getVotes6() + 1);
-            case 6 -> referendum.setVotes7(referendum.getVotes7() + 1);
-            case 7 -> referendum.setVotes8(referendum.getVotes8() + 1);
-            case 8 -> referendum.setVotes9(referendum.getVotes9() + 1);
-            case 9 -> referendum.setVotes10(referendum.getVotes10() + 1);
-        }
-
-        referendum.setTotalVotes(referendum.getTotalVotes() + 1);
-        user.setTotalVotes(user.getTotalVotes() + 1);
-
-        userRepository.save(user);
-        referendumRepository.save(referendum);
+        referendumRepository.addVote(referendumId, voteIndex);
 
         VoteReferendumEntity vote = new VoteReferendumEntity();
         vote.setUser(user);
         vote.setReferendum(referendum);
         vote.setVoteValue(voteIndex);
         voteReferendumRepository.save(vote);
+        userRepository.incrementTotalVotes(user.getId());
 
-        // ✅ НОТИФИКАЦИЯ
-        UserEntity creator = userRepository.findByUsername(referendum.getCreatorName())
-                .orElse(null);
-        if (creator != null) {
-            notificationService.notifyNewVote(creator, user, "REFERENDUM", referendumId, referendum.getTitle());
-        }
+        notifyCreatorAfterCommit(referendum.getCreatorName(), user, "REFERENDUM", referendumId, referendum.getTitle());
 
         return "Гласът беше успешно отчетен.";
     }
@@ -216,46 +198,52 @@ public class VoteServiceImpl implements VoteService {
             }
         }
 
-        int optionsCounter = 0;
-        for (Integer optionIndex : selectedOptions) {
-            optionsCounter++;
-            switch (optionIndex) {
-                case 1 -> poll.setVotes1(poll.getVotes1() + 1);
-                case 2 -> poll.setVotes2(poll.getVotes2() + 1);
-                case 3 -> poll.setVotes3(poll.getVotes3() + 1);
-                case 4 -> poll.setVotes4(poll.getVotes4() + 1);
-                case 5 -> poll.setVotes5(poll.getVotes5() + 1);
-                case 6 -> poll.setVotes6(poll.getVotes6() + 1);
-                case 7 -> poll.setVotes7(poll.getVotes7() + 1);
-                case 8 -> poll.setVotes8(poll.getVotes8() + 1);
-                case 9 -> poll.setVotes9(poll.getVotes9() + 1);
-                case 10 -> poll.setVotes10(poll.getVotes10() + 1);
-            }
-        }
+        // Една и съща опция се брои веднъж
+        List<Integer> distinctOptions = selectedOptions.stream().distinct().toList();
+        multiPollRepository.addVote(pollId, distinctOptions, distinctOptions.size());
 
-        poll.setTotalVotes(poll.getTotalVotes() + optionsCounter);
-        poll.setTotalUsersVotes(poll.getTotalUsersVotes() + 1);
-
-        multiPollRepository.save(poll);
-
-        for (Integer optionIndex : selectedOptions) {
+        for (Integer optionIndex : distinctOptions) {
             VoteMultiPollEntity vote = new VoteMultiPollEntity();
             vote.setMultiPoll(poll);
             vote.setUser(user);
 
-            String optionText = poll.getOptions().get(optionIndex - 1);
+            String optionText = options.get(optionIndex - 1);
             vote.setOptionText(optionText);
 
             voteMultiPollRepository.save(vote);
         }
 
-        user.setTotalVotes(user.getTotalVotes() + 1);
-        userRepository.save(user);
+        userRepository.incrementTotalVotes(user.getId());
 
-        UserEntity creator = userRepository.findByUsername(poll.getCreatorName())
-                .orElse(null);
-        if (creator != null) {
-            notificationService.notifyNewVote(creator, user, "MULTI_POLL", pollId, poll.getTitle());
+        notifyCreatorAfterCommit(poll.getCreatorName(), user, "MULTI_POLL", pollId, poll.getTitle());
+    }
+
+    /**
+     * Търсенето на creator-а и нотификацията вървят в taskExecutor след commit: не държат
+     * заключения ред на събитието и не се случват за глас, който е бил rollback-нат.
+     */
+    private void notifyCreatorAfterCommit(String creatorName, UserEntity voter, String eventType,
+                                          Long eventId, String eventTitle) {
+        if (creatorName == null) {
+            return;
+        }
+        Runnable notify = () -> notificationExecutor.execute(() -> {
+            try {
+                userRepository.findByUsername(creatorName).ifPresent(creator ->
+                        notificationService.notifyNewVote(creator, voter, eventType, eventId, eventTitle));
+            } catch (Exception e) {
+                log.warn("Vote notification for {} {} failed: {}", eventType, eventId, e.getMessage());
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notify.run();
+                }
+            });
+        } else {
+            notify.run();
         }
     }
 }
@@ -0,0 +1,194 @@
+package smolyanVote.smolyanVote.services.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import smolyanVote.smolyanVote.config.websocket.ActivityWebSocketHandler;
+import smolyanVote.smolyanVote.models.ActivityLogEntity;
+import smolyanVote.smolyanVote.utils.BoundedRingBuffer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion stage for activity logs: producers ({@code ActivityLoggingAspect} via
+ * {@code ActivityLogService}) only {@link #submit} into a lock-free ring; one writer thread drains it
+ * every {@code flush-interval-ms} in JDBC batches of {@code batch-size} and sends admins a single
+ * {@code new_activities} WebSocket message per batch.
+ * <p>
+ * A full ring drops the event — counted in {@code activity_log.dropped} instead of vanishing the
+ * way the old executor's DiscardPolicy did.
+ */
+@Service
+public class ActivityLogPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogPipeline.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO activity_logs
+                (timestamp, user_id, username, action, entity_type, entity_id, details, ip_address, user_agent, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityWebSocketHandler activityWebSocketHandler;
+    private final BoundedRingBuffer<ActivityLogEntity> ring;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private ScheduledExecutorService writer;
+
+    public ActivityLogPipeline(JdbcTemplate jdbcTemplate,
+                               @Lazy ActivityWebSocketHandler activityWebSocketHandler,
+                               MeterRegistry meterRegistry,
+                               @Value("${smolyanvote.activity-log.capacity:8192}") int capacity,
+                               @Value("${smolyanvote.activity-log.batch-size:200}") int batchSize,
+                               @Value("${smolyanvote.activity-log.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.activityWebSocketHandler = activityWebSocketHandler;
+        this.ring = new BoundedRingBuffer<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+
+        Gauge.builder("activity_log.queue.depth", ring, BoundedRingBuffer::size)
+                .description("Activity events waiting to be written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("activity_log.dropped")
+                .description("Activity events rejected because the ring was full")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("activity_log.written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("activity_log.failed")
+                .description("Activity events lost to a failed batch insert")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("activity_log.flush")
+                .description("Latency of one batch insert + broadcast")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ActivityLog-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::drain, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    /** Never blocks and never touches the database on the caller's thread. */
+    public boolean submit(ActivityLogEntity activity) {
+        if (activity == null) {
+            return false;
+        }
+        if (!ring.offer(activity)) {
+            droppedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return ring.size();
+    }
+
+    /** Writes everything queued right now, one batch at a time. */
+    synchronized void drain() {
+        List<ActivityLogEntity> batch = new ArrayList<>(batchSize);
+        while (ring.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void flush(List<ActivityLogEntity> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            insert(batch);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.warn("Activity log batch insert failed ({} events): {}", batch.size(), e.getMessage());
+            return;
+        } finally {
+            sample.stop(flushTimer);
+        }
+
+        try {
+            activityWebSocketHandler.broadcastNewActivities(batch);
+        } catch (Exception e) {
+            log.debug("Activity broadcast failed: {}", e.getMessage());
+        }
+    }
+
+    private void insert(List<ActivityLogEntity> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (ActivityLogEntity activity : batch) {
+                    ps.setTimestamp(1, Timestamp.valueOf(activity.getTimestamp()));
+                    setLong(ps, 2, activity.getUserId());
+                    ps.setString(3, activity.getUsername());
+                    ps.setString(4, activity.getAction());
+                    ps.setString(5, activity.getEntityType());
+                    setLong(ps, 6, activity.getEntityId());
+                    ps.setString(7, activity.getDetails());
+                    ps.setString(8, activity.getIpAddress());
+                    ps.setString(9, activity.getUserAgent());
+                    ps.setTimestamp(10, Timestamp.valueOf(activity.getCreatedAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                // Ids are needed by the admin feed; MySQL returns them in insert order.
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < batch.size()) {
+                        batch.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws java.sql.SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package smolyanVote.smolyanVote.services.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizer + light stemmer for Bulgarian free text (signal titles, contract subjects).
+ * <p>
+ * Stemming follows Savoy's light stemmer for Bulgarian (the one Lucene ships): it strips the
+ * definite article and the plural endings and folds a few consonant alternations, so
+ * „ремонтът“, „ремонти“ and „ремонтите“ all land on „ремонт“. It never touches words shorter than
+ * four letters and does not try to be a full morphological analyser.
+ */
+public final class BulgarianAnalyzer {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "без", "във", "със", "към", "през", "след", "пред", "под", "над", "между", "или", "като",
+            "така", "това", "този", "тази", "тези", "онзи", "там", "тук", "все", "още", "вече", "има",
+            "няма", "което", "която", "който", "които", "ние", "вие", "той", "нас", "вас", "ще", "бъде",
+            "беше", "бяха", "може", "както", "защото", "дали", "обаче", "само", "много", "най", "при");
+
+    private BulgarianAnalyzer() {
+    }
+
+    /** Stems of the words in {@code text}, in order, stop words and very short tokens dropped. */
+    public static List<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> out = new ArrayList<>();
+        for (String raw : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (raw.length() < MIN_TOKEN || STOP_WORDS.contains(raw)) {
+                continue;
+            }
+            out.add(stem(raw));
+        }
+        return out;
+    }
+
+    public static String stem(String word) {
+        char[] s = word.toCharArray();
+        int len = s.length;
+        if (len < 4) {
+            return word;
+        }
+        if (len > 5 && endsWith(s, len, "ища")) {
+            return new String(s, 0, len - 3);
+        }
+        len = removeArticle(s, len);
+        len = removePlural(s, len);
+        if (len > 3) {
+            if (endsWith(s, len, "я")) {
+                len--;
+            }
+            if (endsWith(s, len, "а") || endsWith(s, len, "о") || endsWith(s, len, "е")) {
+                len--;
+            }
+        }
+        if (len > 4 && endsWith(s, len, "ен")) {
+            s[len - 2] = 'н';
+            len--;
+        }
+        if (len > 5 && s[len - 2] == 'ъ') {
+            s[len - 2] = s[len - 1];
+            len--;
+        }
+        return new String(s, 0, len);
+    }
+
+    private static int removeArticle(char[] s, int len) {
+        if (len > 6 && endsWith(s, len, "ият")) {
+            return len - 3;
+        }
+        if (len > 5 && (endsWith(s, len, "ът") || endsWith(s, len, "то") || endsWith(s, len, "те")
+                || endsWith(s, len, "та") || endsWith(s, len, "ия"))) {
+            return len - 2;
+        }
+        if (len > 4 && endsWith(s, len, "ят")) {
+            return len - 2;
+        }
+        return len;
+    }
+
+    private static int removePlural(char[] s, int len) {
+        if (len > 6) {
+            if (endsWith(s, len, "овци")) {
+                return len - 3;
+            }
+            if (endsWith(s, len, "ове")) {
+                return len - 3;
+            }
+            if (endsWith(s, len, "еве")) {
+                s[len - 3] = 'й';
+                return len - 2;
+            }
+        }
+        if (len > 5) {
+            if (endsWith(s, len, "ища")) {
+                return len - 3;
+            }
+            if (endsWith(s, len, "та")) {
+                return len - 2;
+            }
+            if (endsWith(s, len, "ци")) {
+                s[len - 2] = 'к';
+                return len - 1;
+            }
+            if (endsWith(s, len, "зи")) {
+                s[len - 2] = 'г';
+                return len - 1;
+            }
+            if (s[len - 3] == 'е' && s[len - 1] == 'и') {
+                s[len - 3] = 'я';
+                return len - 1;
+            }
+        }
+        if (len > 4) {
+            if (endsWith(s, len, "си")) {
+                s[len - 2] = 'х';
+                return len - 1;
+            }
+            if (endsWith(s, len, "и")) {
+                return len - 1;
+            }
+        }
+        return len;
+    }
+
+    private static boolean endsWith(char[] s, int len, String suffix) {
+        int n = suffix.length();
+        if (n > len) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (s[len - n + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
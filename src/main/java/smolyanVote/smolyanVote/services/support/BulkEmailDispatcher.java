@@ -0,0 +1,377 @@
+package smolyanVote.smolyanVote.services.support;
+
+import com.mailjet.client.ClientOptions;
+import com.mailjet.client.MailjetClient;
+import com.mailjet.client.MailjetRequest;
+import com.mailjet.client.MailjetResponse;
+import com.mailjet.client.errors.MailjetClientRequestException;
+import com.mailjet.client.errors.MailjetException;
+import com.mailjet.client.errors.MailjetRateLimitException;
+import com.mailjet.client.errors.MailjetServerException;
+import com.mailjet.client.errors.MailjetUnauthorizedException;
+import com.mailjet.client.resource.Emailv31;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import smolyanVote.smolyanVote.config.BulkEmailProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Mailings to many recipients (podcast subscribers, newsletters) through Mailjet v3.1.
+ * <p>
+ * Recipients are cut into chunks of {@code messages-per-call}; every chunk is one send call with
+ * that many messages. A token bucket decides when each chunk may go: instead of sleeping between
+ * emails the chunk is scheduled for the moment the bucket has its tokens, and {@code concurrency}
+ * senders render and post chunks in parallel, so rendering of one chunk overlaps the HTTP call of
+ * another. A chunk failing with 429, 5xx or an I/O error is rescheduled with exponential backoff;
+ * other 4xx (bad credentials, malformed request) would fail the same way again, so the chunk is
+ * given up at once. Messages Mailjet rejects one by one (bad address and the like) are counted as failed.
+ * <p>
+ * {@link #dispatch} returns right away — no request or async thread waits for a whole mailing.
+ */
+@Component
+public class BulkEmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEmailDispatcher.class);
+
+    public record Message(String to, String subject, String html, String text) {
+    }
+
+    public record Report(String label, int total, int sent, int failed, long elapsedMs) {
+        public double messagesPerSecond() {
+            return elapsedMs == 0 ? sent : sent * 1000.0 / elapsedMs;
+        }
+    }
+
+    private final MailjetClient client;
+    private final String senderEmail;
+    private final String senderName;
+    private final BulkEmailProperties properties;
+    private final TokenBucket bucket;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    public BulkEmailDispatcher(@Value("${mailjet.api.key}") String apiKey,
+                               @Value("${mailjet.api.secret}") String apiSecret,
+                               @Value("${mailjet.sender.email}") String senderEmail,
+                               @Value("${mailjet.sender.name}") String senderName,
+                               BulkEmailProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.client = new MailjetClient(ClientOptions.builder()
+                .apiKey(apiKey == null ? "" : apiKey.trim())
+                .apiSecretKey(apiSecret == null ? "" : apiSecret.trim())
+                .baseUrl(properties.getBaseUrl())
+                .build());
+        this.senderEmail = senderEmail;
+        this.senderName = senderName;
+        this.properties = properties;
+        this.bucket = new TokenBucket(properties.getMessagesPerSecond(), properties.getBurst(), System::nanoTime);
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), r -> {
+            Thread t = new Thread(r, "bulk-email-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bulk-email-pacer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.sentCounter = Counter.builder("email.bulk.sent")
+                .description("Bulk emails accepted by Mailjet")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("email.bulk.failed")
+                .description("Bulk emails rejected or given up after the last retry")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("email.bulk.retries")
+                .description("Chunks resent after 429 / 5xx / I/O errors")
+                .register(meterRegistry);
+        Gauge.builder("email.bulk.throughput", lastThroughput, AtomicLong::get)
+                .description("Messages per second of the last finished mailing")
+                .baseUnit("messages/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param render builds the message for one recipient; runs on the sender threads, chunk by chunk,
+     *               and may return null to skip a recipient
+     */
+    public <T> CompletableFuture<Report> dispatch(String label, List<T> recipients, Function<T, Message> render) {
+        Job job = new Job(label, recipients.size());
+        if (recipients.isEmpty()) {
+            return CompletableFuture.completedFuture(job.report());
+        }
+        int perCall = Math.max(1, Math.min(50, properties.getMessagesPerCall()));
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < recipients.size(); from += perCall) {
+            Chunk<T> chunk = new Chunk<>(recipients.subList(from, Math.min(recipients.size(), from + perCall)), render);
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            chunks.add(done);
+            schedule(job, chunk, 1, 0, done);
+        }
+        log.info("Bulk email {}: {} recipients in {} chunks", label, recipients.size(), chunks.size());
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            Report report = job.report();
+            lastThroughput.set(Math.round(report.messagesPerSecond()));
+            log.info("Bulk email {} finished: {} sent, {} failed in {} ms — {} messages/s",
+                    label, report.sent(), report.failed(), report.elapsedMs(),
+                    String.format("%.1f", report.messagesPerSecond()));
+            return report;
+        });
+    }
+
+    private <T> void schedule(Job job, Chunk<T> chunk, int attempt, long backoffNanos, CompletableFuture<Void> done) {
+        long delay = Math.max(backoffNanos, bucket.reserve(chunk.size()));
+        Runnable send = () -> senders.execute(() -> attempt(job, chunk, attempt, done));
+        if (delay <= 0) {
+            send.run();
+        } else {
+            scheduler.schedule(send, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> void attempt(Job job, Chunk<T> chunk, int attempt, CompletableFuture<Void> done) {
+        try {
+            List<Message> messages = chunk.messages();
+            if (attempt == 1) {
+                job.skipped(chunk.size() - messages.size());
+            }
+            if (!messages.isEmpty()) {
+                int rejected = post(messages);
+                job.finished(messages.size() - rejected, rejected);
+                sentCounter.increment(messages.size() - rejected);
+                failedCounter.increment(rejected);
+            }
+            done.complete(null);
+        } catch (RetryableSendException ex) {
+            if (attempt >= properties.getMaxAttempts()) {
+                log.error("Bulk email {}: chunk of {} given up after {} attempts: {}",
+                        job.label, chunk.size(), attempt, ex.getMessage());
+                int lost = chunk.messages().size();
+                job.finished(0, lost);
+                failedCounter.increment(lost);
+                done.complete(null);
+                return;
+            }
+            retryCounter.increment();
+            long backoffMs = properties.getRetryBaseDelayMs() << (attempt - 1);
+            log.warn("Bulk email {}: chunk of {} failed (attempt {}), retrying in {} ms: {}",
+                    job.label, chunk.size(), attempt, backoffMs, ex.getMessage());
+            schedule(job, chunk, attempt + 1, TimeUnit.MILLISECONDS.toNanos(backoffMs), done);
+        } catch (RuntimeException ex) {
+            log.error("Bulk email {}: chunk of {} failed: {}", job.label, chunk.size(), ex.getMessage(), ex);
+            // Skipped recipients are already counted once the chunk rendered
+            int lost = chunk.isRendered() ? chunk.messages().size() : chunk.size();
+            job.finished(0, lost);
+            failedCounter.increment(lost);
+            done.complete(null);
+        }
+    }
+
+    /** @return how many of the messages Mailjet rejected individually */
+    private int post(List<Message> messages) {
+        JSONArray payload = new JSONArray();
+        for (Message m : messages) {
+            payload.put(new JSONObject()
+                    .put(Emailv31.Message.FROM, new JSONObject()
+                            .put("Email", senderEmail)
+                            .put("Name", senderName))
+                    .put(Emailv31.Message.TO, new JSONArray()
+                            .put(new JSONObject().put("Email", m.to())))
+                    .put(Emailv31.Message.SUBJECT, m.subject())
+                    .put(Emailv31.Message.HTMLPART, m.html())
+                    .put(Emailv31.Message.TEXTPART, m.text()));
+        }
+        MailjetResponse response;
+        try {
+            response = client.post(new MailjetRequest(Emailv31.resource).property(Emailv31.MESSAGES, payload));
+        } catch (MailjetRateLimitException | MailjetServerException ex) {
+            throw new RetryableSendException(ex.getMessage());
+        } catch (MailjetUnauthorizedException | MailjetClientRequestException ex) {
+            throw new IllegalStateException("Mailjet rejected the request: " + ex.getMessage(), ex);
+        } catch (MailjetException ex) {
+            // connection refused, timeout and the like
+            throw new RetryableSendException(ex.getMessage());
+        }
+        int status = response.getStatus();
+        String body = response.getRawResponseContent() == null ? "" : response.getRawResponseContent();
+        if (status == 429 || status >= 500) {
+            throw new RetryableSendException("Mailjet HTTP " + status);
+        }
+        // v3.1 answers with a Status per message: 200 when all went, 400 when some were rejected
+        JSONArray results = messageResults(body);
+        if ((status >= 200 && status < 300) || (status == 400 && results != null)) {
+            return Math.min(messages.size(), rejected(results));
+        }
+        throw new IllegalStateException("Mailjet HTTP " + status + " body=" + truncate(body, 500));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        }
+    }
+
+    /** @return the {@code Messages} array of a v3.1 response, or null when the body has none */
+    private static JSONArray messageResults(String body) {
+        try {
+            return new JSONObject(body).optJSONArray("Messages");
+        } catch (JSONException ex) {
+            return null;
+        }
+    }
+
+    private static int rejected(JSONArray results) {
+        if (results == null) {
+            return 0;
+        }
+        int rejected = 0;
+        for (int i = 0; i < results.length(); i++) {
+            JSONObject result = results.optJSONObject(i);
+            if (result == null || !"success".equalsIgnoreCase(result.optString("Status"))) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max) + "...";
+    }
+
+    /** Rendered on first use, so a retry resends the same messages without rendering again. */
+    private static final class Chunk<T> {
+        private final List<T> recipients;
+        private final Function<T, Message> render;
+        private List<Message> messages;
+
+        Chunk(List<T> recipients, Function<T, Message> render) {
+            this.recipients = recipients;
+            this.render = render;
+        }
+
+        int size() {
+            return recipients.size();
+        }
+
+        boolean isRendered() {
+            return messages != null;
+        }
+
+        List<Message> messages() {
+            if (messages == null) {
+                List<Message> rendered = new ArrayList<>(recipients.size());
+                for (T recipient : recipients) {
+                    Message m = render.apply(recipient);
+                    if (m != null) {
+                        rendered.add(m);
+                    }
+                }
+                messages = rendered;
+            }
+            return messages;
+        }
+    }
+
+    /** Progress of one mailing; logged as chunks finish. */
+    private static final class Job {
+        private final String label;
+        private final int total;
+        private final long startedAt = System.nanoTime();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger done = new AtomicInteger();
+
+        Job(String label, int total) {
+            this.label = label;
+            this.total = total;
+        }
+
+        void skipped(int count) {
+            done.addAndGet(count);
+        }
+
+        void finished(int ok, int notOk) {
+            int s = sent.addAndGet(ok);
+            int f = failed.addAndGet(notOk);
+            int d = done.addAndGet(ok + notOk);
+            long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            log.info("Bulk email {}: {}/{} done ({} failed), {} messages/s",
+                    label, d, total, f, s * 1000L / elapsedMs);
+        }
+
+        Report report() {
+            return new Report(label, total, sent.get(), failed.get(), (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private static final class RetryableSendException extends RuntimeException {
+        RetryableSendException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Tokens refill at {@code perSecond} up to {@code capacity}. A reservation may run the balance
+     * negative; the caller then waits until the debt is paid off, so chunks larger than the burst
+     * still go out, just later.
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private final LongSupplier clock;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int perSecond, int capacity, LongSupplier clock) {
+            this.tokensPerNano = Math.max(1, perSecond) / 1e9;
+            this.capacity = Math.max(1, capacity);
+            this.clock = clock;
+            this.tokens = this.capacity;
+            this.refilledAt = clock.getAsLong();
+        }
+
+        /** @return nanoseconds to wait before the reserved permits may be used */
+        synchronized long reserve(int permits) {
+            long now = clock.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            tokens -= permits;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package smolyanVote.smolyanVote.services.support;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for view / share / listen counters.
+ * <p>
+ * Hot paths only bump an in-memory {@link LongAdder} per (counter, entity id); a scheduled flush
+ * turns the accumulated deltas into one JDBC batch of {@code UPDATE t SET c = c + ? WHERE id = ?}
+ * per counter — no entity load, no full-row save, no row lock held by a request thread.
+ * <p>
+ * Reads add {@link #pending} to the persisted value, so a client sees its own view at once and
+ * the number doesn't drop back when the delta is flushed. A slot lives only while it holds a
+ * delta: increments and the post-flush removal both go through {@code compute} on the same key,
+ * so an id that stops being viewed doesn't keep an entry forever.
+ */
+@Service
+public class EngagementCounterBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(EngagementCounterBuffer.class);
+
+    public enum Counter {
+        PUBLICATION_VIEWS("publications", "views_count"),
+        PUBLICATION_SHARES("publications", "shares_count"),
+        SIGNAL_VIEWS("signals", "views_count"),
+        PODCAST_LISTENS("podcast_episodes", "listen_count");
+
+        private final String sql;
+
+        Counter(String table, String column) {
+            this.sql = "UPDATE " + table + " SET " + column + " = COALESCE(" + column + ", 0) + ? WHERE id = ?";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Counter, ConcurrentHashMap<Long, Slot>> slots = new EnumMap<>(Counter.class);
+
+    public EngagementCounterBuffer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Counter counter : Counter.values()) {
+            slots.put(counter, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void increment(Counter counter, Long entityId) {
+        if (entityId == null) {
+            return;
+        }
+        slots.get(counter).compute(entityId, (id, slot) -> {
+            Slot target = slot != null ? slot : new Slot();
+            target.pending.increment();
+            return target;
+        });
+    }
+
+    /** Delta not yet visible in the database (buffered + currently being flushed). */
+    public long pending(Counter counter, Long entityId) {
+        if (entityId == null) {
+            return 0;
+        }
+        Slot slot = slots.get(counter).get(entityId);
+        return slot == null ? 0 : slot.pending.sum() + slot.inFlight.get();
+    }
+
+    /** Persisted value plus pending delta, for DTOs built from a freshly loaded entity. */
+    public int merged(Counter counter, Long entityId, Integer persisted) {
+        long total = (persisted == null ? 0 : persisted) + pending(counter, entityId);
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    public long merged(Counter counter, Long entityId, Long persisted) {
+        return (persisted == null ? 0 : persisted) + pending(counter, entityId);
+    }
+
+    @Scheduled(fixedDelayString = "${smolyanvote.counters.flush-interval-ms:5000}")
+    public void flush() {
+        for (Counter counter : Counter.values()) {
+            flush(counter);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Counter counter) {
+        ConcurrentHashMap<Long, Slot> counterSlots = slots.get(counter);
+        List<Object[]> batch = new ArrayList<>();
+        List<Slot> drained = new ArrayList<>();
+
+        counterSlots.forEach((id, slot) -> {
+            long delta = slot.pending.sumThenReset();
+            if (delta != 0) {
+                // inFlight keeps the delta readable until the UPDATE has committed.
+                slot.inFlight.addAndGet(delta);
+                batch.add(new Object[]{delta, id});
+                drained.add(slot);
+            } else {
+                removeIfIdle(counterSlots, id);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        boolean flushed = false;
+        try {
+            jdbcTemplate.batchUpdate(counter.sql, batch);
+            flushed = true;
+        } catch (Exception e) {
+            log.warn("Counter flush failed for {} ({} rows): {}", counter, batch.size(), e.getMessage());
+        } finally {
+            for (int i = 0; i < drained.size(); i++) {
+                long delta = (Long) batch.get(i)[0];
+                Slot slot = drained.get(i);
+                if (!flushed) {
+                    // Hand the delta back so the next flush retries it.
+                    slot.pending.add(delta);
+                }
+                slot.inFlight.addAndGet(-delta);
+                removeIfIdle(counterSlots, (Long) batch.get(i)[1]);
+            }
+        }
+    }
+
+    /** Drops the slot unless an increment landed after the drain; atomic with {@link #increment}. */
+    private static void removeIfIdle(ConcurrentHashMap<Long, Slot> counterSlots, Long id) {
+        counterSlots.computeIfPresent(id, (key, slot) -> slot.isIdle() ? null : slot);
+    }
+
+    /** Number of ids currently holding a slot for the counter. */
+    int trackedIds(Counter counter) {
+        return slots.get(counter).size();
+    }
+
+    private static final class Slot {
+        private final LongAdder pending = new LongAdder();
+        private final AtomicLong inFlight = new AtomicLong();
+
+        private boolean isIdle() {
+            return pending.sum() == 0 && inFlight.get() == 0;
+        }
+    }
+}
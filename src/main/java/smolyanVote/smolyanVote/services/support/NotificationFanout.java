@@ -0,0 +1,230 @@
+package smolyanVote.smolyanVote.services.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import smolyanVote.smolyanVote.componentsAndSecurity.NotificationWebSocketHandler;
+import smolyanVote.smolyanVote.models.NotificationEntity;
+import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.repositories.UserRepository;
+import smolyanVote.smolyanVote.viewsAndDTO.NotificationDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One notification to many recipients (signal subscribers, podcast subscribers, admins).
+ * <p>
+ * Instead of one {@code create} per recipient — a duplicate check query, a single-row insert and a
+ * WebSocket send each — the caller resolves recipients in one query and hands them over here:
+ * duplicates are filtered against an in-memory window of recent notifications, the rows go in as
+ * JDBC batches of {@code batch-size}, and the connected recipients get their messages through one
+ * {@link NotificationWebSocketHandler#sendToUsers} dispatch.
+ * <p>
+ * The window lives in this JVM only, so it forgets on restart; it covers the bursts (a signal
+ * resolved, reopened and resolved again within minutes) that the old DB check was there for.
+ * A recipient enters the window only once their row is committed, so a failed insert can be retried.
+ */
+@Service
+public class NotificationFanout {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanout.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications
+                (recipient_id, type, message, actor_username, entity_type, entity_id, action_url, is_read, created_at, priority)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+            """;
+
+    public record Recipient(Long id, String username) {
+    }
+
+    /** What every recipient gets; the message is already rendered. */
+    public record Template(String type, String message, String actorUsername,
+                           String entityType, Long entityId, String actionUrl) {
+    }
+
+    private record DedupKey(Long recipientId, String type, String entityType, Long entityId, String actorUsername) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationWebSocketHandler webSocket;
+    private final UserRepository userRepository;
+    private final Cache<DedupKey, Boolean> recent;
+    private final int batchSize;
+
+    private final Counter createdCounter;
+    private final Counter duplicateCounter;
+    private final Timer fanoutTimer;
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    public NotificationFanout(JdbcTemplate jdbcTemplate,
+                              NotificationWebSocketHandler webSocket,
+                              UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${smolyanvote.notifications.fanout.batch-size:500}") int batchSize,
+                              @Value("${smolyanvote.notifications.fanout.dedup-window:5m}") Duration dedupWindow,
+                              @Value("${smolyanvote.notifications.fanout.dedup-capacity:200000}") long dedupCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.webSocket = webSocket;
+        this.userRepository = userRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.recent = Caffeine.newBuilder()
+                .expireAfterWrite(dedupWindow)
+                .maximumSize(dedupCapacity)
+                .build();
+
+        this.createdCounter = Counter.builder("notifications.fanout.created")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("notifications.fanout.duplicates")
+                .description("Recipients skipped because the same notification went out within the window")
+                .register(meterRegistry);
+        this.fanoutTimer = Timer.builder("notifications.fanout")
+                .description("One fan-out: dedupe, batch insert and WebSocket dispatch")
+                .register(meterRegistry);
+        Gauge.builder("notifications.fanout.throughput", lastThroughput, AtomicLong::get)
+                .description("Notifications per second in the last fan-out")
+                .baseUnit("notifications/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param exclude recipient who caused the notification (not notified about their own action); may be null
+     * @return how many notifications were created
+     */
+    public int fanOut(Template template, Collection<Recipient> recipients, Long exclude) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationEntity> rows = new ArrayList<>();
+        List<DedupKey> keys = new ArrayList<>();
+        Map<Long, String> usernames = new LinkedHashMap<>();
+        for (Recipient recipient : recipients) {
+            if (recipient.id() == null || Objects.equals(recipient.id(), exclude)
+                    || usernames.containsKey(recipient.id())) {
+                continue;
+            }
+            DedupKey key = new DedupKey(recipient.id(), template.type(), template.entityType(),
+                    template.entityId(), template.actorUsername());
+            if (recent.getIfPresent(key) != null) {
+                duplicateCounter.increment();
+                continue;
+            }
+            usernames.put(recipient.id(), recipient.username());
+            rows.add(toEntity(template, recipient.id(), now));
+            keys.add(key);
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            int to = Math.min(rows.size(), from + batchSize);
+            insert(rows.subList(from, to));
+            remember(keys.subList(from, to));
+        }
+        createdCounter.increment(rows.size());
+
+        String actorImage = template.actorUsername() == null ? null
+                : userRepository.findByUsername(template.actorUsername()).map(UserEntity::getImageUrl).orElse(null);
+        Map<String, NotificationDTO> outgoing = new LinkedHashMap<>();
+        for (NotificationEntity row : rows) {
+            String username = usernames.get(row.getRecipient().getId());
+            if (username != null) {
+                NotificationDTO dto = NotificationDTO.fromEntity(row);
+                dto.setActorImageUrl(actorImage);
+                outgoing.put(username, dto);
+            }
+        }
+        int delivered = webSocket.sendToUsers(outgoing);
+
+        long elapsedNanos = System.nanoTime() - started;
+        fanoutTimer.record(Duration.ofNanos(elapsedNanos));
+        long perSecond = rows.size() * 1_000_000_000L / Math.max(1, elapsedNanos);
+        lastThroughput.set(perSecond);
+        log.info("Notification fan-out {}: {} created ({} live over WebSocket) in {} ms — {} notifications/s",
+                template.type(), rows.size(), delivered, elapsedNanos / 1_000_000, perSecond);
+        return rows.size();
+    }
+
+    /** Opens the window for rows that are in the database — after commit when called inside a transaction. */
+    private void remember(List<DedupKey> inserted) {
+        List<DedupKey> copy = List.copyOf(inserted);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    copy.forEach(key -> recent.put(key, Boolean.TRUE));
+                }
+            });
+        } else {
+            copy.forEach(key -> recent.put(key, Boolean.TRUE));
+        }
+    }
+
+    private static NotificationEntity toEntity(Template template, Long recipientId, LocalDateTime now) {
+        UserEntity recipient = new UserEntity();
+        recipient.setId(recipientId);
+        NotificationEntity entity = new NotificationEntity(recipient, template.type(), template.message());
+        entity.setActorUsername(template.actorUsername());
+        entity.setEntityType(template.entityType());
+        entity.setEntityId(template.entityId());
+        entity.setActionUrl(template.actionUrl());
+        entity.setCreatedAt(now);
+        return entity;
+    }
+
+    private void insert(List<NotificationEntity> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (NotificationEntity n : batch) {
+                    ps.setLong(1, n.getRecipient().getId());
+                    ps.setString(2, n.getType());
+                    ps.setString(3, n.getMessage());
+                    ps.setString(4, n.getActorUsername());
+                    ps.setString(5, n.getEntityType());
+                    if (n.getEntityId() == null) {
+                        ps.setNull(6, Types.BIGINT);
+                    } else {
+                        ps.setLong(6, n.getEntityId());
+                    }
+                    ps.setString(7, n.getActionUrl());
+                    ps.setTimestamp(8, Timestamp.valueOf(n.getCreatedAt()));
+                    ps.setString(9, n.getPriority());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                // The client marks notifications read by id; MySQL returns keys in insert order.
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < batch.size()) {
+                        batch.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,190 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import smolyanVote.smolyanVote.models.UserEntity;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-memory online presence — fed by {@code POST /heartbeat} and by WebSocket connect/disconnect
+ * (notifications + SVMessenger). Online counts and the "Активни сега" list are answered from here.
+ * A user is online exactly while they hold at least one WebSocket session, which matches the
+ * offline broadcast sent when the last one closes; heartbeats only refresh {@code last_online}.
+ * <p>
+ * Every mutation and the flush-time eviction go through {@code compute} on the user's key, so an
+ * entry is never dropped while a concurrent touch/connect is updating it.
+ * <p>
+ * The {@code users.online_status / last_online} columns are still kept for profile pages and
+ * admin lists, but only through {@link #flushToDatabase()}: one batched UPDATE per run for users
+ * that changed state or whose last-seen drifted more than {@code persist-interval} from the DB.
+ */
+@Service
+public class PresenceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceRegistry.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET online_status = ?, last_online = ? WHERE id = ?";
+
+    /** Snapshot used by the sidebar widgets. */
+    public record OnlineUser(Long id, String username, String imageUrl, Instant lastSeen) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration persistInterval;
+    private final Map<Long, Presence> presences = new ConcurrentHashMap<>();
+
+    public PresenceRegistry(JdbcTemplate jdbcTemplate,
+                            @Value("${smolyanvote.presence.persist-interval:5m}") Duration persistInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.persistInterval = persistInterval;
+    }
+
+    /** Nobody is connected right after a restart — clear flags the previous process left behind. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resetStaleOnlineFlags() {
+        try {
+            int cleared = jdbcTemplate.update("UPDATE users SET online_status = 0 WHERE online_status = 1");
+            if (cleared > 0) {
+                log.info("Presence: cleared {} stale online flags", cleared);
+            }
+        } catch (Exception e) {
+            log.warn("Presence: could not reset online flags: {}", e.getMessage());
+        }
+    }
+
+    public void touch(UserEntity user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        update(user, presence -> presence.lastSeen = Instant.now());
+    }
+
+    public void connected(UserEntity user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        update(user, presence -> {
+            presence.sessions.incrementAndGet();
+            presence.lastSeen = Instant.now();
+        });
+    }
+
+    public void disconnected(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        presences.computeIfPresent(userId, (id, presence) -> {
+            presence.sessions.updateAndGet(n -> Math.max(0, n - 1));
+            presence.lastSeen = Instant.now();
+            return presence;
+        });
+    }
+
+    public long getOnlineCount() {
+        return presences.values().stream().filter(Presence::isOnline).count();
+    }
+
+    /** Most recently seen online users first. */
+    public List<OnlineUser> getOnlineUsers(int limit) {
+        return presences.values().stream()
+                .filter(Presence::isOnline)
+                .sorted(Comparator.comparing((Presence p) -> p.lastSeen).reversed())
+                .limit(Math.max(limit, 0))
+                .map(p -> new OnlineUser(p.userId, p.username, p.imageUrl, p.lastSeen))
+                .toList();
+    }
+
+    /**
+     * Writes coalesced presence changes. Entries that went offline and are persisted as such are
+     * dropped from memory so the map only holds recently active users.
+     */
+    public void flushToDatabase() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Presence> written = new ArrayList<>();
+
+        presences.forEach((userId, presence) -> {
+            boolean online = presence.isOnline();
+            Instant lastSeen = presence.lastSeen;
+            if (presence.needsWrite(online, lastSeen, persistInterval)) {
+                batch.add(new Object[]{online ? 1 : 0, Timestamp.from(lastSeen), userId});
+                written.add(presence);
+            } else if (!online) {
+                // Re-checked under the key's lock: a touch/connect since the read above keeps the entry.
+                presences.computeIfPresent(userId, (id, current) -> current.isPersistedOffline() ? null : current);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            for (int i = 0; i < written.size(); i++) {
+                Object[] row = batch.get(i);
+                Presence presence = written.get(i);
+                presence.persistedOnline = ((Integer) row[0]) == 1;
+                presence.persistedLastSeen = ((Timestamp) row[1]).toInstant();
+            }
+        } catch (Exception e) {
+            log.warn("Presence flush failed ({} users): {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void update(UserEntity user, Consumer<Presence> change) {
+        presences.compute(user.getId(), (id, existing) -> {
+            Presence presence = existing != null ? existing : new Presence(id);
+            // Cheap to refresh on every touch — keeps avatar/username changes visible in the sidebar.
+            presence.username = user.getUsername();
+            presence.imageUrl = user.getImageUrl();
+            change.accept(presence);
+            return presence;
+        });
+    }
+
+    private static final class Presence {
+        private final Long userId;
+        private final AtomicInteger sessions = new AtomicInteger();
+        private volatile String username;
+        private volatile String imageUrl;
+        private volatile Instant lastSeen = Instant.now();
+        private volatile Boolean persistedOnline;
+        private volatile Instant persistedLastSeen;
+
+        private Presence(Long userId) {
+            this.userId = userId;
+        }
+
+        private boolean isOnline() {
+            return sessions.get() > 0;
+        }
+
+        /** State flipped, online last_online drifted past the interval, or offline last_online moved at all. */
+        private boolean needsWrite(boolean online, Instant seen, Duration persistInterval) {
+            if (persistedOnline == null || persistedOnline != online || persistedLastSeen == null) {
+                return true;
+            }
+            return online
+                    ? Duration.between(persistedLastSeen, seen).compareTo(persistInterval) >= 0
+                    : !seen.equals(persistedLastSeen);
+        }
+
+        private boolean isPersistedOffline() {
+            return !isOnline() && Boolean.FALSE.equals(persistedOnline) && lastSeen.equals(persistedLastSeen);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package smolyanVote.smolyanVote.services.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable Aho–Corasick automaton over the profanity dictionary. One left-to-right pass over
+ * the text finds every dictionary entry, independent of dictionary size; a hit only counts when
+ * it is a whole word — not preceded or followed by a letter or digit (same rule as the old
+ * {@code (?<![\p{L}\p{N}])word(?![\p{L}\p{N}])} regex).
+ * <p>
+ * Case folding is per code point ({@link #fold}), so Cyrillic and Latin fold alike and text
+ * positions stay aligned with the original for the boundary check.
+ */
+public final class ProfanityMatcher {
+
+    public static final ProfanityMatcher EMPTY = compile(List.of());
+
+    private static final int ROOT = 0;
+
+    // Node i: sorted transition labels/targets, failure link, dictionary (output) link,
+    // and the word ending exactly here (-1 when none).
+    private final int[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] outputLink;
+    private final int[] wordAt;
+    private final String[] words;
+    private final int[] wordLengths;
+
+    private ProfanityMatcher(int[][] labels, int[][] targets, int[] fail, int[] outputLink,
+                             int[] wordAt, String[] words, int[] wordLengths) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputLink = outputLink;
+        this.wordAt = wordAt;
+        this.words = words;
+        this.wordLengths = wordLengths;
+    }
+
+    public static ProfanityMatcher compile(Collection<String> dictionary) {
+        Builder builder = new Builder();
+        Set<String> seen = new LinkedHashSet<>();
+        for (String raw : dictionary) {
+            if (raw == null) {
+                continue;
+            }
+            String word = foldString(raw.trim());
+            if (!word.isEmpty() && seen.add(word)) {
+                builder.add(word);
+            }
+        }
+        return builder.build(seen.toArray(String[]::new));
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public boolean containsAny(String text) {
+        return scan(text, null);
+    }
+
+    /** Distinct dictionary words found in {@code text}, in order of first occurrence. */
+    public List<String> findAll(String text) {
+        Set<String> found = new LinkedHashSet<>();
+        scan(text, found);
+        return List.copyOf(found);
+    }
+
+    /** Lower-case of upper-case: folds variants like 'ſ' or Greek final sigma together. */
+    static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    static String foldString(String value) {
+        return value.codePoints()
+                .map(ProfanityMatcher::fold)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString();
+    }
+
+    /** Returns on the first hit when {@code sink} is null; otherwise collects all hits. */
+    private boolean scan(String text, Set<String> sink) {
+        if (text == null || text.isEmpty() || words.length == 0) {
+            return false;
+        }
+        int[] cps = text.codePoints().map(ProfanityMatcher::fold).toArray();
+        boolean any = false;
+        int state = ROOT;
+        for (int i = 0; i < cps.length; i++) {
+            state = next(state, cps[i]);
+            if (isWordChar(cps, i + 1)) {
+                continue; // a hit ending here would run into the next word
+            }
+            for (int node = wordAt[state] >= 0 ? state : outputLink[state]; node != ROOT; node = outputLink[node]) {
+                int word = wordAt[node];
+                if (!isWordChar(cps, i - wordLengths[word])) {
+                    if (sink == null) {
+                        return true;
+                    }
+                    sink.add(words[word]);
+                    any = true;
+                }
+            }
+        }
+        return any;
+    }
+
+    private int next(int state, int cp) {
+        while (true) {
+            int idx = Arrays.binarySearch(labels[state], cp);
+            if (idx >= 0) {
+                return targets[state][idx];
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    /** {@code \p{L}} or {@code \p{N}}. */
+    private static boolean isWordChar(int[] cps, int index) {
+        if (index < 0 || index >= cps.length) {
+            return false;
+        }
+        int cp = cps[index];
+        if (Character.isLetter(cp)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+    }
+
+    private static final class Builder {
+
+        private final List<int[]> labelList = new ArrayList<>();
+        private final List<int[]> targetList = new ArrayList<>();
+        private final List<Integer> wordList = new ArrayList<>();
+
+        private Builder() {
+            newNode();
+        }
+
+        private int newNode() {
+            labelList.add(new int[0]);
+            targetList.add(new int[0]);
+            wordList.add(-1);
+            return labelList.size() - 1;
+        }
+
+        private int child(int node, int cp) {
+            int[] keys = labelList.get(node);
+            int idx = Arrays.binarySearch(keys, cp);
+            if (idx >= 0) {
+                return targetList.get(node)[idx];
+            }
+            int created = newNode();
+            int insertAt = -idx - 1;
+            labelList.set(node, insert(keys, insertAt, cp));
+            targetList.set(node, insert(targetList.get(node), insertAt, created));
+            return created;
+        }
+
+        private int wordCount;
+
+        void add(String word) {
+            int node = ROOT;
+            for (int cp : word.codePoints().toArray()) {
+                node = child(node, cp);
+            }
+            wordList.set(node, wordCount++);
+        }
+
+        ProfanityMatcher build(String[] words) {
+            int n = labelList.size();
+            int[][] labels = labelList.toArray(int[][]::new);
+            int[][] targets = targetList.toArray(int[][]::new);
+            int[] wordAt = wordList.stream().mapToInt(Integer::intValue).toArray();
+            int[] fail = new int[n];
+            int[] outputLink = new int[n];
+            int[] wordLengths = Arrays.stream(words).mapToInt(w -> (int) w.codePoints().count()).toArray();
+
+            // BFS: a node's failure target is always shallower, so it is final before we need it.
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[ROOT]) {
+                fail[child] = ROOT;
+                outputLink[child] = ROOT;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int k = 0; k < labels[node].length; k++) {
+                    int cp = labels[node][k];
+                    int child = targets[node][k];
+                    int f = fail[node];
+                    while (true) {
+                        int idx = Arrays.binarySearch(labels[f], cp);
+                        if (idx >= 0) {
+                            f = targets[f][idx];
+                            break;
+                        }
+                        if (f == ROOT) {
+                            break;
+                        }
+                        f = fail[f];
+                    }
+                    fail[child] = f;
+                    outputLink[child] = wordAt[f] >= 0 ? f : outputLink[f];
+                    queue.add(child);
+                }
+            }
+            return new ProfanityMatcher(labels, targets, fail, outputLink, wordAt, words, wordLengths);
+        }
+
+        private static int[] insert(int[] array, int index, int value) {
+            int[] copy = new int[array.length + 1];
+            System.arraycopy(array, 0, copy, 0, index);
+            copy[index] = value;
+            System.arraycopy(array, index, copy, index + 1, array.length - index);
+            return copy;
+        }
+    }
+}
@@ -83,14 +83,7 @@ public class ReputationCounterService {
         if (votes == null) {
             return;
         }
-        for (VoteSimpleEventEntity vote : votes) {
-            UserEntity voter = vote.getUser();
-            if (voter == null) {
-                continue;
-            }
-            voter.setTotalVotes(Math.max(0, voter.getTotalVotes() - 1));
-            userRepository.save(voter);
-        }
+        decrementTotalVotes(votes.stream().map(VoteSimpleEventEntity::getUser).toList());
     }
 
     @Transactional
@@ -98,14 +91,7 @@ public class ReputationCounterService {
         if (votes == null) {
             return;
         }
-        for (VoteReferendumEntity vote : votes) {
-            UserEntity voter = vote.getUser();
-            if (voter == null) {
-                continue;
-            }
-            voter.setTotalVotes(Math.max(0, voter.getTotalVotes() - 1));
-            userRepository.save(voter);
-        }
+        decrementTotalVotes(votes.stream().map(VoteReferendumEntity::getUser).toList());
     }
 
     /**
@@ -125,11 +111,19 @@ public class ReputationCounterService {
             }
             decrementByUserId.merge(voter.getId(), 1, Integer::sum);
         }
-        for (Map.Entry<Long, Integer> entry : decrementByUserId.entrySet()) {
-            userRepository.findById(entry.getKey()).ifPresent(user -> {
-                user.setTotalVotes(Math.max(0, user.getTotalVotes() - 1));
-                userRepository.save(user);
-            });
+        for (Long userId : decrementByUserId.keySet()) {
+            userRepository.decrementTotalVotes(userId, 1);
+        }
+    }
+
+    /** totalVotes е updatable = false — намалява се с атомарен UPDATE, по един за всеки гласувал. */
+    private void decrementTotalVotes(List<UserEntity> voters) {
+        Map<Long, Integer> byUserId = new HashMap<>();
+        for (UserEntity voter : voters) {
+            if (voter != null && voter.getId() != null) {
+                byUserId.merge(voter.getId(), 1, Integer::sum);
+            }
         }
+        byUserId.forEach(userRepository::decrementTotalVotes);
     }
 }
@@ -0,0 +1,230 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import smolyanVote.smolyanVote.models.SignalsEntity;
+import smolyanVote.smolyanVote.models.enums.SignalsCategory;
+import smolyanVote.smolyanVote.repositories.SignalsRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the titles and descriptions of active signals, ranked with
+ * BM25. Built from the database on first use and kept current by {@code SignalsServiceImpl}
+ * (create / edit / moderate / delete), applied after the surrounding transaction commits.
+ * <p>
+ * Title words count {@link #TITLE_WEIGHT} times — a signal titled „Дупки на ул. Търговска“ is
+ * more about that street than one mentioning it in passing.
+ */
+@Component
+public class SignalSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET = 120;
+
+    public record Hit(Long id, String title, SignalsCategory category, String snippet, double score) {
+    }
+
+    private record Entry(Long id, String title, SignalsCategory category, String snippet,
+                         Map<String, Integer> termFrequencies, int length) {
+    }
+
+    private final SignalsRepository signalsRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long totalLength;
+    private volatile boolean loaded;
+
+    public SignalSearchIndex(SignalsRepository signalsRepository) {
+        this.signalsRepository = signalsRepository;
+    }
+
+    /** Top {@code limit} active signals for the given query words (raw text, analysed here). */
+    public List<Hit> search(Collection<String> queryWords, int limit) {
+        ensureLoaded();
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : queryWords) {
+            terms.addAll(BulgarianAnalyzer.analyze(word));
+        }
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docs = entries.size();
+            if (docs == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / docs;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docs - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Long, Integer> p : posting.entrySet()) {
+                    int tf = p.getValue();
+                    double norm = K1 * (1 - B + B * entries.get(p.getKey()).length() / avgLength);
+                    scores.merge(p.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> score : scores.entrySet()) {
+                top.offer(score);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            for (Map.Entry<Long, Double> score : top) {
+                Entry e = entries.get(score.getKey());
+                hits.add(new Hit(e.id(), e.title(), e.category(), e.snippet(), score.getValue()));
+            }
+            // Newer signals first on equal scores, as the old ORDER BY created DESC did
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(Hit::id, Comparator.reverseOrder()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** (Re)indexes the signal once the current transaction commits; inactive signals drop out. */
+    public void index(SignalsEntity signal) {
+        Long id = signal.getId();
+        if (id == null) {
+            return;
+        }
+        if (!signal.isActive()) {
+            remove(id);
+            return;
+        }
+        String title = signal.getTitle();
+        String description = signal.getDescription();
+        SignalsCategory category = signal.getCategory();
+        afterCommit(() -> put(id, title, description, category));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                drop(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        // The write lock is held across the read so a commit landing meanwhile is applied after it
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            postings.clear();
+            entries.clear();
+            totalLength = 0;
+            for (Object[] row : signalsRepository.findActiveSearchFields()) {
+                put((Long) row[0], (String) row[1], (String) row[2], (SignalsCategory) row[3]);
+            }
+            loaded = true;
+            log.info("Signal search index built: {} signals, {} terms", entries.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long id, String title, String description, SignalsCategory category) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String term : BulgarianAnalyzer.analyze(title)) {
+            tf.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : BulgarianAnalyzer.analyze(description)) {
+            tf.merge(term, 1, Integer::sum);
+        }
+        int length = tf.values().stream().mapToInt(Integer::intValue).sum();
+        Entry entry = new Entry(id, title, category, snippet(description), tf, length);
+
+        lock.writeLock().lock();
+        try {
+            drop(id);
+            entries.put(id, entry);
+            totalLength += length;
+            tf.forEach((term, count) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, count));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void drop(Long id) {
+        Entry old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length();
+        for (String term : old.termFrequencies().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static String snippet(String description) {
+        if (description != null && description.length() > SNIPPET) {
+            return description.substring(0, SNIPPET - 3) + "...";
+        }
+        return description;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
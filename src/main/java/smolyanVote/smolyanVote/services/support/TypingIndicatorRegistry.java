@@ -0,0 +1,162 @@
+package smolyanVote.smolyanVote.services.support;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import smolyanVote.smolyanVote.websocket.svmessenger.SVMessengerWebSocketHandler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * "Пише..." индикатори на SVMessenger: conversationId -> userId -> краен срок.
+ * <p>
+ * Every keystroke only moves the user's deadline; "started typing" is broadcast once, when the
+ * user was not typing before. One sweeper thread wakes every {@code tick} and sends a single
+ * "stopped typing" frame per conversation for everyone whose deadline passed — thread count is
+ * constant no matter how many people type.
+ */
+@Service
+public class TypingIndicatorRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TypingIndicatorRegistry.class);
+
+    /** Immutable, so the sweeper's conditional remove loses to a concurrent refresh. */
+    private record Typist(String username, long deadlineNanos) {
+    }
+
+    private final Map<Long, Map<Long, Typist>> conversations = new ConcurrentHashMap<>();
+    private final SVMessengerWebSocketHandler webSocketHandler;
+    private final long ttlNanos;
+    private final long tickMillis;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public TypingIndicatorRegistry(SVMessengerWebSocketHandler webSocketHandler,
+                                   @Value("${smolyanvote.svmessenger.typing.ttl:3s}") Duration ttl,
+                                   @Value("${smolyanvote.svmessenger.typing.tick:250ms}") Duration tick) {
+        this(webSocketHandler, ttl, tick, System::nanoTime);
+    }
+
+    TypingIndicatorRegistry(SVMessengerWebSocketHandler webSocketHandler, Duration ttl, Duration tick,
+                            LongSupplier clock) {
+        this.webSocketHandler = webSocketHandler;
+        this.ttlNanos = ttl.toNanos();
+        this.tickMillis = Math.max(10, tick.toMillis());
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SVMessenger-typing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Refreshes the user's deadline.
+     *
+     * @return true when the user was not typing before — only then is "started typing" worth sending
+     */
+    public boolean typing(Long conversationId, Long userId, String username) {
+        long now = clock.getAsLong();
+        Typist[] previous = new Typist[1];
+        conversations.compute(conversationId, (id, typists) -> {
+            Map<Long, Typist> map = typists != null ? typists : new ConcurrentHashMap<>();
+            previous[0] = map.put(userId, new Typist(username, now + ttlNanos));
+            return map;
+        });
+        return previous[0] == null || isExpired(previous[0], now);
+    }
+
+    /**
+     * Explicit "stopped typing" from the client.
+     *
+     * @return true when the user was typing
+     */
+    public boolean stopped(Long conversationId, Long userId) {
+        Typist[] removed = new Typist[1];
+        conversations.computeIfPresent(conversationId, (id, typists) -> {
+            removed[0] = typists.remove(userId);
+            return typists.isEmpty() ? null : typists;
+        });
+        return removed[0] != null && !isExpired(removed[0], clock.getAsLong());
+    }
+
+    public boolean isTyping(Long conversationId, Long userId) {
+        Map<Long, Typist> typists = conversations.get(conversationId);
+        Typist typist = typists == null ? null : typists.get(userId);
+        return typist != null && !isExpired(typist, clock.getAsLong());
+    }
+
+    /** True when anyone other than {@code exceptUserId} is currently typing in the conversation. */
+    public boolean isAnyoneTyping(Long conversationId, Long exceptUserId) {
+        return typingUserIds(conversationId).stream().anyMatch(id -> !id.equals(exceptUserId));
+    }
+
+    public List<Long> typingUserIds(Long conversationId) {
+        Map<Long, Typist> typists = conversations.get(conversationId);
+        if (typists == null) {
+            return List.of();
+        }
+        long now = clock.getAsLong();
+        List<Long> ids = new ArrayList<>();
+        typists.forEach((userId, typist) -> {
+            if (!isExpired(typist, now)) {
+                ids.add(userId);
+            }
+        });
+        return ids;
+    }
+
+    /** Drops expired indicators and broadcasts one "stopped typing" frame per affected conversation. */
+    void sweep() {
+        try {
+            long now = clock.getAsLong();
+            for (Long conversationId : conversations.keySet()) {
+                Map<Long, Typist> typists = conversations.get(conversationId);
+                if (typists == null) {
+                    continue;
+                }
+                Map<Long, String> stopped = new LinkedHashMap<>();
+                typists.forEach((userId, typist) -> {
+                    if (isExpired(typist, now) && typists.remove(userId, typist)) {
+                        stopped.put(userId, typist.username());
+                    }
+                });
+                conversations.computeIfPresent(conversationId, (id, map) -> map.isEmpty() ? null : map);
+                if (!stopped.isEmpty()) {
+                    webSocketHandler.broadcastTypingStopped(conversationId, stopped, typingUserIds(conversationId));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Typing indicator sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isExpired(Typist typist, long now) {
+        return now - typist.deadlineNanos() >= 0;
+    }
+}
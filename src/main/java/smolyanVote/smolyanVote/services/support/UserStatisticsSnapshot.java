@@ -0,0 +1,131 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import smolyanVote.smolyanVote.models.enums.UserRole;
+import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
+import smolyanVote.smolyanVote.repositories.UserRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * User and strike counters for the admin dashboard, computed with three grouped aggregate queries
+ * (status × role, strikes × status, one conditional-sum row) instead of loading every user.
+ * <p>
+ * The result is kept for {@code ttl}: the dashboard, the overview and the health alerts all read
+ * the same snapshot, so a page load costs a few small result sets at most once per TTL no matter
+ * how many users there are. Counters may lag a ban or role change by up to the TTL.
+ */
+@Service
+public class UserStatisticsSnapshot {
+
+    public record UserStatistics(long totalUsers,
+                                 long activeUsers,
+                                 long pendingUsers,
+                                 long tempBannedUsers,
+                                 long permBannedUsers,
+                                 long onlineUsers,
+                                 long adminCount,
+                                 long userCount,
+                                 long todayRegistrations,
+                                 long weekRegistrations,
+                                 long monthRegistrations,
+                                 double avgEngagement,
+                                 long highActivityUsers,
+                                 long withOneStrike,
+                                 long withTwoStrikes,
+                                 long withThreeOrMore,
+                                 long autoBannedNow,
+                                 Instant computedAt) {
+    }
+
+    private record Entry(UserStatistics statistics, long expiresAtNanos) {
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private volatile Entry current;
+
+    @Autowired
+    public UserStatisticsSnapshot(UserRepository userRepository,
+                                  @Value("${smolyanvote.admin.user-stats.ttl:30s}") Duration ttl) {
+        this(userRepository, ttl, System::nanoTime);
+    }
+
+    UserStatisticsSnapshot(UserRepository userRepository, Duration ttl, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    public UserStatistics get() {
+        Entry entry = current;
+        if (entry != null && clock.getAsLong() - entry.expiresAtNanos < 0) {
+            return entry.statistics;
+        }
+        synchronized (this) {
+            // Only one admin request recomputes; the rest get its result
+            entry = current;
+            if (entry == null || clock.getAsLong() - entry.expiresAtNanos >= 0) {
+                entry = new Entry(compute(), clock.getAsLong() + ttlNanos);
+                current = entry;
+            }
+            return entry.statistics;
+        }
+    }
+
+    /** Next {@link #get()} recomputes, e.g. after a bulk strike reset. */
+    public void invalidate() {
+        current = null;
+    }
+
+    private UserStatistics compute() {
+        long total = 0, active = 0, pending = 0, tempBanned = 0, permBanned = 0, admins = 0, users = 0;
+        for (Object[] row : userRepository.countByStatusAndRole()) {
+            long count = ((Number) row[2]).longValue();
+            total += count;
+            if (row[0] == UserStatusEnum.ACTIVE) active += count;
+            else if (row[0] == UserStatusEnum.PENDING_ACTIVATION) pending += count;
+            else if (row[0] == UserStatusEnum.TEMPORARILY_BANNED) tempBanned += count;
+            else if (row[0] == UserStatusEnum.PERMANENTLY_BANNED) permBanned += count;
+            if (row[1] == UserRole.ADMIN) admins += count;
+            else if (row[1] == UserRole.USER) users += count;
+        }
+
+        long one = 0, two = 0, threeOrMore = 0, autoBanned = 0;
+        for (Object[] row : userRepository.countByStrikesAndStatus()) {
+            int strikes = ((Number) row[0]).intValue();
+            long count = ((Number) row[2]).longValue();
+            if (strikes == 1) one += count;
+            else if (strikes == 2) two += count;
+            else if (strikes >= 3) {
+                threeOrMore += count;
+                if (row[1] == UserStatusEnum.TEMPORARILY_BANNED) autoBanned += count;
+            }
+        }
+
+        Instant now = Instant.now();
+        List<Object[]> activity = userRepository.aggregateActivity(
+                now.truncatedTo(ChronoUnit.DAYS),
+                now.minus(7, ChronoUnit.DAYS),
+                now.minus(30, ChronoUnit.DAYS),
+                now.minus(5, ChronoUnit.MINUTES));
+        Object[] a = activity.isEmpty() ? new Object[6] : activity.get(0);
+
+        return new UserStatistics(total, active, pending, tempBanned, permBanned, number(a[3]), admins, users,
+                number(a[0]), number(a[1]), number(a[2]),
+                a[4] == null ? 0.0 : ((Number) a[4]).doubleValue(), number(a[5]),
+                one, two, threeOrMore, autoBanned, now);
+    }
+
+    /** SUM over an empty table is NULL */
+    private static long number(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
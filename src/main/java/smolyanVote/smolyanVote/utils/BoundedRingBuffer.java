@@ -0,0 +1,95 @@
+package smolyanVote.smolyanVote.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bounded multi-producer queue on a power-of-two ring (Vyukov's sequence-per-slot
+ * scheme). {@link #offer} never blocks: when the ring is full it returns {@code false} and the
+ * caller decides what to count as dropped. Consumers take batches with {@link #drainTo}.
+ */
+public class BoundedRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public BoundedRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be >= 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items.set(index, item);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false; // full
+            }
+            // another producer claimed this slot — retry with the fresh tail
+        }
+    }
+
+    public T poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    T item = items.getAndSet(index, null);
+                    sequences.set(index, pos + mask + 1);
+                    return item;
+                }
+            } else if (diff < 0) {
+                return null; // empty
+            }
+        }
+    }
+
+    /** Moves up to {@code max} items into {@code target}; returns how many were moved. */
+    public int drainTo(List<? super T> target, int max) {
+        int drained = 0;
+        while (drained < max) {
+            T item = poll();
+            if (item == null) {
+                break;
+            }
+            target.add(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    /** Approximate under concurrent use — intended for gauges. */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
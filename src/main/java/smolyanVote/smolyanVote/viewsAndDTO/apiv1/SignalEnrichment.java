@@ -1,14 +1,23 @@
 package smolyanVote.smolyanVote.viewsAndDTO.apiv1;
 
-/** Per-user signal flags for DTO mapping (boost, subscribe, resolved reports). */
+/**
+ * Per-user signal flags for DTO mapping (boost, subscribe, resolved reports), plus the buffered
+ * view delta not yet flushed to {@code signals.views_count}.
+ */
 public record SignalEnrichment(
         boolean hasBoosted,
         boolean isSubscribed,
         boolean hasReportedResolved,
         int resolvedReportCount,
         Long currentUserId,
-        boolean includeAdminNotes
+        boolean includeAdminNotes,
+        long pendingViews
 ) {
+    public SignalEnrichment(boolean hasBoosted, boolean isSubscribed, boolean hasReportedResolved,
+                            int resolvedReportCount, Long currentUserId, boolean includeAdminNotes) {
+        this(hasBoosted, isSubscribed, hasReportedResolved, resolvedReportCount, currentUserId, includeAdminNotes, 0);
+    }
+
     public static SignalEnrichment guest() {
         return new SignalEnrichment(false, false, false, 0, null, false);
     }
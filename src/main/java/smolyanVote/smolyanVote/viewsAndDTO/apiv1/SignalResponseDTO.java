@@ -47,7 +47,8 @@ public record SignalResponseDTO(Long id, String title, String description, Strin
                 author != null ? author.getImageUrl() : null,
                 signal.getCreated(), signal.getModified(),
                 signal.getLikesCount() != null ? signal.getLikesCount() : 0,
-                signal.getViewsCount() != null ? signal.getViewsCount() : 0,
+                (int) Math.min(Integer.MAX_VALUE,
+                        (signal.getViewsCount() != null ? signal.getViewsCount() : 0L) + enrichment.pendingViews()),
                 signal.getCommentsCount() != null ? signal.getCommentsCount() : 0,
                 enrichment.hasBoosted(), isOwner,
                 isResolved,
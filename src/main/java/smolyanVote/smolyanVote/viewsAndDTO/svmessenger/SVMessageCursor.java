@@ -0,0 +1,38 @@
+package smolyanVote.smolyanVote.viewsAndDTO.svmessenger;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в историята на разговор: {@code (sentAt, id)} на последното върнато съобщение.
+ * Към клиента отива като непрозрачен base64url низ — той само го връща обратно.
+ * {@code id} разбива равенствата по {@code sentAt}, така че редът е стабилен и при нови съобщения.
+ */
+public record SVMessageCursor(LocalDateTime sentAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sentAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException ако курсорът не е издаден от нас
+     */
+    public static SVMessageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SVMessageCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package smolyanVote.smolyanVote.viewsAndDTO.svmessenger;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Една порция история при cursor pagination — без общ брой, само курсор за следващата порция.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SVMessageSliceDTO {
+
+    private List<SVMessageDTO> messages;
+    /**
+     * Курсор на последния ред от порцията — подава се като before/after (в същата посока) за
+     * следващата. Винаги е попълнен; при празна порция е курсорът от заявката.
+     */
+    private String nextCursor;
+    /** Курсор на най-новото съобщение в порцията — за after заявка, която взема пристигналите след него. */
+    private String newestCursor;
+    private Boolean hasMore;
+}
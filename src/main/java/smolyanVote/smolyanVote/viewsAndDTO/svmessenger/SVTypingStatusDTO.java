@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * DTO за typing status
@@ -20,6 +21,18 @@ public class SVTypingStatusDTO {
     private String username;
     private Boolean isTyping;
     private Instant timestamp;
+    /** Само при изтекли индикатори: всички, спрели да пишат в този tick (userId е първият от тях). */
+    private List<Long> stoppedUserIds;
+    /** Само при изтекли индикатори: кой още пише в разговора след тях. */
+    private List<Long> typingUserIds;
+
+    public SVTypingStatusDTO(Long conversationId, Long userId, String username, Boolean isTyping, Instant timestamp) {
+        this.conversationId = conversationId;
+        this.userId = userId;
+        this.username = username;
+        this.isTyping = isTyping;
+        this.timestamp = timestamp;
+    }
     
     // Simplified constructor
     public SVTypingStatusDTO(Long conversationId, Long userId, Boolean isTyping) {
@@ -88,6 +88,38 @@ public class SVMessengerWebSocketHandler {
         }
     }
     
+    /**
+     * Един "спря да пише" frame за всички изтекли индикатори в разговора.
+     * Старите клиенти виждат обикновен isTyping=false; новите ползват typingUserIds.
+     *
+     * @param stopped userId -> username на спрелите, по реда на изтичане
+     * @param stillTyping Кой още пише в разговора
+     */
+    public void broadcastTypingStopped(Long conversationId, Map<Long, String> stopped, List<Long> stillTyping) {
+        if (stopped.isEmpty()) {
+            return;
+        }
+        try {
+            Map.Entry<Long, String> first = stopped.entrySet().iterator().next();
+            SVTypingStatusDTO status = new SVTypingStatusDTO(
+                    conversationId,
+                    first.getKey(),
+                    first.getValue(),
+                    false,
+                    Instant.now()
+            );
+            status.setStoppedUserIds(List.copyOf(stopped.keySet()));
+            status.setTypingUserIds(List.copyOf(stillTyping));
+
+            messagingTemplate.convertAndSend(
+                    "/topic/svmessenger-typing/" + conversationId,
+                    status
+            );
+        } catch (Exception e) {
+            log.error("Failed to broadcast typing expiry", e);
+        }
+    }
+    
     // ========== READ RECEIPTS ==========
     
     /**
@@ -0,0 +1,90 @@
+package smolyanVote.smolyanVote.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import smolyanVote.smolyanVote.models.CommentsEntity;
+import smolyanVote.smolyanVote.repositories.CommentsRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:commentclosurebackfilltest;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.open-in-view=false"
+})
+class CommentClosureBackfillTest {
+
+    @Autowired
+    private CommentsRepository commentsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfill_buildsEveryPathOfAThreeLevelThread() {
+        CommentsEntity root = comment(null);
+        CommentsEntity reply = comment(root);
+        CommentsEntity nested = comment(reply);
+        CommentsEntity secondRoot = comment(null);
+        assertTrue(closureRows().isEmpty());
+
+        new CommentClosureBackfill(jdbcTemplate).backfill();
+
+        assertEquals(Set.of(
+                List.of(root.getId(), root.getId(), 0L),
+                List.of(reply.getId(), reply.getId(), 0L),
+                List.of(nested.getId(), nested.getId(), 0L),
+                List.of(secondRoot.getId(), secondRoot.getId(), 0L),
+                List.of(root.getId(), reply.getId(), 1L),
+                List.of(reply.getId(), nested.getId(), 1L),
+                List.of(root.getId(), nested.getId(), 2L)
+        ), closureRows());
+    }
+
+    @Test
+    void backfill_isIdempotentAndPrunesRowsOfDeletedComments() {
+        CommentsEntity root = comment(null);
+        CommentsEntity reply = comment(root);
+        jdbcTemplate.update("INSERT INTO comment_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, 0)",
+                -1L, -1L);
+
+        CommentClosureBackfill backfill = new CommentClosureBackfill(jdbcTemplate);
+        backfill.backfill();
+        Set<List<Long>> first = closureRows();
+        backfill.backfill();
+
+        assertEquals(Set.of(
+                List.of(root.getId(), root.getId(), 0L),
+                List.of(reply.getId(), reply.getId(), 0L),
+                List.of(root.getId(), reply.getId(), 1L)
+        ), first);
+        assertEquals(first, closureRows());
+    }
+
+    /** Коментар без closure редове - както са създадени преди таблицата */
+    private CommentsEntity comment(CommentsEntity parent) {
+        CommentsEntity comment = new CommentsEntity();
+        comment.setText("text");
+        comment.setAuthor("author");
+        comment.setParent(parent);
+        return commentsRepository.saveAndFlush(comment);
+    }
+
+    private Set<List<Long>> closureRows() {
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT ancestor_id, descendant_id, depth FROM comment_closure",
+                (rs, i) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3))));
+    }
+}
@@ -19,6 +19,7 @@ import smolyanVote.smolyanVote.models.enums.UserRole;
 import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
 import smolyanVote.smolyanVote.repositories.UserRepository;
 import smolyanVote.smolyanVote.services.interfaces.UserService;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache;
 import smolyanVote.smolyanVote.services.jwt.JwtTokenService;
 import smolyanVote.smolyanVote.services.mobile.MobileOAuthService;
 import smolyanVote.smolyanVote.viewsAndDTO.mobile.MobileLoginRequest;
@@ -50,6 +51,9 @@ class MobileAuthControllerTest {
     @Mock
     private MobileOAuthService mobileOAuthService;
 
+    @Mock
+    private JwtPrincipalCache jwtPrincipalCache;
+
     @InjectMocks
     private MobileAuthController controller;
 
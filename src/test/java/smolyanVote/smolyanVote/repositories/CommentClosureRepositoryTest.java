@@ -0,0 +1,124 @@
+package smolyanVote.smolyanVote.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import smolyanVote.smolyanVote.models.CommentsEntity;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:commentclosuretest;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.open-in-view=false"
+})
+class CommentClosureRepositoryTest {
+
+    @Autowired
+    private CommentsRepository commentsRepository;
+
+    @Autowired
+    private CommentClosureRepository closureRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void insertPaths_linksReplyToEveryAncestor() {
+        CommentsEntity root = comment(null);
+        CommentsEntity reply = comment(root);
+        CommentsEntity nested = comment(reply);
+
+        assertEquals(Set.of(root.getId(), reply.getId(), nested.getId()),
+                Set.copyOf(closureRepository.findSubtreeIds(root.getId())));
+        assertEquals(Set.of(reply.getId(), nested.getId()), Set.copyOf(closureRepository.findSubtreeIds(reply.getId())));
+        assertEquals(List.of(nested.getId()), closureRepository.findSubtreeIds(nested.getId()));
+    }
+
+    @Test
+    void countRepliesByDepth_andDirectReplyCount() {
+        CommentsEntity root = comment(null);
+        CommentsEntity a = comment(root);
+        comment(root);
+        comment(a);
+        comment(a);
+        comment(a);
+
+        List<Object[]> byDepth = closureRepository.countRepliesByDepth(root.getId());
+        assertEquals(2, byDepth.size());
+        assertEquals(2L, ((Number) byDepth.get(0)[1]).longValue());
+        assertEquals(3L, ((Number) byDepth.get(1)[1]).longValue());
+        assertEquals(2, commentsRepository.countRepliesByParentId(root.getId()));
+        assertEquals(3, commentsRepository.countRepliesByParentId(a.getId()));
+    }
+
+    @Test
+    void subtreeDelete_removesOnlyTheBranch() {
+        CommentsEntity root = comment(null);
+        CommentsEntity kept = comment(root);
+        CommentsEntity branch = comment(root);
+        CommentsEntity leaf = comment(branch);
+
+        List<CommentsEntity> subtree = commentsRepository.findSubtree(branch.getId());
+        Set<Long> ids = subtree.stream().map(CommentsEntity::getId).collect(Collectors.toSet());
+        assertEquals(Set.of(branch.getId(), leaf.getId()), ids);
+
+        closureRepository.deleteByDescendantIds(ids);
+        commentsRepository.detachParents(ids);
+        assertEquals(2, commentsRepository.deleteByIds(ids));
+
+        assertEquals(Set.of(root.getId(), kept.getId()), Set.copyOf(closureRepository.findSubtreeIds(root.getId())));
+        assertEquals(1, commentsRepository.countRepliesByParentId(root.getId()));
+        assertTrue(commentsRepository.findById(kept.getId()).isPresent());
+        assertFalse(commentsRepository.findById(leaf.getId()).isPresent());
+    }
+
+    @Test
+    void deleteByPublicationId_removesOnlyThatPublicationsThreads() {
+        CommentsEntity root = comment(null);
+        CommentsEntity reply = comment(root);
+        CommentsEntity otherRoot = comment(null);
+        CommentsEntity otherReply = comment(otherRoot);
+        attachToPublication(99L, root, reply);
+        attachToPublication(98L, otherRoot, otherReply);
+
+        assertEquals(3, closureRepository.deleteByPublicationId(99L));
+
+        assertTrue(closureRepository.findSubtreeIds(root.getId()).isEmpty());
+        assertTrue(closureRepository.findSubtreeIds(reply.getId()).isEmpty());
+        assertEquals(Set.of(otherRoot.getId(), otherReply.getId()),
+                Set.copyOf(closureRepository.findSubtreeIds(otherRoot.getId())));
+    }
+
+    private void attachToPublication(Long publicationId, CommentsEntity... comments) {
+        // publication_id сочи към несъществуваща публикация - тестът не е за FK
+        entityManager.createNativeQuery("SET REFERENTIAL_INTEGRITY FALSE").executeUpdate();
+        for (CommentsEntity comment : comments) {
+            entityManager.createNativeQuery("UPDATE comments_entity SET publication_id = :publicationId WHERE id = :id")
+                    .setParameter("publicationId", publicationId)
+                    .setParameter("id", comment.getId())
+                    .executeUpdate();
+        }
+    }
+
+    private CommentsEntity comment(CommentsEntity parent) {
+        CommentsEntity comment = new CommentsEntity();
+        comment.setText("text");
+        comment.setAuthor("author");
+        comment.setParent(parent);
+        CommentsEntity saved = commentsRepository.save(comment);
+        closureRepository.insertPaths(saved.getId());
+        return saved;
+    }
+}
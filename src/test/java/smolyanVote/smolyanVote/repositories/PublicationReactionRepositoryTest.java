@@ -0,0 +1,106 @@
+package smolyanVote.smolyanVote.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import smolyanVote.smolyanVote.models.enums.PublicationReactionType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pubreactiontest;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.open-in-view=false"
+})
+class PublicationReactionRepositoryTest {
+
+    private static final Long PUBLICATION_ID = 10L;
+    private static final Long USER_ID = 7L;
+
+    @Autowired
+    private PublicationReactionRepository reactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void insertIfAbsent_isIdempotentPerKind() {
+        assertEquals(1, reactionRepository.insertIfAbsent(PUBLICATION_ID, USER_ID, "LIKE"));
+        assertEquals(0, reactionRepository.insertIfAbsent(PUBLICATION_ID, USER_ID, "LIKE"));
+        assertEquals(1, reactionRepository.insertIfAbsent(PUBLICATION_ID, USER_ID, "BOOKMARK"));
+
+        List<PublicationReactionType> kinds = reactionRepository.findKinds(PUBLICATION_ID, USER_ID);
+        assertEquals(2, kinds.size());
+        assertTrue(kinds.containsAll(List.of(PublicationReactionType.LIKE, PublicationReactionType.BOOKMARK)));
+    }
+
+    @Test
+    void deleteReaction_reportsWhetherARowWasRemoved() {
+        reactionRepository.insertIfAbsent(PUBLICATION_ID, USER_ID, "DISLIKE");
+
+        assertEquals(1, reactionRepository.deleteReaction(PUBLICATION_ID, USER_ID, PublicationReactionType.DISLIKE));
+        assertEquals(0, reactionRepository.deleteReaction(PUBLICATION_ID, USER_ID, PublicationReactionType.DISLIKE));
+        assertTrue(reactionRepository.findKinds(PUBLICATION_ID, USER_ID).isEmpty());
+    }
+
+    @Test
+    void deleteAllByPublicationId_leavesOtherPublicationsAlone() {
+        reactionRepository.insertIfAbsent(PUBLICATION_ID, USER_ID, "LIKE");
+        reactionRepository.insertIfAbsent(PUBLICATION_ID + 1, USER_ID, "LIKE");
+
+        assertEquals(1, reactionRepository.deleteAllByPublicationId(PUBLICATION_ID));
+        assertEquals(List.of(PublicationReactionType.LIKE), reactionRepository.findKinds(PUBLICATION_ID + 1, USER_ID));
+    }
+
+    @Test
+    void releaseReactionCountsOfUser_subtractsOnlyThatUsersLikesAndDislikes() {
+        long liked = 20L, disliked = 21L, untouched = 22L;
+        insertPublication(liked, 3, 0);
+        insertPublication(disliked, 0, 1);
+        insertPublication(untouched, 5, 5);
+        reactionRepository.insertIfAbsent(liked, USER_ID, "LIKE");
+        reactionRepository.insertIfAbsent(liked, USER_ID, "BOOKMARK");
+        reactionRepository.insertIfAbsent(liked, USER_ID + 1, "LIKE");
+        reactionRepository.insertIfAbsent(disliked, USER_ID, "DISLIKE");
+        reactionRepository.insertIfAbsent(untouched, USER_ID + 1, "DISLIKE");
+
+        assertEquals(2, reactionRepository.releaseReactionCountsOfUser(USER_ID));
+
+        assertArrayEquals(new int[]{2, 0}, counts(liked));
+        assertArrayEquals(new int[]{0, 0}, counts(disliked));
+        assertArrayEquals(new int[]{5, 5}, counts(untouched));
+    }
+
+    private void insertPublication(long id, int likes, int dislikes) {
+        // author_id сочи към несъществуващ потребител - тестът не е за FK
+        entityManager.createNativeQuery("SET REFERENTIAL_INTEGRITY FALSE").executeUpdate();
+        entityManager.createNativeQuery("""
+                        INSERT INTO publications (id, title, content, category, status, author_id,
+                            likes_count, dislikes_count, views_count, comments_count, shares_count, created, modified)
+                        VALUES (:id, 't', 'c', 'NEWS', 'PUBLISHED', :author, :likes, :dislikes, 0, 0, 0,
+                            CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                        """)
+                .setParameter("id", id)
+                .setParameter("author", USER_ID)
+                .setParameter("likes", likes)
+                .setParameter("dislikes", dislikes)
+                .executeUpdate();
+    }
+
+    private int[] counts(long id) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT likes_count, dislikes_count FROM publications WHERE id = :id")
+                .setParameter("id", id)
+                .getSingleResult();
+        return new int[]{((Number) row[0]).intValue(), ((Number) row[1]).intValue()};
+    }
+}
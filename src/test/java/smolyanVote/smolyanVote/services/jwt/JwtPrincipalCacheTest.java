@@ -0,0 +1,69 @@
+package smolyanVote.smolyanVote.services.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import smolyanVote.smolyanVote.services.jwt.JwtPrincipalCache.CachedPrincipal;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtPrincipalCacheTest {
+
+    private JwtPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtPrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_returnsCachedPrincipalForSameToken() {
+        CachedPrincipal principal = principal(1L, System.currentTimeMillis() + 60_000);
+        cache.put("token-a", principal);
+
+        assertSame(principal, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void get_dropsEntryOnceTokenExpired() {
+        cache.put("token-a", principal(1L, System.currentTimeMillis() - 1));
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void invalidateUser_evictsAllTokensOfThatUserOnly() {
+        long exp = System.currentTimeMillis() + 60_000;
+        cache.put("phone", principal(1L, exp));
+        cache.put("browser", principal(1L, exp));
+        cache.put("other", principal(2L, exp));
+
+        cache.invalidateUser(1L);
+
+        assertNull(cache.get("phone"));
+        assertNull(cache.get("browser"));
+        assertNotNull(cache.get("other"));
+    }
+
+    @Test
+    void invalidateToken_evictsOnlyThatToken() {
+        long exp = System.currentTimeMillis() + 60_000;
+        cache.put("phone", principal(1L, exp));
+        cache.put("browser", principal(1L, exp));
+
+        cache.invalidateToken("phone");
+
+        assertNull(cache.get("phone"));
+        assertNotNull(cache.get("browser"));
+    }
+
+    private static CachedPrincipal principal(Long userId, long expiresAtMillis) {
+        return new CachedPrincipal(new JwtPrincipal(userId, "user" + userId + "@test.bg", "USER"),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), expiresAtMillis);
+    }
+}
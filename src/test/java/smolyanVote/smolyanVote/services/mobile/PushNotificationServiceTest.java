@@ -0,0 +1,223 @@
+package smolyanVote.smolyanVote.services.mobile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import smolyanVote.smolyanVote.repositories.mobile.MobileDeviceTokenRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PushNotificationServiceTest {
+
+    private static final long LATENCY_MS = 200;
+
+    private final List<Object[]> devices = new ArrayList<>();
+    private final FakeFcm fcm = new FakeFcm();
+    private MobileDeviceTokenRepository repository;
+    private PushNotificationService push;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(MobileDeviceTokenRepository.class);
+        when(repository.findActiveTokensForUsers(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> users = inv.getArgument(0);
+            return devices.stream().filter(d -> users.contains((Long) d[0])).toList();
+        });
+        // Long window: the tests flush explicitly unless they test the timer
+        push = new PushNotificationService(repository, fcm, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        push.shutdown();
+    }
+
+    @Test
+    void broadcastGoesOutAsMulticastsOfAtMost500TokensInParallel() {
+        for (long user = 1; user <= 600; user++) {
+            device(user, "tok-" + user + "-a", "android");
+            device(user, "tok-" + user + "-b", "android");
+        }
+        device(7, "ios-7", "iOS");
+
+        long started = System.nanoTime();
+        push.sendNotificationToUsers(LongStream.rangeClosed(1, 600).boxed().toList(), "Нов сигнал", "Текст", null);
+        assertTrue((System.nanoTime() - started) / 1_000_000 < LATENCY_MS, "the caller must not wait for FCM");
+
+        started = System.nanoTime();
+        push.flushPending();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(4, fcm.batches.size());
+        assertEquals(1201, fcm.batches.stream().mapToInt(b -> b.tokens().size()).sum());
+        assertTrue(fcm.batches.stream().allMatch(b -> b.tokens().size() <= PushTransport.MAX_TOKENS_PER_CALL));
+        assertEquals(1, fcm.batches.stream().filter(b -> b.platform().equals("ios")).count());
+        // Four calls at 200 ms each, sent side by side
+        assertTrue(elapsedMs < 2 * LATENCY_MS + 150, "flush took " + elapsedMs + " ms");
+        verify(repository, times(1)).findActiveTokensForUsers(anyCollection());
+    }
+
+    @Test
+    void rejectedTokensAreDeactivatedInOneQuery() {
+        device(1, "tok-1", "android");
+        device(2, "bad-2", "android");
+        device(3, "bad-3", "android");
+        device(4, "flaky-4", "android");
+
+        push.sendNotificationToUsers(List.of(1L, 2L, 3L, 4L), "Заглавие", "Текст", Map.of());
+        push.flushPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(1)).deactivateTokens(captor.capture());
+        assertEquals(List.of("bad-2", "bad-3"), captor.getValue().stream().sorted().toList());
+    }
+
+    @Test
+    void nothingIsDeactivatedWhenEveryTokenIsAccepted() {
+        device(1, "tok-1", "android");
+
+        push.sendNotificationToUser(1L, "Заглавие", "Текст", null);
+        push.flushPending();
+
+        verify(repository, never()).deactivateTokens(any());
+    }
+
+    @Test
+    void aBurstToOneConversationBecomesOneNotification() {
+        device(1, "tok-1", "android");
+        device(2, "tok-2", "android");
+
+        for (int i = 1; i <= 5; i++) {
+            push.sendNewMessageNotification(1L, "Иван", "съобщение " + i, 42L);
+        }
+        push.sendNewMessageNotification(1L, "Иван", "друг разговор", 43L);
+        push.sendNewMessageNotification(2L, "Иван", "съобщение 1", 42L);
+        push.flushPending();
+
+        List<PushTransport.Batch> toUser1 = fcm.batches.stream().filter(b -> b.tokens().contains("tok-1")).toList();
+        assertEquals(2, toUser1.size());
+        PushTransport.Batch burst = toUser1.stream().filter(b -> "42".equals(b.data().get("conversationId"))).findFirst().orElseThrow();
+        assertEquals("съобщение 5", burst.body());
+        assertEquals("5", burst.data().get("coalescedCount"));
+        assertEquals(3, fcm.batches.size());
+    }
+
+    @Test
+    void unrelatedNotificationsWithTheSameTitleAreNotMerged() {
+        device(1, "tok-1", "android");
+
+        push.sendNotificationToUser(1L, "Нов коментар", "под сигнал 5",
+                Map.of("type", "COMMENT", "entityType", "SIGNAL", "entityId", "5"));
+        push.sendNotificationToUser(1L, "Нов коментар", "още под сигнал 5",
+                Map.of("type", "COMMENT", "entityType", "SIGNAL", "entityId", "5"));
+        push.sendNotificationToUser(1L, "Нов коментар", "под публикация 8",
+                Map.of("type", "COMMENT", "entityType", "PUBLICATION", "entityId", "8"));
+        push.sendNotificationToUser(1L, "Нов коментар", "без обект", null);
+        push.flushPending();
+
+        assertEquals(3, fcm.batches.size());
+        PushTransport.Batch signal = fcm.batches.stream()
+                .filter(b -> "5".equals(b.data().get("entityId"))).findFirst().orElseThrow();
+        assertEquals("още под сигнал 5", signal.body());
+        assertEquals("2", signal.data().get("coalescedCount"));
+    }
+
+    @Test
+    void identicalNotificationsToDifferentUsersShareOneCall() {
+        device(1, "tok-1", "android");
+        device(2, "tok-2", "android");
+        device(2, "tok-1", "android"); // reinstall left a second row with the same token
+
+        push.sendNotificationToUser(1L, "Събитие", "Утре", null);
+        push.sendNotificationToUser(2L, "Събитие", "Утре", null);
+        push.flushPending();
+
+        assertEquals(1, fcm.batches.size());
+        assertEquals(List.of("tok-1", "tok-2"), fcm.batches.get(0).tokens());
+    }
+
+    @Test
+    void pendingNotificationsAreSentWhenTheWindowCloses() throws InterruptedException {
+        push.shutdown();
+        push = new PushNotificationService(repository, fcm, 50);
+        device(1, "tok-1", "android");
+
+        push.sendNotificationToUser(1L, "Заглавие", "Текст", null);
+
+        waitFor(() -> fcm.batches.size() == 1);
+        assertEquals(1, fcm.batches.size());
+    }
+
+    @Test
+    void incomingCallsSkipTheWindow() throws InterruptedException {
+        device(1, "tok-1", "android");
+
+        push.sendIncomingCallNotification(1L, "Мария", 9L, 5L, null);
+        push.sendIncomingCallNotification(1L, "Мария", 9L, 5L, null);
+
+        waitFor(() -> fcm.batches.size() == 1);
+        Thread.sleep(LATENCY_MS);
+        assertEquals(1, fcm.batches.size());
+        assertEquals("INCOMING_CALL", fcm.batches.get(0).data().get("type"));
+    }
+
+    @Test
+    void disabledFirebaseSendsNothing() {
+        fcm.available = false;
+        device(1, "tok-1", "android");
+
+        push.sendNotificationToUser(1L, "Заглавие", "Текст", null);
+        push.flushPending();
+
+        assertTrue(fcm.batches.isEmpty());
+    }
+
+    private void device(long userId, String token, String platform) {
+        devices.add(new Object[]{userId, token, platform});
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /** FCM stand-in: fixed latency per call; "bad-" tokens are unregistered, "flaky-" ones fail. */
+    private static final class FakeFcm implements PushTransport {
+
+        final List<Batch> batches = new CopyOnWriteArrayList<>();
+        volatile boolean available = true;
+
+        @Override
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @Override
+        public List<Outcome> send(Batch batch) throws InterruptedException {
+            Thread.sleep(LATENCY_MS);
+            batches.add(batch);
+            return batch.tokens().stream()
+                    .map(t -> t.startsWith("bad-") ? Outcome.INVALID_TOKEN
+                            : t.startsWith("flaky-") ? Outcome.FAILED : Outcome.SENT)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import smolyanVote.smolyanVote.models.monitor.MonitorArchiveBlobEntity;
+import smolyanVote.smolyanVote.models.monitor.MonitorArchiveEntity;
+import smolyanVote.smolyanVote.models.monitor.MonitorDocumentEntity;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorArchiveBlobRepository;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorArchiveRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class DocumentArchiveServiceTest {
+
+    private final List<MonitorArchiveEntity> archives = new ArrayList<>();
+    private final Map<String, MonitorArchiveBlobEntity> blobs = new HashMap<>();
+    private DocumentArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        MonitorArchiveRepository archiveRepository = Mockito.mock(MonitorArchiveRepository.class);
+        MonitorArchiveBlobRepository blobRepository = Mockito.mock(MonitorArchiveBlobRepository.class);
+
+        when(archiveRepository.save(any())).thenAnswer(inv -> {
+            MonitorArchiveEntity archive = inv.getArgument(0);
+            archive.setId((long) archives.size() + 1);
+            // Same-millisecond saves must still order newest first
+            archive.setFetchedAt(Instant.EPOCH.plusSeconds(archives.size()));
+            archives.add(archive);
+            return archive;
+        });
+        when(archiveRepository.findById(anyLong())).thenAnswer(inv ->
+                archives.stream().filter(a -> a.getId().equals(inv.getArgument(0))).findFirst());
+        when(archiveRepository.findByDocumentIdOrderByFetchedAtDesc(anyLong())).thenAnswer(inv ->
+                ofDocument(inv.getArgument(0)).toList());
+        when(archiveRepository.findFirstByDocumentIdAndBlobHashIsNotNullOrderByFetchedAtDesc(anyLong()))
+                .thenAnswer(inv -> ofDocument(inv.getArgument(0)).filter(a -> a.getBlobHash() != null).findFirst());
+
+        when(blobRepository.save(any())).thenAnswer(inv -> {
+            MonitorArchiveBlobEntity blob = inv.getArgument(0);
+            blobs.put(blob.getContentHash(), blob);
+            return blob;
+        });
+        when(blobRepository.existsByContentHash(anyString())).thenAnswer(inv -> blobs.containsKey(inv.getArgument(0)));
+        when(blobRepository.findByContentHash(anyString())).thenAnswer(inv ->
+                Optional.ofNullable(blobs.get(inv.getArgument(0))));
+
+        archiveService = new DocumentArchiveService(archiveRepository, blobRepository);
+    }
+
+    @Test
+    void everyRevisionIsReconstructedAndCostsAboutTheSizeOfItsEdit() {
+        MonitorDocumentEntity doc = document(1L);
+        List<String> versions = revisions(new Random(7), 40);
+
+        for (String previous : versions) {
+            archive(doc, previous);
+        }
+
+        List<DocumentArchiveService.ArchivedVersion> listed = archiveService.listVersions(1L);
+        assertThat(listed).hasSize(versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            Long id = listed.get(versions.size() - 1 - i).id();
+            assertThat(archiveService.reconstruct(id)).contains(versions.get(i));
+        }
+
+        int full = MonitorTextDelta.compress(versions.get(0)).length;
+        List<MonitorArchiveBlobEntity> deltas = blobs.values().stream().filter(b -> b.getBaseHash() != null).toList();
+        assertThat(deltas).hasSizeGreaterThan(30);
+        assertThat(deltas).allSatisfy(delta -> assertThat(delta.getPayload().length).isLessThan(300));
+        assertThat(full).isGreaterThan(10_000);
+    }
+
+    @Test
+    void deltaChainsAreCutByAFullText() {
+        MonitorDocumentEntity doc = document(1L);
+        for (String previous : revisions(new Random(11), 3 * DocumentArchiveService.MAX_CHAIN)) {
+            archive(doc, previous);
+        }
+
+        assertThat(blobs.values()).allSatisfy(blob ->
+                assertThat(blob.getChainDepth()).isLessThanOrEqualTo(DocumentArchiveService.MAX_CHAIN));
+        assertThat(blobs.values().stream().filter(b -> b.getBaseHash() == null).count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void theSameTextIsStoredOnceAcrossDocuments() {
+        String text = revisions(new Random(3), 1).get(0);
+
+        archive(document(1L), text);
+        archive(document(2L), text);
+
+        assertThat(archives).hasSize(2);
+        assertThat(blobs).hasSize(1);
+        assertThat(archiveService.reconstruct(archives.get(1).getId())).contains(text);
+    }
+
+    @Test
+    void rowsFromBeforeTheBlobStoreReturnTheirSnapshot() {
+        MonitorArchiveEntity legacy = new MonitorArchiveEntity();
+        legacy.setDocumentId(1L);
+        legacy.setRawSnapshot("стар текст");
+        archives.add(legacy);
+        legacy.setId(1L);
+
+        assertThat(archiveService.reconstruct(1L)).contains("стар текст");
+        assertThat(archiveService.reconstruct(99L)).isEmpty();
+    }
+
+    @Test
+    void deltasSurviveSurrogatePairsAndEmptyTexts() {
+        String base = "Решение 😀 ".repeat(40);
+        String target = base.substring(0, 101) + "🎉 нов текст" + base.substring(101);
+
+        assertThat(MonitorTextDelta.apply(base, MonitorTextDelta.encode(base, target))).isEqualTo(target);
+        assertThat(MonitorTextDelta.apply(base, MonitorTextDelta.encode(base, ""))).isEmpty();
+        assertThat(MonitorTextDelta.apply("", MonitorTextDelta.encode("", target))).isEqualTo(target);
+    }
+
+    private void archive(MonitorDocumentEntity doc, String previousContent) {
+        archiveService.archivePreviousVersion(doc, MonitorHashUtil.sha256(previousContent), previousContent);
+    }
+
+    private java.util.stream.Stream<MonitorArchiveEntity> ofDocument(Long documentId) {
+        return archives.stream()
+                .filter(a -> documentId.equals(a.getDocumentId()))
+                .sorted(Comparator.comparing(MonitorArchiveEntity::getFetchedAt).reversed());
+    }
+
+    private static MonitorDocumentEntity document(Long id) {
+        MonitorDocumentEntity doc = new MonitorDocumentEntity();
+        doc.setId(id);
+        doc.setContentHash("current-" + id);
+        doc.setSourceUrl("https://www.smolyan.bg/doc/" + id);
+        return doc;
+    }
+
+    /** A long decision and its successive re-publications, each changing one short passage. */
+    private static List<String> revisions(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        String[] words = {"общински", "съвет", "решение", "бюджет", "договор", "ремонт", "улица", "средства",
+                "проект", "кмет", "Смолян", "изпълнител", "сума", "лева", "член", "алинея"};
+        while (text.length() < 40_000) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(1000)).append(' ');
+        }
+        List<String> versions = new ArrayList<>();
+        versions.add(text.toString());
+        for (int i = 1; i < count; i++) {
+            int at = random.nextInt(text.length() - 100);
+            text.replace(at, at + random.nextInt(40), "поправка " + i + " на т. " + random.nextInt(100));
+            versions.add(text.toString());
+        }
+        return versions;
+    }
+}
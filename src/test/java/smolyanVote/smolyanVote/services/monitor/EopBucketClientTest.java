@@ -0,0 +1,190 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link EopBucketClient} against a local fixture server (JDK {@code HttpServer}).
+ * <p>
+ * Isolated and sequential: the large-file test measures the JVM heap, which objects of tests
+ * running alongside would skew.
+ */
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+class EopBucketClientTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 5);
+    private static final String BUCKET = "/open-data-" + DAY + "/";
+    private static final String REGIONAL_EIK = MonitorRegionalConfig.SMOLYAN_CITY_EIK;
+
+    private HttpServer server;
+    private EopBucketClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        client = new EopBucketClient(new ObjectMapper(), "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void listDay_readsKeysWithEntitiesAndCyrillic() {
+        serve(BUCKET, exchange -> respond(exchange, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <ListBucketResult xmlns="http://s3.amazonaws.com/doc/2006-03-01/">
+                  <Contents><Key>README &amp; notes.txt</Key></Contents>
+                  <Contents><Key>Данни за Договори, публикувани от 05.01.2026.json</Key></Contents>
+                  <Contents><Key>Данни за Анекси &amp; изменения от 05.01.2026.json</Key></Contents>
+                </ListBucketResult>
+                """));
+
+        EopBucketClient.DayBucket bucket = client.listDay(DAY);
+
+        assertNotNull(bucket);
+        assertEquals("Данни за Договори, публикувани от 05.01.2026.json", bucket.contractsKey());
+        assertEquals("Данни за Анекси & изменения от 05.01.2026.json", bucket.annexesKey());
+    }
+
+    @Test
+    void listDay_returnsNullForMissingBucket() {
+        serve(BUCKET, exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        assertNull(client.listDay(DAY));
+    }
+
+    @Test
+    void streamArray_handsFilteredRowsOverInBoundedChunks() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String buyer = i % 2 == 0 ? REGIONAL_EIK : "000000000";
+            json.append("{\"noticeId\":\"n").append(i).append("\",\"buyerRegistryNumber\":\"").append(buyer).append("\"}");
+        }
+        json.append(']');
+        serve(BUCKET, exchange -> respond(exchange, json.toString()));
+
+        List<List<String>> chunks = new ArrayList<>();
+        EopBucketClient.StreamStats stats = client.streamArray(DAY, "Договори 05.01.2026.json",
+                row -> REGIONAL_EIK.equals(row.path("buyerRegistryNumber").asText()), 2,
+                chunk -> chunks.add(chunk.stream().map(row -> row.path("noticeId").asText()).toList()));
+
+        assertEquals(new EopBucketClient.StreamStats(10, 5), stats);
+        assertEquals(List.of(List.of("n0", "n2"), List.of("n4", "n6"), List.of("n8")), chunks);
+    }
+
+    @Test
+    void streamArray_ignoresNonArrayBody() {
+        serve(BUCKET, exchange -> respond(exchange, "{\"error\":\"not yet\"}"));
+
+        EopBucketClient.StreamStats stats = client.streamArray(DAY, "x.json", row -> true, 10,
+                chunk -> fail("no rows expected"));
+
+        assertEquals(new EopBucketClient.StreamStats(0, 0), stats);
+    }
+
+    /**
+     * Streams a 96 MB day file generated on the fly and, twice mid-stream, measures the heap that
+     * survives a GC. Buffering the body (the old byte[] + readTree path) would retain at least the
+     * bytes served so far — 32 MB at the first checkpoint — so the bound only holds for real streaming.
+     */
+    @Test
+    void streamArray_keepsHeapFlatOnLargeDayFile() {
+        // A real day file is about this size; buffering it whole would need several times as much heap
+        long targetBytes = 200L * 1024 * 1024;
+        long[] checkpoints = {64L * 1024 * 1024, 128L * 1024 * 1024, 192L * 1024 * 1024};
+        String filler = "x".repeat(900);
+        AtomicLong served = new AtomicLong();
+        serve(BUCKET, exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write('[');
+                for (int i = 0; served.get() < targetBytes; i++) {
+                    String buyer = i % 1000 == 0 ? REGIONAL_EIK : "000000000";
+                    byte[] row = ((i > 0 ? "," : "") + "{\"noticeId\":\"n" + i + "\",\"buyerRegistryNumber\":\""
+                            + buyer + "\",\"subject\":\"" + filler + "\"}").getBytes(StandardCharsets.UTF_8);
+                    out.write(row);
+                    served.addAndGet(row.length);
+                }
+                out.write(']');
+            }
+        });
+
+        long baseline = heapAfterGc();
+        List<Long> retained = new ArrayList<>();
+        AtomicLong kept = new AtomicLong();
+        EopBucketClient.StreamStats stats = client.streamArray(DAY, "big.json",
+                row -> REGIONAL_EIK.equals(row.path("buyerRegistryNumber").asText()), 1,
+                chunk -> {
+                    kept.addAndGet(chunk.size());
+                    if (retained.size() < checkpoints.length && served.get() >= checkpoints[retained.size()]) {
+                        retained.add(heapAfterGc() - baseline);
+                    }
+                });
+
+        assertTrue(stats.scanned() > 200_000);
+        assertEquals(stats.kept(), kept.get());
+        assertEquals(checkpoints.length, retained.size(), "stream ended before the heap checkpoints");
+        for (long bytes : retained) {
+            assertTrue(bytes < 16L * 1024 * 1024, "heap retained " + bytes / (1024 * 1024) + " MB mid-stream");
+        }
+    }
+
+    private static long heapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private void serve(String path, Handler handler) {
+        server.createContext(path, exchange -> {
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorApiThrottleTest {
+
+    @Test
+    void concurrentCallersNeverStartFasterThanTheInterval() throws Exception {
+        long intervalMs = 40;
+        MonitorApiThrottle throttle = new MonitorApiThrottle(intervalMs);
+        List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                calls.add(pool.submit(() -> {
+                    throttle.awaitSlot();
+                    starts.add(System.nanoTime());
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Long> sorted = new ArrayList<>(starts);
+        Collections.sort(sorted);
+        long spanMs = (sorted.get(sorted.size() - 1) - sorted.get(0)) / 1_000_000;
+        // 12 starts with one token per 40 ms: the first is free, the other 11 wait their turn
+        assertTrue(spanMs >= 11 * intervalMs - 20, "12 calls took only " + spanMs + " ms");
+    }
+
+    @Test
+    void backOffHoldsEveryCaller() {
+        MonitorApiThrottle throttle = new MonitorApiThrottle(0);
+        throttle.backOff(150);
+
+        long started = System.nanoTime();
+        throttle.awaitSlot();
+
+        assertTrue((System.nanoTime() - started) / 1_000_000 >= 140);
+    }
+
+    @Test
+    void parsesRetryDelayFromErrorBody() {
+        assertEquals(7_000L, MonitorApiThrottle.parseRetryDelayMs("{\"retryDelay\": \"7s\"}", 1_000L));
+        assertEquals(1_000L, MonitorApiThrottle.parseRetryDelayMs("Too many requests", 1_000L));
+    }
+}
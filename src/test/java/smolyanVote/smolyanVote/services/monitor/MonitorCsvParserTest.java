@@ -2,9 +2,15 @@ package smolyanVote.smolyanVote.services.monitor;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class MonitorCsvParserTest {
 
@@ -26,4 +32,121 @@ class MonitorCsvParserTest {
         List<String[]> rows = MonitorCsvParser.parseRows(csv);
         assertEquals("id", rows.get(0)[0].replace("\uFEFF", "").trim().toLowerCase().startsWith("id") ? "id" : rows.get(0)[0]);
     }
+
+    @Test
+    void keepsLineBreaksAndEscapedQuotesInsideQuotedFields() {
+        String csv = "id,subject\r\n" +
+                "a,\"Ремонт на \"\"Стадион\"\"\r\nвтори ред\"\r\n" +
+                "b,plain\r\n";
+        List<String[]> rows = MonitorCsvParser.parseRows(csv);
+        assertEquals(3, rows.size());
+        assertEquals("Ремонт на \"Стадион\"\r\nвтори ред", rows.get(1)[1]);
+        assertArrayEquals(new String[]{"b", "plain"}, rows.get(2));
+    }
+
+    @Test
+    void streamingReaderMatchesInMemoryParseAcrossReadBoundaries() throws IOException {
+        String csv = "id,subject,value_eur\n" +
+                "1,\"a, \"\"quoted\"\"\nvalue\",10.5\n" +
+                "\uFEFF2,,\n" +
+                "3,\"\",7";
+        List<String[]> expected = MonitorCsvParser.parseRows(csv);
+
+        // One char per read() call: every quote pair and CRLF straddles a buffer refill
+        List<String[]> streamed = readAll(new OneCharReader(csv));
+
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), streamed.get(i));
+        }
+        assertArrayEquals(new String[]{"2", "", ""}, streamed.get(2));
+    }
+
+    @Test
+    void streamsLargeSyntheticFileRowByRow() throws IOException {
+        int rowCount = 250_000;
+        MonitorCsvParser.RowReader rows = MonitorCsvParser.open(new SyntheticCsvReader(rowCount));
+
+        assertArrayEquals(new String[]{"id", "subject", "value_eur"}, rows.next());
+        int seen = 0;
+        for (String[] row = rows.next(); row != null; row = rows.next()) {
+            assertEquals(3, row.length);
+            assertEquals(String.valueOf(seen), row[0]);
+            assertEquals("Договор " + seen + ",\nред \"" + seen + "\"", row[1]);
+            seen++;
+        }
+        assertEquals(rowCount, seen);
+        assertNull(rows.next());
+    }
+
+    @Test
+    void emptyInputHasNoRows() throws IOException {
+        assertEquals(0, MonitorCsvParser.parseRows("").size());
+        assertNull(MonitorCsvParser.open(new StringReader("")).next());
+    }
+
+    private static List<String[]> readAll(Reader reader) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        MonitorCsvParser.RowReader rowReader = MonitorCsvParser.open(reader);
+        for (String[] row = rowReader.next(); row != null; row = rowReader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /** Generates rows on demand — the file is never held in memory, only the current line. */
+    private static final class SyntheticCsvReader extends Reader {
+        private final int rowCount;
+        private int nextRow = -1;
+        private String line = "";
+        private int position;
+
+        SyntheticCsvReader(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= line.length()) {
+                if (nextRow >= rowCount) {
+                    return -1;
+                }
+                line = nextRow < 0
+                        ? "id,subject,value_eur\r\n"
+                        : nextRow + ",\"Договор " + nextRow + ",\nред \"\"" + nextRow + "\"\"\"," + nextRow + ".00\r\n";
+                nextRow++;
+                position = 0;
+            }
+            int n = Math.min(length, line.length() - position);
+            line.getChars(position, position + n, buffer, offset);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
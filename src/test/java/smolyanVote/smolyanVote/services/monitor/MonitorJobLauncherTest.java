@@ -87,6 +87,28 @@ class MonitorJobLauncherTest {
         assertThat(stateOf(launcher, "EOP").status()).isEqualTo(JobStatus.SUCCESS);
     }
 
+    @Test
+    void progressIsShownWhileRunningButNeverOverwritesTheOutcome() throws Exception {
+        MonitorJobLauncher launcher = new MonitorJobLauncher();
+        CountDownLatch reported = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        launcher.launch("SIGMA", "SIGMA импорт", () -> {
+            launcher.reportProgress("SIGMA", "SIGMA: 3/8 възложители");
+            reported.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return JobResult.ok("SIGMA: 40 договора");
+        });
+
+        assertThat(reported.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stateOf(launcher, "SIGMA").message()).isEqualTo("SIGMA: 3/8 възложители");
+
+        release.countDown();
+        awaitSettled(launcher, "SIGMA");
+        launcher.reportProgress("SIGMA", "SIGMA: 8/8 възложители");
+        assertThat(stateOf(launcher, "SIGMA").message()).isEqualTo("SIGMA: 40 договора");
+    }
+
     private static MonitorJobLauncher.JobState stateOf(MonitorJobLauncher launcher, String key) {
         return launcher.snapshot().stream()
                 .filter(state -> state.key().equals(key))
@@ -0,0 +1,103 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorFeedItemDTO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MonitorLandingSnapshotServiceTest {
+
+    private MonitorService monitorService;
+    private MonitorJobLauncher jobLauncher;
+    private SimpleMeterRegistry meterRegistry;
+    private MonitorLandingSnapshotService snapshots;
+
+    @BeforeEach
+    void setUp() {
+        monitorService = Mockito.mock(MonitorService.class);
+        jobLauncher = new MonitorJobLauncher();
+        meterRegistry = new SimpleMeterRegistry();
+        when(monitorService.buildWeeklyHighlights(any())).thenReturn(List.of(item("Договор А")));
+        snapshots = new MonitorLandingSnapshotService(
+                monitorService, new ObjectMapper().findAndRegisterModules(), jobLauncher, meterRegistry);
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheSnapshot() {
+        MonitorLandingSnapshotService.Snapshot first = snapshots.weeklyHighlights(MonitorScope.WHOLE_OBLAST);
+        MonitorLandingSnapshotService.Snapshot second = snapshots.weeklyHighlights(MonitorScope.WHOLE_OBLAST);
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).contains("Договор А");
+        verify(monitorService, times(1)).buildWeeklyHighlights(MonitorScope.WHOLE_OBLAST);
+    }
+
+    @Test
+    void unchangedDataKeepsTheEtagAndChangedDataBumpsTheVersion() {
+        MonitorLandingSnapshotService.Snapshot before = snapshots.weeklyHighlights(MonitorScope.WHOLE_OBLAST);
+
+        snapshots.regenerateAll();
+        MonitorLandingSnapshotService.Snapshot same = snapshots.weeklyHighlights(MonitorScope.WHOLE_OBLAST);
+        assertThat(same.etag()).isEqualTo(before.etag());
+        assertThat(same.version()).isEqualTo(before.version());
+
+        when(monitorService.buildWeeklyHighlights(any())).thenReturn(List.of(item("Договор Б")));
+        snapshots.regenerateAll();
+        MonitorLandingSnapshotService.Snapshot changed = snapshots.weeklyHighlights(MonitorScope.WHOLE_OBLAST);
+        assertThat(changed.etag()).isNotEqualTo(before.etag());
+        assertThat(changed.version()).isEqualTo(before.version() + 1);
+    }
+
+    @Test
+    void ifNoneMatchAcceptsListsAndWeakTags() {
+        MonitorLandingSnapshotService.Snapshot snapshot = snapshots.weeklyHighlights(MonitorScope.WHOLE_OBLAST);
+
+        assertThat(snapshot.matches(snapshot.etag())).isTrue();
+        assertThat(snapshot.matches("\"other\", W/" + snapshot.etag())).isTrue();
+        assertThat(snapshot.matches("\"other\"")).isFalse();
+        assertThat(snapshot.matches(null)).isFalse();
+    }
+
+    @Test
+    void aFinishedJobRegeneratesEveryScope() throws Exception {
+        jobLauncher.launch("EOP", "EOP импорт", () -> MonitorJobLauncher.JobResult.ok("EOP: 3 договора"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        int scopes = MonitorRegionalConfig.AUTHORITY_LABELS.size() + 1;
+        while (Mockito.mockingDetails(monitorService).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("buildBriefing"))
+                .count() < scopes && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        verify(monitorService, times(scopes)).buildBriefing(any());
+        verify(monitorService, times(scopes)).buildWeeklyHighlights(any());
+    }
+
+    @Test
+    void stalenessGaugeReportsTheOldestSnapshot() {
+        assertThat(meterRegistry.get("monitor.snapshot.age").gauge().value()).isZero();
+
+        snapshots.regenerateAll();
+
+        assertThat(meterRegistry.get("monitor.snapshot.age").gauge().value()).isBetween(0.0, 5.0);
+    }
+
+    private static MonitorFeedItemDTO item(String title) {
+        return new MonitorFeedItemDTO("c-1", "contract", title, null, null, 70, List.of(),
+                new BigDecimal("12000"), LocalDate.of(2024, 6, 1), null, null, null, null);
+    }
+}
@@ -0,0 +1,254 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import smolyanVote.smolyanVote.config.MonitorOcrProperties;
+import smolyanVote.smolyanVote.models.monitor.MonitorDocumentEntity;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorDocumentRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Runs the real pipeline against shell stubs of tesseract / pdfinfo / pdftoppm. */
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class MonitorOcrServiceTest {
+
+    private static final int PAGES = 3;
+    private static final int PAGE_MS = 500;
+    private static final String PAGE_TEXT =
+            "Решение на Общинския съвет за отпускане на средства по проект за ремонт, страница";
+
+    @TempDir
+    Path tools;
+
+    @TempDir
+    Path work;
+
+    private HttpServer server;
+    private MonitorDocumentRepository documentRepository;
+    private MonitorOcrProperties properties;
+    private MonitorOcrService ocrService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = path.contains("large")
+                    ? new byte[3 * 1024 * 1024]
+                    : path.contains("medium")
+                    ? new byte[1536 * 1024]
+                    : "%PDF-1.4 scanned".getBytes(StandardCharsets.US_ASCII);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        properties = new MonitorOcrProperties();
+        properties.setTesseractCommand(stub("tesseract", tesseractScript(PAGE_MS / 1000.0)).toString());
+        properties.setPdfinfoCommand(stub("pdfinfo", "echo 'Pages:          " + PAGES + "'").toString());
+        properties.setPdftoppmCommand(stub("pdftoppm", """
+                for last; do :; done
+                [ "$1" = "-v" ] && exit 0
+                echo image > "$last.png"
+                """).toString());
+        properties.setTempDir(work.toString());
+        properties.setOcrThreads(4);
+
+        documentRepository = Mockito.mock(MonitorDocumentRepository.class);
+        ocrService = new MonitorOcrService(documentRepository, properties,
+                Mockito.mock(MonitorJobLauncher.class), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void pagesOfSeveralDocumentsAreRecognizedInParallel() throws IOException {
+        candidates("doc-1.pdf", "doc-2.pdf", "doc-3.pdf", "doc-4.pdf");
+
+        long started = System.nanoTime();
+        int processed = ocrService.processBatch(10);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(4, processed);
+        verify(documentRepository, times(4)).save(any());
+        // 12 pages one by one take 6 s; four workers finish in about a third of that
+        assertTrue(elapsedMs < 4 * PAGES * PAGE_MS * 6 / 10, "batch took " + elapsedMs + " ms");
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void pageTextsAreJoinedInPageOrder() throws IOException {
+        List<MonitorDocumentEntity> docs = candidates("doc-1.pdf");
+
+        ocrService.processBatch(10);
+
+        String text = docs.get(0).getRawContent();
+        assertTrue(text.indexOf(PAGE_TEXT + "-1") < text.indexOf(PAGE_TEXT + "-2"));
+        assertTrue(text.indexOf(PAGE_TEXT + "-2") < text.indexOf(PAGE_TEXT + "-3"));
+    }
+
+    @Test
+    void aPdfLargerThanTheDiskQuotaIsSkippedWithoutStoppingTheBatch() throws IOException {
+        properties.setTempDiskQuotaMb(4);
+        properties.setMaxPageImageMb(1);
+        candidates("large.pdf", "doc-2.pdf");
+
+        assertEquals(1, ocrService.processBatch(10));
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void twoPdfsLargerThanHalfTheQuotaDoNotBlockEachOther() throws IOException {
+        // 2 MB for PDFs after the page-image reserve; each 1.5 MB file must take its turn whole
+        properties.setTempDiskQuotaMb(4);
+        properties.setMaxPageImageMb(1);
+        properties.setDocumentTimeoutSeconds(20);
+        candidates("medium-1.pdf", "medium-2.pdf");
+
+        long started = System.nanoTime();
+        assertEquals(2, ocrService.processBatch(10));
+
+        assertTrue((System.nanoTime() - started) / 1_000_000 < 15_000);
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void documentsWaitingForAnOcrThreadDoNotExpire() throws IOException {
+        // One OCR thread: the fourth document's pages start 4.5 s after it was downloaded
+        properties.setOcrThreads(1);
+        properties.setDocumentTimeoutSeconds(3);
+        candidates("doc-1.pdf", "doc-2.pdf", "doc-3.pdf", "doc-4.pdf");
+
+        assertEquals(4, ocrService.processBatch(10));
+
+        verify(documentRepository, times(4)).save(any());
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void aDocumentOverItsDeadlineIsAbandoned() throws IOException {
+        properties.setTesseractCommand(stub("tesseract", tesseractScript(30)).toString());
+        properties.setDocumentTimeoutSeconds(1);
+        candidates("doc-1.pdf");
+
+        long started = System.nanoTime();
+        assertEquals(0, ocrService.processBatch(10));
+
+        assertTrue((System.nanoTime() - started) / 1_000_000 < 10_000);
+        verify(documentRepository, never()).save(any());
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void cancellingTheJobStopsRunningProcesses() throws Exception {
+        properties.setTesseractCommand(stub("tesseract", tesseractScript(30)).toString());
+        candidates("doc-1.pdf", "doc-2.pdf");
+
+        CompletableFuture<Integer> batch = CompletableFuture.supplyAsync(() -> {
+            MonitorJobCancellation.begin("OCR");
+            try {
+                return ocrService.processBatch(10);
+            } finally {
+                MonitorJobCancellation.end();
+            }
+        });
+        Thread.sleep(500);
+        MonitorJobCancellation.request("OCR");
+        try {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> batch.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(MonitorJobCancelledException.class, thrown.getCause());
+        } finally {
+            MonitorJobCancellation.clear("OCR");
+        }
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void diskBudgetWaitsForReleasedBytes() throws Exception {
+        MonitorOcrService.DiskBudget budget = new MonitorOcrService.DiskBudget(100);
+        budget.reserve(80, System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                budget.reserve(50, System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        budget.release(80);
+        waiting.get(2, TimeUnit.SECONDS);
+        assertEquals(50, budget.used());
+    }
+
+    private List<MonitorDocumentEntity> candidates(String... files) {
+        List<MonitorDocumentEntity> docs = new ArrayList<>();
+        for (int i = 0; i < files.length; i++) {
+            MonitorDocumentEntity doc = new MonitorDocumentEntity();
+            doc.setId((long) i + 1);
+            doc.setSourceUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/" + files[i]);
+            docs.add(doc);
+        }
+        when(documentRepository.findOcrCandidates(any())).thenReturn(docs);
+        return docs;
+    }
+
+    /** Writes "<text> <page>" for page-N inputs, like tesseract writing outputbase.txt. */
+    private static String tesseractScript(double seconds) {
+        return """
+                [ "$1" = "--version" ] && { echo "tesseract 5.3.0"; exit 0; }
+                sleep %s
+                page=$(basename "$2" | sed 's/page//')
+                printf '%%s%%s\\n' "%s" "$page" > "$2.txt"
+                """.formatted(seconds, PAGE_TEXT);
+    }
+
+    private Path stub(String name, String body) throws IOException {
+        Path script = tools.resolve(name);
+        Files.writeString(script, "#!/bin/sh\n" + body);
+        Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return script;
+    }
+
+    private void assertNoTempFilesLeft() throws IOException {
+        try (var leftovers = Files.list(work)) {
+            assertEquals(0, leftovers.count(), "OCR temp files were not cleaned up");
+        }
+    }
+}
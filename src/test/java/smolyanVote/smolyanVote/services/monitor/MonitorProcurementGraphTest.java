@@ -0,0 +1,115 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
+import smolyanVote.smolyanVote.viewsAndDTO.monitor.MonitorFlowsDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MonitorProcurementGraphTest {
+
+    private static final String SMOLYAN = MonitorRegionalConfig.SMOLYAN_CITY_EIK;
+    private static final String DEVIN = MonitorRegionalConfig.DEVIN_EIK;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private MonitorContractRepository contractRepository;
+    private MonitorProcurementGraph graph;
+    private List<MonitorContractEntity> contracts;
+
+    @BeforeEach
+    void setUp() {
+        contracts = List.of(
+                contract(1L, SMOLYAN, "222222222", "100000", "333333333", "30000"),
+                contract(2L, SMOLYAN, "222222222", "50000", null, null),
+                contract(3L, DEVIN, "222222222", "70000", "444444444", "20000"),
+                contract(4L, DEVIN, "555555555", "10000", "333333333", "5000"));
+        contractRepository = Mockito.mock(MonitorContractRepository.class);
+        when(contractRepository.findAllInScope(null)).thenReturn(contracts);
+        graph = new MonitorProcurementGraph(contractRepository, mapper);
+    }
+
+    @Test
+    void flowsMatchTheGraphBuiltFromTheScopedContracts() {
+        MonitorFlowsDTO whole = graph.flows(MonitorScope.WHOLE_OBLAST);
+        MonitorFlowsDTO devin = graph.flows(MonitorScope.of(DEVIN));
+
+        assertEquals(MonitorFlowsGraphBuilder.build(contracts, mapper), whole);
+        assertEquals(MonitorFlowsGraphBuilder.build(contracts.subList(2, 4), mapper), devin);
+        // One pass over the contracts serves every scope
+        verify(contractRepository, times(1)).findAllInScope(null);
+    }
+
+    @Test
+    void directPathCarriesEveryContractOnTheEdge() {
+        assertArrayEquals(new long[]{1L, 2L}, graph.pathContractIds("auth:" + SMOLYAN, "co:222222222"));
+        assertArrayEquals(new long[]{1L}, graph.pathContractIds("co:222222222", "sub:333333333"));
+    }
+
+    @Test
+    void twoHopPathKeepsOnlyContractsOnBothEdges() {
+        // Contractor 222222222 subcontracts to 333333333 only under contract 1, not under 2 or 3
+        assertArrayEquals(new long[]{1L}, graph.pathContractIds("auth:" + SMOLYAN, "sub:333333333"));
+        // Contract 4 reaches the same subcontractor from Devin through another contractor
+        assertArrayEquals(new long[]{4L}, graph.pathContractIds("auth:" + DEVIN, "sub:333333333"));
+        assertArrayEquals(new long[]{3L}, graph.pathContractIds("auth:" + DEVIN, "sub:444444444"));
+    }
+
+    @Test
+    void unconnectedNodesHaveNoPath() {
+        assertEquals(0, graph.pathContractIds("auth:" + SMOLYAN, "sub:444444444").length);
+        assertEquals(0, graph.pathContractIds("sub:333333333", "auth:" + SMOLYAN).length);
+    }
+
+    @Test
+    void invalidateRebuildsOnTheNextReadOnly() {
+        graph.flows(MonitorScope.WHOLE_OBLAST);
+        graph.flows(MonitorScope.of(SMOLYAN));
+        verify(contractRepository, times(1)).findAllInScope(null);
+
+        graph.invalidate();
+        when(contractRepository.findAllInScope(null)).thenReturn(contracts.subList(0, 1));
+
+        assertArrayEquals(new long[]{1L}, graph.pathContractIds("auth:" + SMOLYAN, "co:222222222"));
+        verify(contractRepository, times(2)).findAllInScope(null);
+    }
+
+    @Test
+    void sortedIdSetsIntersectAndUnion() {
+        assertArrayEquals(new long[]{3L, 7L}, MonitorProcurementGraph.intersect(
+                new long[]{1L, 3L, 5L, 7L}, new long[]{2L, 3L, 7L, 9L}));
+        assertArrayEquals(new long[]{1L, 2L, 3L, 5L}, MonitorProcurementGraph.union(
+                new long[]{1L, 3L}, new long[]{2L, 3L, 5L}));
+    }
+
+    private static MonitorContractEntity contract(long id, String authEik, String coEik, String amount,
+                                                  String subEik, String subAmount) {
+        MonitorContractEntity c = new MonitorContractEntity();
+        c.setId(id);
+        c.setAuthorityEik(authEik);
+        c.setAuthorityName(MonitorRegionalConfig.labelForAuthority(authEik, authEik));
+        c.setContractorEik(coEik);
+        c.setContractorName("Фирма " + coEik);
+        c.setSubject("Договор " + id);
+        c.setAmountEur(new BigDecimal(amount));
+        c.setSignedAt(LocalDate.of(2024, 6, 1));
+        if (subEik != null) {
+            c.setHasSubcontractors(true);
+            c.setSubcontractorEik(subEik);
+            c.setSubcontractorName("Подизпълнител " + subEik);
+            c.setSubcontractingAmountEur(new BigDecimal(subAmount));
+        }
+        return c;
+    }
+}
@@ -7,12 +7,25 @@ import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
 import smolyanVote.smolyanVote.repositories.monitor.MonitorCompanyRepository;
 import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
 
+import smolyanVote.smolyanVote.models.monitor.MonitorCompanyEntity;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class MonitorRiskServiceTest {
@@ -56,6 +69,147 @@ class MonitorRiskServiceTest {
         assertEquals(0, contract.getRiskScore());
     }
 
+    @Test
+    void fullRescoreMatchesScoringEachContractAgainstTheDatabase() {
+        List<MonitorContractEntity> contracts = randomRegion(new Random(7), 400);
+        backRepositoriesWith(contracts, randomCompanies(new Random(8)));
+
+        riskService.scoreAllContracts();
+
+        assertMatchesPerContractScoring(contracts);
+    }
+
+    @Test
+    void incrementalRescoreMatchesFullRescoreAfterChanges() {
+        Random random = new Random(11);
+        List<MonitorContractEntity> contracts = randomRegion(random, 400);
+        backRepositoriesWith(contracts, randomCompanies(new Random(12)));
+        riskService.scoreAllContracts();
+
+        List<Long> changed = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            MonitorContractEntity contract = contracts.get(random.nextInt(contracts.size()));
+            switch (i % 5) {
+                case 0 -> contract.setAmountEur(new BigDecimal(random.nextInt(400_000)));
+                case 1 -> contract.setSectorCode(SECTORS[random.nextInt(SECTORS.length)]);
+                case 2 -> contract.setContractorEik(EIKS[random.nextInt(EIKS.length)]);
+                case 3 -> contract.setSectorCode(null);
+                default -> contract.setSignedAt(LocalDate.of(2026, 1, 1).plusDays(random.nextInt(200)));
+            }
+            changed.add(contract.getId());
+        }
+
+        riskService.rescoreContracts(changed);
+
+        assertMatchesPerContractScoring(contracts);
+    }
+
+    @Test
+    void unchangedScoresAreNotWrittenBack() {
+        List<MonitorContractEntity> contracts = randomRegion(new Random(3), 200);
+        backRepositoriesWith(contracts, randomCompanies(new Random(4)));
+
+        riskService.scoreAllContracts();
+        int rewritten = riskService.scoreAllContracts();
+
+        assertEquals(0, rewritten);
+        verify(contractRepository, times(1)).saveAll(any());
+        assertEquals(0, riskService.rescoreContracts(List.of(contracts.get(0).getId())));
+        verify(contractRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void incrementalRescoreWithoutIndexFallsBackToFullRescore() {
+        List<MonitorContractEntity> contracts = randomRegion(new Random(5), 50);
+        backRepositoriesWith(contracts, List.of());
+
+        riskService.rescoreContracts(List.of(contracts.get(0).getId()));
+
+        verify(contractRepository).findAll();
+        verify(contractRepository, never()).findAllBySectorCodeIn(anyCollection());
+    }
+
+    private static final String[] SECTORS = {"45", "71", "90", "30"};
+    private static final String[] EIKS = {"111111111", "222222222", "333333333", "444444444", "555555555"};
+
+    /** Each contract rescored through the per-row database path must land on the bulk result. */
+    private void assertMatchesPerContractScoring(List<MonitorContractEntity> contracts) {
+        Map<Long, Integer> scores = new HashMap<>();
+        Map<Long, String> flags = new HashMap<>();
+        for (MonitorContractEntity contract : contracts) {
+            scores.put(contract.getId(), contract.getRiskScore());
+            flags.put(contract.getId(), contract.getRiskFlagsJson());
+        }
+        for (MonitorContractEntity contract : contracts) {
+            riskService.scoreContract(contract);
+            assertEquals(contract.getRiskScore(), scores.get(contract.getId()), "score of " + contract.getId());
+            assertEquals(contract.getRiskFlagsJson(), flags.get(contract.getId()), "flags of " + contract.getId());
+        }
+    }
+
+    /** Repository mocks answering from the lists, with the same filters as the JPQL queries. */
+    private void backRepositoriesWith(List<MonitorContractEntity> contracts, List<MonitorCompanyEntity> companies) {
+        when(contractRepository.findAll()).thenReturn(contracts);
+        when(contractRepository.findBySectorWithAmount(anyString())).thenAnswer(inv -> contracts.stream()
+                .filter(c -> inv.getArgument(0).equals(c.getSectorCode()) && c.getAmountEur() != null)
+                .toList());
+        when(contractRepository.countFragmentationCandidates(anyString(), anyString(), any(), any())).thenAnswer(inv -> {
+            LocalDate since = inv.getArgument(2);
+            BigDecimal threshold = inv.getArgument(3);
+            return contracts.stream()
+                    .filter(c -> inv.getArgument(0).equals(c.getContractorEik()))
+                    .filter(c -> inv.getArgument(1).equals(c.getSectorCode()))
+                    .filter(c -> c.getSignedAt() != null && !c.getSignedAt().isBefore(since))
+                    .filter(c -> c.getAmountEur() != null && c.getAmountEur().compareTo(threshold) < 0)
+                    .count();
+        });
+        when(contractRepository.findAllById(any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return contracts.stream().filter(c -> ids.contains(c.getId())).toList();
+        });
+        when(contractRepository.findAllBySectorCodeIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> sectors = inv.getArgument(0);
+            return contracts.stream().filter(c -> sectors.contains(c.getSectorCode())).toList();
+        });
+        when(companyRepository.findAll()).thenReturn(companies);
+        when(companyRepository.findByEik(anyString())).thenAnswer(inv -> companies.stream()
+                .filter(company -> inv.getArgument(0).equals(company.getEik()))
+                .findFirst());
+        when(companyRepository.findAllByEikIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> eiks = inv.getArgument(0);
+            return companies.stream().filter(company -> eiks.contains(company.getEik())).toList();
+        });
+    }
+
+    private static List<MonitorContractEntity> randomRegion(Random random, int size) {
+        List<MonitorContractEntity> contracts = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            MonitorContractEntity c = new MonitorContractEntity();
+            c.setId((long) i);
+            c.setSectorCode(random.nextInt(10) == 0 ? null : SECTORS[random.nextInt(SECTORS.length)]);
+            c.setContractorEik(random.nextInt(15) == 0 ? null : EIKS[random.nextInt(EIKS.length)]);
+            // Few distinct amounts, so duplicates and exact median ties are common
+            c.setAmountEur(random.nextInt(12) == 0 ? null : new BigDecimal(random.nextInt(40) * 5_000));
+            c.setSignedAt(random.nextInt(10) == 0 ? null : LocalDate.of(2026, 1, 1).plusDays(random.nextInt(200)));
+            c.setPublicationDate(random.nextInt(4) == 0 ? LocalDate.of(2026, 1, 1).plusDays(random.nextInt(200)) : null);
+            c.setBidsReceived(random.nextInt(6) == 0 ? null : 1 + random.nextInt(4));
+            c.setEuFunded(random.nextBoolean());
+            contracts.add(c);
+        }
+        return contracts;
+    }
+
+    private static List<MonitorCompanyEntity> randomCompanies(Random random) {
+        List<MonitorCompanyEntity> companies = new ArrayList<>();
+        for (String eik : EIKS) {
+            MonitorCompanyEntity company = new MonitorCompanyEntity();
+            company.setEik(eik);
+            company.setFoundedAt(random.nextBoolean() ? LocalDate.of(2025, 9, 1).plusDays(random.nextInt(200)) : null);
+            companies.add(company);
+        }
+        return companies;
+    }
+
     private static MonitorContractEntity baseContract() {
         MonitorContractEntity c = new MonitorContractEntity();
         c.setId(1L);
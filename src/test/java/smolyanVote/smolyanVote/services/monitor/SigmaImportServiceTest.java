@@ -0,0 +1,165 @@
+package smolyanVote.smolyanVote.services.monitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import smolyanVote.smolyanVote.config.SigmaProxyProperties;
+import smolyanVote.smolyanVote.models.monitor.MonitorContractEntity;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorCompanyRepository;
+import smolyanVote.smolyanVote.repositories.monitor.MonitorContractRepository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SigmaImportServiceTest {
+
+    private static final long FETCH_MS = 150;
+
+    private SigmaProxyService proxyService;
+    private MonitorContractRepository contractRepository;
+    private MonitorRiskService riskService;
+    private MonitorJobLauncher jobLauncher;
+    private SigmaProxyProperties properties;
+    private SigmaImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        proxyService = Mockito.mock(SigmaProxyService.class);
+        jobLauncher = Mockito.mock(MonitorJobLauncher.class);
+        contractRepository = Mockito.mock(MonitorContractRepository.class);
+        riskService = Mockito.mock(MonitorRiskService.class);
+        properties = new SigmaProxyProperties();
+        importService = new SigmaImportService(
+                contractRepository,
+                Mockito.mock(MonitorCompanyRepository.class),
+                Mockito.mock(MonitorIngestionRunService.class),
+                riskService,
+                Mockito.mock(MonitorInsightEnrichmentService.class),
+                Mockito.mock(EopImportService.class),
+                Mockito.mock(MonitorCompanyAggregateService.class),
+                Mockito.mock(MonitorContractDateBackfillService.class),
+                proxyService,
+                properties,
+                jobLauncher,
+                Mockito.mock(MonitorProcurementGraph.class),
+                Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void authoritiesAreFetchedConcurrentlyAndProgressIsReported() {
+        properties.setFetchConcurrency(4);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(proxyService.streamContractsCsv(anyString(), anyBoolean(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(FETCH_MS);
+            inFlight.decrementAndGet();
+            return null;
+        });
+
+        MonitorJobCancellation.begin("SIGMA");
+        long started = System.nanoTime();
+        SigmaImportService.RefreshResult result;
+        try {
+            result = importService.refreshRegionalContracts(true);
+        } finally {
+            MonitorJobCancellation.end();
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        int authorities = MonitorRegionalConfig.AUTHORITY_LABELS.size();
+        assertEquals(4, maxInFlight.get());
+        // Eight authorities on four workers: two rounds instead of eight
+        assertTrue(elapsedMs < authorities * FETCH_MS / 2, "refresh took " + elapsedMs + " ms");
+        assertTrue(result.failures().isEmpty());
+        verify(jobLauncher, times(authorities)).reportProgress(eq("SIGMA"), startsWith("SIGMA: "));
+        verify(jobLauncher).reportProgress("SIGMA", "SIGMA: " + authorities + "/" + authorities + " възложители (0 договора)");
+    }
+
+    @Test
+    void aFailingAuthorityDoesNotStopTheOthers() {
+        when(proxyService.streamContractsCsv(anyString(), anyBoolean(), any())).thenAnswer(invocation -> {
+            if (MonitorRegionalConfig.SMOLYAN_CITY_EIK.equals(invocation.getArgument(0))) {
+                throw new IllegalStateException("SIGMA 503");
+            }
+            return null;
+        });
+
+        SigmaImportService.RefreshResult result = importService.refreshRegionalContracts(true);
+
+        assertEquals(1, result.failures().size());
+        assertTrue(result.failures().get(0).startsWith("Община Смолян: "));
+        verify(proxyService, times(MonitorRegionalConfig.AUTHORITY_LABELS.size()))
+                .streamContractsCsv(anyString(), anyBoolean(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void chunksCommittedBeforeAFailureAreReportedAndRescored() {
+        AtomicLong ids = new AtomicLong();
+        when(contractRepository.save(any(MonitorContractEntity.class))).thenAnswer(invocation -> {
+            MonitorContractEntity contract = invocation.getArgument(0);
+            contract.setId(ids.incrementAndGet());
+            return contract;
+        });
+        // 700 new contracts, then the connection drops: the first chunk of 500 is committed
+        StringBuilder csv = new StringBuilder("id,subject,authority_eik\n");
+        for (int i = 1; i <= 700; i++) {
+            csv.append("S-").append(i).append(",Доставка ").append(i).append(',')
+                    .append(MonitorRegionalConfig.SMOLYAN_CITY_EIK).append('\n');
+        }
+        when(proxyService.streamContractsCsv(anyString(), anyBoolean(), any())).thenAnswer(invocation -> {
+            if (!MonitorRegionalConfig.SMOLYAN_CITY_EIK.equals(invocation.getArgument(0))) {
+                return null;
+            }
+            SigmaProxyService.CsvReaderCallback<?> callback = invocation.getArgument(2);
+            return callback.read(droppingAfter(csv.toString()));
+        });
+
+        SigmaImportService.RefreshResult result = importService.refreshRegionalContracts(true);
+
+        assertEquals(SigmaImportService.IMPORT_CHUNK_SIZE, result.processed());
+        assertEquals(SigmaImportService.IMPORT_CHUNK_SIZE, result.changed());
+        assertEquals(1, result.failures().size());
+        ArgumentCaptor<List<Long>> rescored = ArgumentCaptor.forClass(List.class);
+        verify(riskService).rescoreContracts(rescored.capture());
+        assertEquals(SigmaImportService.IMPORT_CHUNK_SIZE, rescored.getValue().size());
+    }
+
+    /** Serves {@code body}, then fails like a dropped connection instead of reporting the end. */
+    private static Reader droppingAfter(String body) {
+        StringReader delegate = new StringReader(body);
+        return new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                int read = delegate.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new IOException("Connection reset");
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+                delegate.close();
+            }
+        };
+    }
+}
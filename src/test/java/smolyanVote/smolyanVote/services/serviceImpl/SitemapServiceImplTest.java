@@ -0,0 +1,108 @@
+package smolyanVote.smolyanVote.services.serviceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import smolyanVote.smolyanVote.services.interfaces.SitemapService.SitemapDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SitemapServiceImplTest {
+
+    private JdbcTemplate jdbc;
+    private SitemapServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sitemap-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE publications (id BIGINT PRIMARY KEY, status VARCHAR(20), created TIMESTAMP, modified TIMESTAMP)");
+        jdbc.execute("CREATE TABLE simple_events (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE referendum (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE multi_poll (id BIGINT PRIMARY KEY, created_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), created TIMESTAMP, modified TIMESTAMP)");
+
+        Timestamp t = Timestamp.from(Instant.parse("2026-01-10T10:00:00Z"));
+        jdbc.update("INSERT INTO publications VALUES (1, 'PUBLISHED', ?, ?)", t, t);
+        jdbc.update("INSERT INTO publications VALUES (2, 'PENDING', ?, ?)", t, t);
+        jdbc.update("INSERT INTO publications VALUES (50001, 'EDITED', ?, ?)", t, t);
+        jdbc.update("INSERT INTO simple_events VALUES (7, ?)", t);
+        jdbc.update("INSERT INTO users VALUES (3, 'ivan&co', ?, ?)", t, t);
+
+        service = new SitemapServiceImpl(jdbc);
+    }
+
+    @Test
+    void index_listsStaticAndNonEmptyShards() {
+        String index = new String(service.getIndex().body(), StandardCharsets.UTF_8);
+
+        assertTrue(index.contains("<sitemapindex"));
+        assertTrue(index.contains("/sitemaps/pages-0.xml.gz"));
+        assertTrue(index.contains("/sitemaps/publications-0.xml.gz"));
+        assertTrue(index.contains("/sitemaps/publications-1.xml.gz"));
+        assertTrue(index.contains("/sitemaps/events-0.xml.gz"));
+        assertTrue(index.contains("/sitemaps/users-0.xml.gz"));
+        assertFalse(index.contains("referendums-0"));
+    }
+
+    @Test
+    void shard_isGzippedAndUsesEntityLastmod() throws IOException {
+        String xml = gunzip(service.getShard("publications-0.xml.gz").orElseThrow());
+
+        assertTrue(xml.contains("<loc>https://smolyanvote.com/publications/1</loc>"));
+        assertFalse(xml.contains("/publications/2<"), "PENDING публикации не влизат в sitemap");
+        assertTrue(xml.contains("<lastmod>2026-01-10T12:00:00+02:00</lastmod>"));
+
+        String users = gunzip(service.getShard("users-0.xml.gz").orElseThrow());
+        assertTrue(users.contains("/user/ivan&amp;co"));
+        assertTrue(service.getShard("nope-0.xml.gz").isEmpty());
+    }
+
+    @Test
+    void refresh_rebuildsOnlyTouchedShards() {
+        SitemapDocument index = service.getIndex();
+        SitemapDocument untouched = service.getShard("publications-1.xml.gz").orElseThrow();
+        SitemapDocument events = service.getShard("events-0.xml.gz").orElseThrow();
+
+        assertEquals(0, service.refresh());
+        assertSame(index, service.getIndex());
+
+        jdbc.update("UPDATE publications SET modified = ? WHERE id = 1",
+                Timestamp.from(Instant.parse("2026-02-01T08:00:00Z")));
+        jdbc.update("INSERT INTO simple_events VALUES (8, ?)", Timestamp.from(Instant.parse("2025-12-01T00:00:00Z")));
+
+        assertEquals(2, service.refresh());
+        assertSame(untouched, service.getShard("publications-1.xml.gz").orElseThrow());
+        assertNotEquals(events.etag(), service.getShard("events-0.xml.gz").orElseThrow().etag());
+        assertNotEquals(index.etag(), service.getIndex().etag());
+        assertEquals(Instant.parse("2026-02-01T08:00:00Z"),
+                service.getShard("publications-0.xml.gz").orElseThrow().lastModified());
+    }
+
+    @Test
+    void refresh_dropsShardWhoseRowsWereDeleted() {
+        service.getIndex();
+        jdbc.update("DELETE FROM users");
+
+        assertEquals(1, service.refresh());
+        assertTrue(service.getShard("users-0.xml.gz").isEmpty());
+        assertFalse(new String(service.getIndex().body(), StandardCharsets.UTF_8).contains("users-0"));
+    }
+
+    private static String gunzip(SitemapDocument document) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(document.body()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
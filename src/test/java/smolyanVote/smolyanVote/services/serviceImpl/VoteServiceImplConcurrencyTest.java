@@ -0,0 +1,172 @@
+package smolyanVote.smolyanVote.services.serviceImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import smolyanVote.smolyanVote.models.SimpleEventEntity;
+import smolyanVote.smolyanVote.models.UserEntity;
+import smolyanVote.smolyanVote.repositories.*;
+import smolyanVote.smolyanVote.services.interfaces.NotificationService;
+import smolyanVote.smolyanVote.services.support.VoteIpGuardService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Гласове от много потребители едновременно за едно събитие: всеки в своя транзакция,
+ * както при реалните HTTP заявки. Броячите трябва да съвпадат с броя vote редове.
+ * <p>
+ * Тестовете делят една H2 база и едни и същи потребители, затова вървят един след друг и без
+ * други класове успоредно — 64-те нишки и без това натоварват машината.
+ */
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:voteconcurrencytest;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.open-in-view=false"
+})
+class VoteServiceImplConcurrencyTest {
+
+    private static final int VOTERS = 500;
+
+    @Autowired private SimpleEventRepository simpleEventRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private VoteSimpleEventRepository voteSimpleEventRepository;
+    @Autowired private ReferendumRepository referendumRepository;
+    @Autowired private VoteReferendumRepository voteReferendumRepository;
+    @Autowired private MultiPollRepository multiPollRepository;
+    @Autowired private VoteMultiPollRepository voteMultiPollRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private NotificationService notificationService;
+    private VoteServiceImpl voteService;
+    private TransactionTemplate transaction;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        voteService = new VoteServiceImpl(simpleEventRepository, userRepository, voteSimpleEventRepository,
+                referendumRepository, voteReferendumRepository, multiPollRepository, voteMultiPollRepository,
+                notificationService, mock(VoteIpGuardService.class), Runnable::run);
+        transaction = new TransactionTemplate(transactionManager);
+
+        userRepository.save(new UserEntity().setUsername("creator").setEmail("creator@test.bg"));
+        List<UserEntity> voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            voters.add(new UserEntity().setUsername("voter" + i).setEmail("voter" + i + "@test.bg"));
+        }
+        userRepository.saveAll(voters);
+
+        SimpleEventEntity event = new SimpleEventEntity();
+        event.setTitle("Парк в центъра");
+        event.setCreatorName("creator");
+        eventId = simpleEventRepository.save(event).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteSimpleEventRepository.deleteAll();
+        simpleEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void parallelVoters_noVoteIsLost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(VOTERS);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < VOTERS; i++) {
+            String email = "voter" + i + "@test.bg";
+            String value = String.valueOf(i % 3 + 1);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    transaction.executeWithoutResult(status ->
+                            voteService.recordSimpleEventVote(eventId, value, email, "203.0.113.7"));
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(2, TimeUnit.MINUTES), "voters did not finish");
+        pool.shutdown();
+
+        assertTrue(failures.isEmpty(), () -> "failed votes: " + failures.peek());
+        SimpleEventEntity event = simpleEventRepository.findById(eventId).orElseThrow();
+        assertEquals(VOTERS, event.getTotalVotes());
+        assertEquals(167, event.getYesVotes());
+        assertEquals(167, event.getNoVotes());
+        assertEquals(166, event.getNeutralVotes());
+        assertEquals(VOTERS, voteSimpleEventRepository.findByEvent_Id(eventId).size());
+        assertEquals(VOTERS, userRepository.findAll().stream().mapToInt(UserEntity::getTotalVotes).sum());
+        verify(notificationService, times(VOTERS))
+                .notifyNewVote(any(), any(), eq("SIMPLEEVENT"), eq(eventId), eq("Парк в центъра"));
+    }
+
+    @Test
+    void staleEntitySave_doesNotOverwriteTheTally() {
+        // A detail page loaded the event and the voter before the vote was counted
+        SimpleEventEntity stale = simpleEventRepository.findById(eventId).orElseThrow();
+        UserEntity staleVoter = userRepository.findByEmail("voter0@test.bg").orElseThrow();
+
+        transaction.executeWithoutResult(status ->
+                voteService.recordSimpleEventVote(eventId, "1", "voter0@test.bg", "203.0.113.7"));
+        stale.setTitle("Парк в центъра (редактиран)");
+        simpleEventRepository.save(stale);
+        staleVoter.setBio("нова биография");
+        userRepository.save(staleVoter);
+
+        SimpleEventEntity event = simpleEventRepository.findById(eventId).orElseThrow();
+        assertEquals(1, event.getTotalVotes());
+        assertEquals(1, event.getYesVotes());
+        assertEquals(1, userRepository.findByEmail("voter0@test.bg").orElseThrow().getTotalVotes());
+    }
+
+    @Test
+    void rolledBackVote_isNotCountedAndNotNotified() {
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+            voteService.recordSimpleEventVote(eventId, "1", "voter0@test.bg", "203.0.113.7");
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(0, simpleEventRepository.findById(eventId).orElseThrow().getTotalVotes());
+        verifyNoInteractions(notificationService);
+    }
+}
@@ -0,0 +1,197 @@
+package smolyanVote.smolyanVote.services.support;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smolyanVote.smolyanVote.config.BulkEmailProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs the dispatcher against a local fake of the Mailjet v3.1 send endpoint. */
+class BulkEmailDispatcherTest {
+
+    private HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failNextCalls = new AtomicInteger();
+    private volatile int failStatus = 503;
+    private final List<Integer> messagesPerCall = new ArrayList<>();
+    private BulkEmailProperties properties;
+    private BulkEmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            calls.incrementAndGet();
+            JSONArray sent = new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONArray("Messages");
+            byte[] body;
+            int status;
+            if (failNextCalls.getAndDecrement() > 0) {
+                status = failStatus;
+                body = "{\"ErrorMessage\":\"Service unavailable\"}".getBytes(StandardCharsets.UTF_8);
+            } else {
+                synchronized (messagesPerCall) {
+                    messagesPerCall.add(sent.length());
+                }
+                JSONArray results = new JSONArray();
+                for (int i = 0; i < sent.length(); i++) {
+                    String to = sent.getJSONObject(i).getJSONArray("To").getJSONObject(0).getString("Email");
+                    results.put(new JSONObject().put("Status", to.startsWith("bad") ? "error" : "success"));
+                }
+                status = 200;
+                body = new JSONObject().put("Messages", results).toString().getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        properties = new BulkEmailProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setMessagesPerSecond(500);
+        properties.setBurst(100);
+        properties.setRetryBaseDelayMs(50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void mailingIsSentInMultiMessageCallsNoFasterThanTheConfiguredRate() throws Exception {
+        dispatcher = newDispatcher();
+
+        BulkEmailDispatcher.Report report = dispatcher.dispatch("podcast", recipients(1000, 0), this::message)
+                .get(30, TimeUnit.SECONDS);
+
+        assertEquals(1000, report.sent());
+        assertEquals(0, report.failed());
+        assertEquals(20, calls.get());
+        assertTrue(messagesPerCall.stream().allMatch(n -> n == 50), messagesPerCall.toString());
+        // 100 go out on the burst, the other 900 at 500/s. Only the lower bound is checked: the
+        // scheduler cannot send early, but a loaded machine may send late. The exact spacing is
+        // asserted on a fake clock in tokenBucketSpacesReservationsBeyondTheBurst.
+        assertTrue(report.elapsedMs() >= 1500, "finished in " + report.elapsedMs() + " ms");
+    }
+
+    @Test
+    void failedChunksAreRetriedWithBackoff() throws Exception {
+        dispatcher = newDispatcher();
+        failNextCalls.set(2);
+
+        BulkEmailDispatcher.Report report = dispatcher.dispatch("podcast", recipients(120, 0), this::message)
+                .get(30, TimeUnit.SECONDS);
+
+        assertEquals(120, report.sent());
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void chunkIsGivenUpAfterTheLastAttempt() throws Exception {
+        properties.setMaxAttempts(2);
+        dispatcher = newDispatcher();
+        failNextCalls.set(2);
+
+        BulkEmailDispatcher.Report report = dispatcher.dispatch("podcast", recipients(50, 0), this::message)
+                .get(30, TimeUnit.SECONDS);
+
+        assertEquals(0, report.sent());
+        assertEquals(50, report.failed());
+    }
+
+    @Test
+    void unauthorizedIsNotRetried() throws Exception {
+        dispatcher = newDispatcher();
+        failStatus = 401;
+        failNextCalls.set(10);
+
+        BulkEmailDispatcher.Report report = dispatcher.dispatch("podcast", recipients(50, 0), this::message)
+                .get(30, TimeUnit.SECONDS);
+
+        assertEquals(1, calls.get());
+        assertEquals(0, report.sent());
+        assertEquals(50, report.failed());
+    }
+
+    @Test
+    void givenUpChunkCountsSkippedRecipientsOnce() throws Exception {
+        properties.setMaxAttempts(2);
+        dispatcher = newDispatcher();
+        failNextCalls.set(2);
+        List<String> recipients = recipients(48, 0);
+        recipients.add(null);
+        recipients.add(null);
+
+        BulkEmailDispatcher.Report report = dispatcher.dispatch("podcast", recipients,
+                to -> to == null ? null : message(to)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(50, report.total());
+        assertEquals(48, report.failed());
+    }
+
+    @Test
+    void rejectedMessagesAndSkippedRecipientsAreNotCountedAsSent() throws Exception {
+        dispatcher = newDispatcher();
+        List<String> recipients = recipients(60, 3);
+        recipients.add(null);
+
+        BulkEmailDispatcher.Report report = dispatcher.dispatch("podcast", recipients,
+                to -> to == null ? null : message(to)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(61, report.total());
+        assertEquals(57, report.sent());
+        assertEquals(3, report.failed());
+    }
+
+    @Test
+    void tokenBucketSpacesReservationsBeyondTheBurst() {
+        AtomicLong clock = new AtomicLong();
+        BulkEmailDispatcher.TokenBucket bucket = new BulkEmailDispatcher.TokenBucket(100, 50, clock::get);
+
+        assertEquals(0, bucket.reserve(50));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.reserve(50));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.reserve(50));
+
+        clock.set(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, bucket.reserve(50));
+    }
+
+    private BulkEmailDispatcher newDispatcher() {
+        return new BulkEmailDispatcher("key", "secret", "noreply@smolyanvote.com", "SmolyanVote",
+                properties, new SimpleMeterRegistry());
+    }
+
+    private static List<String> recipients(int count, int bad) {
+        List<String> recipients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            recipients.add((i < bad ? "bad" : "user") + i + "@example.com");
+        }
+        return recipients;
+    }
+
+    private BulkEmailDispatcher.Message message(String to) {
+        return new BulkEmailDispatcher.Message(to, "Нов епизод", "<p>Здравейте</p>", "Здравейте");
+    }
+}
@@ -0,0 +1,74 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EngagementCounterBufferTest {
+
+    private static final EngagementCounterBuffer.Counter VIEWS = EngagementCounterBuffer.Counter.PUBLICATION_VIEWS;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EngagementCounterBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new EngagementCounterBuffer(jdbcTemplate);
+    }
+
+    @Test
+    void flush_removesDrainedSlots() {
+        for (long id = 1; id <= 1000; id++) {
+            buffer.increment(VIEWS, id);
+        }
+        assertEquals(1000, buffer.trackedIds(VIEWS));
+
+        buffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(contains("publications"), anyList());
+        assertEquals(0, buffer.trackedIds(VIEWS));
+        assertEquals(0, buffer.pending(VIEWS, 1L));
+    }
+
+    @Test
+    void failedFlush_keepsDeltaAndSlot() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+        buffer.increment(VIEWS, 7L);
+        buffer.increment(VIEWS, 7L);
+
+        buffer.flush();
+
+        assertEquals(1, buffer.trackedIds(VIEWS));
+        assertEquals(2, buffer.pending(VIEWS, 7L));
+        assertEquals(12, buffer.merged(VIEWS, 7L, 10));
+    }
+
+    @Test
+    void incrementDuringFlush_isNotLost() {
+        buffer.increment(VIEWS, 7L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            // A view that arrives while the UPDATE is running must survive the slot cleanup.
+            buffer.increment(VIEWS, 7L);
+            List<Object[]> batch = invocation.getArgument(1);
+            assertEquals(1L, batch.get(0)[0]);
+            return new int[]{1};
+        });
+
+        buffer.flush();
+
+        assertEquals(1, buffer.trackedIds(VIEWS));
+        assertEquals(1, buffer.pending(VIEWS, 7L));
+    }
+}
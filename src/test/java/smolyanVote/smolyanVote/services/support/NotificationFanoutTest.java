@@ -0,0 +1,138 @@
+package smolyanVote.smolyanVote.services.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import smolyanVote.smolyanVote.componentsAndSecurity.NotificationWebSocketHandler;
+import smolyanVote.smolyanVote.repositories.UserRepository;
+import smolyanVote.smolyanVote.viewsAndDTO.NotificationDTO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationFanoutTest {
+
+    private static final NotificationFanout.Template RESOLVED = new NotificationFanout.Template(
+            "SIGNAL_RESOLVED", "Сигналът е решен", "ana", "SIGNAL", 7L, "/signals?openSignal=7");
+
+    private JdbcTemplate jdbcTemplate;
+    private NotificationWebSocketHandler webSocket;
+    private PreparedStatement statement;
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicLong nextId = new AtomicLong(100);
+    private NotificationFanout fanout;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        webSocket = mock(NotificationWebSocketHandler.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername(any())).thenReturn(Optional.empty());
+        when(webSocket.sendToUsers(anyMap())).thenAnswer(inv -> ((Map<?, ?>) inv.getArgument(0)).size());
+
+        Connection connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt())).thenReturn(statement);
+        AtomicInteger pending = new AtomicInteger();
+        doAnswer(inv -> pending.incrementAndGet()).when(statement).addBatch();
+        when(statement.executeBatch()).thenAnswer(inv -> {
+            batches.incrementAndGet();
+            return new int[pending.get()];
+        });
+        when(statement.getGeneratedKeys()).thenAnswer(inv -> keys(pending.getAndSet(0)));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> ((ConnectionCallback<?>) inv.getArgument(0)).doInConnection(connection));
+
+        fanout = new NotificationFanout(jdbcTemplate, webSocket, userRepository, new SimpleMeterRegistry(),
+                2, Duration.ofMinutes(5), 1000);
+    }
+
+    @Test
+    void fanOut_insertsInBatchesAndDispatchesOnce() {
+        int created = fanout.fanOut(RESOLVED, recipients(5), null);
+
+        assertEquals(5, created);
+        assertEquals(3, batches.get());
+        verify(statement, times(5)).addBatch();
+
+        ArgumentCaptor<Map<String, NotificationDTO>> sent = captor();
+        verify(webSocket, times(1)).sendToUsers(sent.capture());
+        assertEquals(List.of("user1", "user2", "user3", "user4", "user5"), new ArrayList<>(sent.getValue().keySet()));
+        assertEquals(100L, sent.getValue().get("user1").getId());
+        assertEquals("/signals?openSignal=7", sent.getValue().get("user5").getActionUrl());
+    }
+
+    @Test
+    void fanOut_skipsActorAndRecipientsNotifiedWithinTheWindow() {
+        assertEquals(2, fanout.fanOut(RESOLVED, recipients(3), 2L));
+        // 1 and 3 were just notified; the excluded actor and the new recipient were not
+        assertEquals(2, fanout.fanOut(RESOLVED, recipients(4), null));
+
+        NotificationFanout.Template otherSignal = new NotificationFanout.Template(
+                "SIGNAL_RESOLVED", "Друг сигнал", "ana", "SIGNAL", 8L, "/signals?openSignal=8");
+        assertEquals(4, fanout.fanOut(otherSignal, recipients(4), null));
+    }
+
+    @Test
+    void fanOut_failedInsertDoesNotSuppressTheRetry() throws Exception {
+        when(statement.executeBatch())
+                .thenAnswer(inv -> {
+                    batches.incrementAndGet();
+                    return new int[2];
+                })
+                .thenThrow(new java.sql.SQLException("deadlock"))
+                .thenAnswer(inv -> new int[2]);
+
+        assertThrows(Exception.class, () -> fanout.fanOut(RESOLVED, recipients(4), null));
+
+        // The first batch (1, 2) is in the database; 3 and 4 never got their row
+        assertEquals(2, fanout.fanOut(RESOLVED, recipients(4), null));
+    }
+
+    @Test
+    void fanOut_withNobodyLeftTouchesNeitherDatabaseNorSockets() {
+        fanout.fanOut(RESOLVED, recipients(2), null);
+        clearInvocations(jdbcTemplate, webSocket);
+
+        assertEquals(0, fanout.fanOut(RESOLVED, recipients(2), null));
+
+        verifyNoInteractions(jdbcTemplate, webSocket);
+    }
+
+    private List<NotificationFanout.Recipient> recipients(int count) {
+        List<NotificationFanout.Recipient> recipients = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            recipients.add(new NotificationFanout.Recipient(id, "user" + id));
+        }
+        return recipients;
+    }
+
+    private ResultSet keys(int count) throws Exception {
+        ResultSet keys = mock(ResultSet.class);
+        AtomicInteger left = new AtomicInteger(count);
+        when(keys.next()).thenAnswer(inv -> left.getAndDecrement() > 0);
+        when(keys.getLong(1)).thenAnswer(inv -> nextId.getAndIncrement());
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, NotificationDTO>> captor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+}
@@ -0,0 +1,73 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import smolyanVote.smolyanVote.models.UserEntity;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PresenceRegistry registry;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PresenceRegistry(jdbcTemplate, Duration.ofMinutes(5));
+        user = new UserEntity().setUsername("ivan").setEmail("ivan@test.bg");
+        user.setId(1L);
+    }
+
+    @Test
+    void onlineOnlyWhileSessionIsOpen() {
+        registry.touch(user);
+        assertEquals(0, registry.getOnlineCount());
+
+        registry.connected(user);
+        registry.connected(user);
+        assertEquals(1, registry.getOnlineCount());
+
+        registry.disconnected(1L);
+        assertEquals(1, registry.getOnlineCount());
+        registry.disconnected(1L);
+        assertEquals(0, registry.getOnlineCount());
+        assertTrue(registry.getOnlineUsers(10).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void offlineEntryIsPersistedThenEvicted() {
+        registry.connected(user);
+        registry.flushToDatabase();
+        registry.disconnected(1L);
+        registry.flushToDatabase();
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        assertEquals(1, batches.getAllValues().get(0).get(0)[0]);
+        assertEquals(0, batches.getAllValues().get(1).get(0)[0]);
+
+        // Nothing changed since the offline write — the entry is dropped without another UPDATE.
+        registry.flushToDatabase();
+        verifyNoMoreInteractions(jdbcTemplate);
+
+        // A later heartbeat starts a fresh entry instead of touching an evicted one.
+        registry.touch(user);
+        registry.flushToDatabase();
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+    }
+}
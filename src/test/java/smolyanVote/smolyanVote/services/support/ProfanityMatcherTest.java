@@ -0,0 +1,117 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfanityMatcherTest {
+
+    @Test
+    void containsAny_foldsCyrillicAndLatinCase() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("Глупак", "idiot"));
+
+        assertTrue(matcher.containsAny("Ти си ГЛУПАК!"));
+        assertTrue(matcher.containsAny("what an IdIoT."));
+        assertFalse(matcher.containsAny("Нищо обидно тук"));
+    }
+
+    @Test
+    void containsAny_requiresWholeWord() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("лош"));
+
+        assertTrue(matcher.containsAny("лош"));
+        assertTrue(matcher.containsAny("(лош)"));
+        assertFalse(matcher.containsAny("лошо"));
+        assertFalse(matcher.containsAny("нелош"));
+        assertFalse(matcher.containsAny("лош2"));
+    }
+
+    @Test
+    void findAll_reportsOverlappingWordsOncePerWordInOrder() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("he", "she", "hers", "his"));
+
+        assertEquals(List.of("hers", "she", "he"), matcher.findAll("hers she he she"));
+        assertEquals(List.of(), matcher.findAll("ushers"));
+    }
+
+    @Test
+    void findAll_matchesPhrases() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of("майка ти", "ти"));
+
+        assertEquals(List.of("майка ти", "ти"), matcher.findAll("Майка ти!"));
+    }
+
+    @Test
+    void compile_trimsAndDeduplicates() {
+        ProfanityMatcher matcher = ProfanityMatcher.compile(List.of(" лош ", "ЛОШ", "", "   "));
+
+        assertEquals(1, matcher.size());
+        assertFalse(ProfanityMatcher.EMPTY.containsAny("лош"));
+    }
+
+    @Test
+    void matchesPerWordRegexOnRandomText() {
+        Random random = new Random(42);
+        List<String> dictionary = randomWords(random, 300);
+        ProfanityMatcher matcher = ProfanityMatcher.compile(dictionary);
+        List<Pattern> patterns = dictionary.stream().map(ProfanityMatcherTest::wholeWordPattern).toList();
+
+        for (int i = 0; i < 2000; i++) {
+            String text = randomText(random, dictionary);
+            String normalized = text.toLowerCase(Locale.ROOT);
+            List<String> expected = new ArrayList<>();
+            for (int w = 0; w < dictionary.size(); w++) {
+                if (patterns.get(w).matcher(normalized).find()) {
+                    expected.add(dictionary.get(w));
+                }
+            }
+            assertEquals(!expected.isEmpty(), matcher.containsAny(text), text);
+            assertEquals(expected.stream().sorted().toList(), matcher.findAll(text).stream().sorted().toList(), text);
+        }
+    }
+
+    private static Pattern wholeWordPattern(String word) {
+        return Pattern.compile("(?i)(?<![\\p{L}\\p{N}])" + Pattern.quote(word) + "(?![\\p{L}\\p{N}])");
+    }
+
+    private static final String ALPHABET = "абвгдежзийклмнопрстуфхцчшщъьюяabcdefghij";
+
+    private static List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        while (words.size() < count) {
+            int length = 2 + random.nextInt(6);
+            StringBuilder word = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            if (!words.contains(word.toString())) {
+                words.add(word.toString());
+            }
+        }
+        return words;
+    }
+
+    private static String randomText(Random random, List<String> dictionary) {
+        StringBuilder text = new StringBuilder();
+        int tokens = 20 + random.nextInt(60);
+        for (int i = 0; i < tokens; i++) {
+            if (!dictionary.isEmpty() && random.nextInt(15) == 0) {
+                String word = dictionary.get(random.nextInt(dictionary.size()));
+                text.append(random.nextBoolean() ? word.toUpperCase(Locale.ROOT) : word);
+            } else {
+                int length = 1 + random.nextInt(8);
+                for (int c = 0; c < length; c++) {
+                    text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+            text.append(" .,!-1\n".charAt(random.nextInt(7)));
+        }
+        return text.toString();
+    }
+}
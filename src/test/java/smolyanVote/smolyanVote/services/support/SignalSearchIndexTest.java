@@ -0,0 +1,115 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import smolyanVote.smolyanVote.models.SignalsEntity;
+import smolyanVote.smolyanVote.models.enums.SignalsCategory;
+import smolyanVote.smolyanVote.repositories.SignalsRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SignalSearchIndexTest {
+
+    private final List<Object[]> rows = new ArrayList<>();
+    private SignalsRepository signalsRepository;
+    private SignalSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        row(1L, "Дупки на улица Търговска", "Огромни дупки след зимата, опасно за колите.");
+        row(2L, "Неработещо осветление", "На улица Търговска лампите не светят от седмица.");
+        row(3L, "Препълнени кофи", "Кофите за боклук в квартал Устово не се извозват.");
+        row(4L, "Счупена пейка в парка", "Пейката до фонтана е счупена.");
+        signalsRepository = Mockito.mock(SignalsRepository.class);
+        when(signalsRepository.findActiveSearchFields()).thenReturn(rows);
+        index = new SignalSearchIndex(signalsRepository);
+    }
+
+    @Test
+    void stemmerFoldsArticlesAndPlurals() {
+        String stem = BulgarianAnalyzer.stem("ремонт");
+        assertEquals(stem, BulgarianAnalyzer.stem("ремонтът"));
+        assertEquals(stem, BulgarianAnalyzer.stem("ремонтите"));
+        assertEquals(stem, BulgarianAnalyzer.stem("ремонти"));
+        assertEquals(BulgarianAnalyzer.stem("улица"), BulgarianAnalyzer.stem("улицата"));
+        assertEquals(List.of(), BulgarianAnalyzer.analyze("и на за, при — без"));
+    }
+
+    @Test
+    void titleMatchOutranksAPassingMention() {
+        List<SignalSearchIndex.Hit> hits = index.search(List.of("Търговска"), 10);
+
+        assertEquals(List.of(1L, 2L), hits.stream().map(SignalSearchIndex.Hit::id).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void inflectedQueryWordsFindTheSignal() {
+        assertEquals(3L, index.search(List.of("боклука"), 10).get(0).id());
+        assertEquals(4L, index.search(List.of("пейки", "парковете"), 10).get(0).id());
+        assertTrue(index.search(List.of("асфалтиране"), 10).isEmpty());
+    }
+
+    @Test
+    void rareWordsWeighMoreThanCommonOnes() {
+        row(5L, "Паднало дърво", "Дърво е паднало на улица Родопи.");
+        row(6L, "Шум през нощта", "Шум от заведение на улица Родопи.");
+
+        List<SignalSearchIndex.Hit> hits = index.search(List.of("улица", "фонтан"), 10);
+
+        assertEquals(4L, hits.get(0).id());
+    }
+
+    @Test
+    void changesOutsideATransactionApplyImmediately() {
+        assertEquals(4, index.size());
+
+        SignalsEntity created = signal(10L, "Липсващ капак на шахта", "Шахтата е отворена.", true);
+        index.index(created);
+        assertEquals(10L, index.search(List.of("шахта"), 5).get(0).id());
+
+        created.setTitle("Липсваща табела");
+        created.setDescription("Табелата е паднала.");
+        index.index(created);
+        assertTrue(index.search(List.of("шахта"), 5).isEmpty());
+        assertEquals(10L, index.search(List.of("табела"), 5).get(0).id());
+
+        index.index(signal(1L, "Дупки на улица Търговска", "", false));
+        assertEquals(List.of(2L), index.search(List.of("Търговска"), 5).stream().map(SignalSearchIndex.Hit::id).toList());
+
+        index.remove(10L);
+        assertEquals(3, index.size());
+        verify(signalsRepository, times(1)).findActiveSearchFields();
+    }
+
+    @Test
+    void longDescriptionsAreTrimmedForTheSnippet() {
+        row(7L, "Дълъг сигнал", "а".repeat(300) + " водопровод");
+
+        SignalSearchIndex.Hit hit = index.search(List.of("водопровод"), 1).get(0);
+
+        assertEquals(120, hit.snippet().length());
+        assertTrue(hit.snippet().endsWith("..."));
+    }
+
+    private void row(Long id, String title, String description) {
+        rows.add(new Object[]{id, title, description, SignalsCategory.ROAD_DAMAGE});
+    }
+
+    private static SignalsEntity signal(Long id, String title, String description, boolean active) {
+        SignalsEntity signal = new SignalsEntity();
+        signal.setId(id);
+        signal.setTitle(title);
+        signal.setDescription(description);
+        signal.setCategory(SignalsCategory.ROAD_DAMAGE);
+        signal.setActive(active);
+        return signal;
+    }
+}
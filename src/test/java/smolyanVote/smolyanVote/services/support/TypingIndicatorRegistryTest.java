@@ -0,0 +1,81 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import smolyanVote.smolyanVote.websocket.svmessenger.SVMessengerWebSocketHandler;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TypingIndicatorRegistryTest {
+
+    private static final Long CONVERSATION_ID = 5L;
+    private static final long SECOND = 1_000_000_000L;
+
+    @Mock
+    private SVMessengerWebSocketHandler webSocketHandler;
+
+    private final AtomicLong clock = new AtomicLong();
+    private TypingIndicatorRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TypingIndicatorRegistry(webSocketHandler, Duration.ofSeconds(3), Duration.ofMillis(250), clock::get);
+    }
+
+    @Test
+    void typing_reportsStartOnlyOnceWhileDeadlineIsRefreshed() {
+        assertTrue(registry.typing(CONVERSATION_ID, 1L, "ana"));
+        clock.addAndGet(2 * SECOND);
+        assertFalse(registry.typing(CONVERSATION_ID, 1L, "ana"));
+        clock.addAndGet(2 * SECOND);
+
+        registry.sweep();
+
+        assertTrue(registry.isTyping(CONVERSATION_ID, 1L));
+        verifyNoInteractions(webSocketHandler);
+    }
+
+    @Test
+    void sweep_batchesExpiredUsersPerConversation() {
+        registry.typing(CONVERSATION_ID, 1L, "ana");
+        registry.typing(CONVERSATION_ID, 2L, "ivan");
+        clock.addAndGet(2 * SECOND);
+        registry.typing(CONVERSATION_ID, 3L, "maria");
+        clock.addAndGet(SECOND + 1);
+
+        registry.sweep();
+
+        Map<Long, String> stopped = new LinkedHashMap<>();
+        stopped.put(1L, "ana");
+        stopped.put(2L, "ivan");
+        verify(webSocketHandler).broadcastTypingStopped(eq(CONVERSATION_ID), argThat(stopped::equals), eq(List.of(3L)));
+        assertFalse(registry.isTyping(CONVERSATION_ID, 1L));
+        assertTrue(registry.isAnyoneTyping(CONVERSATION_ID, 1L));
+        assertFalse(registry.isAnyoneTyping(CONVERSATION_ID, 3L));
+    }
+
+    @Test
+    void stopped_removesIndicatorWithoutLaterExpiryFrame() {
+        registry.typing(CONVERSATION_ID, 1L, "ana");
+
+        assertTrue(registry.stopped(CONVERSATION_ID, 1L));
+        assertFalse(registry.stopped(CONVERSATION_ID, 1L));
+        clock.addAndGet(5 * SECOND);
+        registry.sweep();
+
+        verifyNoInteractions(webSocketHandler);
+        assertEquals(List.of(), registry.typingUserIds(CONVERSATION_ID));
+    }
+}
@@ -0,0 +1,100 @@
+package smolyanVote.smolyanVote.services.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smolyanVote.smolyanVote.models.enums.UserRole;
+import smolyanVote.smolyanVote.models.enums.UserStatusEnum;
+import smolyanVote.smolyanVote.repositories.UserRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserStatisticsSnapshotTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private UserRepository userRepository;
+    private final AtomicLong clock = new AtomicLong();
+    private UserStatisticsSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.countByStatusAndRole()).thenReturn(rows(
+                new Object[]{UserStatusEnum.ACTIVE, UserRole.USER, 90L},
+                new Object[]{UserStatusEnum.ACTIVE, UserRole.ADMIN, 2L},
+                new Object[]{UserStatusEnum.PENDING_ACTIVATION, UserRole.USER, 5L},
+                new Object[]{UserStatusEnum.TEMPORARILY_BANNED, UserRole.USER, 3L}));
+        when(userRepository.countByStrikesAndStatus()).thenReturn(rows(
+                new Object[]{1, UserStatusEnum.ACTIVE, 7L},
+                new Object[]{2, UserStatusEnum.ACTIVE, 4L},
+                new Object[]{3, UserStatusEnum.TEMPORARILY_BANNED, 2L},
+                new Object[]{5, UserStatusEnum.ACTIVE, 1L}));
+        when(userRepository.aggregateActivity(any(), any(), any(), any())).thenReturn(rows(
+                new Object[]{1L, 6L, 20L, 12L, 4.5, 9L}));
+        snapshot = new UserStatisticsSnapshot(userRepository, Duration.ofSeconds(30), clock::get);
+    }
+
+    @Test
+    void get_foldsGroupedRowsIntoCounters() {
+        UserStatisticsSnapshot.UserStatistics stats = snapshot.get();
+
+        assertEquals(100, stats.totalUsers());
+        assertEquals(92, stats.activeUsers());
+        assertEquals(5, stats.pendingUsers());
+        assertEquals(3, stats.tempBannedUsers());
+        assertEquals(2, stats.adminCount());
+        assertEquals(98, stats.userCount());
+        assertEquals(20, stats.monthRegistrations());
+        assertEquals(12, stats.onlineUsers());
+        assertEquals(4.5, stats.avgEngagement());
+        assertEquals(7, stats.withOneStrike());
+        assertEquals(4, stats.withTwoStrikes());
+        assertEquals(3, stats.withThreeOrMore());
+        assertEquals(2, stats.autoBannedNow());
+    }
+
+    @Test
+    void get_reusesTheSnapshotUntilTheTtlRunsOut() {
+        UserStatisticsSnapshot.UserStatistics first = snapshot.get();
+        clock.addAndGet(29 * SECOND);
+        assertSame(first, snapshot.get());
+        verify(userRepository, times(1)).countByStatusAndRole();
+
+        clock.addAndGet(SECOND);
+        assertNotSame(first, snapshot.get());
+        verify(userRepository, times(2)).countByStatusAndRole();
+    }
+
+    @Test
+    void invalidate_forcesARecompute() {
+        snapshot.get();
+        snapshot.invalidate();
+        snapshot.get();
+
+        verify(userRepository, times(2)).aggregateActivity(any(), any(), any(), any());
+    }
+
+    @Test
+    void get_onAnEmptyTableReportsZeros() {
+        when(userRepository.countByStatusAndRole()).thenReturn(List.of());
+        when(userRepository.countByStrikesAndStatus()).thenReturn(List.of());
+        when(userRepository.aggregateActivity(any(), any(), any(), any())).thenReturn(rows(new Object[6]));
+
+        UserStatisticsSnapshot.UserStatistics stats = snapshot.get();
+
+        assertEquals(0, stats.totalUsers());
+        assertEquals(0, stats.todayRegistrations());
+        assertEquals(0.0, stats.avgEngagement());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
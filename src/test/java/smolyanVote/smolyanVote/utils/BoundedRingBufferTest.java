@@ -0,0 +1,80 @@
+package smolyanVote.smolyanVote.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(8, new BoundedRingBuffer<>(5).capacity());
+        assertEquals(8, new BoundedRingBuffer<>(8).capacity());
+    }
+
+    @Test
+    void offer_rejectsWhenFull_andKeepsFifoOrder() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(99));
+        assertEquals(4, ring.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, ring.drainTo(drained, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+
+        assertTrue(ring.offer(4));
+        assertEquals(3, ring.poll());
+        assertEquals(4, ring.poll());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void concurrentProducers_loseNothingThatWasAccepted() throws Exception {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(1024);
+        int producers = 8;
+        int perProducer = 20_000;
+        AtomicInteger accepted = new AtomicInteger();
+        Set<Integer> consumed = new HashSet<>();
+        CountDownLatch done = new CountDownLatch(producers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (ring.offer(base + i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        while (done.getCount() > 0 || ring.size() > 0) {
+            batch.clear();
+            ring.drainTo(batch, 256);
+            consumed.addAll(batch);
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        batch.clear();
+        ring.drainTo(batch, Integer.MAX_VALUE);
+        consumed.addAll(batch);
+
+        assertEquals(accepted.get(), consumed.size());
+    }
+}
@@ -0,0 +1,27 @@
+package smolyanVote.smolyanVote.viewsAndDTO.svmessenger;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SVMessageCursorTest {
+
+    @Test
+    void encodeDecode_roundTripsSentAtAndId() {
+        SVMessageCursor cursor = new SVMessageCursor(LocalDateTime.of(2025, 3, 1, 12, 30, 5, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"));
+        assertEquals(cursor, SVMessageCursor.decode(encoded));
+    }
+
+    @Test
+    void decode_rejectsForeignValues() {
+        assertThrows(IllegalArgumentException.class, () -> SVMessageCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> SVMessageCursor.decode("@@@"));
+        assertThrows(IllegalArgumentException.class, () -> SVMessageCursor.decode(""));
+    }
+}